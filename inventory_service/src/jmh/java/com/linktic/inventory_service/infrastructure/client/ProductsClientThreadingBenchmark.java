@@ -0,0 +1,131 @@
+package com.linktic.inventory_service.infrastructure.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.linktic.inventory_service.config.ProductsProperties;
+import com.linktic.inventory_service.config.RestTemplateConfig;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+// ráfaga de requests concurrentes que llaman a un products-service lento (stub con latencia fija),
+// atendidas como lo haría Tomcat: 200 hilos de plataforma o un hilo virtual por request.
+// Throughput = ráfagas/s; SampleTime = duración de la ráfaga (p99 ≈ cola de latencia por request).
+// Una llamada que vence el read timeout no corta la corrida: se cuenta y se informa al final de cada modo
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ProductsClientThreadingBenchmark {
+    // server.tomcat.threads.max por defecto
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final byte[] PRODUCT = """
+            {"data":{"type":"products","id":"1","attributes":{"name":"Mouse","price":10.00}}}
+            """.getBytes(StandardCharsets.UTF_8);
+
+    @Param({"platform", "virtual"})
+    String mode;
+
+    @Param({"1000"})
+    int concurrentRequests;
+
+    @Param({"100"})
+    int productsLatencyMs;
+
+    private HttpServer products;
+    private ExecutorService productsHandlers;
+    private ExecutorService platformRequests;
+    private Executor requests;
+    private ProductsClientRest client;
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong failedCalls = new AtomicLong();
+
+    @Setup
+    public void setUp() throws IOException {
+        boolean virtual = "virtual".equals(mode);
+        if (virtual && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("mode=virtual requires Java 21+: ./gradlew jmh -PjavaVersion=21");
+        }
+
+        productsHandlers = Executors.newCachedThreadPool();
+        products = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 4096);
+        products.createContext("/products", exchange -> {
+            try {
+                Thread.sleep(productsLatencyMs);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/vnd.api+json");
+            exchange.sendResponseHeaders(200, PRODUCT.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(PRODUCT);
+            }
+        });
+        products.setExecutor(productsHandlers);
+        products.start();
+
+        ProductsProperties props = new ProductsProperties();
+        props.setBaseUrl("http://127.0.0.1:" + products.getAddress().getPort());
+        props.getApiKey().setHeader("X-API-Key");
+        props.getApiKey().setValue("bench");
+        // el bulkhead no debe ser el cuello de botella que se mide aquí
+        ProductsCallBulkhead bulkhead = new ProductsCallBulkhead(concurrentRequests, Duration.ofSeconds(30));
+
+        RestTemplate rt = virtual
+                ? RestTemplateConfig.virtualThreadRestTemplate(bulkhead)
+                : RestTemplateConfig.platformRestTemplate(bulkhead);
+        client = new ProductsClientRest(rt, new ObjectMapper(), props);
+
+        if (virtual) {
+            requests = new VirtualThreadTaskExecutor("bench-request-");
+        } else {
+            platformRequests = Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+            requests = platformRequests;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.out.printf("%n%s: %d of %d calls failed%n", mode, failedCalls.get(), calls.get());
+        if (platformRequests != null) platformRequests.shutdownNow();
+        products.stop(0);
+        productsHandlers.shutdownNow();
+    }
+
+    @Benchmark
+    public void burst() {
+        CompletableFuture.allOf(IntStream.range(0, concurrentRequests)
+                        .mapToObj(i -> CompletableFuture.runAsync(this::call, requests))
+                        .toArray(CompletableFuture[]::new))
+                .join();
+    }
+
+    private void call() {
+        calls.incrementAndGet();
+        try {
+            client.getProductSummary(1L);
+        } catch (RuntimeException ex) {
+            failedCalls.incrementAndGet();
+        }
+    }
+}
@@ -1,9 +1,12 @@
 package com.linktic.inventory_service;
 
+import com.linktic.inventory_service.config.NativeRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(NativeRuntimeHints.class)
 public class InventoryApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,40 @@
+package com.linktic.inventory_service.config;
+
+import org.springframework.aot.AotDetector;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+// arranque con el contexto precalculado por processAot (-Dspring.aot.enabled=true): las condiciones de beans
+// quedaron fijadas en el build y algunas propiedades de runtime dejan de tener efecto
+@Configuration(proxyBeanMethods = false)
+public class AotConfig {
+    static final String REPLICA_URL = "spring.datasource.replica.url";
+
+    // con AOT el bean de Flyway existe aunque spring.flyway.enabled=false: la migración respeta el valor de
+    // runtime, y así el entrenamiento de CDS corre con AOT (igual que el arranque real) sin base de datos
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(Environment environment) {
+        return flyway -> {
+            if (environment.getProperty("spring.flyway.enabled", Boolean.class, true)) flyway.migrate();
+        };
+    }
+
+    @Bean
+    public InitializingBean readReplicaAotCheck(Environment environment, ObjectProvider<ReadReplicaConfig> readReplica) {
+        return () -> checkReadReplica(AotDetector.useGeneratedArtifacts(), environment.getProperty(REPLICA_URL),
+                readReplica.getIfAvailable() != null);
+    }
+
+    // ReadReplicaConfig depende de la URL de la réplica: si el build no la tenía, el contexto AOT no la incluye
+    // y todo iría al primario sin aviso. Mejor no arrancar
+    static void checkReadReplica(boolean aot, String replicaUrl, boolean replicaConfigured) {
+        if (aot && replicaUrl != null && !replicaUrl.isBlank() && !replicaConfigured) {
+            throw new IllegalStateException(REPLICA_URL + " is set but the AOT-processed context was built without "
+                    + "a read replica; start with -Dspring.aot.enabled=false (SPRING_AOT_ENABLED=false)");
+        }
+    }
+}
@@ -5,23 +5,28 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.HttpStatus;
-import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
 import org.springframework.security.core.context.SecurityContext;
 
 import java.io.IOException;
-import java.util.List;
+import java.time.Duration;
 
 public class ApiKeyAuthFilter extends OncePerRequestFilter {
     private final String headerName;
-    private final String expectedValue;
+    private final ApiKeyRegistry registry;
+    private final SecurityContextHolderStrategy contextStrategy = SecurityContextHolder.getContextHolderStrategy();
 
-    public ApiKeyAuthFilter(String headerName, String expectedValue) {
+    public ApiKeyAuthFilter(String headerName, ApiKeyRegistry registry) {
         this.headerName = headerName;
-        this.expectedValue = expectedValue;
+        this.registry = registry;
+    }
+
+    // una sola clave, sin archivo ni recarga
+    public ApiKeyAuthFilter(String headerName, String expectedValue) {
+        this(headerName, new ApiKeyRegistry(null, expectedValue, Duration.ZERO));
     }
 
     @Override
@@ -34,19 +39,13 @@ public class ApiKeyAuthFilter extends OncePerRequestFilter {
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
-        String key = request.getHeader(headerName);
-
-        boolean pass = !StringUtils.hasText(expectedValue) || expectedValue.equals(key);
-
-        if (pass) {
-            UsernamePasswordAuthenticationToken auth =
-                    new UsernamePasswordAuthenticationToken(
-                            "api-key-user", null,
-                            List.of(new SimpleGrantedAuthority("ROLE_API")));
+        // Authentication propio de esta request, armado por el registro a partir del clientId
+        Authentication auth = registry.authenticate(request.getHeader(headerName));
 
-            SecurityContext context = SecurityContextHolder.createEmptyContext();
+        if (auth != null) {
+            SecurityContext context = contextStrategy.createEmptyContext();
             context.setAuthentication(auth);
-            SecurityContextHolder.setContext(context);
+            contextStrategy.setContext(context);
 
             filterChain.doFilter(request, response);
             return;
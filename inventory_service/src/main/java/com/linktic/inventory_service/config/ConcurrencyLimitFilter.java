@@ -0,0 +1,115 @@
+package com.linktic.inventory_service.config;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// tope global de peticiones en curso según AdaptiveConcurrencyLimit. Sin permiso → 503 inmediato: cuando
+// Postgres o products-service se enlentecen, el exceso no se encola ocupando hilos y conexiones
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+    private final AdaptiveConcurrencyLimit limit;
+    private final List<String> unsampledPaths;
+
+    // unsampledPaths: endpoints largos (bulk, list, export) que ocupan permiso hasta terminar pero no aportan
+    // latencia; su duración depende del tamaño del trabajo y no de la carga, y mezclada con la del resto movería el límite
+    public ConcurrencyLimitFilter(AdaptiveConcurrencyLimit limit, List<String> unsampledPaths) {
+        this.limit = limit;
+        this.unsampledPaths = List.copyOf(unsampledPaths);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return path.startsWith("/swagger") || path.startsWith("/v3/api-docs") || path.startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long start = limit.tryAcquire();
+        if (start == AdaptiveConcurrencyLimit.REJECTED) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType("application/vnd.api+json");
+            response.getWriter().write("{\"errors\":[{\"status\":\"503\",\"title\":\"Service Unavailable\"," +
+                    "\"detail\":\"Concurrency limit reached\"}]}");
+            return;
+        }
+
+        boolean completed = false;
+        try {
+            filterChain.doFilter(request, response);
+            completed = true;
+        } finally {
+            if (!completed) {
+                // error sin manejar: cuenta como drop, no como una latencia buena
+                limit.onDropped();
+            } else if (request.isAsyncStarted()) {
+                // la respuesta sigue en otro hilo (StreamingResponseBody de /list y /export): el permiso se
+                // conserva mientras recorre el cursor y se suelta cuando el pedido asíncrono termina
+                request.getAsyncContext().addListener(new AsyncRelease(response));
+            } else if (response.getStatus() >= 500) {
+                limit.onDropped();
+            } else if (isUnsampled(request.getRequestURI())) {
+                limit.onIgnore();
+            } else {
+                limit.onSuccess(start);
+            }
+        }
+    }
+
+    private boolean isUnsampled(String path) {
+        for (String prefix : unsampledPaths) {
+            if (path.startsWith(prefix)) return true;
+        }
+        return false;
+    }
+
+    // suelta el permiso una sola vez: tras onError u onTimeout el contenedor también llama a onComplete.
+    // La duración de una respuesta asíncrona depende de cuánto escribe, no es una RTT comparable: no se muestrea
+    private final class AsyncRelease implements AsyncListener {
+        private final HttpServletResponse response;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        AsyncRelease(HttpServletResponse response) {
+            this.response = response;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            if (!released.compareAndSet(false, true)) return;
+            if (response.getStatus() >= 500) {
+                limit.onDropped();
+            } else {
+                limit.onIgnore();
+            }
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            if (released.compareAndSet(false, true)) limit.onDropped();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            if (released.compareAndSet(false, true)) limit.onDropped();
+        }
+
+        // un nuevo ciclo asíncrono descarta los listeners registrados: este se vuelve a registrar
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.linktic.inventory_service.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.NativeDetector;
+
+// Spring Boot registra todo bean Module en el ObjectMapper: Blackbird reemplaza la reflexión de los
+// getters/setters de los DTOs JSON:API por accesores generados (LambdaMetafactory); la salida no cambia.
+// En native image no se definen clases en runtime: ahí el bean es un módulo vacío y Jackson usa la
+// reflexión registrada en NativeRuntimeHints (la decisión es en runtime, AOT fija los beans en el build)
+@Configuration(proxyBeanMethods = false)
+public class JacksonConfig {
+
+    @Bean
+    public Module blackbirdModule() {
+        return NativeDetector.inNativeImage() ? new SimpleModule("blackbird-disabled") : new BlackbirdModule();
+    }
+}
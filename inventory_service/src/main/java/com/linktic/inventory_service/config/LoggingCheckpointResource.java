@@ -0,0 +1,61 @@
+package com.linktic.inventory_service.config;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import org.crac.Context;
+import org.crac.Core;
+import org.crac.Resource;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+// CRaC: cierra los appenders de logback antes del checkpoint (un archivo abierto lo hace fallar) y los
+// reabre al restaurar. Se registra en el contexto global antes que el lifecycle de Spring: se cierra
+// después de que paren los beans y se reabre antes de que vuelvan a arrancar, sin perder sus logs
+@Component
+public class LoggingCheckpointResource implements Resource {
+
+    private final LoggerContext context;
+
+    public LoggingCheckpointResource() {
+        this((LoggerContext) LoggerFactory.getILoggerFactory());
+        // org.crac guarda referencias débiles: el bean singleton mantiene vivo el registro
+        Core.getGlobalContext().register(this);
+    }
+
+    LoggingCheckpointResource(LoggerContext context) {
+        this.context = context;
+    }
+
+    @Override
+    public void beforeCheckpoint(Context<? extends Resource> ignored) {
+        for (Appender<ILoggingEvent> appender : appenders()) appender.stop();
+    }
+
+    @Override
+    public void afterRestore(Context<? extends Resource> ignored) {
+        for (Appender<ILoggingEvent> appender : appenders()) {
+            if (appender instanceof OutputStreamAppender<ILoggingEvent> out
+                    && out.getEncoder() != null && !out.getEncoder().isStarted()) {
+                out.getEncoder().start();
+            }
+            appender.start();
+        }
+    }
+
+    // un appender puede colgar de varios loggers
+    private Set<Appender<ILoggingEvent>> appenders() {
+        Set<Appender<ILoggingEvent>> appenders = new LinkedHashSet<>();
+        context.getLoggerList().forEach(logger -> {
+            for (Iterator<Appender<ILoggingEvent>> it = logger.iteratorForAppenders(); it.hasNext(); ) {
+                appenders.add(it.next());
+            }
+        });
+        return appenders;
+    }
+}
@@ -0,0 +1,53 @@
+package com.linktic.inventory_service.config;
+
+import com.linktic.inventory_service.domain.model.Inventory;
+import com.linktic.inventory_service.infrastructure.mapper.InventoryMapperImpl;
+import com.linktic.inventory_service.web.dto.InventoryDto;
+import com.linktic.inventory_service.web.dto.PurchaseDto;
+import com.linktic.inventory_service.web.dto.jsonapi.JsonApiData;
+import com.linktic.inventory_service.web.dto.jsonapi.JsonApiError;
+import com.linktic.inventory_service.web.dto.jsonapi.JsonApiErrorResponse;
+import com.linktic.inventory_service.web.dto.jsonapi.JsonApiLinks;
+import com.linktic.inventory_service.web.dto.jsonapi.JsonApiListResponse;
+import com.linktic.inventory_service.web.dto.jsonapi.JsonApiMeta;
+import com.linktic.inventory_service.web.dto.jsonapi.JsonApiRelationship;
+import com.linktic.inventory_service.web.dto.jsonapi.JsonApiRequest;
+import com.linktic.inventory_service.web.dto.jsonapi.JsonApiResponse;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+// native image: lo que AOT no deduce de las firmas de los controladores ni de las definiciones de beans
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+    private final BindingReflectionHintsRegistrar bindings = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        // JSON:API y DTOs de Lombok: los genéricos (JsonApiData<InventoryDto>) se borran en las firmas, el listado
+        // y el export se escriben desde un StreamingResponseBody y los errores desde el handler y los filtros
+        bindings.registerReflectionHints(hints.reflection(),
+                JsonApiData.class, JsonApiRequest.class, JsonApiResponse.class, JsonApiListResponse.class,
+                JsonApiRelationship.class, JsonApiError.class, JsonApiErrorResponse.class, JsonApiLinks.class,
+                JsonApiMeta.class, InventoryDto.class, PurchaseDto.class);
+
+        // constructor expressions (select new / cb.construct): Hibernate busca el constructor de Inventory por reflexión
+        hints.reflection().registerType(Inventory.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+
+        // MapStruct: el procesador genera InventoryMapperImpl en compilación y AOT lo crea como bean sin reflexión;
+        // el constructor queda registrado para Mappers.getMapper
+        hints.reflection().registerType(InventoryMapperImpl.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+
+        // Flyway lista classpath:db/migration en runtime
+        hints.resources().registerPattern("db/migration/*.sql");
+
+        // logback-spring.xml: Joran instancia el encoder y el conversor por nombre y llama a sus setters
+        for (String type : new String[] {
+                "net.logstash.logback.encoder.LogstashEncoder",
+                "net.logstash.logback.stacktrace.ShortenedThrowableConverter" }) {
+            hints.reflection().registerTypeIfPresent(classLoader, type,
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.linktic.inventory_service.config;
+
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// HttpClient del JDK (modo hilos virtuales) detrás del mismo RestTemplate: stop() lo cierra junto con sus
+// conexiones keep-alive a products-service (Spring lo llama antes de un checkpoint de CRaC y al apagar) y
+// start() arma uno nuevo al restaurar. Mientras está detenido, las llamadas fallan como un error de I/O
+public class ProductsHttpClientLifecycle implements ClientHttpRequestFactory, SmartLifecycle {
+
+    // por debajo del apagado ordenado de Tomcat y de su parada (SMART_LIFECYCLE_PHASE - 1024): el cliente se
+    // cierra cuando ya no quedan peticiones en curso que lo usen, y se abre antes de aceptar tráfico
+    static final int PHASE = WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 2048;
+
+    private final Supplier<HttpClient> clients;
+    private volatile HttpClient client;
+
+    // arranca con cliente: el RestTemplate sirve aunque nadie maneje el ciclo de vida (benchmark JMH)
+    public ProductsHttpClientLifecycle(Supplier<HttpClient> clients) {
+        this.clients = clients;
+        start();
+    }
+
+    // se crea después de los interceptores (bulkhead incluido): el read timeout es lo que queda del presupuesto
+    // de la petición entrante, con READ_TIMEOUT como tope. La factory solo envuelve el HttpClient compartido
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) throws IOException {
+        HttpClient current = client;
+        if (current == null) throw new IOException("products-service HTTP client is stopped");
+        JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(current);
+        factory.setReadTimeout(readTimeout());
+        return factory.createRequest(uri, httpMethod);
+    }
+
+    static Duration readTimeout() {
+        OptionalLong remaining = RequestDeadline.remainingNanos();
+        if (remaining.isEmpty()) return RestTemplateConfig.READ_TIMEOUT;
+        Duration budget = Duration.ofNanos(Math.max(remaining.getAsLong(), TimeUnit.MILLISECONDS.toNanos(1)));
+        return budget.compareTo(RestTemplateConfig.READ_TIMEOUT) < 0 ? budget : RestTemplateConfig.READ_TIMEOUT;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (client != null) return;
+        client = clients.get();
+    }
+
+    @Override
+    public synchronized void stop() {
+        HttpClient current = client;
+        client = null;
+        // desde Java 21 HttpClient es AutoCloseable: close() espera los intercambios en curso y cierra las conexiones
+        if (current instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception ex) {
+                throw new IllegalStateException("could not close products-service HTTP client", ex);
+            }
+        }
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return client != null;
+    }
+}
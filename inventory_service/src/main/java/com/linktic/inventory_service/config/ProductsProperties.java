@@ -5,16 +5,32 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 @Configuration
 @ConfigurationProperties(prefix = "inventory.products")
 @Getter @Setter
 public class ProductsProperties {
     private String baseUrl;
     private ApiKey apiKey = new ApiKey();
+    // tope de llamadas simultáneas a products-service, solo con hilos virtuales (ahí no lo pone el pool de Tomcat)
+    private int maxConcurrentCalls = 50;
+    private Duration acquireTimeout = Duration.ofSeconds(2);
+    private AdaptiveLimit adaptiveLimit = new AdaptiveLimit();
     @Getter
     @Setter
     public static class ApiKey {
         private String header;
         private String value;
     }
+
+    // límite adaptativo delante del bulkhead: rechaza sin esperar cuando products-service se enlentece
+    @Getter
+    @Setter
+    public static class AdaptiveLimit {
+        private boolean enabled = false;
+        private int initial = 10;
+        private int min = 2;
+        private int max = 50;
+    }
 }
@@ -0,0 +1,144 @@
+package com.linktic.inventory_service.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+// límite por cliente (principal que dejó ApiKeyAuthFilter) y por clase de endpoint, antes de tomar
+// hilo de negocio o conexión de Hikari. Excedido → 429 con Retry-After
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    enum EndpointClass { READ, WRITE, PURCHASE }
+
+    public record Limit(long ratePerSecond, long burst) { }
+
+    static final String METRIC = "api.ratelimit.requests";
+    private static final String ANONYMOUS = "anonymous";
+
+    private final Map<EndpointClass, Limit> limits;
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier nanoClock;
+    private final SecurityContextHolderStrategy contextStrategy = SecurityContextHolder.getContextHolderStrategy();
+    private final ConcurrentHashMap<String, ClientBuckets> clients = new ConcurrentHashMap<>();
+
+    public RateLimitFilter(Limit read, Limit write, Limit purchase, MeterRegistry meterRegistry) {
+        this(read, write, purchase, meterRegistry, System::nanoTime);
+    }
+
+    RateLimitFilter(Limit read, Limit write, Limit purchase, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.limits = new EnumMap<>(Map.of(
+                EndpointClass.READ, read, EndpointClass.WRITE, write, EndpointClass.PURCHASE, purchase));
+        this.meterRegistry = meterRegistry;
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return path.startsWith("/swagger") || path.startsWith("/v3/api-docs") || path.startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Authentication auth = contextStrategy.getContext().getAuthentication();
+        String client = auth != null ? auth.getName() : ANONYMOUS;
+
+        ClientBuckets buckets = clients.get(client);
+        if (buckets == null) buckets = clients.computeIfAbsent(client, this::newBuckets);
+
+        int slot = classify(request).ordinal();
+        long waitNanos = buckets.buckets[slot].tryAcquire(nanoClock.getAsLong());
+        if (waitNanos == 0) {
+            buckets.allowed[slot].increment();
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        buckets.rejected[slot].increment();
+        long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+        response.setContentType("application/vnd.api+json");
+        response.getWriter().write("{\"errors\":[{\"status\":\"429\",\"title\":\"Too Many Requests\"," +
+                "\"detail\":\"Rate limit exceeded\"}]}");
+    }
+
+    // recarga de ApiKeyRegistry: los clientes quitados dejan de ocupar buckets y series en el registro de métricas
+    public void retainClients(Set<String> active) {
+        for (String client : clients.keySet()) {
+            if (active.contains(client) || ANONYMOUS.equals(client)) continue;
+            ClientBuckets removed = clients.remove(client);
+            if (removed != null) removed.removeMeters(meterRegistry);
+        }
+    }
+
+    int trackedClients() {
+        return clients.size();
+    }
+
+    static EndpointClass classify(HttpServletRequest request) {
+        String method = request.getMethod();
+        // la compra bloquea filas y llama a products: su propio presupuesto, más estricto
+        if (request.getRequestURI().endsWith("/purchase")) return EndpointClass.PURCHASE;
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method)
+                ? EndpointClass.READ : EndpointClass.WRITE;
+    }
+
+    private ClientBuckets newBuckets(String client) {
+        return new ClientBuckets(client, limits, meterRegistry, nanoClock.getAsLong());
+    }
+
+    // buckets y contadores creados una vez por cliente: el camino por request no registra métricas
+    private static final class ClientBuckets {
+        final TokenBucket[] buckets;
+        final Counter[] allowed;
+        final Counter[] rejected;
+
+        ClientBuckets(String client, Map<EndpointClass, Limit> limits, MeterRegistry registry, long now) {
+            EndpointClass[] classes = EndpointClass.values();
+            buckets = new TokenBucket[classes.length];
+            allowed = new Counter[classes.length];
+            rejected = new Counter[classes.length];
+            for (EndpointClass c : classes) {
+                Limit limit = limits.get(c);
+                buckets[c.ordinal()] = new TokenBucket(limit.ratePerSecond(), limit.burst(), now);
+                allowed[c.ordinal()] = counter(registry, client, c, "allowed");
+                rejected[c.ordinal()] = counter(registry, client, c, "rejected");
+            }
+        }
+
+        void removeMeters(MeterRegistry registry) {
+            for (Counter counter : allowed) registry.remove(counter);
+            for (Counter counter : rejected) registry.remove(counter);
+        }
+
+        private static Counter counter(MeterRegistry registry, String client, EndpointClass c, String outcome) {
+            return Counter.builder(METRIC)
+                    .tag("client", client)
+                    .tag("endpoint", c.name().toLowerCase(Locale.ROOT))
+                    .tag("outcome", outcome)
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.linktic.inventory_service.config;
+
+import com.linktic.inventory_service.infrastructure.persistence.routing.ReadReplicaRoutingDataSource;
+import com.linktic.inventory_service.infrastructure.persistence.routing.ReplicaLagGuard;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnCheckpointRestore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.HikariCheckpointRestoreLifecycle;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// solo con spring.datasource.replica.url definido; si no, Spring Boot arma el DataSource único de siempre.
+// Cada pool lleva su nombre: hikaricp.connections.*{pool=inventory-primary|inventory-replica} en /actuator/metrics
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnExpression("!'${spring.datasource.replica.url:}'.isBlank()")
+public class ReadReplicaConfig {
+
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource")
+    DataSourceProperties primaryDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource primaryDataSource(@Qualifier("primaryDataSourceProperties") DataSourceProperties properties) {
+        HikariDataSource ds = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        ds.setPoolName("inventory-primary");
+        return ds;
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.replica")
+    DataSourceProperties replicaDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.replica.hikari")
+    HikariDataSource replicaDataSource(@Qualifier("replicaDataSourceProperties") DataSourceProperties properties) {
+        HikariDataSource ds = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        ds.setPoolName("inventory-replica");
+        ds.setReadOnly(true);
+        return ds;
+    }
+
+    // CRaC: con este DataSource propio Spring Boot no registra el lifecycle de Hikari; uno por pool
+    // suspende el pool y cierra sus conexiones antes del checkpoint y lo reanuda al restaurar
+    @Bean
+    @ConditionalOnCheckpointRestore
+    HikariCheckpointRestoreLifecycle primaryCheckpointRestoreLifecycle(@Qualifier("primaryDataSource") DataSource primary,
+                                                                       ConfigurableApplicationContext context) {
+        return new HikariCheckpointRestoreLifecycle(primary, context);
+    }
+
+    @Bean
+    @ConditionalOnCheckpointRestore
+    HikariCheckpointRestoreLifecycle replicaCheckpointRestoreLifecycle(@Qualifier("replicaDataSource") DataSource replica,
+                                                                       ConfigurableApplicationContext context) {
+        return new HikariCheckpointRestoreLifecycle(replica, context);
+    }
+
+    @Bean
+    ReplicaLagGuard replicaLagGuard(@Qualifier("replicaDataSource") DataSource replica,
+                                    @Value("${spring.datasource.replica.max-lag:1s}") Duration maxLag,
+                                    @Value("${spring.datasource.replica.lag-probe-interval:5s}") Duration probeInterval) {
+        return new ReplicaLagGuard(replica, maxLag, probeInterval);
+    }
+
+    // el DataSource que ven JPA, Flyway y JdbcTemplate
+    @Bean
+    @Primary
+    DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                          @Qualifier("replicaDataSource") DataSource replica,
+                          ReplicaLagGuard guard) {
+        return new LazyConnectionDataSourceProxy(new ReadReplicaRoutingDataSource(primary, replica, guard));
+    }
+}
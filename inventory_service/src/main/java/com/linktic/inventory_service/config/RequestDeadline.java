@@ -0,0 +1,77 @@
+package com.linktic.inventory_service.config;
+
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// deadline de la petición en curso, en la escala de System.nanoTime(). Lo fija RequestDeadlineFilter a
+// partir de X-Request-Deadline (epoch en ms, absoluto) o grpc-timeout (relativo, p. ej. "1500m")
+public final class RequestDeadline {
+    public static final String HEADER = "X-Request-Deadline";
+    public static final String GRPC_TIMEOUT_HEADER = "grpc-timeout";
+
+    // formato de grpc-timeout: hasta 8 dígitos y unidad H, M, S, m (ms), u (µs) o n (ns)
+    private static final Pattern GRPC_TIMEOUT = Pattern.compile("(\\d{1,8})([HMSmun])");
+    private static final long MAX_GRPC_VALUE = 99_999_999L;
+
+    // un plazo de más de un día equivale a no tenerlo; acotarlo evita desbordes al sumar a nanoTime
+    private static final long MAX_BUDGET_NANOS = TimeUnit.DAYS.toNanos(1);
+
+    private static final ThreadLocal<Long> DEADLINE = new ThreadLocal<>();
+
+    private RequestDeadline() { }
+
+    // con ambos headers gana el más cercano
+    static long parse(String absolute, String grpcTimeout, long nowNanos, long nowMillis) {
+        long budget = MAX_BUDGET_NANOS;
+        if (absolute != null) {
+            long epochMillis;
+            try {
+                epochMillis = Long.parseLong(absolute.trim());
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("invalid " + HEADER + ": " + absolute);
+            }
+            if (epochMillis < 0) throw new IllegalArgumentException("invalid " + HEADER + ": " + absolute);
+            budget = Math.min(budget, TimeUnit.MILLISECONDS.toNanos(epochMillis - nowMillis));
+        }
+        if (grpcTimeout != null) {
+            Matcher m = GRPC_TIMEOUT.matcher(grpcTimeout.trim());
+            if (!m.matches()) throw new IllegalArgumentException("invalid " + GRPC_TIMEOUT_HEADER + ": " + grpcTimeout);
+            budget = Math.min(budget, unit(m.group(2).charAt(0)).toNanos(Long.parseLong(m.group(1))));
+        }
+        return nowNanos + Math.max(budget, -MAX_BUDGET_NANOS);
+    }
+
+    // presupuesto restante como grpc-timeout: ms mientras quepa en 8 dígitos
+    public static String grpcTimeout(long remainingNanos) {
+        long millis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(remainingNanos));
+        if (millis <= MAX_GRPC_VALUE) return millis + "m";
+        return Math.min(TimeUnit.MILLISECONDS.toSeconds(millis), MAX_GRPC_VALUE) + "S";
+    }
+
+    static void set(long deadlineNanos) {
+        DEADLINE.set(deadlineNanos);
+    }
+
+    static void clear() {
+        DEADLINE.remove();
+    }
+
+    // vacío si la petición no trae deadline; puede ser <= 0 si ya venció
+    public static OptionalLong remainingNanos() {
+        Long deadline = DEADLINE.get();
+        return deadline == null ? OptionalLong.empty() : OptionalLong.of(deadline - System.nanoTime());
+    }
+
+    private static TimeUnit unit(char unit) {
+        return switch (unit) {
+            case 'H' -> TimeUnit.HOURS;
+            case 'M' -> TimeUnit.MINUTES;
+            case 'S' -> TimeUnit.SECONDS;
+            case 'm' -> TimeUnit.MILLISECONDS;
+            case 'u' -> TimeUnit.MICROSECONDS;
+            default -> TimeUnit.NANOSECONDS;
+        };
+    }
+}
@@ -0,0 +1,27 @@
+package com.linktic.inventory_service.config;
+
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionTimedOutException;
+
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+// el timeout de cada transacción se acota al presupuesto que le queda a la petición. Spring lo aplica como
+// query timeout a las consultas JPA (pgjdbc cancela la sentencia en Postgres) y falla cualquier consulta
+// posterior al vencimiento; si el plazo ya pasó la transacción ni siquiera empieza
+public class RequestDeadlineTransactionManager extends JpaTransactionManager {
+
+    @Override
+    protected int determineTimeout(TransactionDefinition definition) {
+        int configured = super.determineTimeout(definition);
+        OptionalLong remaining = RequestDeadline.remainingNanos();
+        if (remaining.isEmpty()) return configured;
+        if (remaining.getAsLong() <= 0) throw new TransactionTimedOutException("Request deadline exceeded");
+
+        // JDBC solo admite segundos: se redondea hacia arriba para no cortar antes del plazo
+        long seconds = (remaining.getAsLong() + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+        int budget = (int) Math.min(Integer.MAX_VALUE, seconds);
+        return configured == TransactionDefinition.TIMEOUT_DEFAULT ? budget : Math.min(configured, budget);
+    }
+}
@@ -1,18 +1,119 @@
 package com.linktic.inventory_service.config;
 
+import com.linktic.inventory_service.infrastructure.client.ProductsCallBulkhead;
+import com.linktic.inventory_service.infrastructure.client.ProductsCallDeadline;
+import com.linktic.inventory_service.infrastructure.client.ProductsCallLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
 import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
 @Configuration
 public class RestTemplateConfig {
+    static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(2);
+    static final Duration READ_TIMEOUT = Duration.ofSeconds(2);
+
+    @Bean
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public RestTemplate productsRestTemplate(ProductsProperties props, ObjectProvider<MeterRegistry> meterRegistry) {
+        // con hilos de plataforma el pool de Tomcat ya acota las llamadas simultáneas: sin bulkhead
+        return platformRestTemplate(interceptors(props, meterRegistry, false));
+    }
+
+    // java.net.http.HttpClient con sus tareas internas en hilos virtuales, en lugar de HttpURLConnection.
+    // Es un bean Lifecycle: se cierra y se vuelve a crear alrededor de un checkpoint de CRaC
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public ProductsHttpClientLifecycle productsHttpClient() {
+        return new ProductsHttpClientLifecycle(RestTemplateConfig::virtualThreadHttpClient);
+    }
 
     @Bean
-    public RestTemplate productsRestTemplate() {
-        SimpleClientHttpRequestFactory f = new SimpleClientHttpRequestFactory();
-        f.setConnectTimeout(2000);
-        f.setReadTimeout(2000);
-        return new RestTemplate(f);
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public RestTemplate virtualThreadProductsRestTemplate(ProductsProperties props,
+                                                          ObjectProvider<MeterRegistry> meterRegistry,
+                                                          ProductsHttpClientLifecycle productsHttpClient) {
+        return restTemplate(productsHttpClient, interceptors(props, meterRegistry, true));
+    }
+
+    // HttpURLConnection no tiene pool propio que cerrar: las conexiones keep-alive ociosas quedan en la caché
+    // interna del JDK, y liberarlas en un checkpoint le toca al JDK con CRaC (ver README)
+    public static RestTemplate platformRestTemplate(ClientHttpRequestInterceptor... interceptors) {
+        SimpleClientHttpRequestFactory f = new DeadlineAwareRequestFactory();
+        f.setConnectTimeout(CONNECT_TIMEOUT);
+        f.setReadTimeout(READ_TIMEOUT);
+        return restTemplate(f, interceptors);
+    }
+
+    public static RestTemplate virtualThreadRestTemplate(ClientHttpRequestInterceptor... interceptors) {
+        return restTemplate(new ProductsHttpClientLifecycle(RestTemplateConfig::virtualThreadHttpClient), interceptors);
+    }
+
+    static HttpClient virtualThreadHttpClient() {
+        return HttpClient.newBuilder()
+                .connectTimeout(CONNECT_TIMEOUT)
+                .executor(new VirtualThreadTaskExecutor("products-http-"))
+                .build();
+    }
+
+    private static RestTemplate restTemplate(ClientHttpRequestFactory factory, ClientHttpRequestInterceptor... interceptors) {
+        RestTemplate rt = new RestTemplate(factory);
+        rt.getInterceptors().addAll(List.of(interceptors));
+        return rt;
+    }
+
+    // el límite adaptativo va por fuera: rechaza antes de esperar un permiso del bulkhead
+    static ClientHttpRequestInterceptor[] interceptors(ProductsProperties props,
+                                                       ObjectProvider<MeterRegistry> meterRegistry,
+                                                       boolean bulkhead) {
+        List<ClientHttpRequestInterceptor> interceptors = new ArrayList<>();
+        ProductsProperties.AdaptiveLimit adaptive = props.getAdaptiveLimit();
+        if (adaptive.isEnabled()) {
+            interceptors.add(new ProductsCallLimiter(new AdaptiveConcurrencyLimit("products-service",
+                    new AdaptiveConcurrencyLimit.Settings(adaptive.getInitial(), adaptive.getMin(), adaptive.getMax()),
+                    meterRegistry.getIfAvailable(SimpleMeterRegistry::new))));
+        }
+        if (bulkhead) {
+            interceptors.add(new ProductsCallBulkhead(props.getMaxConcurrentCalls(), props.getAcquireTimeout()));
+        }
+        interceptors.add(new ProductsCallDeadline());
+        return interceptors.toArray(ClientHttpRequestInterceptor[]::new);
+    }
+
+    // connect y read timeouts acotados por el presupuesto restante de la petición entrante (en modo hilos
+    // virtuales lo hace ProductsHttpClientLifecycle con el timeout de cada HttpRequest)
+    static final class DeadlineAwareRequestFactory extends SimpleClientHttpRequestFactory {
+        @Override
+        protected void prepareConnection(HttpURLConnection connection, String httpMethod) throws IOException {
+            super.prepareConnection(connection, httpMethod);
+            OptionalLong remaining = RequestDeadline.remainingNanos();
+            if (remaining.isEmpty()) return;
+            int budgetMillis = (int) Math.max(1, Math.min(Integer.MAX_VALUE,
+                    TimeUnit.NANOSECONDS.toMillis(remaining.getAsLong())));
+            connection.setConnectTimeout(cap(connection.getConnectTimeout(), budgetMillis));
+            connection.setReadTimeout(cap(connection.getReadTimeout(), budgetMillis));
+        }
+
+        // 0 es "sin timeout" en HttpURLConnection
+        private static int cap(int timeoutMillis, int budgetMillis) {
+            return timeoutMillis == 0 ? budgetMillis : Math.min(timeoutMillis, budgetMillis);
+        }
     }
 }
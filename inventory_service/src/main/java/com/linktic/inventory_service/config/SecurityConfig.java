@@ -1,5 +1,9 @@
 package com.linktic.inventory_service.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -7,6 +11,11 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.util.StringUtils;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
 
 @Configuration
 public class SecurityConfig {
@@ -17,8 +26,53 @@ public class SecurityConfig {
     @Value("${security.api-key.value:${INVENTORY_API_KEY:}}")
     private String expectedValue;
 
+    @Value("${security.api-key.file:}")
+    private String keysFile;
+
+    @Value("${security.api-key.reload-interval:30s}")
+    private Duration reloadInterval;
+
+    @Value("${security.rate-limit.read.rate-per-second:100}")
+    private long readRate;
+
+    @Value("${security.rate-limit.read.burst:200}")
+    private long readBurst;
+
+    @Value("${security.rate-limit.write.rate-per-second:20}")
+    private long writeRate;
+
+    @Value("${security.rate-limit.write.burst:40}")
+    private long writeBurst;
+
+    @Value("${security.rate-limit.purchase.rate-per-second:10}")
+    private long purchaseRate;
+
+    @Value("${security.rate-limit.purchase.burst:20}")
+    private long purchaseBurst;
+
+    @Value("${security.concurrency-limit.enabled:false}")
+    private boolean concurrencyLimitEnabled;
+
+    @Value("${security.concurrency-limit.initial:20}")
+    private int concurrencyInitial;
+
+    @Value("${security.concurrency-limit.min:5}")
+    private int concurrencyMin;
+
+    @Value("${security.concurrency-limit.max:200}")
+    private int concurrencyMax;
+
+    @Bean
+    public ApiKeyRegistry apiKeyRegistry() {
+        Path file = StringUtils.hasText(keysFile) ? Path.of(keysFile) : null;
+        return new ApiKeyRegistry(file, expectedValue, reloadInterval);
+    }
+
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, ApiKeyRegistry apiKeyRegistry,
+                                           ObjectProvider<MeterRegistry> meterRegistry,
+                                           ObjectMapper objectMapper) throws Exception {
+        MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
         http.csrf(csrf -> csrf.disable());
 
         http.sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
@@ -33,8 +87,25 @@ public class SecurityConfig {
                 .anyRequest().authenticated()
         );
 
-        http.addFilterBefore(new ApiKeyAuthFilter(headerName, expectedValue),
+        http.addFilterBefore(new ApiKeyAuthFilter(headerName, apiKeyRegistry),
                 UsernamePasswordAuthenticationFilter.class);
+        // primero de la cadena: una petición cuyo llamante ya se rindió no llega a autenticarse
+        http.addFilterBefore(new RequestDeadlineFilter(objectMapper), ApiKeyAuthFilter.class);
+        // después de autenticar: el límite se aplica por cliente
+        RateLimitFilter rateLimitFilter = new RateLimitFilter(
+                new RateLimitFilter.Limit(readRate, readBurst),
+                new RateLimitFilter.Limit(writeRate, writeBurst),
+                new RateLimitFilter.Limit(purchaseRate, purchaseBurst),
+                registry);
+        apiKeyRegistry.onReload(rateLimitFilter::retainClients);
+        http.addFilterAfter(rateLimitFilter, ApiKeyAuthFilter.class);
+        // tras el rate limit: un cliente fuera de cuota recibe 429 sin ocupar permiso global
+        if (concurrencyLimitEnabled) {
+            http.addFilterAfter(new ConcurrencyLimitFilter(new AdaptiveConcurrencyLimit("inbound",
+                            new AdaptiveConcurrencyLimit.Settings(concurrencyInitial, concurrencyMin, concurrencyMax),
+                            registry), List.of("/inventories/list", "/inventories/export")),
+                    RateLimitFilter.class);
+        }
         return http.build();
     }
 }
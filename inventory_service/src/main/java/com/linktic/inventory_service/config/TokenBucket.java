@@ -0,0 +1,32 @@
+package com.linktic.inventory_service.config;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// token bucket en forma GCRA: todo el estado es el "theoretical arrival time" en un AtomicLong,
+// así que comprobar y consumir es un CAS, sin locks ni hilo de recarga
+final class TokenBucket {
+    private final long emissionNanos;
+    private final long toleranceNanos;
+    private final AtomicLong tat;
+
+    TokenBucket(long ratePerSecond, long burst, long nowNanos) {
+        if (ratePerSecond <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("rate limit requires ratePerSecond > 0 and burst > 0");
+        }
+        this.emissionNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        this.toleranceNanos = emissionNanos * (burst - 1);
+        this.tat = new AtomicLong(nowNanos);
+    }
+
+    // 0 si se admite; si no, nanos hasta que vuelva a haber un token
+    long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = tat.get();
+            long arrival = Math.max(current, nowNanos);
+            long wait = arrival - nowNanos - toleranceNanos;
+            if (wait > 0) return wait;
+            if (tat.compareAndSet(current, arrival + emissionNanos)) return 0;
+        }
+    }
+}
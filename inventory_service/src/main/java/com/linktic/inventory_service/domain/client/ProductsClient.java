@@ -1,11 +1,16 @@
 package com.linktic.inventory_service.domain.client;
 
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Map;
 
 public interface ProductsClient {
     boolean existsProduct(Long productId);
 
     ProductSummary getProductSummary(Long productId);
 
+    // productos inexistentes no aparecen en el resultado
+    Map<Long, ProductSummary> getProductSummaries(Collection<Long> productIds);
+
     record ProductSummary(Long id, String name, BigDecimal price) {}
 }
\ No newline at end of file
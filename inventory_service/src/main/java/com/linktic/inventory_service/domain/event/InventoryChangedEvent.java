@@ -0,0 +1,13 @@
+package com.linktic.inventory_service.domain.event;
+
+import java.time.LocalDateTime;
+
+public record InventoryChangedEvent(
+        Type type,
+        Long inventoryId,
+        Long productId,
+        Integer quantity,
+        LocalDateTime changedAt
+) {
+    public enum Type { CREATED, UPDATED, PURCHASE, DELETED }
+}
@@ -0,0 +1,10 @@
+package com.linktic.inventory_service.domain.exception;
+
+// venció el deadline de la petición (X-Request-Deadline / grpc-timeout) antes o durante la llamada a
+// products-service: se responde 504 Gateway Timeout, no 500 ni "Product not found"
+public class DeadlineExceededException extends RuntimeException {
+
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,9 @@
+package com.linktic.inventory_service.domain.exception;
+
+// If-Match que no coincide con la versión actual: se responde 412 Precondition Failed
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
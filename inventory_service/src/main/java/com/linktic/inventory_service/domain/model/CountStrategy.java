@@ -0,0 +1,7 @@
+package com.linktic.inventory_service.domain.model;
+
+public enum CountStrategy {
+    EXACT,
+    ESTIMATED,
+    CACHED
+}
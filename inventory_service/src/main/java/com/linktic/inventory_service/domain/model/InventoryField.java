@@ -0,0 +1,14 @@
+package com.linktic.inventory_service.domain.model;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+// atributos que un cliente puede pedir con fields[inventories]
+public enum InventoryField {
+    PRODUCT_ID,
+    QUANTITY;
+
+    public static Set<InventoryField> all() {
+        return EnumSet.allOf(InventoryField.class);
+    }
+}
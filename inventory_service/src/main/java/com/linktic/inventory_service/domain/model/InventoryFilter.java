@@ -0,0 +1,26 @@
+package com.linktic.inventory_service.domain.model;
+
+import java.util.List;
+
+public record InventoryFilter(List<Condition> conditions) {
+
+    private static final InventoryFilter NONE = new InventoryFilter(List.of());
+
+    public enum Field { QUANTITY, UPDATED_AT }
+
+    public enum Operator { EQ, LT, LTE, GT, GTE }
+
+    public record Condition(Field field, Operator operator, Comparable<?> value) {}
+
+    public InventoryFilter {
+        conditions = List.copyOf(conditions);
+    }
+
+    public static InventoryFilter none() {
+        return NONE;
+    }
+
+    public boolean isEmpty() {
+        return conditions.isEmpty();
+    }
+}
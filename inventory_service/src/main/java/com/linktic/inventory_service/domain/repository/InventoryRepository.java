@@ -1,17 +1,35 @@
 package com.linktic.inventory_service.domain.repository;
 
+import com.linktic.inventory_service.domain.model.CountStrategy;
 import com.linktic.inventory_service.domain.model.Inventory;
+import com.linktic.inventory_service.domain.model.InventoryField;
+import com.linktic.inventory_service.domain.model.InventoryFilter;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 public interface InventoryRepository {
     Inventory save(Inventory inventory);
     Optional<Inventory> findById(Long id);
+    Optional<Inventory> findById(Long id, Set<InventoryField> fields);
     Optional<Inventory> findByProductId(Long productId);
+    List<Inventory> findStockByProductIds(Collection<Long> productIds);
     void deleteById(Long id);
     List<Inventory> findAll();
+    Stream<Inventory> streamAll();
+    Stream<Inventory> streamAll(Long afterId, LocalDateTime updatedSince);
     Page<Inventory> findAllPaginatedList(Pageable pageable);
+    Page<Inventory> findAllPaginatedList(Pageable pageable, InventoryFilter filter);
+    Page<Inventory> findAllPaginatedList(Pageable pageable, InventoryFilter filter, Set<InventoryField> fields);
+    CountStrategy countStrategy();
+    List<Inventory> findLowStock(int below);
+    Optional<LocalDateTime> findVersionById(Long id);
+    boolean existsById(Long id);
+    boolean updateQuantityIfVersion(Long id, int quantity, LocalDateTime version, LocalDateTime updatedAt);
 }
@@ -1,35 +1,59 @@
 package com.linktic.inventory_service.domain.service;
 
 import com.linktic.inventory_service.domain.client.ProductsClient;
+import com.linktic.inventory_service.domain.event.InventoryChangedEvent;
+import com.linktic.inventory_service.domain.exception.PreconditionFailedException;
+import com.linktic.inventory_service.domain.model.CountStrategy;
 import com.linktic.inventory_service.domain.model.Inventory;
 import com.linktic.inventory_service.domain.model.InventoryDetails;
+import com.linktic.inventory_service.domain.model.InventoryField;
+import com.linktic.inventory_service.domain.model.InventoryFilter;
 import com.linktic.inventory_service.domain.repository.InventoryRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class InventoryService {
     private static final Logger log = LoggerFactory.getLogger(InventoryService.class);
+    private static final int MAX_PRODUCT_IDS_PER_REQUEST = 100;
 
     private final InventoryRepository repository;
     private final ProductsClient productsClient;
     private final boolean validateProducts;
+    private final ApplicationEventPublisher events;
+    private final LowStockWatchlist lowStockWatchlist;
 
-    public InventoryService(InventoryRepository repository, Optional<ProductsClient> productsClientOpt) {
+    public InventoryService(InventoryRepository repository, Optional<ProductsClient> productsClientOpt,
+                            ApplicationEventPublisher events, LowStockWatchlist lowStockWatchlist) {
         this.repository = repository;
         this.productsClient = productsClientOpt.orElse(null);
         this.validateProducts = productsClientOpt.isPresent();
+        this.events = events;
+        this.lowStockWatchlist = lowStockWatchlist;
     }
 
     public Inventory create(Long productId, Integer quantity) {
@@ -40,23 +64,50 @@ public class InventoryService {
             throw new NoSuchElementException("Product not found.");
         }
 
-        Inventory inv = new Inventory(null, productId, quantity, LocalDateTime.now(), null);
+        Inventory inv = new Inventory(null, productId, quantity, now(), null);
         Inventory saved = repository.save(inv);
         log.info("InventoryChanged event=CREATED productId={} newQuantity={}", saved.getProductId(), saved.getQuantity());
+        publish(InventoryChangedEvent.Type.CREATED, saved, saved.getCreatedAt());
 
         return saved;
     }
 
+    @Transactional(readOnly = true)
     public Inventory get(Long id) {
         return repository.findById(id)
                 .orElseThrow(() -> new NoSuchElementException("Inventory not found."));
     }
 
+    // fields[inventories]: solo se consultan las columnas pedidas
+    @Transactional(readOnly = true)
+    public Inventory get(Long id, Set<InventoryField> fields) {
+        if (fields.containsAll(InventoryField.all())) return get(id);
+        return repository.findById(id, fields)
+                .orElseThrow(() -> new NoSuchElementException("Inventory not found."));
+    }
+
+    @Transactional(readOnly = true)
     public Inventory getByProductId(Long productId) {
         return repository.findByProductId(productId)
                 .orElseThrow(() -> new NoSuchElementException("Inventory not found for productId " + productId));
     }
 
+    // stock de varios productos en una sola consulta, sin pasar por products-service;
+    // se devuelve en el orden pedido y los productIds sin inventario simplemente no aparecen
+    @Transactional(readOnly = true)
+    public List<Inventory> stockByProductIds(Collection<Long> productIds) {
+        if (productIds.isEmpty()) throw new IllegalArgumentException("at least one productId is required");
+        if (productIds.size() > MAX_PRODUCT_IDS_PER_REQUEST) {
+            throw new IllegalArgumentException("at most " + MAX_PRODUCT_IDS_PER_REQUEST + " productIds per request");
+        }
+        Map<Long, Inventory> byProductId = repository.findStockByProductIds(productIds).stream()
+                .collect(Collectors.toMap(Inventory::getProductId, Function.identity()));
+        return productIds.stream()
+                .map(byProductId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
     public Inventory update(Long id, Integer quantity) {
         if (id == null) throw new IllegalArgumentException("id is required");
         Inventory current = get(id);
@@ -64,14 +115,36 @@ public class InventoryService {
             if (quantity < 0) throw new IllegalArgumentException("quantity must be >= 0");
             current.setQuantity(quantity);
         }
-        current.setUpdatedAt(LocalDateTime.now());
+        current.setUpdatedAt(now());
         Inventory saved = repository.save(current);
 
         log.info("InventoryChanged event=UPDATED productId={} newQuantity={}", saved.getProductId(), saved.getQuantity());
+        publish(InventoryChangedEvent.Type.UPDATED, saved, saved.getUpdatedAt());
 
         return saved;
     }
 
+    // PUT con If-Match: actualización condicional a la versión (coalesce(updatedAt, createdAt)) que vio el cliente
+    public Inventory update(Long id, Integer quantity, LocalDateTime expectedVersion) {
+        if (id == null) throw new IllegalArgumentException("id is required");
+        if (quantity == null || quantity < 0) throw new IllegalArgumentException("quantity must be >= 0");
+        if (!repository.updateQuantityIfVersion(id, quantity, expectedVersion, now())) {
+            if (!repository.existsById(id)) throw new NoSuchElementException("Inventory not found.");
+            throw new PreconditionFailedException("Inventory was modified by another request; reload it and retry.");
+        }
+        Inventory saved = get(id);
+
+        log.info("InventoryChanged event=UPDATED productId={} newQuantity={}", saved.getProductId(), saved.getQuantity());
+        publish(InventoryChangedEvent.Type.UPDATED, saved, saved.getUpdatedAt());
+
+        return saved;
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<LocalDateTime> version(Long id) {
+        return repository.findVersionById(id);
+    }
+
     public Inventory purchase(Long productId, Integer units) {
         if (productId == null) throw new IllegalArgumentException("productId is required");
         if (units == null || units <= 0) throw new IllegalArgumentException("units must be > 0");
@@ -82,27 +155,83 @@ public class InventoryService {
             throw new IllegalArgumentException("insufficient stock");
         }
         inv.setQuantity(newQty);
-        inv.setUpdatedAt(LocalDateTime.now());
+        inv.setUpdatedAt(now());
         Inventory saved = repository.save(inv);
 
         log.info("InventoryChanged event=PURCHASE productId={} delta=-{} newQuantity={}", productId, units, saved.getQuantity());
+        publish(InventoryChangedEvent.Type.PURCHASE, saved, saved.getUpdatedAt());
 
         return saved;
     }
 
     public void delete(Long id) {
+        repository.findById(id).ifPresent(inv ->
+                publish(InventoryChangedEvent.Type.DELETED, inv, now()));
         repository.deleteById(id);
     }
 
+    @Transactional(readOnly = true)
     public List<Inventory> list() {
         return repository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    public void forEach(Consumer<Inventory> action) {
+        try (Stream<Inventory> inventories = repository.streamAll()) {
+            inventories.forEach(action);
+        }
+    }
+
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public void export(Long afterId, LocalDateTime updatedSince, Consumer<Inventory> action) {
+        try (Stream<Inventory> inventories = repository.streamAll(afterId, updatedSince)) {
+            inventories.forEach(action);
+        }
+    }
+
+    @Transactional(readOnly = true)
     public Page<Inventory> paginatedList(int pageNumber, int pageSize) {
+        return paginatedList(pageNumber, pageSize, InventoryFilter.none(), Sort.unsorted());
+    }
+
+    @Transactional(readOnly = true)
+    public Page<Inventory> paginatedList(int pageNumber, int pageSize, InventoryFilter filter, Sort sort) {
+        return paginatedList(pageNumber, pageSize, filter, sort, InventoryField.all());
+    }
+
+    @Transactional(readOnly = true)
+    public Page<Inventory> paginatedList(int pageNumber, int pageSize, InventoryFilter filter, Sort sort,
+                                         Set<InventoryField> fields) {
         int pn = Math.max(pageNumber, 1) - 1;
         int ps = Math.min(Math.max(pageSize, 1), 100);
-        Pageable pageable = PageRequest.of(pn, ps);
-        return repository.findAllPaginatedList(pageable);
+        Pageable pageable = PageRequest.of(pn, ps, withTieBreaker(sort));
+        if (fields.containsAll(InventoryField.all())) return repository.findAllPaginatedList(pageable, filter);
+        return repository.findAllPaginatedList(pageable, filter, fields);
+    }
+
+    public CountStrategy countStrategy() {
+        return repository.countStrategy();
+    }
+
+    public CountStrategy countStrategy(InventoryFilter filter) {
+        return filter.isEmpty() ? repository.countStrategy() : CountStrategy.EXACT;
+    }
+
+    // desempate por id en la misma dirección que el último criterio: orden estable entre páginas
+    // y recorrible con los índices (columna, id)
+    private static Sort withTieBreaker(Sort sort) {
+        if (sort.isUnsorted() || sort.getOrderFor("id") != null) return sort;
+        Sort.Direction direction = sort.stream().reduce((first, second) -> second).orElseThrow().getDirection();
+        return sort.and(Sort.by(direction, "id"));
+    }
+
+    // se sirve desde memoria: sin transacción para no tomar una conexión del pool
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<Inventory> lowStock(int threshold) {
+        if (threshold < 1 || threshold > lowStockWatchlist.maxThreshold()) {
+            throw new IllegalArgumentException("threshold must be between 1 and " + lowStockWatchlist.maxThreshold());
+        }
+        return lowStockWatchlist.below(threshold);
     }
 
     public InventoryDetails getDetailsByProductId(Long productId) {
@@ -115,4 +244,24 @@ public class InventoryService {
         return new InventoryDetails(inv, prod);
     }
 
+    // include=product: los productos de toda la respuesta en un solo fetch por lote;
+    // llamada remota, sin transacción para no retener una conexión del pool
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Map<Long, ProductsClient.ProductSummary> productsFor(Collection<Long> productIds) {
+        if (productsClient == null) {
+            throw new IllegalStateException("Products integration is disabled; productsClient not configured");
+        }
+        if (productIds.isEmpty()) return Map.of();
+        return productsClient.getProductSummaries(productIds);
+    }
+
+    // Postgres guarda microsegundos: truncar evita que la versión en memoria difiera de la persistida
+    private static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    private void publish(InventoryChangedEvent.Type type, Inventory inv, LocalDateTime changedAt) {
+        events.publishEvent(new InventoryChangedEvent(type, inv.getId(), inv.getProductId(), inv.getQuantity(), changedAt));
+    }
+
 }
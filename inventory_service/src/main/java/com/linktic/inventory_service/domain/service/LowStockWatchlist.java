@@ -0,0 +1,107 @@
+package com.linktic.inventory_service.domain.service;
+
+import com.linktic.inventory_service.domain.event.InventoryChangedEvent;
+import com.linktic.inventory_service.domain.model.Inventory;
+import com.linktic.inventory_service.domain.repository.InventoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+@Component
+public class LowStockWatchlist {
+    private static final Logger log = LoggerFactory.getLogger(LowStockWatchlist.class);
+
+    private final InventoryRepository repository;
+    private final int maxThreshold;
+
+    // (quantity, productId) ordenado: "por debajo de N" es un headSet, O(log n + k)
+    private final NavigableSet<Entry> byQuantity = new ConcurrentSkipListSet<>(
+            Comparator.comparingInt(Entry::quantity).thenComparingLong(Entry::productId));
+    private final Map<Long, Entry> byProduct = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    public LowStockWatchlist(InventoryRepository repository,
+                             @Value("${inventory.low-stock.max-threshold:100}") int maxThreshold) {
+        this.repository = repository;
+        this.maxThreshold = maxThreshold;
+    }
+
+    public int maxThreshold() {
+        return maxThreshold;
+    }
+
+    public List<Inventory> below(int threshold) {
+        if (!ready) {
+            // hasta terminar la carga inicial se responde desde el índice parcial
+            return repository.findLowStock(threshold);
+        }
+        return byQuantity.headSet(new Entry(threshold, Long.MIN_VALUE, null, null, true)).stream()
+                .map(e -> new Inventory(e.inventoryId(), e.productId(), e.quantity(), null, e.changedAt()))
+                .toList();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        List<Inventory> low = repository.findLowStock(maxThreshold);
+        low.forEach(inv -> apply(inv.getId(), inv.getProductId(), inv.getQuantity(),
+                inv.getUpdatedAt() != null ? inv.getUpdatedAt() : inv.getCreatedAt()));
+        ready = true;
+        log.info("Low-stock watchlist loaded: {} products under {} units", low.size(), maxThreshold);
+    }
+
+    // solo cambios confirmados; fallbackExecution cubre llamadas fuera de transacción
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(InventoryChangedEvent event) {
+        if (event.type() == InventoryChangedEvent.Type.DELETED) {
+            remove(event.productId(), event.changedAt());
+            return;
+        }
+        apply(event.inventoryId(), event.productId(), event.quantity(), event.changedAt());
+    }
+
+    int trackedProducts() {
+        return byProduct.size();
+    }
+
+    private void apply(Long inventoryId, Long productId, Integer quantity, LocalDateTime changedAt) {
+        if (productId == null) return;
+        // compute serializa por producto; se guarda el último estado (aunque no esté en la lista)
+        // para que un evento más viejo que llegue tarde no lo pise
+        byProduct.compute(productId, (id, current) -> {
+            if (current != null && isOlder(changedAt, current.changedAt())) return current;
+            if (current != null && current.listed()) byQuantity.remove(current);
+            boolean listed = quantity != null && quantity < maxThreshold;
+            Entry next = new Entry(quantity != null ? quantity : 0, productId, inventoryId, changedAt, listed);
+            if (listed) byQuantity.add(next);
+            return next;
+        });
+    }
+
+    // borrado: sale de ambos índices para que el mapa no crezca con productos que ya no existen
+    private void remove(Long productId, LocalDateTime changedAt) {
+        if (productId == null) return;
+        byProduct.computeIfPresent(productId, (id, current) -> {
+            if (isOlder(changedAt, current.changedAt())) return current;
+            if (current.listed()) byQuantity.remove(current);
+            return null;
+        });
+    }
+
+    private static boolean isOlder(LocalDateTime candidate, LocalDateTime current) {
+        return candidate != null && current != null && candidate.isBefore(current);
+    }
+
+    private record Entry(int quantity, long productId, Long inventoryId, LocalDateTime changedAt, boolean listed) {}
+}
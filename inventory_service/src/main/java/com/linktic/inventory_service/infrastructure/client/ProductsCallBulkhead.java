@@ -0,0 +1,60 @@
+package com.linktic.inventory_service.infrastructure.client;
+
+import com.linktic.inventory_service.config.RequestDeadline;
+import com.linktic.inventory_service.domain.exception.DeadlineExceededException;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// limita las llamadas simultáneas a products-service. Con hilos virtuales cada request tiene su hilo
+// y nada acota cuántas esperan a products; sin permiso en acquireTimeout la llamada falla como I/O
+// (RestTemplate la envuelve en ResourceAccessException)
+public class ProductsCallBulkhead implements ClientHttpRequestInterceptor {
+    private final Semaphore permits;
+    private final long acquireTimeoutNanos;
+
+    public ProductsCallBulkhead(int maxConcurrentCalls, Duration acquireTimeout) {
+        if (maxConcurrentCalls <= 0) {
+            throw new IllegalArgumentException("maxConcurrentCalls must be > 0");
+        }
+        // fair: las esperas se atienden por orden de llegada
+        this.permits = new Semaphore(maxConcurrentCalls, true);
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body,
+                                        ClientHttpRequestExecution execution) throws IOException {
+        // no esperar más de lo que le queda a la petición entrante
+        long remainingNanos = RequestDeadline.remainingNanos().orElse(Long.MAX_VALUE);
+        long waitNanos = Math.min(acquireTimeoutNanos, remainingNanos);
+        try {
+            if (!permits.tryAcquire(waitNanos, TimeUnit.NANOSECONDS)) {
+                // se agotó el plazo del llamante, no la espera configurada: es un 504, no products caído
+                if (remainingNanos < acquireTimeoutNanos) {
+                    throw new DeadlineExceededException("request deadline exceeded waiting for products-service permit");
+                }
+                throw new IOException("products-service concurrency limit reached");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted waiting for products-service permit");
+        }
+        try {
+            return execution.execute(request, body);
+        } finally {
+            permits.release();
+        }
+    }
+
+    int availablePermits() {
+        return permits.availablePermits();
+    }
+}
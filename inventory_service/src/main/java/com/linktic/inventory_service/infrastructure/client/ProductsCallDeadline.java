@@ -0,0 +1,30 @@
+package com.linktic.inventory_service.infrastructure.client;
+
+import com.linktic.inventory_service.config.RequestDeadline;
+import com.linktic.inventory_service.domain.exception.DeadlineExceededException;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.util.OptionalLong;
+
+// propaga a products-service el presupuesto que le queda a la petición entrante (grpc-timeout) y no llama
+// si ya venció (DeadlineExceededException, no IOException: RestTemplate la dejaría como ResourceAccessException
+// y se confundiría con products caído). Va el último de la cadena: lo que se esperó en el bulkhead ya está descontado
+public class ProductsCallDeadline implements ClientHttpRequestInterceptor {
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body,
+                                        ClientHttpRequestExecution execution) throws IOException {
+        OptionalLong remaining = RequestDeadline.remainingNanos();
+        if (remaining.isPresent()) {
+            if (remaining.getAsLong() <= 0) {
+                throw new DeadlineExceededException("request deadline exceeded before calling products-service");
+            }
+            request.getHeaders().set(RequestDeadline.GRPC_TIMEOUT_HEADER, RequestDeadline.grpcTimeout(remaining.getAsLong()));
+        }
+        return execution.execute(request, body);
+    }
+}
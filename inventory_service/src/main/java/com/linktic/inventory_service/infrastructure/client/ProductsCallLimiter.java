@@ -0,0 +1,43 @@
+package com.linktic.inventory_service.infrastructure.client;
+
+import com.linktic.inventory_service.config.AdaptiveConcurrencyLimit;
+import com.linktic.inventory_service.domain.exception.DeadlineExceededException;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+
+// límite adaptativo de llamadas a products-service. A diferencia de ProductsCallBulkhead no espera permiso:
+// si la latencia de products sube, el límite baja y el exceso falla al instante como I/O. Los 5xx y los
+// fallos de I/O cuentan como drop; el resto de respuestas aportan su latencia
+public class ProductsCallLimiter implements ClientHttpRequestInterceptor {
+    private final AdaptiveConcurrencyLimit limit;
+
+    public ProductsCallLimiter(AdaptiveConcurrencyLimit limit) {
+        this.limit = limit;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body,
+                                        ClientHttpRequestExecution execution) throws IOException {
+        long start = limit.tryAcquire();
+        if (start == AdaptiveConcurrencyLimit.REJECTED) {
+            throw new IOException("products-service adaptive concurrency limit reached");
+        }
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            if (response.getStatusCode().is5xxServerError()) limit.onDropped();
+            else limit.onSuccess(start);
+            return response;
+        } catch (DeadlineExceededException ex) {
+            // el plazo lo puso el llamante: no dice nada de la carga de products
+            limit.onIgnore();
+            throw ex;
+        } catch (IOException | RuntimeException ex) {
+            limit.onDropped();
+            throw ex;
+        }
+    }
+}
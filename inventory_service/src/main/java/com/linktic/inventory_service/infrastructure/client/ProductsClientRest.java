@@ -3,7 +3,9 @@ package com.linktic.inventory_service.infrastructure.client;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.linktic.inventory_service.config.ProductsProperties;
+import com.linktic.inventory_service.config.RequestDeadline;
 import com.linktic.inventory_service.domain.client.ProductsClient;
+import com.linktic.inventory_service.domain.exception.DeadlineExceededException;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -15,10 +17,18 @@ import org.springframework.web.client.RestClientResponseException;
 import org.springframework.web.client.RestTemplate;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
 
 @Component
 public class ProductsClientRest implements ProductsClient {
+    // límite de ids por llamada de GET /products?filter[id]=...
+    static final int MAX_BATCH = 100;
 
     private final RestTemplate rt;
     private final ObjectMapper mapper;
@@ -37,6 +47,9 @@ public class ProductsClientRest implements ProductsClient {
             return true;
         } catch (NoSuchElementException notFound) {
             return false;
+        } catch (DeadlineExceededException ex) {
+            // sin tiempo no se sabe si el producto existe: 504, no "Product not found"
+            throw ex;
         } catch (RuntimeException ex) {
             // indisponible o error inesperado: considera falso
             return false;
@@ -46,13 +59,11 @@ public class ProductsClientRest implements ProductsClient {
     @Override
     public ProductsClient.ProductSummary getProductSummary(Long productId) {
         try {
-            HttpHeaders h = new HttpHeaders();
-            h.setAccept(MediaType.parseMediaTypes("application/vnd.api+json, application/json"));
-            h.set(props.getApiKey().getHeader(), props.getApiKey().getValue());
-            HttpEntity<Void> entity = new HttpEntity<>(h);
+            HttpEntity<Void> entity = new HttpEntity<>(headers());
 
             ResponseEntity<String> resp = rt.exchange(
-                    props.getBaseUrl() + "/products/{id}",
+                    // sparse fieldset: solo los atributos que usa ProductSummary
+                    props.getBaseUrl() + "/products/{id}?fields[products]=name,price",
                     HttpMethod.GET,
                     entity,
                     String.class,
@@ -85,12 +96,89 @@ public class ProductsClientRest implements ProductsClient {
             if (HttpStatus.NOT_FOUND.equals(ex.getStatusCode())) {
                 throw new NoSuchElementException("Product not found.");
             }
-            throw new IllegalStateException("Products service unavailable");
+            throw unavailable(ex);
+        } catch (DeadlineExceededException ex) {
+            throw ex;
         } catch (Exception ex) {
-            throw new IllegalStateException("Error calling Products service", ex);
+            throw failed(ex);
         }
     }
 
+    @Override
+    public Map<Long, ProductsClient.ProductSummary> getProductSummaries(Collection<Long> productIds) {
+        List<Long> ids = productIds.stream().distinct().toList();
+        Map<Long, ProductsClient.ProductSummary> result = new LinkedHashMap<>();
+        // una llamada por lote; una página de inventario (máx. 100) cabe en una sola
+        for (int from = 0; from < ids.size(); from += MAX_BATCH) {
+            fetchBatch(ids.subList(from, Math.min(from + MAX_BATCH, ids.size())))
+                    .forEach(summary -> result.put(summary.id(), summary));
+        }
+        return result;
+    }
+
+    private List<ProductsClient.ProductSummary> fetchBatch(List<Long> ids) {
+        try {
+            ResponseEntity<String> resp = rt.exchange(
+                    props.getBaseUrl() + "/products?filter[id]={ids}&fields[products]=name,price",
+                    HttpMethod.GET,
+                    new HttpEntity<Void>(headers()),
+                    String.class,
+                    ids.stream().map(String::valueOf).collect(Collectors.joining(","))
+            );
+
+            if (!resp.getStatusCode().is2xxSuccessful() || resp.getBody() == null) {
+                throw new IllegalStateException("Products service unexpected response");
+            }
+
+            JsonNode data = mapper.readTree(resp.getBody()).path("data");
+            if (!data.isArray()) {
+                throw new IllegalStateException("Products service malformed JSON:API");
+            }
+
+            List<ProductsClient.ProductSummary> summaries = new ArrayList<>(data.size());
+            for (JsonNode item : data) {
+                Long id = parseLongSafe(item.path("id").asText(null));
+                JsonNode attrs = item.path("attributes");
+                String name = attrs.path("name").asText(null);
+                BigDecimal price = attrs.hasNonNull("price") ? attrs.path("price").decimalValue() : null;
+                if (id == null || name == null || price == null) {
+                    throw new IllegalStateException("Products service incomplete product payload");
+                }
+                summaries.add(new ProductsClient.ProductSummary(id, name, price));
+            }
+            return summaries;
+        } catch (RestClientResponseException ex) {
+            throw unavailable(ex);
+        } catch (DeadlineExceededException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw failed(ex);
+        }
+    }
+
+    // products responde 504 cuando vence el grpc-timeout que le propagamos
+    private static RuntimeException unavailable(RestClientResponseException ex) {
+        if (HttpStatus.GATEWAY_TIMEOUT.equals(ex.getStatusCode())) {
+            return new DeadlineExceededException("products-service exceeded the request deadline");
+        }
+        return new IllegalStateException("Products service unavailable");
+    }
+
+    // un timeout de lectura con el plazo ya vencido es el deadline, no products caído
+    private static RuntimeException failed(Exception ex) {
+        if (RequestDeadline.remainingNanos().orElse(1) <= 0) {
+            return new DeadlineExceededException("request deadline exceeded calling products-service");
+        }
+        return new IllegalStateException("Error calling Products service", ex);
+    }
+
+    private HttpHeaders headers() {
+        HttpHeaders h = new HttpHeaders();
+        h.setAccept(MediaType.parseMediaTypes("application/vnd.api+json, application/json"));
+        h.set(props.getApiKey().getHeader(), props.getApiKey().getValue());
+        return h;
+    }
+
     private static Long parseLongSafe(String s) {
         if (s == null) return null;
         try { return Long.valueOf(s); } catch (NumberFormatException e) { return null; }
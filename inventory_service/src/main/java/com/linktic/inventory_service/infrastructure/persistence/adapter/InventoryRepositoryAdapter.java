@@ -1,25 +1,43 @@
 package com.linktic.inventory_service.infrastructure.persistence.adapter;
 
+import com.linktic.inventory_service.domain.model.CountStrategy;
 import com.linktic.inventory_service.domain.model.Inventory;
+import com.linktic.inventory_service.domain.model.InventoryField;
+import com.linktic.inventory_service.domain.model.InventoryFilter;
 import com.linktic.inventory_service.domain.repository.InventoryRepository;
 import com.linktic.inventory_service.infrastructure.mapper.InventoryMapper;
 import com.linktic.inventory_service.infrastructure.persistence.entity.InventoryEntity;
 import com.linktic.inventory_service.infrastructure.persistence.jpa.InventoryJpaRepository;
+import com.linktic.inventory_service.infrastructure.persistence.jpa.InventorySpecifications;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Repository;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
 
 @Repository
 public class InventoryRepositoryAdapter implements InventoryRepository {
     private final InventoryJpaRepository jpa;
     private final InventoryMapper mapper;
+    private final RowCounter rowCounter;
 
-    public InventoryRepositoryAdapter(InventoryJpaRepository jpa, InventoryMapper mapper) {
+    public InventoryRepositoryAdapter(InventoryJpaRepository jpa, InventoryMapper mapper,
+                                      @Value("${pagination.count-strategy:EXACT}") CountStrategy countStrategy,
+                                      @Value("${pagination.count-cache-ttl:30s}") Duration countCacheTtl) {
         this.jpa = jpa;
         this.mapper = mapper;
+        this.rowCounter = new RowCounter(countStrategy, countCacheTtl, jpa::count, jpa::estimateRowCount);
     }
 
     @Override
@@ -33,11 +51,22 @@ public class InventoryRepositoryAdapter implements InventoryRepository {
         return jpa.findById(id).map(mapper::toDomain);
     }
 
+    @Override
+    public Optional<Inventory> findById(Long id, Set<InventoryField> fields) {
+        return jpa.findProjected(InventorySpecifications.hasId(id), properties(fields), Sort.unsorted(), 0, 1).stream()
+                .findFirst();
+    }
+
     @Override
     public Optional<Inventory> findByProductId(Long productId) {
         return jpa.findByProductId(productId).map(mapper::toDomain);
     }
 
+    @Override
+    public List<Inventory> findStockByProductIds(Collection<Long> productIds) {
+        return jpa.findStockByProductIds(productIds);
+    }
+
     @Override
     public void deleteById(Long id) {
         jpa.deleteById(id);
@@ -48,9 +77,88 @@ public class InventoryRepositoryAdapter implements InventoryRepository {
         return jpa.findAll().stream().map(mapper::toDomain).toList();
     }
 
+    @Override
+    public Stream<Inventory> streamAll() {
+        return jpa.streamAll();
+    }
+
+    @Override
+    public Stream<Inventory> streamAll(Long afterId, LocalDateTime updatedSince) {
+        return jpa.streamAll(afterId, updatedSince);
+    }
+
     @Override
     public Page<Inventory> findAllPaginatedList(Pageable pageable) {
-        return jpa.findAll(pageable).map(mapper::toDomain);
+        return findAllPaginatedList(pageable, InventoryFilter.none());
+    }
+
+    @Override
+    public Page<Inventory> findAllPaginatedList(Pageable pageable, InventoryFilter filter) {
+        Specification<InventoryEntity> spec = filter.isEmpty() ? null : InventorySpecifications.matching(filter);
+        List<Inventory> rows = jpa.findInventories(spec, pageable.getSort(),
+                pageable.getOffset(), pageable.getPageSize() + 1);
+        return page(rows, pageable, spec);
+    }
+
+    @Override
+    public Page<Inventory> findAllPaginatedList(Pageable pageable, InventoryFilter filter, Set<InventoryField> fields) {
+        Specification<InventoryEntity> spec = filter.isEmpty() ? null : InventorySpecifications.matching(filter);
+        List<Inventory> rows = jpa.findProjected(spec, properties(fields), pageable.getSort(),
+                pageable.getOffset(), pageable.getPageSize() + 1);
+        return page(rows, pageable, spec);
+    }
+
+    @Override
+    public CountStrategy countStrategy() {
+        return rowCounter.strategy();
+    }
+
+    @Override
+    public List<Inventory> findLowStock(int below) {
+        return jpa.findByQuantityLessThanOrderByQuantityAscProductIdAsc(below).stream()
+                .map(mapper::toDomain)
+                .toList();
+    }
+
+    @Override
+    public Optional<LocalDateTime> findVersionById(Long id) {
+        return jpa.findVersionById(id);
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return jpa.existsById(id);
+    }
+
+    @Override
+    public boolean updateQuantityIfVersion(Long id, int quantity, LocalDateTime version, LocalDateTime updatedAt) {
+        return jpa.updateQuantityIfVersion(id, quantity, version, updatedAt) == 1;
+    }
+
+    // rows trae una fila de más: indica si hay página siguiente sin depender del conteo
+    private Page<Inventory> page(List<Inventory> rows, Pageable pageable, Specification<InventoryEntity> spec) {
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        List<Inventory> content = hasNext ? rows.subList(0, pageable.getPageSize()) : rows;
+        // con filtro el total depende de la consulta: siempre conteo exacto sobre el mismo predicado
+        LongSupplier count = spec == null ? rowCounter::count : () -> jpa.count(spec);
+        return new PageImpl<>(content, pageable, total(pageable, content.size(), hasNext, count));
+    }
+
+    // igual que PageableExecutionUtils: sin conteo cuando la página ya delimita el total
+    private static long total(Pageable pageable, int size, boolean hasNext, LongSupplier count) {
+        if (!hasNext && (size > 0 || pageable.getOffset() == 0)) return pageable.getOffset() + size;
+        long total = count.getAsLong();
+        // un total estimado/cacheado no puede ocultar páginas que sí existen
+        return hasNext ? Math.max(total, pageable.getOffset() + size + 1) : total;
+    }
+
+    private static List<String> properties(Set<InventoryField> fields) {
+        return fields.stream()
+                .map(field -> switch (field) {
+                    case PRODUCT_ID -> "productId";
+                    case QUANTITY -> "quantity";
+                })
+                .toList();
     }
 
 }
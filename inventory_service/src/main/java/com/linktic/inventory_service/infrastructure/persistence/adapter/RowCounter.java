@@ -0,0 +1,76 @@
+package com.linktic.inventory_service.infrastructure.persistence.adapter;
+
+import com.linktic.inventory_service.domain.model.CountStrategy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+class RowCounter {
+    private static final Logger log = LoggerFactory.getLogger(RowCounter.class);
+
+    private final CountStrategy strategy;
+    private final Duration ttl;
+    private final LongSupplier exactCount;
+    private final Supplier<Long> estimatedCount;
+
+    private final AtomicReference<Snapshot> cached = new AtomicReference<>();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    RowCounter(CountStrategy strategy, Duration ttl, LongSupplier exactCount, Supplier<Long> estimatedCount) {
+        this.strategy = strategy == null ? CountStrategy.EXACT : strategy;
+        this.ttl = ttl;
+        this.exactCount = exactCount;
+        this.estimatedCount = estimatedCount;
+    }
+
+    CountStrategy strategy() {
+        return strategy;
+    }
+
+    long count() {
+        return switch (strategy) {
+            case EXACT -> exactCount.getAsLong();
+            case ESTIMATED -> estimated();
+            case CACHED -> cached();
+        };
+    }
+
+    private long estimated() {
+        Long estimate = estimatedCount.get();
+        // reltuples = -1 (o null) cuando la tabla nunca fue analizada
+        return estimate != null && estimate >= 0 ? estimate : exactCount.getAsLong();
+    }
+
+    private long cached() {
+        Snapshot current = cached.get();
+        if (current == null) {
+            return refresh();
+        }
+        if (current.isExpired(ttl) && refreshing.compareAndSet(false, true)) {
+            CompletableFuture.runAsync(this::refresh)
+                    .whenComplete((ignored, ex) -> {
+                        refreshing.set(false);
+                        if (ex != null) log.warn("Async row count refresh failed", ex);
+                    });
+        }
+        return current.value();
+    }
+
+    private long refresh() {
+        long value = exactCount.getAsLong();
+        cached.set(new Snapshot(value, System.nanoTime()));
+        return value;
+    }
+
+    private record Snapshot(long value, long takenAtNanos) {
+        boolean isExpired(Duration ttl) {
+            return System.nanoTime() - takenAtNanos >= ttl.toNanos();
+        }
+    }
+}
@@ -2,9 +2,40 @@ package com.linktic.inventory_service.infrastructure.persistence.jpa;
 
 import com.linktic.inventory_service.infrastructure.persistence.entity.InventoryEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+
+import java.util.List;
 import java.util.Optional;
 
-public interface InventoryJpaRepository extends JpaRepository<InventoryEntity, Long> {
+public interface InventoryJpaRepository extends JpaRepository<InventoryEntity, Long>,
+        JpaSpecificationExecutor<InventoryEntity>, InventoryJpaRepositoryCustom {
     Optional<InventoryEntity> findByProductId(Long productId);
+
+    // resuelto con idx_inventory_low_stock (parcial, quantity < 100)
+    List<InventoryEntity> findByQuantityLessThanOrderByQuantityAscProductIdAsc(int quantity);
+
+    @Query(value = "SELECT CAST(reltuples AS BIGINT) FROM pg_class WHERE oid = CAST('inventory' AS regclass)",
+            nativeQuery = true)
+    Long estimateRowCount();
+
+    // versión para ETag/If-None-Match sin cargar la entidad
+    @Query("select coalesce(i.updatedAt, i.createdAt) from InventoryEntity i where i.id = :id")
+    Optional<LocalDateTime> findVersionById(@Param("id") Long id);
+
+    // If-Match: comprobación de versión y escritura en una sola sentencia
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update InventoryEntity i
+               set i.quantity = :quantity, i.updatedAt = :updatedAt
+             where i.id = :id and coalesce(i.updatedAt, i.createdAt) = :version
+            """)
+    int updateQuantityIfVersion(@Param("id") Long id,
+                                @Param("quantity") int quantity,
+                                @Param("version") LocalDateTime version,
+                                @Param("updatedAt") LocalDateTime updatedAt);
 }
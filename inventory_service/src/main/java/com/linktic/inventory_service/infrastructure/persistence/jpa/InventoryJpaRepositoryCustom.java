@@ -0,0 +1,25 @@
+package com.linktic.inventory_service.infrastructure.persistence.jpa;
+
+import com.linktic.inventory_service.domain.model.Inventory;
+import com.linktic.inventory_service.infrastructure.persistence.entity.InventoryEntity;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+// lecturas de listados: proyectan directo al modelo de dominio, sin entidades administradas ni mapper
+public interface InventoryJpaRepositoryCustom {
+    Stream<Inventory> streamAll();
+
+    Stream<Inventory> streamAll(Long afterId, LocalDateTime updatedSince);
+
+    List<Inventory> findInventories(Specification<InventoryEntity> spec, Sort sort, long offset, int limit);
+
+    List<Inventory> findProjected(Specification<InventoryEntity> spec, Collection<String> attributes,
+                                  Sort sort, long offset, int limit);
+
+    List<Inventory> findStockByProductIds(Collection<Long> productIds);
+}
@@ -0,0 +1,130 @@
+package com.linktic.inventory_service.infrastructure.persistence.jpa;
+
+import com.linktic.inventory_service.domain.model.Inventory;
+import com.linktic.inventory_service.infrastructure.persistence.entity.InventoryEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+class InventoryJpaRepositoryCustomImpl implements InventoryJpaRepositoryCustom {
+
+    // constructor expression: Hibernate arma Inventory desde el ResultSet, sin entidad, snapshot ni MapStruct
+    private static final String SELECT_INVENTORY = "select new com.linktic.inventory_service.domain.model.Inventory("
+            + "i.id, i.productId, i.quantity, i.createdAt, i.updatedAt) from InventoryEntity i";
+
+    // un único parámetro array: mismo SQL (y plan cacheado) con 1 o 100 ids, resuelto con el índice único de product_id
+    private static final String SELECT_STOCK_BY_PRODUCT_IDS =
+            "SELECT id, product_id, quantity FROM inventory WHERE product_id = ANY(:productIds)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${streaming.fetch-size:500}")
+    private int fetchSize;
+
+    @Override
+    public Stream<Inventory> streamAll() {
+        return streamAll(null, null);
+    }
+
+    @Override
+    public Stream<Inventory> streamAll(Long afterId, LocalDateTime updatedSince) {
+        StringBuilder jpql = new StringBuilder(SELECT_INVENTORY).append(" where 1 = 1");
+        if (afterId != null) jpql.append(" and i.id > :afterId");
+        // mismo predicado que idx_inventory_last_modified
+        if (updatedSince != null) jpql.append(" and coalesce(i.updatedAt, i.createdAt) >= :updatedSince");
+        jpql.append(" order by i.id");
+
+        TypedQuery<Inventory> query = entityManager.createQuery(jpql.toString(), Inventory.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize);
+        if (afterId != null) query.setParameter("afterId", afterId);
+        if (updatedSince != null) query.setParameter("updatedSince", updatedSince);
+
+        // cursor de solo avance; los resultados no son entidades, el contexto de persistencia no crece
+        return query.getResultStream();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Inventory> findStockByProductIds(Collection<Long> productIds) {
+        List<Object[]> rows = entityManager.createNativeQuery(SELECT_STOCK_BY_PRODUCT_IDS)
+                .setParameter("productIds", productIds.toArray(Long[]::new))
+                .getResultList();
+        return rows.stream()
+                .map(row -> new Inventory(((Number) row[0]).longValue(), ((Number) row[1]).longValue(),
+                        ((Number) row[2]).intValue(), null, null))
+                .toList();
+    }
+
+    @Override
+    public List<Inventory> findInventories(Specification<InventoryEntity> spec, Sort sort, long offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Inventory> query = cb.createQuery(Inventory.class);
+        Root<InventoryEntity> root = query.from(InventoryEntity.class);
+        query.select(cb.construct(Inventory.class,
+                root.get("id"), root.get("productId"), root.get("quantity"),
+                root.get("createdAt"), root.get("updatedAt")));
+        where(query, root, cb, spec);
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        return entityManager.createQuery(query)
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    // sparse fieldsets: solo id y los atributos pedidos llegan al SELECT; el resto queda en null
+    @Override
+    public List<Inventory> findProjected(Specification<InventoryEntity> spec, Collection<String> attributes,
+                                         Sort sort, long offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<InventoryEntity> root = query.from(InventoryEntity.class);
+
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(root.get("id").alias("id"));
+        attributes.forEach(attribute -> selections.add(root.get(attribute).alias(attribute)));
+        query.multiselect(selections);
+        where(query, root, cb, spec);
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        return entityManager.createQuery(query)
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit)
+                .getResultList().stream()
+                .map(row -> toInventory(row, attributes))
+                .toList();
+    }
+
+    private static void where(CriteriaQuery<?> query, Root<InventoryEntity> root, CriteriaBuilder cb,
+                              Specification<InventoryEntity> spec) {
+        if (spec == null) return;
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) query.where(predicate);
+    }
+
+    private static Inventory toInventory(Tuple row, Collection<String> attributes) {
+        Inventory inventory = new Inventory();
+        inventory.setId(row.get("id", Long.class));
+        if (attributes.contains("productId")) inventory.setProductId(row.get("productId", Long.class));
+        if (attributes.contains("quantity")) inventory.setQuantity(row.get("quantity", Integer.class));
+        return inventory;
+    }
+}
@@ -0,0 +1,46 @@
+package com.linktic.inventory_service.infrastructure.persistence.jpa;
+
+import com.linktic.inventory_service.domain.model.InventoryFilter;
+import com.linktic.inventory_service.infrastructure.persistence.entity.InventoryEntity;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+public final class InventorySpecifications {
+
+    private InventorySpecifications() { }
+
+    public static Specification<InventoryEntity> matching(InventoryFilter filter) {
+        return (root, query, cb) -> cb.and(filter.conditions().stream()
+                .map(condition -> toPredicate(root, cb, condition))
+                .toArray(Predicate[]::new));
+    }
+
+    public static Specification<InventoryEntity> hasId(Long id) {
+        return (root, query, cb) -> cb.equal(root.get("id"), id);
+    }
+
+    // comparaciones sobre columnas indexadas (idx_inventory_quantity / idx_inventory_updated_at)
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate toPredicate(Root<InventoryEntity> root, CriteriaBuilder cb,
+                                         InventoryFilter.Condition condition) {
+        Expression<Comparable> path = root.get(property(condition.field()));
+        Comparable value = condition.value();
+        return switch (condition.operator()) {
+            case EQ -> cb.equal(path, value);
+            case LT -> cb.lessThan(path, value);
+            case LTE -> cb.lessThanOrEqualTo(path, value);
+            case GT -> cb.greaterThan(path, value);
+            case GTE -> cb.greaterThanOrEqualTo(path, value);
+        };
+    }
+
+    private static String property(InventoryFilter.Field field) {
+        return switch (field) {
+            case QUANTITY -> "quantity";
+            case UPDATED_AT -> "updatedAt";
+        };
+    }
+}
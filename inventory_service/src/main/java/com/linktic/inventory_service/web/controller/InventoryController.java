@@ -1,7 +1,13 @@
 package com.linktic.inventory_service.web.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.linktic.inventory_service.domain.exception.PreconditionFailedException;
+import com.linktic.inventory_service.domain.model.CountStrategy;
 import com.linktic.inventory_service.domain.model.Inventory;
 import com.linktic.inventory_service.domain.model.InventoryDetails;
+import com.linktic.inventory_service.domain.model.InventoryField;
+import com.linktic.inventory_service.domain.model.InventoryFilter;
 import com.linktic.inventory_service.domain.service.InventoryService;
 import com.linktic.inventory_service.web.dto.InventoryDto;
 import com.linktic.inventory_service.web.dto.PurchaseDto;
@@ -9,12 +15,16 @@ import com.linktic.inventory_service.web.dto.jsonapi.JsonApiData;
 import com.linktic.inventory_service.web.dto.jsonapi.JsonApiLinks;
 import com.linktic.inventory_service.web.dto.jsonapi.JsonApiListResponse;
 import com.linktic.inventory_service.web.dto.jsonapi.JsonApiMeta;
+import com.linktic.inventory_service.web.dto.jsonapi.JsonApiRelationship;
 import com.linktic.inventory_service.web.dto.jsonapi.JsonApiRequest;
 import com.linktic.inventory_service.web.dto.jsonapi.JsonApiResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -23,25 +33,42 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping(path = "/inventories", produces = "application/vnd.api+json")
 @Validated
 public class InventoryController {
     private static final String TYPE = "inventories";
+    private static final String FIELDS_PARAM = "fields[" + TYPE + "]";
+    private static final String PRODUCT_TYPE = "products";
+    private static final MediaType JSON_API = MediaType.valueOf("application/vnd.api+json");
     private final InventoryService service;
+    private final ObjectMapper objectMapper;
 
-    public InventoryController(InventoryService service) {
+    public InventoryController(InventoryService service, ObjectMapper objectMapper) {
         this.service = service;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping(consumes = "application/vnd.api+json")
@@ -57,10 +84,55 @@ public class InventoryController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<JsonApiResponse<InventoryDto>> get(@PathVariable Long id) {
+    public ResponseEntity<JsonApiResponse<InventoryDto>> get(
+            @PathVariable Long id,
+            @RequestParam(name = FIELDS_PARAM, required = false) String fields,
+            @RequestParam(name = "include", required = false) String include,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Set<InventoryField> selected = InventoryQueryParser.parseFields(fields);
+        boolean includeProduct = InventoryQueryParser.parseInclude(include);
+        if (includeProduct || !selected.containsAll(InventoryField.all())) {
+            // representación parcial o compuesta: no lleva el ETag del recurso completo
+            Inventory inventory = service.get(id, queried(selected, includeProduct));
+            JsonApiData<InventoryDto> data = data(inventory, selected);
+            JsonApiResponse<InventoryDto> body = new JsonApiResponse<>();
+            body.setData(data);
+            if (includeProduct) {
+                relateProduct(data, inventory);
+                body.setIncluded(included(List.of(inventory.getProductId())));
+            }
+            return ResponseEntity.ok(body);
+        }
+        if (ifNoneMatch != null) {
+            // solo la versión (una columna) para decidir el 304; la entidad se carga si cambió
+            String current = service.version(id).map(version -> ETags.of(id, version)).orElse(null);
+            if (ETags.matchesAny(ifNoneMatch, current)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(current).build();
+            }
+        }
         Inventory inventory = service.get(id);
         JsonApiResponse<InventoryDto> body = new JsonApiResponse<>();
         body.setData(new JsonApiData<>(TYPE, String.valueOf(inventory.getId()), InventoryDto.from(inventory)));
+        return ResponseEntity.ok().eTag(etag(inventory)).body(body);
+    }
+
+    // stock de varios productos en una llamada: solo productId y quantity, sin consultar products-service
+    @GetMapping
+    public ResponseEntity<JsonApiListResponse<InventoryDto>> getManyByProductId(
+            @RequestParam(name = "filter[productId]") String productIds) {
+        Set<Long> requested = InventoryQueryParser.parseProductIds(productIds);
+        List<Inventory> found = service.stockByProductIds(requested);
+
+        Set<Long> missing = new LinkedHashSet<>(requested);
+        found.forEach(inventory -> missing.remove(inventory.getProductId()));
+
+        JsonApiListResponse<InventoryDto> body = new JsonApiListResponse<>();
+        body.setData(found.stream().map(InventoryController::data).toList());
+        if (!missing.isEmpty()) {
+            JsonApiMeta meta = new JsonApiMeta();
+            meta.setMissingProductIds(List.copyOf(missing));
+            body.setMeta(meta);
+        }
         return ResponseEntity.ok(body);
     }
 
@@ -91,12 +163,21 @@ public class InventoryController {
 
     @PutMapping(path = "/{id}", consumes = "application/vnd.api+json")
     public ResponseEntity<JsonApiResponse<InventoryDto>> update(
-            @PathVariable Long id, @Valid @RequestBody JsonApiRequest<InventoryDto> req) {
+            @PathVariable Long id,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody JsonApiRequest<InventoryDto> req) {
         InventoryDto model = req.getData().getAttributes();
-        Inventory updated = service.update(id, model.getQuantity());
+        Inventory updated;
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            updated = service.update(id, model.getQuantity());
+        } else {
+            LocalDateTime version = ETags.parseVersion(id, ifMatch)
+                    .orElseThrow(() -> new PreconditionFailedException("If-Match does not match the current version."));
+            updated = service.update(id, model.getQuantity(), version);
+        }
         JsonApiResponse<InventoryDto> body = new JsonApiResponse<>();
         body.setData(new JsonApiData<>(TYPE, String.valueOf(updated.getId()), InventoryDto.from(updated)));
-        return ResponseEntity.ok(body);
+        return ResponseEntity.ok().eTag(etag(updated)).body(body);
     }
 
     @DeleteMapping("/{id}")
@@ -104,40 +185,104 @@ public class InventoryController {
     public void delete(@PathVariable Long id) { service.delete(id); }
 
     @GetMapping("/list")
-    public ResponseEntity<JsonApiListResponse<InventoryDto>> list() {
-        List<Inventory> list = service.list();
-        List<JsonApiData<InventoryDto>> data = list.stream()
-                .map(product -> new JsonApiData<>(TYPE,
-                        String.valueOf(product.getId()),
-                        InventoryDto.from(product)))
+    public ResponseEntity<StreamingResponseBody> list(
+            @RequestParam(name = "include", required = false) String include) {
+        boolean includeProduct = InventoryQueryParser.parseInclude(include);
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator gen = streamingGenerator(out)) {
+                Set<Long> productIds = new LinkedHashSet<>();
+                gen.writeStartObject();
+                gen.writeArrayFieldStart("data");
+                service.forEach(inventory -> {
+                    JsonApiData<InventoryDto> data = data(inventory);
+                    if (includeProduct) {
+                        relateProduct(data, inventory);
+                        productIds.add(inventory.getProductId());
+                    }
+                    writeData(gen, data);
+                });
+                gen.writeEndArray();
+                if (includeProduct) {
+                    // los productos se resuelven al final, ya cerrado el cursor y la transacción
+                    gen.writeFieldName("included");
+                    gen.writeObject(included(productIds));
+                }
+                gen.writeEndObject();
+            }
+        };
+        return ResponseEntity.ok().contentType(JSON_API).body(body);
+    }
+
+    @GetMapping(path = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(name = "updatedSince", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedSince,
+            @RequestParam(name = "afterId", required = false) @Min(0) Long afterId) {
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator gen = streamingGenerator(out)) {
+                gen.setRootValueSeparator(null);
+                service.export(afterId, updatedSince, inventory -> {
+                    writeData(gen, data(inventory));
+                    writeNewLine(gen);
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @GetMapping("/low-stock")
+    public ResponseEntity<JsonApiListResponse<InventoryDto>> lowStock(
+            @RequestParam(name = "threshold", defaultValue = "10") int threshold) {
+        List<JsonApiData<InventoryDto>> data = service.lowStock(threshold).stream()
+                .map(inventory -> new JsonApiData<>(TYPE,
+                        String.valueOf(inventory.getId()),
+                        InventoryDto.from(inventory)))
                 .toList();
 
         JsonApiListResponse<InventoryDto> body = new JsonApiListResponse<>();
         body.setData(data);
 
+        JsonApiLinks links = new JsonApiLinks();
+        links.setSelf("/inventories/low-stock?threshold=" + threshold);
+        body.setLinks(links);
+
         return ResponseEntity.ok(body);
     }
 
     @GetMapping("/paginated")
     public ResponseEntity<JsonApiListResponse<InventoryDto>> paginatedList(
             @RequestParam(name = "pageNumber", defaultValue = "1") @Min(1) int pageNumber,
-            @RequestParam(name = "pageSize", defaultValue = "10") @Min(1) int pageSize) {
-        Page<Inventory> page = service.paginatedList(pageNumber, pageSize);
+            @RequestParam(name = "pageSize", defaultValue = "10") @Min(1) int pageSize,
+            @RequestParam(name = "sort", required = false) String sort,
+            @RequestParam(name = FIELDS_PARAM, required = false) String fields,
+            @RequestParam(name = "include", required = false) String include,
+            @RequestParam Map<String, String> params) {
+        InventoryFilter filter = InventoryQueryParser.parseFilter(params);
+        Set<InventoryField> selected = InventoryQueryParser.parseFields(fields);
+        boolean includeProduct = InventoryQueryParser.parseInclude(include);
+        Page<Inventory> page = service.paginatedList(pageNumber, pageSize, filter,
+                InventoryQueryParser.parseSort(sort), queried(selected, includeProduct));
         List<JsonApiData<InventoryDto>> data = page.getContent().stream()
-                .map(product -> new JsonApiData<>(TYPE,
-                        String.valueOf(product.getId()),
-                        InventoryDto.from(product)))
+                .map(inventory -> {
+                    JsonApiData<InventoryDto> item = data(inventory, selected);
+                    if (includeProduct) relateProduct(item, inventory);
+                    return item;
+                })
                 .toList();
 
         JsonApiListResponse<InventoryDto> body = new JsonApiListResponse<>();
         body.setData(data);
+        if (includeProduct) {
+            body.setIncluded(included(page.getContent().stream().map(Inventory::getProductId).toList()));
+        }
 
+        String query = InventoryQueryParser.linkQuery(params);
         JsonApiLinks links = new JsonApiLinks();
-        links.setSelf("/inventories/paginated?pageNumber=" + pageNumber + "&pageSize=" + pageSize);
-        links.setFirst("/inventories/paginated?pageNumber=1&pageSize=" + page.getSize());
-        links.setLast("/inventories/paginated?pageNumber=" + Math.max(page.getTotalPages(),1) + "&pageSize=" + page.getSize());
-        if (page.hasNext()) links.setNext("/inventories/paginated?pageNumber=" + (pageNumber + 1) + "&pageSize=" + page.getSize());
-        if (page.hasPrevious()) links.setPrev("/inventories/paginated?pageNumber=" + (pageNumber - 1) + "&pageSize=" + page.getSize());
+        links.setSelf("/inventories/paginated?pageNumber=" + pageNumber + "&pageSize=" + pageSize + query);
+        links.setFirst("/inventories/paginated?pageNumber=1&pageSize=" + page.getSize() + query);
+        links.setLast("/inventories/paginated?pageNumber=" + Math.max(page.getTotalPages(),1) + "&pageSize=" + page.getSize() + query);
+        if (page.hasNext()) links.setNext("/inventories/paginated?pageNumber=" + (pageNumber + 1) + "&pageSize=" + page.getSize() + query);
+        if (page.hasPrevious()) links.setPrev("/inventories/paginated?pageNumber=" + (pageNumber - 1) + "&pageSize=" + page.getSize() + query);
         body.setLinks(links);
 
         JsonApiMeta meta = new JsonApiMeta();
@@ -145,6 +290,8 @@ public class InventoryController {
         meta.setTotalPages(page.getTotalPages());
         meta.setPageNumber(pageNumber);
         meta.setPageSize(page.getSize());
+        CountStrategy countStrategy = service.countStrategy(filter);
+        if (countStrategy != null) meta.setCountStrategy(countStrategy.name().toLowerCase(Locale.ROOT));
         body.setMeta(meta);
 
         return ResponseEntity.ok(body);
@@ -167,4 +314,65 @@ public class InventoryController {
         return ResponseEntity.ok(body);
     }
 
+    private static String etag(Inventory inventory) {
+        return ETags.of(inventory.getId(), ETags.version(inventory.getCreatedAt(), inventory.getUpdatedAt()));
+    }
+
+    private static void writeNewLine(JsonGenerator gen) {
+        try {
+            gen.writeRaw('\n');
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private JsonGenerator streamingGenerator(OutputStream out) throws IOException {
+        JsonGenerator gen = objectMapper.getFactory().createGenerator(out);
+        gen.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+        // writeObject hace flush por fila; que no llegue al servlet para no emitir un chunk por registro
+        gen.configure(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM, false);
+        return gen;
+    }
+
+    private static void writeData(JsonGenerator gen, JsonApiData<InventoryDto> data) {
+        try {
+            gen.writeObject(data);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static JsonApiData<InventoryDto> data(Inventory inventory) {
+        return new JsonApiData<>(TYPE, String.valueOf(inventory.getId()), InventoryDto.from(inventory));
+    }
+
+    private static JsonApiData<InventoryDto> data(Inventory inventory, Set<InventoryField> fields) {
+        return new JsonApiData<>(TYPE, String.valueOf(inventory.getId()), InventoryDto.from(inventory, fields));
+    }
+
+    // include=product necesita productId aunque fields[inventories] no lo pida
+    private static Set<InventoryField> queried(Set<InventoryField> selected, boolean includeProduct) {
+        if (!includeProduct || selected.contains(InventoryField.PRODUCT_ID)) return selected;
+        Set<InventoryField> queried = EnumSet.of(InventoryField.PRODUCT_ID);
+        queried.addAll(selected);
+        return queried;
+    }
+
+    private static void relateProduct(JsonApiData<InventoryDto> data, Inventory inventory) {
+        data.setRelationships(Map.of("product",
+                JsonApiRelationship.to(PRODUCT_TYPE, String.valueOf(inventory.getProductId()))));
+    }
+
+    // cada producto referenciado aparece una sola vez en included
+    private List<JsonApiData<?>> included(Collection<Long> productIds) {
+        return service.productsFor(new LinkedHashSet<>(productIds)).values().stream()
+                .<JsonApiData<?>>map(product -> {
+                    Map<String, Object> attrs = new LinkedHashMap<>();
+                    attrs.put("name", product.name());
+                    attrs.put("price", product.price());
+                    return new JsonApiData<Map<String, Object>>(PRODUCT_TYPE, String.valueOf(product.id()), attrs);
+                })
+                .toList();
+    }
+
 }
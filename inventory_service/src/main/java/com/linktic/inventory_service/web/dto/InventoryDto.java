@@ -1,6 +1,8 @@
 package com.linktic.inventory_service.web.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.linktic.inventory_service.domain.model.Inventory;
+import com.linktic.inventory_service.domain.model.InventoryField;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
@@ -9,11 +11,14 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
 
+import java.util.Set;
+
 @Getter
 @Setter
 @ToString
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class InventoryDto {
 
     @NotNull
@@ -28,4 +33,11 @@ public class InventoryDto {
         dto.setQuantity(inv.getQuantity());
         return dto;
     }
+
+    public static InventoryDto from(Inventory inv, Set<InventoryField> fields) {
+        InventoryDto dto = new InventoryDto();
+        if (fields.contains(InventoryField.PRODUCT_ID)) dto.setProductId(inv.getProductId());
+        if (fields.contains(InventoryField.QUANTITY)) dto.setQuantity(inv.getQuantity());
+        return dto;
+    }
 }
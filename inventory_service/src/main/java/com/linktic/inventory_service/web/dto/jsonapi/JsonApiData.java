@@ -4,6 +4,8 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.Map;
+
 @Setter
 @Getter
 @JsonInclude(JsonInclude.Include.NON_NULL)
@@ -12,6 +14,7 @@ public class JsonApiData<T> {
     private String type;
     private String id;
     private T attributes;
+    private Map<String, JsonApiRelationship> relationships;
 
     public JsonApiData() {}
 
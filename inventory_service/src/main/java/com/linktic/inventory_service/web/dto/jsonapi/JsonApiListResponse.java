@@ -12,6 +12,7 @@ import java.util.List;
 public class JsonApiListResponse<T> {
 
     private List<JsonApiData<T>> data;
+    private List<JsonApiData<?>> included;
     private JsonApiLinks links;
     private JsonApiMeta meta;
 
@@ -4,14 +4,18 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.List;
+
 @Setter
 @Getter
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class JsonApiMeta {
 
-    private long totalElements;
-    private int totalPages;
-    private int pageNumber;
-    private int pageSize;
+    private Long totalElements;
+    private Integer totalPages;
+    private Integer pageNumber;
+    private Integer pageSize;
+    private String countStrategy;
+    private List<Long> missingProductIds;
 
 }
@@ -0,0 +1,22 @@
+package com.linktic.inventory_service.web.dto.jsonapi;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class JsonApiRelationship {
+
+    // resource identifier: solo type e id
+    private JsonApiData<Void> data;
+
+    public static JsonApiRelationship to(String type, String id) {
+        return new JsonApiRelationship(new JsonApiData<>(type, id, null));
+    }
+}
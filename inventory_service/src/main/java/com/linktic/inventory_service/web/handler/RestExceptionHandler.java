@@ -1,11 +1,15 @@
 package com.linktic.inventory_service.web.handler;
 
+import com.linktic.inventory_service.domain.exception.DeadlineExceededException;
+import com.linktic.inventory_service.domain.exception.PreconditionFailedException;
 import com.linktic.inventory_service.web.dto.jsonapi.JsonApiError;
 import com.linktic.inventory_service.web.dto.jsonapi.JsonApiErrorResponse;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.TransactionTimedOutException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -36,6 +40,18 @@ public class RestExceptionHandler extends ResponseEntityExceptionHandler {
         return jsonApiError(HttpStatus.BAD_REQUEST, "Bad Request", ex.getMessage());
     }
 
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<Object> handlePreconditionFailed(PreconditionFailedException ex) {
+        return jsonApiError(HttpStatus.PRECONDITION_FAILED, "Precondition Failed", ex.getMessage());
+    }
+
+    // deadline de la petición vencido: en la llamada a products-service o en la transacción (Postgres ya
+    // canceló la consulta)
+    @ExceptionHandler({DeadlineExceededException.class, TransactionTimedOutException.class, QueryTimeoutException.class})
+    public ResponseEntity<Object> handleDeadlineExceeded(RuntimeException ex) {
+        return jsonApiError(HttpStatus.GATEWAY_TIMEOUT, "Gateway Timeout", "Request deadline exceeded");
+    }
+
     @Override
     protected ResponseEntity<Object> handleMethodArgumentNotValid(MethodArgumentNotValidException ex,
                                                                   HttpHeaders headers,
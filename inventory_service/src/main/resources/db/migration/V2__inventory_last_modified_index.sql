@@ -0,0 +1,2 @@
+CREATE INDEX IF NOT EXISTS idx_inventory_last_modified
+  ON inventory ((COALESCE(updated_at, created_at)), id);
@@ -0,0 +1,4 @@
+CREATE INDEX IF NOT EXISTS idx_inventory_quantity
+  ON inventory (quantity, id);
+CREATE INDEX IF NOT EXISTS idx_inventory_updated_at
+  ON inventory (updated_at, id);
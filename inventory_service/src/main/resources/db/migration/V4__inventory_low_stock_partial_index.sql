@@ -0,0 +1,3 @@
+-- cubre inventory.low-stock.max-threshold (default 100); si se sube el umbral hay que recrear el índice
+CREATE INDEX IF NOT EXISTS idx_inventory_low_stock
+  ON inventory (quantity, product_id) WHERE quantity < 100;
@@ -0,0 +1,92 @@
+package com.linktic.inventory_service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.client.RestClient;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// sin mocks: el mismo recorrido corre en la JVM y como binario nativo (./gradlew -Pnative nativeTest).
+// Las filas se insertan por JDBC porque el alta valida el producto contra products-service;
+// los endpoints usados aquí no lo llaman
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "security.api-key.value=it-key"
+})
+class InventoryApiIntegrationTest {
+
+    private static final MediaType JSON_API = MediaType.valueOf("application/vnd.api+json");
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private final ObjectMapper om = new ObjectMapper();
+    private RestClient client;
+    private long productId;
+    private long id;
+
+    @BeforeEach
+    void setUp() {
+        client = RestClient.builder()
+                .baseUrl("http://localhost:" + port)
+                .defaultHeader("X-API-Key", "it-key")
+                .build();
+        productId = ThreadLocalRandom.current().nextLong(1_000_000, Long.MAX_VALUE);
+        id = jdbc.queryForObject(
+                "INSERT INTO inventory (product_id, quantity, created_at) VALUES (?, 10, now()) RETURNING id",
+                Long.class, productId);
+    }
+
+    @Test
+    void get_purchase_delete() throws Exception {
+        JsonNode one = om.readTree(client.get().uri("/inventories/{id}", id).retrieve().body(String.class));
+        assertThat(one.path("data").path("type").asText()).isEqualTo("inventories");
+        assertThat(one.path("data").path("attributes").path("productId").asLong()).isEqualTo(productId);
+        assertThat(one.path("data").path("attributes").path("quantity").asInt()).isEqualTo(10);
+
+        JsonNode purchased = om.readTree(client.post().uri("/inventories/purchase")
+                .contentType(JSON_API)
+                .body("{\"data\":{\"type\":\"purchases\",\"attributes\":{\"productId\":" + productId + ",\"units\":3}}}")
+                .retrieve().body(String.class));
+        assertThat(purchased.path("data").path("attributes").path("quantity").asInt()).isEqualTo(7);
+
+        HttpStatus deleted = client.delete().uri("/inventories/{id}", id)
+                .exchange((req, res) -> HttpStatus.valueOf(res.getStatusCode().value()));
+        assertThat(deleted).isEqualTo(HttpStatus.NO_CONTENT);
+
+        HttpStatus afterDelete = client.get().uri("/inventories/{id}", id)
+                .exchange((req, res) -> HttpStatus.valueOf(res.getStatusCode().value()));
+        assertThat(afterDelete).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void listadoEnStreaming_yExportNdjson() throws Exception {
+        JsonNode list = om.readTree(client.get().uri("/inventories/list").retrieve().body(String.class));
+        assertThat(list.path("data").findValuesAsText("id")).contains(String.valueOf(id));
+
+        String ndjson = client.get().uri("/inventories/export")
+                .accept(MediaType.valueOf("application/x-ndjson"))
+                .retrieve().body(String.class);
+        assertThat(ndjson.lines().map(line -> {
+            try {
+                return om.readTree(line).path("id").asText();
+            } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+        })).contains(String.valueOf(id));
+    }
+}
@@ -0,0 +1,146 @@
+package com.linktic.inventory_service.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void settings_shouldRejectInconsistentBounds() {
+        assertThatThrownBy(() -> new AdaptiveConcurrencyLimit.Settings(10, 0, 20))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AdaptiveConcurrencyLimit.Settings(30, 5, 20))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void tryAcquire_shouldReject_whenInflightReachesLimit() {
+        AdaptiveConcurrencyLimit limit = limit(2, 1, 10);
+
+        assertThat(limit.tryAcquire()).isNotEqualTo(AdaptiveConcurrencyLimit.REJECTED);
+        assertThat(limit.tryAcquire()).isNotEqualTo(AdaptiveConcurrencyLimit.REJECTED);
+        assertThat(limit.tryAcquire()).isEqualTo(AdaptiveConcurrencyLimit.REJECTED);
+        assertThat(meterRegistry.get(AdaptiveConcurrencyLimit.METRIC_REJECTED).counter().count()).isEqualTo(1);
+
+        limit.onIgnore();
+        assertThat(limit.inflight()).isEqualTo(1);
+        assertThat(limit.tryAcquire()).isNotEqualTo(AdaptiveConcurrencyLimit.REJECTED);
+    }
+
+    @Test
+    void limit_shouldGrow_whileLatencyStaysAtMinimum() {
+        AdaptiveConcurrencyLimit limit = limit(10, 1, 100);
+
+        for (int i = 0; i < 200; i++) round(limit, limit.limit(), 10);
+
+        assertThat(limit.limit()).isGreaterThan(10).isLessThanOrEqualTo(100);
+        assertThat(limit.inflight()).isZero();
+    }
+
+    @Test
+    void limit_shouldShrink_whenLatencyRises() {
+        AdaptiveConcurrencyLimit limit = limit(20, 2, 100);
+        for (int i = 0; i < 50; i++) round(limit, limit.limit(), 10);
+        int before = limit.limit();
+
+        // la misma carga tarda 5 veces más: colas aguas abajo
+        for (int i = 0; i < 100; i++) round(limit, limit.limit(), 50);
+
+        assertThat(limit.limit()).isLessThan(before / 2).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    void limit_shouldNotGrow_withoutDemand() {
+        AdaptiveConcurrencyLimit limit = limit(20, 1, 100);
+
+        for (int i = 0; i < 200; i++) round(limit, 2, 10);
+
+        assertThat(limit.limit()).isEqualTo(20);
+    }
+
+    @Test
+    void limit_shouldHold_whenLatencyRisesWithoutDemand() {
+        AdaptiveConcurrencyLimit limit = limit(20, 2, 100);
+
+        // pocas llamadas en curso y lentas: la lentitud no viene de la concurrencia propia
+        for (int i = 0; i < 100; i++) round(limit, 2, 10);
+        for (int i = 0; i < 100; i++) round(limit, 2, 80);
+
+        assertThat(limit.limit()).isEqualTo(20);
+    }
+
+    @Test
+    void limit_shouldNotCollapse_withFastAndSlowEndpointsMixed() {
+        AdaptiveConcurrencyLimit limit = limit(20, 5, 100);
+        Random random = new Random(42);
+
+        // cada ventana mezcla lecturas de 5 ms y llamadas de 80 ms en proporción variable, sin congestión:
+        // contra la mínima de las medias (la ventana más rápida) esta mezcla parecería una cola permanente
+        for (int i = 0; i < 3_000; i++) {
+            int calls = limit.limit();
+            long[] starts = new long[calls];
+            for (int c = 0; c < calls; c++) starts[c] = limit.tryAcquire();
+            int slow = random.nextInt(calls / 2 + 1);
+            now.addAndGet(TimeUnit.MILLISECONDS.toNanos(5));
+            for (int c = slow; c < calls; c++) limit.onSuccess(starts[c]);
+            now.addAndGet(TimeUnit.MILLISECONDS.toNanos(75));
+            for (int c = 0; c < slow; c++) limit.onSuccess(starts[c]);
+        }
+
+        assertThat(limit.limit()).isGreaterThanOrEqualTo(20);
+    }
+
+    @Test
+    void onDropped_shouldBackOffOncePerWindow() {
+        AdaptiveConcurrencyLimit limit = limit(20, 1, 100);
+        for (int i = 0; i < 3; i++) limit.tryAcquire();
+
+        limit.onDropped();
+        limit.onDropped();
+        limit.onDropped();
+        assertThat(limit.limit()).isEqualTo(18);
+        assertThat(limit.inflight()).isZero();
+
+        now.addAndGet(AdaptiveConcurrencyLimit.WINDOW_NANOS);
+        limit.tryAcquire();
+        limit.onDropped();
+        assertThat(limit.limit()).isEqualTo(16);
+    }
+
+    @Test
+    void gauges_shouldExposeLimitAndInflight() {
+        AdaptiveConcurrencyLimit limit = limit(20, 1, 100);
+        limit.tryAcquire();
+
+        assertThat(meterRegistry.get(AdaptiveConcurrencyLimit.METRIC_LIMIT).tag("limiter", "test").gauge().value())
+                .isEqualTo(20);
+        assertThat(meterRegistry.get(AdaptiveConcurrencyLimit.METRIC_INFLIGHT).tag("limiter", "test").gauge().value())
+                .isEqualTo(1);
+    }
+
+    private AdaptiveConcurrencyLimit limit(int initial, int min, int max) {
+        return new AdaptiveConcurrencyLimit("test", new AdaptiveConcurrencyLimit.Settings(initial, min, max),
+                meterRegistry, now::get);
+    }
+
+    // calls peticiones simultáneas que tardan rttMillis cada una
+    private void round(AdaptiveConcurrencyLimit limit, int calls, long rttMillis) {
+        long[] starts = new long[calls];
+        for (int i = 0; i < calls; i++) {
+            starts[i] = limit.tryAcquire();
+            assertThat(starts[i]).isNotEqualTo(AdaptiveConcurrencyLimit.REJECTED);
+        }
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(rttMillis));
+        for (long start : starts) limit.onSuccess(start);
+    }
+}
@@ -0,0 +1,60 @@
+package com.linktic.inventory_service.config;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.FileAppender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoggingCheckpointResourceTest {
+
+    @TempDir
+    Path dir;
+
+    private Logger logger;
+    private FileAppender<ILoggingEvent> appender;
+    private LoggingCheckpointResource resource;
+
+    @BeforeEach
+    void setUp() {
+        LoggerContext context = new LoggerContext();
+        // fuera de SLF4J el contexto no trae adaptador de MDC y el appender descarta los eventos
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%msg%n");
+        encoder.start();
+        appender = new FileAppender<>();
+        appender.setContext(context);
+        appender.setFile(dir.resolve("app.log").toString());
+        appender.setEncoder(encoder);
+        appender.start();
+        logger = context.getLogger("checkpoint-test");
+        logger.addAppender(appender);
+        resource = new LoggingCheckpointResource(context);
+    }
+
+    @Test
+    void checkpoint_cierraElArchivo_yRestoreLoReabre() throws Exception {
+        logger.info("antes");
+
+        resource.beforeCheckpoint(null);
+        assertThat(appender.isStarted()).isFalse();
+        logger.info("durante");
+
+        resource.afterRestore(null);
+        assertThat(appender.isStarted()).isTrue();
+        logger.info("despues");
+
+        assertThat(Files.readAllLines(dir.resolve("app.log"))).containsExactly("antes", "despues");
+    }
+}
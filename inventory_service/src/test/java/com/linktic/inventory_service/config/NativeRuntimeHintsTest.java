@@ -0,0 +1,51 @@
+package com.linktic.inventory_service.config;
+
+import com.linktic.inventory_service.domain.model.Inventory;
+import com.linktic.inventory_service.infrastructure.mapper.InventoryMapperImpl;
+import com.linktic.inventory_service.web.dto.InventoryDto;
+import com.linktic.inventory_service.web.dto.PurchaseDto;
+import com.linktic.inventory_service.web.dto.jsonapi.JsonApiData;
+import com.linktic.inventory_service.web.dto.jsonapi.JsonApiErrorResponse;
+import com.linktic.inventory_service.web.dto.jsonapi.JsonApiRequest;
+import net.logstash.logback.encoder.LogstashEncoder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NativeRuntimeHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @BeforeEach
+    void register() {
+        new NativeRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void jsonApiTypes_yDto_registradosParaBinding() {
+        assertThat(RuntimeHintsPredicates.reflection().onType(JsonApiData.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(JsonApiRequest.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(JsonApiErrorResponse.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(InventoryDto.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(PurchaseDto.class)).accepts(hints);
+    }
+
+    @Test
+    void constructorExpression_yMapper_registrados() {
+        assertThat(RuntimeHintsPredicates.reflection().onType(Inventory.class)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(InventoryMapperImpl.class)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS)).accepts(hints);
+    }
+
+    @Test
+    void migracionesFlyway_yEncoderDeLogback_registrados() {
+        assertThat(RuntimeHintsPredicates.resource().forResource("db/migration/V1__init_inventory.sql")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(LogstashEncoder.class)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_METHODS)).accepts(hints);
+    }
+}
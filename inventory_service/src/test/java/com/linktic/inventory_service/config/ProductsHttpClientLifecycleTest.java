@@ -0,0 +1,118 @@
+package com.linktic.inventory_service.config;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.http.HttpMethod;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProductsHttpClientLifecycleTest {
+
+    private static final URI PRODUCT = URI.create("http://products-service:8081/products/1");
+
+    private final AtomicInteger created = new AtomicInteger();
+    private final ProductsHttpClientLifecycle lifecycle = new ProductsHttpClientLifecycle(() -> {
+        created.incrementAndGet();
+        return HttpClient.newHttpClient();
+    });
+
+    @Test
+    void arrancaConCliente() throws Exception {
+        assertThat(lifecycle.isRunning()).isTrue();
+        assertThat(lifecycle.createRequest(PRODUCT, HttpMethod.GET).getURI()).isEqualTo(PRODUCT);
+        assertThat(created).hasValue(1);
+    }
+
+    @Test
+    void stop_rechazaLlamadas_yStartCreaUnClienteNuevo() throws Exception {
+        lifecycle.stop();
+
+        assertThat(lifecycle.isRunning()).isFalse();
+        assertThatThrownBy(() -> lifecycle.createRequest(PRODUCT, HttpMethod.GET))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("stopped");
+
+        lifecycle.start();
+
+        assertThat(lifecycle.isRunning()).isTrue();
+        assertThat(lifecycle.createRequest(PRODUCT, HttpMethod.GET).getMethod()).isEqualTo(HttpMethod.GET);
+        assertThat(created).hasValue(2);
+    }
+
+    @Test
+    void startRepetido_noReemplazaElCliente() {
+        lifecycle.start();
+
+        assertThat(created).hasValue(1);
+    }
+
+    @Test
+    void readTimeout_sinDeadline_usaElTopeGlobal() {
+        assertThat(ProductsHttpClientLifecycle.readTimeout()).isEqualTo(RestTemplateConfig.READ_TIMEOUT);
+    }
+
+    @Test
+    void readTimeout_seAcotaAlPresupuestoRestante() {
+        RequestDeadline.set(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(300));
+        try {
+            assertThat(ProductsHttpClientLifecycle.readTimeout())
+                    .isLessThanOrEqualTo(Duration.ofMillis(300))
+                    .isPositive();
+        } finally {
+            RequestDeadline.clear();
+        }
+    }
+
+    @Test
+    void readTimeout_conPlazoVencido_noLlegaACero() {
+        RequestDeadline.set(System.nanoTime() - 1);
+        try {
+            assertThat(ProductsHttpClientLifecycle.readTimeout()).isEqualTo(Duration.ofMillis(1));
+        } finally {
+            RequestDeadline.clear();
+        }
+    }
+
+    @Test
+    void llamadaLenta_cortaAlAgotarseElPresupuesto() throws Exception {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/products/1", exchange -> {
+            try {
+                Thread.sleep(1_500);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+        URI slow = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/products/1");
+        RequestDeadline.set(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(200));
+        try {
+            long start = System.nanoTime();
+            assertThatThrownBy(() -> lifecycle.createRequest(slow, HttpMethod.GET).execute())
+                    .isInstanceOf(IOException.class);
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(1_200));
+        } finally {
+            RequestDeadline.clear();
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void seDetieneDespuesDelApagadoOrdenadoDelServidor() {
+        // SmartLifecycle detiene primero las fases más altas: Tomcat termina de drenar antes de cerrar el cliente
+        assertThat(lifecycle.getPhase()).isLessThan(WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 1024);
+    }
+}
@@ -0,0 +1,84 @@
+package com.linktic.inventory_service.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestDeadlineFilterTest {
+
+    private final RequestDeadlineFilter filter = new RequestDeadlineFilter();
+
+    @Test
+    void noHeader_shouldPassThrough_withoutDeadline() throws ServletException, IOException {
+        AtomicReference<OptionalLong> seen = new AtomicReference<>();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/inventories/1"), new MockHttpServletResponse(),
+                (req, res) -> seen.set(RequestDeadline.remainingNanos()));
+
+        assertThat(seen.get()).isEmpty();
+    }
+
+    @Test
+    void grpcTimeout_shouldSetDeadline_duringRequestOnly() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/inventories/1");
+        request.addHeader("grpc-timeout", "2S");
+        AtomicReference<OptionalLong> seen = new AtomicReference<>();
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> seen.set(RequestDeadline.remainingNanos()));
+
+        assertThat(seen.get().getAsLong()).isPositive().isLessThanOrEqualTo(TimeUnit.SECONDS.toNanos(2));
+        assertThat(RequestDeadline.remainingNanos()).isEmpty();
+    }
+
+    @Test
+    void expiredDeadline_shouldReturn504_withoutCallingChain() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/inventories/1");
+        request.addHeader("X-Request-Deadline", String.valueOf(System.currentTimeMillis() - 1_000));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicBoolean invoked = new AtomicBoolean();
+
+        filter.doFilter(request, response, (req, res) -> invoked.set(true));
+
+        assertThat(invoked).isFalse();
+        assertThat(response.getStatus()).isEqualTo(504);
+        assertThat(response.getContentType()).isEqualTo("application/vnd.api+json");
+        assertThat(response.getContentAsString()).contains("Request deadline exceeded");
+    }
+
+    @Test
+    void malformedHeader_shouldReturn400() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/inventories/1");
+        request.addHeader("grpc-timeout", "soon");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> { });
+
+        assertThat(response.getStatus()).isEqualTo(400);
+        assertThat(response.getContentAsString()).contains("invalid grpc-timeout: soon");
+    }
+
+    @Test
+    void malformedHeader_withBackslashAndControlChars_shouldStillReturnValidJson() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/inventories/1");
+        request.addHeader("grpc-timeout", "1\\S\u0001\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> { });
+
+        assertThat(response.getStatus()).isEqualTo(400);
+        JsonNode error = new ObjectMapper().readTree(response.getContentAsString()).path("errors").path(0);
+        assertThat(error.path("status").asText()).isEqualTo("400");
+        assertThat(error.path("detail").asText()).isEqualTo("invalid grpc-timeout: 1\\S\u0001\"");
+    }
+}
@@ -0,0 +1,72 @@
+package com.linktic.inventory_service.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RequestDeadlineTest {
+
+    private static final long NOW_NANOS = 1_000_000L;
+    private static final long NOW_MILLIS = 1_700_000_000_000L;
+
+    @AfterEach
+    void clear() {
+        RequestDeadline.clear();
+    }
+
+    @Test
+    void parse_grpcTimeoutUnits() {
+        assertThat(RequestDeadline.parse(null, "1500m", NOW_NANOS, NOW_MILLIS))
+                .isEqualTo(NOW_NANOS + TimeUnit.MILLISECONDS.toNanos(1500));
+        assertThat(RequestDeadline.parse(null, "2S", NOW_NANOS, NOW_MILLIS))
+                .isEqualTo(NOW_NANOS + TimeUnit.SECONDS.toNanos(2));
+        assertThat(RequestDeadline.parse(null, "750u", NOW_NANOS, NOW_MILLIS))
+                .isEqualTo(NOW_NANOS + TimeUnit.MICROSECONDS.toNanos(750));
+    }
+
+    @Test
+    void parse_absoluteDeadline_andEarliestWins() {
+        assertThat(RequestDeadline.parse(String.valueOf(NOW_MILLIS + 300), null, NOW_NANOS, NOW_MILLIS))
+                .isEqualTo(NOW_NANOS + TimeUnit.MILLISECONDS.toNanos(300));
+        assertThat(RequestDeadline.parse(String.valueOf(NOW_MILLIS + 300), "100m", NOW_NANOS, NOW_MILLIS))
+                .isEqualTo(NOW_NANOS + TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(RequestDeadline.parse(String.valueOf(NOW_MILLIS - 50), null, NOW_NANOS, NOW_MILLIS))
+                .isLessThan(NOW_NANOS);
+    }
+
+    @Test
+    void parse_farDeadline_isCappedWithoutOverflow() {
+        assertThat(RequestDeadline.parse(null, "99999999H", NOW_NANOS, NOW_MILLIS))
+                .isEqualTo(NOW_NANOS + TimeUnit.DAYS.toNanos(1));
+    }
+
+    @Test
+    void parse_malformed_throws() {
+        assertThatThrownBy(() -> RequestDeadline.parse("soon", null, NOW_NANOS, NOW_MILLIS))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("invalid X-Request-Deadline: soon");
+        assertThatThrownBy(() -> RequestDeadline.parse(null, "1500ms", NOW_NANOS, NOW_MILLIS))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("invalid grpc-timeout: 1500ms");
+    }
+
+    @Test
+    void grpcTimeout_formatsRemainingBudget() {
+        assertThat(RequestDeadline.grpcTimeout(TimeUnit.MILLISECONDS.toNanos(1234))).isEqualTo("1234m");
+        assertThat(RequestDeadline.grpcTimeout(10)).isEqualTo("1m");
+        assertThat(RequestDeadline.grpcTimeout(TimeUnit.DAYS.toNanos(2))).isEqualTo("172800S");
+    }
+
+    @Test
+    void remainingNanos_emptyWithoutDeadline() {
+        assertThat(RequestDeadline.remainingNanos()).isEmpty();
+
+        RequestDeadline.set(System.nanoTime() + TimeUnit.SECONDS.toNanos(5));
+        assertThat(RequestDeadline.remainingNanos()).isPresent();
+        assertThat(RequestDeadline.remainingNanos().getAsLong()).isPositive();
+    }
+}
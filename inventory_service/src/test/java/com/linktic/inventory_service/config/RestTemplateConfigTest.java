@@ -0,0 +1,30 @@
+package com.linktic.inventory_service.config;
+
+import com.linktic.inventory_service.infrastructure.client.ProductsCallBulkhead;
+import com.linktic.inventory_service.infrastructure.client.ProductsCallDeadline;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RestTemplateConfigTest {
+
+    private final ObjectProvider<MeterRegistry> noRegistry = new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class);
+
+    @Test
+    void platformThreads_shouldNotAddTheBulkhead() {
+        assertThat(RestTemplateConfig.interceptors(new ProductsProperties(), noRegistry, false))
+                .extracting(Object::getClass)
+                .doesNotContain(ProductsCallBulkhead.class)
+                .endsWith(ProductsCallDeadline.class);
+    }
+
+    @Test
+    void virtualThreads_shouldBoundProductsCallsWithTheBulkhead() {
+        assertThat(RestTemplateConfig.interceptors(new ProductsProperties(), noRegistry, true))
+                .extracting(Object::getClass)
+                .endsWith(ProductsCallBulkhead.class, ProductsCallDeadline.class);
+    }
+}
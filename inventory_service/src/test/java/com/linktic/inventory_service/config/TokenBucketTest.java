@@ -0,0 +1,59 @@
+package com.linktic.inventory_service.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void burst_shouldBeAdmitted_thenRejectedWithWait() {
+        TokenBucket bucket = new TokenBucket(10, 3, 0);
+
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isEqualTo(SECOND / 10);
+    }
+
+    @Test
+    void tokens_shouldRefillAtConfiguredRate() {
+        TokenBucket bucket = new TokenBucket(10, 1, 0);
+
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(SECOND / 20)).isEqualTo(SECOND / 20);
+        assertThat(bucket.tryAcquire(SECOND / 10)).isZero();
+    }
+
+    @Test
+    void idleBucket_shouldNotAccumulateBeyondBurst() {
+        TokenBucket bucket = new TokenBucket(1, 2, 0);
+
+        long later = 60 * SECOND;
+        assertThat(bucket.tryAcquire(later)).isZero();
+        assertThat(bucket.tryAcquire(later)).isZero();
+        assertThat(bucket.tryAcquire(later)).isPositive();
+    }
+
+    @Test
+    void rejectedRequest_shouldNotConsumeToken() {
+        TokenBucket bucket = new TokenBucket(10, 1, 0);
+
+        bucket.tryAcquire(0);
+        bucket.tryAcquire(0);
+        bucket.tryAcquire(0);
+
+        assertThat(bucket.tryAcquire(SECOND / 10)).isZero();
+    }
+
+    @Test
+    void invalidLimit_shouldBeRejected() {
+        assertThatThrownBy(() -> new TokenBucket(0, 1, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TokenBucket(1, 0, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -1,26 +1,42 @@
 package com.linktic.inventory_service.domain.service;
 
 import com.linktic.inventory_service.domain.client.ProductsClient;
+import com.linktic.inventory_service.domain.event.InventoryChangedEvent;
+import com.linktic.inventory_service.domain.exception.PreconditionFailedException;
+import com.linktic.inventory_service.domain.model.CountStrategy;
 import com.linktic.inventory_service.domain.model.Inventory;
+import com.linktic.inventory_service.domain.model.InventoryField;
+import com.linktic.inventory_service.domain.model.InventoryFilter;
 import com.linktic.inventory_service.domain.repository.InventoryRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
 import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
@@ -29,10 +45,13 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+@DisabledInNativeImage
 class InventoryServiceTest {
 
     private InventoryRepository repository;
     private ProductsClient productsClient;
+    private ApplicationEventPublisher events;
+    private LowStockWatchlist lowStockWatchlist;
     private InventoryService service;
     private InventoryService serviceWithClient;
 
@@ -40,8 +59,10 @@ class InventoryServiceTest {
     void setUp() {
         repository = mock(InventoryRepository.class);
         productsClient = mock(ProductsClient.class);
-        service = new InventoryService(repository, Optional.empty());
-        serviceWithClient = new InventoryService(repository, Optional.of(productsClient));
+        events = mock(ApplicationEventPublisher.class);
+        lowStockWatchlist = mock(LowStockWatchlist.class);
+        service = new InventoryService(repository, Optional.empty(), events, lowStockWatchlist);
+        serviceWithClient = new InventoryService(repository, Optional.of(productsClient), events, lowStockWatchlist);
     }
 
     @Test
@@ -110,6 +131,26 @@ class InventoryServiceTest {
         assertThrows(NoSuchElementException.class, () -> service.get(1L));
     }
 
+    @Test
+    void get_withSparseFields_shouldUseProjection() {
+        Inventory partial = new Inventory(1L, null, 5, null, null);
+        when(repository.findById(1L, Set.of(InventoryField.QUANTITY))).thenReturn(Optional.of(partial));
+
+        Inventory result = service.get(1L, Set.of(InventoryField.QUANTITY));
+
+        assertEquals(5, result.getQuantity());
+        verify(repository, never()).findById(1L);
+    }
+
+    @Test
+    void get_withAllFields_shouldLoadFullInventory() {
+        Inventory inv = new Inventory(1L, 100L, 5, LocalDateTime.now(), null);
+        when(repository.findById(1L)).thenReturn(Optional.of(inv));
+
+        assertEquals(inv, service.get(1L, InventoryField.all()));
+        verify(repository, never()).findById(eq(1L), any());
+    }
+
     @Test
     void getByProductId_shouldReturn_whenExists() {
         Inventory inv = new Inventory(5L, 777L, 9, LocalDateTime.now(), null);
@@ -206,6 +247,90 @@ class InventoryServiceTest {
         verify(repository).deleteById(1L);
     }
 
+    @Test
+    void delete_shouldPublishDeletedEvent_whenInventoryExists() {
+        when(repository.findById(3L)).thenReturn(Optional.of(new Inventory(3L, 300L, 4, LocalDateTime.now(), null)));
+
+        service.delete(3L);
+
+        ArgumentCaptor<InventoryChangedEvent> captor = ArgumentCaptor.forClass(InventoryChangedEvent.class);
+        verify(events).publishEvent(captor.capture());
+        assertEquals(InventoryChangedEvent.Type.DELETED, captor.getValue().type());
+        assertEquals(300L, captor.getValue().productId());
+        verify(repository).deleteById(3L);
+    }
+
+    @Test
+    void purchase_shouldPublishChangedEvent_withNewQuantity() {
+        Inventory inv = new Inventory(5L, 500L, 10, LocalDateTime.now(), null);
+        when(repository.findByProductId(500L)).thenReturn(Optional.of(inv));
+        when(repository.save(any())).thenAnswer(a -> a.getArgument(0));
+
+        service.purchase(500L, 4);
+
+        ArgumentCaptor<InventoryChangedEvent> captor = ArgumentCaptor.forClass(InventoryChangedEvent.class);
+        verify(events).publishEvent(captor.capture());
+        assertEquals(InventoryChangedEvent.Type.PURCHASE, captor.getValue().type());
+        assertEquals(6, captor.getValue().quantity());
+        assertNotNull(captor.getValue().changedAt());
+    }
+
+    @Test
+    void updateWithVersion_shouldWriteConditionally_andPublish() {
+        LocalDateTime seen = LocalDateTime.of(2025, 1, 1, 0, 0);
+        when(repository.updateQuantityIfVersion(eq(1L), eq(7), eq(seen), any())).thenReturn(true);
+        when(repository.findById(1L)).thenReturn(Optional.of(new Inventory(1L, 100L, 7, seen, seen.plusHours(1))));
+
+        Inventory updated = service.update(1L, 7, seen);
+
+        assertEquals(7, updated.getQuantity());
+        verify(repository, never()).save(any());
+        verify(events).publishEvent(any(InventoryChangedEvent.class));
+    }
+
+    @Test
+    void updateWithVersion_shouldThrowPreconditionFailed_whenVersionChanged() {
+        LocalDateTime seen = LocalDateTime.of(2025, 1, 1, 0, 0);
+        when(repository.updateQuantityIfVersion(eq(1L), eq(7), eq(seen), any())).thenReturn(false);
+        when(repository.existsById(1L)).thenReturn(true);
+
+        assertThrows(PreconditionFailedException.class, () -> service.update(1L, 7, seen));
+        verify(events, never()).publishEvent(any());
+    }
+
+    @Test
+    void updateWithVersion_shouldThrowNotFound_whenMissing() {
+        when(repository.updateQuantityIfVersion(eq(9L), eq(7), any(), any())).thenReturn(false);
+        when(repository.existsById(9L)).thenReturn(false);
+
+        assertThrows(NoSuchElementException.class, () -> service.update(9L, 7, LocalDateTime.now()));
+    }
+
+    @Test
+    void version_shouldUseProjection() {
+        LocalDateTime v = LocalDateTime.of(2025, 1, 1, 0, 0);
+        when(repository.findVersionById(1L)).thenReturn(Optional.of(v));
+        assertEquals(Optional.of(v), service.version(1L));
+        verify(repository, never()).findById(any());
+    }
+
+    @Test
+    void lowStock_shouldServeFromWatchlist() {
+        Inventory low = new Inventory(1L, 100L, 2, null, null);
+        when(lowStockWatchlist.maxThreshold()).thenReturn(100);
+        when(lowStockWatchlist.below(10)).thenReturn(List.of(low));
+
+        assertThat(service.lowStock(10)).containsExactly(low);
+        verify(repository, never()).findLowStock(anyInt());
+    }
+
+    @Test
+    void lowStock_shouldReject_thresholdAboveMax() {
+        when(lowStockWatchlist.maxThreshold()).thenReturn(100);
+        assertThrows(IllegalArgumentException.class, () -> service.lowStock(101));
+        assertThrows(IllegalArgumentException.class, () -> service.lowStock(0));
+    }
+
     @Test
     void list_shouldReturnAllInventories() {
         List<Inventory> inventories = List.of(
@@ -221,13 +346,39 @@ class InventoryServiceTest {
                 .containsExactlyInAnyOrder(100L, 200L);
     }
 
+    @Test
+    void forEach_shouldStreamAllInventories() {
+        when(repository.streamAll()).thenReturn(Stream.of(
+                new Inventory(1L, 100L, 1, LocalDateTime.now(), null),
+                new Inventory(2L, 200L, 2, LocalDateTime.now(), null)
+        ));
+
+        List<Long> productIds = new ArrayList<>();
+        service.forEach(inventory -> productIds.add(inventory.getProductId()));
+
+        assertThat(productIds).containsExactly(100L, 200L);
+    }
+
+    @Test
+    void export_shouldStreamFilteredInventories() {
+        LocalDateTime since = LocalDateTime.now().minusDays(1);
+        when(repository.streamAll(5L, since)).thenReturn(Stream.of(
+                new Inventory(6L, 600L, 1, LocalDateTime.now(), null)
+        ));
+
+        List<Long> ids = new ArrayList<>();
+        service.export(5L, since, inventory -> ids.add(inventory.getId()));
+
+        assertThat(ids).containsExactly(6L);
+    }
+
     @Test
     void paginatedList_shouldReturnPage() {
         List<Inventory> inventories = List.of(
                 new Inventory(1L, 100L, 1, LocalDateTime.now(), null)
         );
         Page<Inventory> page = new PageImpl<>(inventories);
-        when(repository.findAllPaginatedList(PageRequest.of(0, 10))).thenReturn(page);
+        when(repository.findAllPaginatedList(PageRequest.of(0, 10), InventoryFilter.none())).thenReturn(page);
 
         Page<Inventory> result = service.paginatedList(1, 10);
 
@@ -235,6 +386,33 @@ class InventoryServiceTest {
         assertEquals(100L, result.getContent().get(0).getProductId());
     }
 
+    @Test
+    void paginatedList_withSort_shouldAddIdTieBreaker_inLastDirection() {
+        InventoryFilter filter = new InventoryFilter(List.of(
+                new InventoryFilter.Condition(InventoryFilter.Field.QUANTITY, InventoryFilter.Operator.LT, 5)));
+        Sort sort = Sort.by(Sort.Order.asc("quantity"), Sort.Order.desc("updatedAt"));
+        Pageable expected = PageRequest.of(0, 100, sort.and(Sort.by(Sort.Direction.DESC, "id")));
+        when(repository.findAllPaginatedList(expected, filter)).thenReturn(Page.empty(expected));
+
+        Page<Inventory> result = service.paginatedList(1, 500, filter, sort);
+
+        assertThat(result.getPageable()).isEqualTo(expected);
+    }
+
+    @Test
+    void countStrategy_withFilter_isAlwaysExact() {
+        InventoryFilter filter = new InventoryFilter(List.of(
+                new InventoryFilter.Condition(InventoryFilter.Field.QUANTITY, InventoryFilter.Operator.EQ, 0)));
+        assertEquals(CountStrategy.EXACT, service.countStrategy(filter));
+        verify(repository, never()).countStrategy();
+    }
+
+    @Test
+    void countStrategy_shouldDelegateToRepository() {
+        when(repository.countStrategy()).thenReturn(CountStrategy.ESTIMATED);
+        assertEquals(CountStrategy.ESTIMATED, service.countStrategy());
+    }
+
     @Test
     void getDetailsByProductId_shouldReturn_inventoryAndProduct() {
         Inventory inv = new Inventory(50L, 555L, 8, LocalDateTime.now(), null);
@@ -280,4 +458,46 @@ class InventoryServiceTest {
         assertThat(ex.getMessage()).contains("Product not found.");
         verify(repository, never()).findByProductId(anyLong());
     }
-}
\ No newline at end of file
+
+    @Test
+    void productsFor_shouldFetchAllProductsInOneClientCall() {
+        Map<Long, ProductsClient.ProductSummary> products = Map.of(
+                1L, new ProductsClient.ProductSummary(1L, "A", BigDecimal.ONE),
+                2L, new ProductsClient.ProductSummary(2L, "B", BigDecimal.TEN));
+        when(productsClient.getProductSummaries(Set.of(1L, 2L))).thenReturn(products);
+
+        assertEquals(products, serviceWithClient.productsFor(Set.of(1L, 2L)));
+        verify(productsClient, times(1)).getProductSummaries(any());
+        verify(productsClient, never()).getProductSummary(anyLong());
+    }
+
+    @Test
+    void productsFor_shouldFail_whenProductsIntegrationDisabled() {
+        assertThrows(IllegalStateException.class, () -> service.productsFor(Set.of(1L)));
+    }
+
+    @Test
+    void stockByProductIds_shouldQueryOnce_keepRequestOrder_andSkipMissing() {
+        Set<Long> requested = new LinkedHashSet<>(List.of(30L, 10L, 20L));
+        when(repository.findStockByProductIds(requested)).thenReturn(List.of(
+                new Inventory(1L, 10L, 5, null, null),
+                new Inventory(3L, 30L, 0, null, null)));
+
+        List<Inventory> result = serviceWithClient.stockByProductIds(requested);
+
+        assertThat(result).extracting(Inventory::getProductId).containsExactly(30L, 10L);
+        verify(repository, times(1)).findStockByProductIds(any());
+        verify(productsClient, never()).getProductSummary(anyLong());
+    }
+
+    @Test
+    void stockByProductIds_shouldRejectEmptyOrTooManyIds() {
+        Set<Long> tooMany = new LinkedHashSet<>();
+        for (long id = 1; id <= 101; id++) tooMany.add(id);
+
+        assertThrows(IllegalArgumentException.class, () -> service.stockByProductIds(Set.of()));
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> service.stockByProductIds(tooMany));
+        assertThat(ex.getMessage()).isEqualTo("at most 100 productIds per request");
+        verify(repository, never()).findStockByProductIds(any());
+    }
+}
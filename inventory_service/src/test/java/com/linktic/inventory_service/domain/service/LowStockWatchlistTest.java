@@ -0,0 +1,100 @@
+package com.linktic.inventory_service.domain.service;
+
+import com.linktic.inventory_service.domain.event.InventoryChangedEvent;
+import com.linktic.inventory_service.domain.model.Inventory;
+import com.linktic.inventory_service.domain.repository.InventoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisabledInNativeImage
+class LowStockWatchlistTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    private InventoryRepository repository;
+    private LowStockWatchlist watchlist;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(InventoryRepository.class);
+        watchlist = new LowStockWatchlist(repository, 100);
+    }
+
+    @Test
+    void below_beforeWarmUp_shouldQueryRepository() {
+        Inventory inv = new Inventory(1L, 10L, 3, T0, null);
+        when(repository.findLowStock(5)).thenReturn(List.of(inv));
+
+        assertThat(watchlist.below(5)).containsExactly(inv);
+    }
+
+    @Test
+    void below_afterWarmUp_shouldBeOrderedByQuantity_andSkipDatabase() {
+        when(repository.findLowStock(100)).thenReturn(List.of(
+                new Inventory(1L, 10L, 7, T0, null),
+                new Inventory(2L, 20L, 2, T0, null),
+                new Inventory(3L, 30L, 50, T0, null)));
+        watchlist.warmUp();
+
+        assertThat(watchlist.below(10)).extracting(Inventory::getProductId).containsExactly(20L, 10L);
+        verify(repository, never()).findLowStock(10);
+    }
+
+    @Test
+    void on_shouldMoveAddAndRemoveEntries() {
+        when(repository.findLowStock(100)).thenReturn(List.of(new Inventory(1L, 10L, 7, T0, null)));
+        watchlist.warmUp();
+
+        watchlist.on(event(InventoryChangedEvent.Type.PURCHASE, 1L, 10L, 1, T0.plusMinutes(1)));
+        watchlist.on(event(InventoryChangedEvent.Type.CREATED, 2L, 20L, 4, T0.plusMinutes(1)));
+        watchlist.on(event(InventoryChangedEvent.Type.UPDATED, 3L, 30L, 500, T0.plusMinutes(1)));
+
+        assertThat(watchlist.below(5)).extracting(Inventory::getQuantity).containsExactly(1, 4);
+
+        watchlist.on(event(InventoryChangedEvent.Type.UPDATED, 1L, 10L, 200, T0.plusMinutes(2)));
+        watchlist.on(event(InventoryChangedEvent.Type.DELETED, 2L, 20L, 4, T0.plusMinutes(2)));
+
+        assertThat(watchlist.below(100)).isEmpty();
+    }
+
+    @Test
+    void on_deleted_shouldDropTheProductFromTheIndex() {
+        when(repository.findLowStock(100)).thenReturn(List.of(
+                new Inventory(1L, 10L, 7, T0, null),
+                new Inventory(2L, 20L, 3, T0, null)));
+        watchlist.warmUp();
+
+        watchlist.on(event(InventoryChangedEvent.Type.UPDATED, 3L, 30L, 500, T0.plusMinutes(1)));
+        watchlist.on(event(InventoryChangedEvent.Type.DELETED, 1L, 10L, 7, T0.plusMinutes(2)));
+        watchlist.on(event(InventoryChangedEvent.Type.DELETED, 3L, 30L, 500, T0.plusMinutes(2)));
+
+        assertThat(watchlist.below(100)).extracting(Inventory::getProductId).containsExactly(20L);
+        assertThat(watchlist.trackedProducts()).isEqualTo(1);
+    }
+
+    @Test
+    void on_shouldIgnoreEventsOlderThanCurrentState() {
+        when(repository.findLowStock(100)).thenReturn(List.of());
+        watchlist.warmUp();
+
+        watchlist.on(event(InventoryChangedEvent.Type.UPDATED, 1L, 10L, 150, T0.plusMinutes(5)));
+        watchlist.on(event(InventoryChangedEvent.Type.PURCHASE, 1L, 10L, 2, T0.plusMinutes(1)));
+
+        assertThat(watchlist.below(100)).isEmpty();
+    }
+
+    private static InventoryChangedEvent event(InventoryChangedEvent.Type type, Long id, Long productId,
+                                               Integer quantity, LocalDateTime at) {
+        return new InventoryChangedEvent(type, id, productId, quantity, at);
+    }
+}
@@ -0,0 +1,79 @@
+package com.linktic.inventory_service.infrastructure.client;
+
+import com.linktic.inventory_service.config.RequestDeadlineFilter;
+import com.linktic.inventory_service.domain.exception.DeadlineExceededException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProductsCallBulkheadTest {
+
+    private final MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET, URI.create("http://products/products/1"));
+
+    @Test
+    void call_shouldReleasePermit_afterResponse() throws IOException {
+        ProductsCallBulkhead bulkhead = new ProductsCallBulkhead(2, Duration.ofMillis(10));
+
+        var response = bulkhead.intercept(request, new byte[0],
+                (req, body) -> new MockClientHttpResponse(new byte[0], HttpStatus.OK));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(bulkhead.availablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    void call_shouldFailFast_whenAllPermitsAreTaken() {
+        ProductsCallBulkhead bulkhead = new ProductsCallBulkhead(1, Duration.ofMillis(10));
+        // la llamada externa retiene el único permiso mientras la interna intenta entrar
+        ClientHttpRequestExecution nested = (req, body) ->
+                bulkhead.intercept(req, body, (r, b) -> new MockClientHttpResponse(new byte[0], HttpStatus.OK));
+
+        assertThatThrownBy(() -> bulkhead.intercept(request, new byte[0], nested))
+                .isInstanceOf(IOException.class)
+                .hasMessage("products-service concurrency limit reached");
+        assertThat(bulkhead.availablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    void call_shouldFailWithDeadline_whenRequestBudgetRunsOutWaiting() throws Exception {
+        ProductsCallBulkhead bulkhead = new ProductsCallBulkhead(1, Duration.ofSeconds(10));
+        ClientHttpRequestExecution nested = (req, body) ->
+                bulkhead.intercept(req, body, (r, b) -> new MockClientHttpResponse(new byte[0], HttpStatus.OK));
+        MockHttpServletRequest incoming = new MockHttpServletRequest("GET", "/inventories/product/1");
+        incoming.addHeader("grpc-timeout", "50m");
+
+        new RequestDeadlineFilter().doFilter(incoming, new MockHttpServletResponse(), (req, res) ->
+                assertThatThrownBy(() -> bulkhead.intercept(request, new byte[0], nested))
+                        .isInstanceOf(DeadlineExceededException.class));
+        assertThat(bulkhead.availablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    void call_shouldReleasePermit_whenExecutionFails() {
+        ProductsCallBulkhead bulkhead = new ProductsCallBulkhead(1, Duration.ofMillis(10));
+
+        assertThatThrownBy(() -> bulkhead.intercept(request, new byte[0], (req, body) -> {
+            throw new IOException("connection refused");
+        })).isInstanceOf(IOException.class);
+
+        assertThat(bulkhead.availablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    void invalidLimit_shouldBeRejected() {
+        assertThatThrownBy(() -> new ProductsCallBulkhead(0, Duration.ofSeconds(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,58 @@
+package com.linktic.inventory_service.infrastructure.client;
+
+import com.linktic.inventory_service.config.RequestDeadline;
+import com.linktic.inventory_service.config.RequestDeadlineFilter;
+import com.linktic.inventory_service.domain.exception.DeadlineExceededException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.net.URI;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProductsCallDeadlineTest {
+
+    private final MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET, URI.create("http://products/products/1"));
+    private final ProductsCallDeadline interceptor = new ProductsCallDeadline();
+
+    @Test
+    void withoutDeadline_shouldNotAddHeader() throws IOException {
+        interceptor.intercept(request, new byte[0], (req, body) -> new MockClientHttpResponse(new byte[0], HttpStatus.OK));
+
+        assertThat(request.getHeaders().containsKey("grpc-timeout")).isFalse();
+    }
+
+    @Test
+    void withDeadline_shouldPropagateRemainingBudget() throws Exception {
+        MockHttpServletRequest incoming = new MockHttpServletRequest("GET", "/inventories/product/1");
+        incoming.addHeader("grpc-timeout", "800m");
+
+        new RequestDeadlineFilter().doFilter(incoming, new MockHttpServletResponse(), (req, res) ->
+                interceptor.intercept(request, new byte[0], (r, b) -> new MockClientHttpResponse(new byte[0], HttpStatus.OK)));
+
+        String propagated = request.getHeaders().getFirst("grpc-timeout");
+        assertThat(propagated).endsWith("m");
+        assertThat(Long.parseLong(propagated.substring(0, propagated.length() - 1))).isBetween(1L, 800L);
+    }
+
+    @Test
+    void expiredDeadline_shouldFailWithoutCalling() throws Exception {
+        MockHttpServletRequest incoming = new MockHttpServletRequest("GET", "/inventories/product/1");
+        incoming.addHeader("grpc-timeout", "1m");
+
+        new RequestDeadlineFilter().doFilter(incoming, new MockHttpServletResponse(), (req, res) -> {
+            while (RequestDeadline.remainingNanos().getAsLong() > 0) Thread.onSpinWait();
+            assertThatThrownBy(() -> interceptor.intercept(request, new byte[0], (r, b) -> {
+                throw new AssertionError("products-service must not be called");
+            })).isInstanceOf(DeadlineExceededException.class)
+                    .hasMessage("request deadline exceeded before calling products-service");
+        });
+    }
+}
@@ -0,0 +1,64 @@
+package com.linktic.inventory_service.infrastructure.client;
+
+import com.linktic.inventory_service.config.AdaptiveConcurrencyLimit;
+import com.linktic.inventory_service.domain.exception.DeadlineExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProductsCallLimiterTest {
+
+    private final MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET, URI.create("http://products/products/1"));
+    private final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit("products-service",
+            new AdaptiveConcurrencyLimit.Settings(10, 1, 50), new SimpleMeterRegistry());
+    private final ProductsCallLimiter limiter = new ProductsCallLimiter(limit);
+
+    @Test
+    void okResponse_shouldReleasePermit_withoutBackOff() throws IOException {
+        var response = limiter.intercept(request, new byte[0],
+                (req, body) -> new MockClientHttpResponse(new byte[0], HttpStatus.OK));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(limit.inflight()).isZero();
+        assertThat(limit.limit()).isEqualTo(10);
+    }
+
+    @Test
+    void serverErrorOrIoFailure_shouldBackOff() {
+        assertThatThrownBy(() -> limiter.intercept(request, new byte[0], (req, body) -> {
+            throw new IOException("read timed out");
+        })).isInstanceOf(IOException.class).hasMessage("read timed out");
+
+        assertThat(limit.inflight()).isZero();
+        assertThat(limit.limit()).isEqualTo(9);
+    }
+
+    @Test
+    void deadlineExceeded_shouldReleasePermit_withoutBackOff() {
+        assertThatThrownBy(() -> limiter.intercept(request, new byte[0], (req, body) -> {
+            throw new DeadlineExceededException("request deadline exceeded before calling products-service");
+        })).isInstanceOf(DeadlineExceededException.class);
+
+        assertThat(limit.inflight()).isZero();
+        assertThat(limit.limit()).isEqualTo(10);
+    }
+
+    @Test
+    void limitReached_shouldFailFast() {
+        for (int i = 0; i < 10; i++) limit.tryAcquire();
+
+        assertThatThrownBy(() -> limiter.intercept(request, new byte[0],
+                (req, body) -> new MockClientHttpResponse(new byte[0], HttpStatus.OK)))
+                .isInstanceOf(IOException.class)
+                .hasMessage("products-service adaptive concurrency limit reached");
+    }
+}
@@ -3,8 +3,10 @@ package com.linktic.inventory_service.infrastructure.client;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.linktic.inventory_service.config.ProductsProperties;
 import com.linktic.inventory_service.domain.client.ProductsClient;
+import com.linktic.inventory_service.domain.exception.DeadlineExceededException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
 import org.mockito.ArgumentCaptor;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -17,7 +19,11 @@ import org.springframework.web.client.RestTemplate;
 
 import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -30,9 +36,12 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+@DisabledInNativeImage
 class ProductsClientRestTest {
 
     private RestTemplate rt;
@@ -63,7 +72,7 @@ class ProductsClientRestTest {
         ResponseEntity<String> resp = new ResponseEntity<>(body, HttpStatus.OK);
 
         when(rt.exchange(
-                eq("http://products/products/{id}"),
+                eq("http://products/products/{id}?fields[products]=name,price"),
                 eq(HttpMethod.GET),
                 any(HttpEntity.class),
                 eq(String.class),
@@ -78,7 +87,7 @@ class ProductsClientRestTest {
 
         @SuppressWarnings("unchecked")
         ArgumentCaptor<HttpEntity<Void>> captor = ArgumentCaptor.forClass(HttpEntity.class);
-        verify(rt).exchange(eq("http://products/products/{id}"), eq(HttpMethod.GET), captor.capture(), eq(String.class), eq(123L));
+        verify(rt).exchange(eq("http://products/products/{id}?fields[products]=name,price"), eq(HttpMethod.GET), captor.capture(), eq(String.class), eq(123L));
         HttpHeaders headers = captor.getValue().getHeaders();
         assertEquals("dev-products-key", headers.getFirst("X-API-Key"));
         assertThat(headers.getAccept()).extracting(MediaType::toString)
@@ -150,4 +159,63 @@ class ProductsClientRestTest {
 
         assertFalse(client.existsProduct(12L));
     }
+
+    @Test
+    void getProductSummary_504_translatesToDeadlineExceeded() {
+        RestClientResponseException ex = new RestClientResponseException(
+                "timeout", 504, "Gateway Timeout", null, null, null);
+        when(rt.exchange(anyString(), any(), any(HttpEntity.class), eq(String.class), anyLong()))
+                .thenThrow(ex);
+
+        assertThrows(DeadlineExceededException.class, () -> client.getProductSummary(13L));
+    }
+
+    @Test
+    void existsProduct_propagatesDeadlineExceeded_insteadOfFalse() {
+        when(rt.exchange(anyString(), any(), any(HttpEntity.class), eq(String.class), anyLong()))
+                .thenThrow(new DeadlineExceededException("request deadline exceeded before calling products-service"));
+
+        assertThrows(DeadlineExceededException.class, () -> client.existsProduct(14L));
+    }
+
+    @Test
+    void getProductSummaries_shouldFetchDistinctIdsInOneCall() {
+        String body = """
+            {"data":[{"id":"1","attributes":{"name":"A","price":1.5}},{"id":"2","attributes":{"name":"B","price":2}}]}
+            """;
+        when(rt.exchange(
+                eq("http://products/products?filter[id]={ids}&fields[products]=name,price"),
+                eq(HttpMethod.GET),
+                any(HttpEntity.class),
+                eq(String.class),
+                eq("1,2,3")
+        )).thenReturn(new ResponseEntity<>(body, HttpStatus.OK));
+
+        Map<Long, ProductsClient.ProductSummary> result = client.getProductSummaries(List.of(1L, 2L, 1L, 3L));
+
+        assertThat(result).containsOnlyKeys(1L, 2L);
+        assertEquals(new BigDecimal("1.5"), result.get(1L).price());
+        verify(rt, times(1)).exchange(anyString(), any(), any(HttpEntity.class), eq(String.class), any(Object[].class));
+    }
+
+    @Test
+    void getProductSummaries_shouldSplitLargeRequestsIntoBatches() {
+        when(rt.exchange(anyString(), any(), any(HttpEntity.class), eq(String.class), anyString()))
+                .thenReturn(new ResponseEntity<>("{\"data\":[]}", HttpStatus.OK));
+        List<Long> ids = LongStream.rangeClosed(1, ProductsClientRest.MAX_BATCH + 1).boxed().toList();
+
+        client.getProductSummaries(ids);
+
+        String firstBatch = LongStream.rangeClosed(1, ProductsClientRest.MAX_BATCH)
+                .mapToObj(String::valueOf).collect(Collectors.joining(","));
+        verify(rt).exchange(anyString(), any(), any(HttpEntity.class), eq(String.class), eq(firstBatch));
+        verify(rt).exchange(anyString(), any(), any(HttpEntity.class), eq(String.class),
+                eq(String.valueOf(ProductsClientRest.MAX_BATCH + 1)));
+    }
+
+    @Test
+    void getProductSummaries_withNoIds_shouldNotCallProducts() {
+        assertThat(client.getProductSummaries(List.of())).isEmpty();
+        verify(rt, never()).exchange(anyString(), any(), any(HttpEntity.class), eq(String.class), any(Object[].class));
+    }
 }
@@ -1,28 +1,42 @@
 package com.linktic.inventory_service.infrastructure.persistence.adapter;
 
+import com.linktic.inventory_service.domain.model.CountStrategy;
 import com.linktic.inventory_service.domain.model.Inventory;
+import com.linktic.inventory_service.domain.model.InventoryField;
+import com.linktic.inventory_service.domain.model.InventoryFilter;
 import com.linktic.inventory_service.infrastructure.mapper.InventoryMapper;
 import com.linktic.inventory_service.infrastructure.persistence.entity.InventoryEntity;
 import com.linktic.inventory_service.infrastructure.persistence.jpa.InventoryJpaRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+@DisabledInNativeImage
 class InventoryRepositoryAdapterTest {
 
     private InventoryJpaRepository jpa;
@@ -33,7 +47,7 @@ class InventoryRepositoryAdapterTest {
     void setUp() {
         jpa = mock(InventoryJpaRepository.class);
         mapper = mock(InventoryMapper.class);
-        repository = new InventoryRepositoryAdapter(jpa, mapper);
+        repository = new InventoryRepositoryAdapter(jpa, mapper, CountStrategy.EXACT, Duration.ofSeconds(30));
     }
 
     @Test
@@ -124,20 +138,168 @@ class InventoryRepositoryAdapterTest {
     }
 
     @Test
-    void findAllPaginatedList_shouldReturnMappedPage() {
-        InventoryEntity e1 = new InventoryEntity(1L, 100L, 10, LocalDateTime.now(), null);
-        InventoryEntity e2 = new InventoryEntity(2L, 200L, 20, LocalDateTime.now(), null);
+    void streamAll_shouldReturnProjectedRows_withoutMapper() {
+        Inventory d1 = new Inventory(1L, 100L, 10, LocalDateTime.now(), null);
+        when(jpa.streamAll()).thenReturn(Stream.of(d1));
+
+        try (Stream<Inventory> result = repository.streamAll()) {
+            assertThat(result).containsExactly(d1);
+        }
+        verify(mapper, never()).toDomain(any());
+    }
+
+    @Test
+    void streamAll_withExportFilters_shouldDelegateToJpa() {
+        LocalDateTime since = LocalDateTime.now().minusHours(1);
+        Inventory d1 = new Inventory(8L, 100L, 10, LocalDateTime.now(), null);
+        when(jpa.streamAll(7L, since)).thenReturn(Stream.of(d1));
+
+        try (Stream<Inventory> result = repository.streamAll(7L, since)) {
+            assertThat(result).containsExactly(d1);
+        }
+    }
+
+    @Test
+    void findAllPaginatedList_shouldReturnProjectedPage_andCount_whenThereIsANextPage() {
         Inventory d1 = new Inventory(1L, 100L, 10, LocalDateTime.now(), null);
         Inventory d2 = new Inventory(2L, 200L, 20, LocalDateTime.now(), null);
+        Inventory d3 = new Inventory(3L, 300L, 30, LocalDateTime.now(), null);
 
         Pageable pageable = PageRequest.of(0, 2);
-        Page<InventoryEntity> page = new PageImpl<>(List.of(e1, e2));
-        when(jpa.findAll(pageable)).thenReturn(page);
-        when(mapper.toDomain(e1)).thenReturn(d1);
-        when(mapper.toDomain(e2)).thenReturn(d2);
+        when(jpa.findInventories(null, Sort.unsorted(), 0L, 3)).thenReturn(List.of(d1, d2, d3));
+        when(jpa.count()).thenReturn(3L);
 
         Page<Inventory> result = repository.findAllPaginatedList(pageable);
 
         assertThat(result.getContent()).containsExactly(d1, d2);
+        assertThat(result.getTotalElements()).isEqualTo(3);
+        verify(mapper, never()).toDomain(any());
     }
+
+    @Test
+    void findAllPaginatedList_onLastPage_shouldSkipCount() {
+        Inventory d1 = new Inventory(5L, 100L, 10, LocalDateTime.now(), null);
+        Pageable pageable = PageRequest.of(2, 2);
+        when(jpa.findInventories(null, Sort.unsorted(), 4L, 3)).thenReturn(List.of(d1));
+
+        Page<Inventory> result = repository.findAllPaginatedList(pageable);
+
+        assertThat(result.getTotalElements()).isEqualTo(5);
+        verify(jpa, never()).count();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void findAllPaginatedList_withFilter_shouldQueryAndCountBySpecification() {
+        Inventory d1 = new Inventory(1L, 100L, 0, LocalDateTime.now(), null);
+        Inventory d2 = new Inventory(2L, 200L, 0, LocalDateTime.now(), null);
+        InventoryFilter filter = new InventoryFilter(List.of(
+                new InventoryFilter.Condition(InventoryFilter.Field.QUANTITY, InventoryFilter.Operator.LT, 1)));
+
+        Pageable pageable = PageRequest.of(0, 1);
+        when(jpa.findInventories(any(Specification.class), eq(Sort.unsorted()), eq(0L), eq(2)))
+                .thenReturn(List.of(d1, d2));
+        when(jpa.count(any(Specification.class))).thenReturn(2L);
+
+        Page<Inventory> result = repository.findAllPaginatedList(pageable, filter);
+
+        assertThat(result.getContent()).containsExactly(d1);
+        assertThat(result.getTotalElements()).isEqualTo(2);
+        verify(jpa, never()).count();
+    }
+
+    @Test
+    void findAllPaginatedList_withFields_shouldProjectRequestedColumns_andSkipCount_onLastPage() {
+        Inventory d1 = new Inventory(1L, null, 4, null, null);
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("quantity"));
+        when(jpa.findProjected(isNull(), eq(List.of("quantity")), eq(Sort.by("quantity")), eq(0L), eq(11)))
+                .thenReturn(List.of(d1));
+
+        Page<Inventory> result = repository.findAllPaginatedList(pageable, InventoryFilter.none(),
+                Set.of(InventoryField.QUANTITY));
+
+        assertThat(result.getContent()).containsExactly(d1);
+        assertThat(result.getTotalElements()).isEqualTo(1);
+        verify(jpa, never()).count();
+        verify(jpa, never()).findInventories(any(), any(), anyLong(), anyInt());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void findAllPaginatedList_withFieldsAndFilter_shouldCountByPredicate_whenThereIsANextPage() {
+        Inventory d1 = new Inventory(1L, null, 0, null, null);
+        Inventory d2 = new Inventory(2L, null, 0, null, null);
+        InventoryFilter filter = new InventoryFilter(List.of(
+                new InventoryFilter.Condition(InventoryFilter.Field.QUANTITY, InventoryFilter.Operator.EQ, 0)));
+        Pageable pageable = PageRequest.of(0, 1);
+        when(jpa.findProjected(any(Specification.class), eq(List.of("quantity")), any(Sort.class), anyLong(), eq(2)))
+                .thenReturn(List.of(d1, d2));
+        when(jpa.count(any(Specification.class))).thenReturn(5L);
+
+        Page<Inventory> result = repository.findAllPaginatedList(pageable, filter, Set.of(InventoryField.QUANTITY));
+
+        assertThat(result.getContent()).containsExactly(d1);
+        assertThat(result.getTotalElements()).isEqualTo(5);
+        assertThat(result.hasNext()).isTrue();
+    }
+
+    @Test
+    void findAllPaginatedList_withEstimatedStrategy_shouldSkipExactCount() {
+        repository = new InventoryRepositoryAdapter(jpa, mapper, CountStrategy.ESTIMATED, Duration.ofSeconds(30));
+        Inventory d1 = new Inventory(1L, 100L, 10, LocalDateTime.now(), null);
+        Inventory d2 = new Inventory(2L, 200L, 20, LocalDateTime.now(), null);
+
+        Pageable pageable = PageRequest.of(0, 1);
+        when(jpa.findInventories(null, Sort.unsorted(), 0L, 2)).thenReturn(List.of(d1, d2));
+        when(jpa.estimateRowCount()).thenReturn(1000L);
+
+        Page<Inventory> result = repository.findAllPaginatedList(pageable);
+
+        assertThat(result.getContent()).containsExactly(d1);
+        assertThat(result.getTotalElements()).isEqualTo(1000L);
+        assertThat(repository.countStrategy()).isEqualTo(CountStrategy.ESTIMATED);
+        verify(jpa, never()).count();
+    }
+
+    @Test
+    void findAllPaginatedList_withEstimatedStrategy_shouldNotHideNextPage_whenEstimateIsLow() {
+        repository = new InventoryRepositoryAdapter(jpa, mapper, CountStrategy.ESTIMATED, Duration.ofSeconds(30));
+        Inventory d1 = new Inventory(1L, 100L, 10, LocalDateTime.now(), null);
+        Inventory d2 = new Inventory(2L, 200L, 20, LocalDateTime.now(), null);
+
+        Pageable pageable = PageRequest.of(0, 1);
+        when(jpa.findInventories(null, Sort.unsorted(), 0L, 2)).thenReturn(List.of(d1, d2));
+        when(jpa.estimateRowCount()).thenReturn(0L);
+
+        Page<Inventory> result = repository.findAllPaginatedList(pageable);
+
+        assertThat(result.hasNext()).isTrue();
+    }
+
+    @Test
+    void findAllPaginatedList_withCachedStrategy_shouldCountOnlyOnce_withinTtl() {
+        repository = new InventoryRepositoryAdapter(jpa, mapper, CountStrategy.CACHED, Duration.ofMinutes(5));
+        Inventory d1 = new Inventory(1L, 100L, 10, LocalDateTime.now(), null);
+        Inventory d2 = new Inventory(2L, 200L, 20, LocalDateTime.now(), null);
+        Pageable pageable = PageRequest.of(0, 1);
+        when(jpa.findInventories(null, Sort.unsorted(), 0L, 2)).thenReturn(List.of(d1, d2));
+        when(jpa.count()).thenReturn(42L);
+
+        repository.findAllPaginatedList(pageable);
+        Page<Inventory> result = repository.findAllPaginatedList(pageable);
+
+        assertThat(result.getTotalElements()).isEqualTo(42L);
+        verify(jpa, times(1)).count();
+    }
+
+    @Test
+    void findLowStock_shouldUseOrderedDerivedQuery() {
+        InventoryEntity e1 = new InventoryEntity(1L, 100L, 2, LocalDateTime.now(), null);
+        Inventory d1 = new Inventory(1L, 100L, 2, LocalDateTime.now(), null);
+        when(jpa.findByQuantityLessThanOrderByQuantityAscProductIdAsc(10)).thenReturn(List.of(e1));
+        when(mapper.toDomain(e1)).thenReturn(d1);
+
+        assertThat(repository.findLowStock(10)).containsExactly(d1);
+    }
+
 }
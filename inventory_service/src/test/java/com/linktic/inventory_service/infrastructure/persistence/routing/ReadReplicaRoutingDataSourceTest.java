@@ -0,0 +1,141 @@
+package com.linktic.inventory_service.infrastructure.persistence.routing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisabledInNativeImage
+class ReadReplicaRoutingDataSourceTest {
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+    private DataSource replica;
+    private ReplicaLagGuard guard;
+    private ReadReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() {
+        replica = mock(DataSource.class);
+        guard = new ReplicaLagGuard(replica, Duration.ofSeconds(1), Duration.ofSeconds(5), clock::get);
+        routing = new ReadReplicaRoutingDataSource(mock(DataSource.class), replica, guard);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clear();
+    }
+
+    @Test
+    void readOnlyTransaction_goesToReplica() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReadReplicaRoutingDataSource.Target.REPLICA);
+    }
+
+    @Test
+    void withoutTransaction_goesToPrimary() {
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReadReplicaRoutingDataSource.Target.PRIMARY);
+    }
+
+    @Test
+    void writeTransaction_goesToPrimary_andOpensReadYourWritesWindow() {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReadReplicaRoutingDataSource.Target.PRIMARY);
+        for (TransactionSynchronization sync : TransactionSynchronizationManager.getSynchronizations()) {
+            sync.beforeCommit(false);
+            sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+        TransactionSynchronizationManager.clear();
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReadReplicaRoutingDataSource.Target.PRIMARY);
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReadReplicaRoutingDataSource.Target.REPLICA);
+    }
+
+    @Test
+    void readOnlyFallbackToPrimary_doesNotExtendTheWindow() {
+        guard.recordWrite();
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(800));
+
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReadReplicaRoutingDataSource.Target.PRIMARY);
+        assertThat(TransactionSynchronizationManager.getSynchronizations()).isEmpty();
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(200));
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReadReplicaRoutingDataSource.Target.REPLICA);
+    }
+
+    @Test
+    void laggingReplica_sendsReadsToPrimary_untilItCatchesUp() throws SQLException {
+        ResultSet rs = lagProbeReturning(5000);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        guard.probe();
+        assertThat(guard.replicaLag()).isEqualTo(Duration.ofSeconds(5));
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReadReplicaRoutingDataSource.Target.PRIMARY);
+
+        when(rs.getLong(1)).thenReturn(200L);
+        guard.probe();
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReadReplicaRoutingDataSource.Target.REPLICA);
+    }
+
+    @Test
+    void unreachableReplica_sendsReadsToPrimary() throws SQLException {
+        when(replica.getConnection()).thenThrow(new SQLException("connection refused"));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        guard.probe();
+
+        assertThat(guard.replicaUsable()).isFalse();
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReadReplicaRoutingDataSource.Target.PRIMARY);
+    }
+
+    @Test
+    void recordWrite_opensWindow_forMaxLag() {
+        guard.recordWrite();
+
+        assertThat(guard.replicaUsable()).isFalse();
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        assertThat(guard.replicaUsable()).isTrue();
+    }
+
+    @Test
+    void unwrap_doesNotExposeTargetPools() throws SQLException {
+        assertThat(routing.isWrapperFor(DataSource.class)).isTrue();
+        assertThat(routing.isWrapperFor(Connection.class)).isFalse();
+        assertThat(routing.unwrap(ReadReplicaRoutingDataSource.class)).isSameAs(routing);
+    }
+
+    private ResultSet lagProbeReturning(long lagMillis) throws SQLException {
+        Connection conn = mock(Connection.class);
+        Statement st = mock(Statement.class);
+        ResultSet rs = mock(ResultSet.class);
+        when(replica.getConnection()).thenReturn(conn);
+        when(conn.createStatement()).thenReturn(st);
+        when(st.executeQuery(ReplicaLagGuard.LAG_QUERY)).thenReturn(rs);
+        when(rs.next()).thenReturn(true);
+        when(rs.getLong(1)).thenReturn(lagMillis);
+        return rs;
+    }
+}
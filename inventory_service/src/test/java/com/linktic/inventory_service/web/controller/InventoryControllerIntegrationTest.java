@@ -2,21 +2,26 @@ package com.linktic.inventory_service.web.controller;
 
 import com.linktic.inventory_service.domain.client.ProductsClient;
 import com.linktic.inventory_service.domain.model.Inventory;
+import com.linktic.inventory_service.domain.model.InventoryFilter;
 import com.linktic.inventory_service.domain.repository.InventoryRepository;
 import com.linktic.inventory_service.domain.service.InventoryService;
+import com.linktic.inventory_service.domain.service.LowStockWatchlist;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentMatcher;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.TestConstructor;
+import org.springframework.test.context.aot.DisabledInAotMode;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -29,6 +34,7 @@ import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+@DisabledInAotMode
 @WebMvcTest(controllers = InventoryController.class)
 @AutoConfigureMockMvc(addFilters = false)
 @TestConstructor(autowireMode = TestConstructor.AutowireMode.ALL)
@@ -43,16 +49,24 @@ class InventoryInternalIT {
     private ProductsClient productsClient;
 
     private final MockMvc mvc;
+    private final LowStockWatchlist watchlist;
 
-    InventoryInternalIT(MockMvc mvc) {
+    InventoryInternalIT(MockMvc mvc, LowStockWatchlist watchlist) {
         this.mvc = mvc;
+        this.watchlist = watchlist;
     }
 
     @TestConfiguration
     static class Cfg {
         @Bean
-        InventoryService inventoryService(InventoryRepository repo, ProductsClient pc) {
-            return new InventoryService(repo, Optional.of(pc));
+        LowStockWatchlist lowStockWatchlist(InventoryRepository repo) {
+            return new LowStockWatchlist(repo, 100);
+        }
+
+        @Bean
+        InventoryService inventoryService(InventoryRepository repo, ProductsClient pc,
+                                          ApplicationEventPublisher events, LowStockWatchlist watchlist) {
+            return new InventoryService(repo, Optional.of(pc), events, watchlist);
         }
     }
 
@@ -133,7 +147,7 @@ class InventoryInternalIT {
     void paginated_ok_linksAndMeta() throws Exception {
         var inv = new Inventory(1L, 42L, 3, LocalDateTime.now(), null);
         Page<Inventory> page = new PageImpl<>(List.of(inv), PageRequest.of(0, 10), 1);
-        when(repository.findAllPaginatedList(any())).thenReturn(page);
+        when(repository.findAllPaginatedList(any(), any())).thenReturn(page);
 
         mvc.perform(get("/inventories/paginated")
                         .param("pageNumber", "1")
@@ -148,6 +162,59 @@ class InventoryInternalIT {
                 .andExpect(jsonPath("$.meta.pageSize").value(10));
     }
 
+    @Test
+    void paginated_withFilterAndSort_pushesCriteriaToRepository() throws Exception {
+        var inv = new Inventory(3L, 30L, 0, LocalDateTime.now(), null);
+        when(repository.findAllPaginatedList(any(), any()))
+                .thenReturn(new PageImpl<>(List.of(inv), PageRequest.of(0, 10), 1));
+
+        mvc.perform(get("/inventories/paginated")
+                        .param("filter[quantity][lt]", "5")
+                        .param("sort", "quantity,-updatedAt")
+                        .accept(JSON_API))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.meta.countStrategy").value("exact"))
+                .andExpect(jsonPath("$.links.self").value(
+                        "/inventories/paginated?pageNumber=1&pageSize=10&filter[quantity][lt]=5&sort=quantity,-updatedAt"));
+
+        verify(repository).findAllPaginatedList(
+                argThat(p -> p.getSort().equals(Sort.by(Sort.Order.asc("quantity"), Sort.Order.desc("updatedAt"), Sort.Order.desc("id")))),
+                argThat(f -> f.conditions().equals(List.of(new InventoryFilter.Condition(
+                        InventoryFilter.Field.QUANTITY, InventoryFilter.Operator.LT, 5)))));
+    }
+
+    @Test
+    void lowStock_reflectsWritesWithoutQueryingDatabase() throws Exception {
+        when(repository.findLowStock(100)).thenReturn(List.of());
+        watchlist.warmUp();
+
+        when(productsClient.existsProduct(4242L)).thenReturn(true);
+        when(repository.save(any(Inventory.class))).thenAnswer(inv -> {
+            Inventory i = inv.getArgument(0);
+            i.setId(42L);
+            return i;
+        });
+        String body = """
+            {"data":{"type":"inventories","attributes":{"productId":4242,"quantity":1}}}
+        """;
+        mvc.perform(post("/inventories").contentType(JSON_API).accept(JSON_API).content(body))
+                .andExpect(status().isCreated());
+
+        mvc.perform(get("/inventories/low-stock").param("threshold", "2").accept(JSON_API))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[?(@.id == '42')].attributes.quantity").value(1))
+                .andExpect(jsonPath("$.links.self").value("/inventories/low-stock?threshold=2"));
+
+        verify(repository, never()).findLowStock(2);
+    }
+
+    @Test
+    void lowStock_thresholdAboveMax_returns400() throws Exception {
+        mvc.perform(get("/inventories/low-stock").param("threshold", "500").accept(JSON_API))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].detail").value("threshold must be between 1 and 100"));
+    }
+
     @Test
     void details_ok_usesProductsClientMock() throws Exception {
         var inv = new Inventory(7L, 700L, 9, LocalDateTime.now(), null);
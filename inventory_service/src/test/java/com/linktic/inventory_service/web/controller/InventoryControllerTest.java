@@ -1,7 +1,11 @@
 package com.linktic.inventory_service.web.controller;
 
 import com.linktic.inventory_service.domain.client.ProductsClient;
+import com.linktic.inventory_service.domain.exception.PreconditionFailedException;
+import com.linktic.inventory_service.domain.model.CountStrategy;
 import com.linktic.inventory_service.domain.model.Inventory;
+import com.linktic.inventory_service.domain.model.InventoryField;
+import com.linktic.inventory_service.domain.model.InventoryFilter;
 import com.linktic.inventory_service.domain.service.InventoryService;
 import com.linktic.inventory_service.web.dto.PurchaseDto;
 import com.linktic.inventory_service.web.dto.jsonapi.JsonApiData;
@@ -18,24 +22,44 @@ import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.aot.DisabledInAotMode;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
-
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+@DisabledInAotMode
 @WebMvcTest(controllers = InventoryController.class)
 @AutoConfigureMockMvc(addFilters = false)
 @Import(RestExceptionHandler.class)
@@ -175,6 +199,75 @@ class InventoryControllerTest {
                 .andExpect(jsonPath("$.data.attributes.quantity").value(10));
     }
 
+    @Test
+    void get_withMatchingIfNoneMatch_shouldReturn304_withoutLoadingEntity() throws Exception {
+        LocalDateTime version = LocalDateTime.of(2025, 3, 1, 12, 0, 0, 123_456_000);
+        when(service.version(1L)).thenReturn(Optional.of(version));
+
+        mockMvc.perform(get("/inventories/1").header("If-None-Match", "\"1-1740830400123456\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"1-1740830400123456\""))
+                .andExpect(content().string(""));
+
+        verify(service, never()).get(any());
+    }
+
+    @Test
+    void get_withStaleIfNoneMatch_shouldReturnBody_andNewETag() throws Exception {
+        LocalDateTime version = LocalDateTime.of(2025, 3, 1, 12, 0, 0, 123_456_000);
+        when(service.version(1L)).thenReturn(Optional.of(version));
+        when(service.get(1L)).thenReturn(new Inventory(1L, 100L, 10, version.minusDays(1), version));
+
+        mockMvc.perform(get("/inventories/1").header("If-None-Match", "\"1-1\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1-1740830400123456\""))
+                .andExpect(jsonPath("$.data.attributes.quantity").value(10));
+    }
+
+    @Test
+    void get_withSparseFieldset_shouldReturnOnlyRequestedAttributes_withoutETag() throws Exception {
+        when(service.get(1L, Set.of(InventoryField.QUANTITY))).thenReturn(new Inventory(1L, null, 10, null, null));
+
+        mockMvc.perform(get("/inventories/1").param("fields[inventories]", "quantity"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"))
+                .andExpect(jsonPath("$.data.id").value("1"))
+                .andExpect(jsonPath("$.data.attributes.quantity").value(10))
+                .andExpect(jsonPath("$.data.attributes.productId").doesNotExist());
+
+        verify(service, never()).get(1L);
+    }
+
+    @Test
+    void get_withUnknownSparseField_shouldReturn400() throws Exception {
+        mockMvc.perform(get("/inventories/1").param("fields[inventories]", "price"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].detail").value("unsupported field for inventories: price"));
+    }
+
+    @Test
+    void get_withIncludeProduct_shouldReturnCompoundDocument_withoutETag() throws Exception {
+        when(service.get(1L, InventoryField.all())).thenReturn(new Inventory(1L, 100L, 10, LocalDateTime.now(), null));
+        when(service.productsFor(Set.of(100L))).thenReturn(Map.of(100L,
+                new ProductsClient.ProductSummary(100L, "Laptop", new java.math.BigDecimal("1999.99"))));
+
+        mockMvc.perform(get("/inventories/1").param("include", "product"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"))
+                .andExpect(jsonPath("$.data.relationships.product.data.type").value("products"))
+                .andExpect(jsonPath("$.data.relationships.product.data.id").value("100"))
+                .andExpect(jsonPath("$.included.length()").value(1))
+                .andExpect(jsonPath("$.included[0].type").value("products"))
+                .andExpect(jsonPath("$.included[0].attributes.name").value("Laptop"));
+    }
+
+    @Test
+    void get_withUnsupportedInclude_shouldReturn400() throws Exception {
+        mockMvc.perform(get("/inventories/1").param("include", "warehouse"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].detail").value("unsupported include: warehouse"));
+    }
+
     @Test
     void get_shouldReturn404_whenInventoryNotFound() throws Exception {
         when(service.get(1L)).thenThrow(new NoSuchElementException("Inventory not found."));
@@ -229,6 +322,39 @@ class InventoryControllerTest {
                 .andExpect(jsonPath("$.data.attributes.quantity").value(25));
     }
 
+    @Test
+    void update_withIfMatch_shouldUseConditionalUpdate() throws Exception {
+        InventoryDto dto = new InventoryDto(100L, 25);
+        JsonApiRequest<InventoryDto> req = new JsonApiRequest<>();
+        req.setData(new JsonApiData<>("inventories", null, dto));
+        LocalDateTime seen = LocalDateTime.of(2025, 3, 1, 12, 0, 0, 123_456_000);
+        when(service.update(1L, 25, seen))
+                .thenReturn(new Inventory(1L, 100L, 25, seen, seen.plusMinutes(1)));
+
+        mockMvc.perform(put("/inventories/1")
+                        .header("If-Match", "\"1-1740830400123456\"")
+                        .contentType("application/vnd.api+json")
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1-1740830460123456\""));
+    }
+
+    @Test
+    void update_withStaleIfMatch_shouldReturn412() throws Exception {
+        InventoryDto dto = new InventoryDto(100L, 25);
+        JsonApiRequest<InventoryDto> req = new JsonApiRequest<>();
+        req.setData(new JsonApiData<>("inventories", null, dto));
+        when(service.update(eq(1L), eq(25), any(LocalDateTime.class)))
+                .thenThrow(new PreconditionFailedException("Inventory was modified by another request; reload it and retry."));
+
+        mockMvc.perform(put("/inventories/1")
+                        .header("If-Match", "\"1-1740830400123456\"")
+                        .contentType("application/vnd.api+json")
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.errors[0].title").value("Precondition Failed"));
+    }
+
     @Test
     void update_shouldReturn404_whenInventoryNotFound() throws Exception {
         InventoryDto dto = new InventoryDto(100L, 25);
@@ -290,15 +416,137 @@ class InventoryControllerTest {
     void list_shouldReturnInventoryList() throws Exception {
         Inventory i1 = new Inventory(1L, 100L, 10, LocalDateTime.now(), null);
         Inventory i2 = new Inventory(2L, 200L, 20, LocalDateTime.now(), null);
-        when(service.list()).thenReturn(List.of(i1, i2));
+        doAnswer(inv -> {
+            Consumer<Inventory> action = inv.getArgument(0);
+            List.of(i1, i2).forEach(action);
+            return null;
+        }).when(service).forEach(any());
+
+        MvcResult result = mockMvc.perform(get("/inventories/list"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
 
-        mockMvc.perform(get("/inventories/list"))
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.data.length()").value(2))
                 .andExpect(jsonPath("$.data[0].attributes.productId").value(100))
                 .andExpect(jsonPath("$.data[1].attributes.quantity").value(20));
     }
 
+    @Test
+    void list_withIncludeProduct_shouldAppendIncluded_afterStreamingData() throws Exception {
+        Inventory i1 = new Inventory(1L, 100L, 10, LocalDateTime.now(), null);
+        Inventory i2 = new Inventory(2L, 100L, 20, LocalDateTime.now(), null);
+        doAnswer(inv -> {
+            Consumer<Inventory> action = inv.getArgument(0);
+            List.of(i1, i2).forEach(action);
+            return null;
+        }).when(service).forEach(any());
+        when(service.productsFor(Set.of(100L))).thenReturn(Map.of(100L,
+                new ProductsClient.ProductSummary(100L, "Laptop", new java.math.BigDecimal("10.00"))));
+
+        MvcResult result = mockMvc.perform(get("/inventories/list").param("include", "product"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[1].relationships.product.data.id").value("100"))
+                .andExpect(jsonPath("$.included.length()").value(1))
+                .andExpect(jsonPath("$.included[0].id").value("100"));
+    }
+
+    // -------------------------
+    // EXPORT
+    // -------------------------
+    @Test
+    void export_shouldStreamNdjson_fromLastSeenId() throws Exception {
+        Inventory i1 = new Inventory(11L, 100L, 10, LocalDateTime.now(), null);
+        Inventory i2 = new Inventory(12L, 200L, 20, LocalDateTime.now(), null);
+        LocalDateTime since = LocalDateTime.of(2025, 1, 1, 0, 0);
+        doAnswer(inv -> {
+            Consumer<Inventory> action = inv.getArgument(2);
+            List.of(i1, i2).forEach(action);
+            return null;
+        }).when(service).export(eq(10L), eq(since), any());
+
+        MvcResult result = mockMvc.perform(get("/inventories/export")
+                        .param("afterId", "10")
+                        .param("updatedSince", "2025-01-01T00:00:00")
+                        .accept("application/x-ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readTree(lines[0]).path("id").asText()).isEqualTo("11");
+        assertThat(objectMapper.readTree(lines[1]).path("attributes").path("quantity").asInt()).isEqualTo(20);
+        assertThat(body).endsWith("\n");
+    }
+
+    // -------------------------
+    // MULTI-GET BY PRODUCT ID
+    // -------------------------
+    @Test
+    void getManyByProductId_shouldDedupe_andReportMissingInMeta() throws Exception {
+        Set<Long> requested = new LinkedHashSet<>(List.of(100L, 200L, 300L));
+        when(service.stockByProductIds(requested)).thenReturn(List.of(
+                new Inventory(1L, 100L, 7, null, null),
+                new Inventory(3L, 300L, 0, null, null)));
+
+        mockMvc.perform(get("/inventories").param("filter[productId]", "100,200,100,300"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(2))
+                .andExpect(jsonPath("$.data[0].id").value("1"))
+                .andExpect(jsonPath("$.data[0].attributes.productId").value(100))
+                .andExpect(jsonPath("$.data[0].attributes.quantity").value(7))
+                .andExpect(jsonPath("$.data[1].attributes.quantity").value(0))
+                .andExpect(jsonPath("$.meta.missingProductIds.length()").value(1))
+                .andExpect(jsonPath("$.meta.missingProductIds[0]").value(200))
+                .andExpect(jsonPath("$.meta.totalElements").doesNotExist());
+
+        verify(service, never()).productsFor(any());
+    }
+
+    @Test
+    void getManyByProductId_shouldOmitMeta_whenAllFound() throws Exception {
+        when(service.stockByProductIds(Set.of(100L))).thenReturn(List.of(new Inventory(1L, 100L, 7, null, null)));
+
+        mockMvc.perform(get("/inventories").param("filter[productId]", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(1))
+                .andExpect(jsonPath("$.meta").doesNotExist());
+    }
+
+    @Test
+    void getManyByProductId_shouldReturn400_onInvalidId() throws Exception {
+        mockMvc.perform(get("/inventories").param("filter[productId]", "1,abc"))
+                .andExpect(status().isBadRequest());
+
+        verify(service, never()).stockByProductIds(any());
+    }
+
+    // -------------------------
+    // LOW STOCK
+    // -------------------------
+    @Test
+    void lowStock_shouldReturnWatchlistEntries() throws Exception {
+        Inventory i1 = new Inventory(1L, 100L, 0, null, null);
+        Inventory i2 = new Inventory(2L, 200L, 3, null, null);
+        when(service.lowStock(5)).thenReturn(List.of(i1, i2));
+
+        mockMvc.perform(get("/inventories/low-stock").param("threshold", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(2))
+                .andExpect(jsonPath("$.data[0].attributes.quantity").value(0))
+                .andExpect(jsonPath("$.data[1].id").value("2"));
+    }
+
     // -------------------------
     // PAGINATED
     // -------------------------
@@ -307,16 +555,95 @@ class InventoryControllerTest {
         Inventory i1 = new Inventory(1L, 100L, 10, LocalDateTime.now(), null);
         Inventory i2 = new Inventory(2L, 200L, 20, LocalDateTime.now(), null);
         Page<Inventory> page = new PageImpl<>(List.of(i1, i2), PageRequest.of(0, 2), 5);
-        when(service.paginatedList(1, 2)).thenReturn(page);
+        when(service.paginatedList(eq(1), eq(2), eq(InventoryFilter.none()), eq(Sort.unsorted()), eq(InventoryField.all())))
+                .thenReturn(page);
+        when(service.countStrategy(InventoryFilter.none())).thenReturn(CountStrategy.CACHED);
 
         mockMvc.perform(get("/inventories/paginated?pageNumber=1&pageSize=2"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.data.length()").value(2))
                 .andExpect(jsonPath("$.meta.totalElements").value(5))
                 .andExpect(jsonPath("$.meta.totalPages").value(3))
+                .andExpect(jsonPath("$.meta.countStrategy").value("cached"))
                 .andExpect(jsonPath("$.links.self").exists())
                 .andExpect(jsonPath("$.links.first").exists())
                 .andExpect(jsonPath("$.links.last").exists());
     }
 
+    @Test
+    void paginatedList_withFilterAndSort_shouldPropagateToServiceAndLinks() throws Exception {
+        Inventory i1 = new Inventory(1L, 100L, 2, LocalDateTime.now(), null);
+        Page<Inventory> page = new PageImpl<>(List.of(i1), PageRequest.of(1, 1), 3);
+        InventoryFilter expected = new InventoryFilter(List.of(
+                new InventoryFilter.Condition(InventoryFilter.Field.UPDATED_AT, InventoryFilter.Operator.GTE,
+                        LocalDateTime.of(2025, 1, 1, 0, 0))));
+        Sort expectedSort = Sort.by(Sort.Order.asc("quantity"), Sort.Order.desc("updatedAt"));
+        when(service.paginatedList(2, 1, expected, expectedSort, InventoryField.all())).thenReturn(page);
+        when(service.countStrategy(expected)).thenReturn(CountStrategy.EXACT);
+
+        mockMvc.perform(get("/inventories/paginated")
+                        .param("pageNumber", "2")
+                        .param("pageSize", "1")
+                        .param("filter[updatedAt][gte]", "2025-01-01T00:00:00")
+                        .param("sort", "quantity,-updatedAt"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.meta.countStrategy").value("exact"))
+                .andExpect(jsonPath("$.links.next").value(
+                        "/inventories/paginated?pageNumber=3&pageSize=1&filter[updatedAt][gte]=2025-01-01T00:00:00&sort=quantity,-updatedAt"))
+                .andExpect(jsonPath("$.links.prev").value(
+                        "/inventories/paginated?pageNumber=1&pageSize=1&filter[updatedAt][gte]=2025-01-01T00:00:00&sort=quantity,-updatedAt"));
+    }
+
+    @Test
+    void paginatedList_withSparseFieldset_shouldPassFieldsToService_andKeepThemInLinks() throws Exception {
+        Inventory i1 = new Inventory(1L, null, 7, null, null);
+        Page<Inventory> page = new PageImpl<>(List.of(i1), PageRequest.of(0, 1), 2);
+        when(service.paginatedList(1, 1, InventoryFilter.none(), Sort.unsorted(), Set.of(InventoryField.QUANTITY)))
+                .thenReturn(page);
+
+        mockMvc.perform(get("/inventories/paginated")
+                        .param("pageNumber", "1")
+                        .param("pageSize", "1")
+                        .param("fields[inventories]", "quantity"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].attributes.quantity").value(7))
+                .andExpect(jsonPath("$.data[0].attributes.productId").doesNotExist())
+                .andExpect(jsonPath("$.links.next").value(
+                        "/inventories/paginated?pageNumber=2&pageSize=1&fields[inventories]=quantity"));
+    }
+
+    @Test
+    void paginatedList_withIncludeProduct_shouldResolveProductsInOneBatch() throws Exception {
+        Inventory i1 = new Inventory(1L, 100L, 7, null, null);
+        Inventory i2 = new Inventory(2L, 200L, 3, null, null);
+        Inventory i3 = new Inventory(3L, 100L, 1, null, null);
+        Page<Inventory> page = new PageImpl<>(List.of(i1, i2, i3), PageRequest.of(0, 3), 3);
+        when(service.paginatedList(1, 3, InventoryFilter.none(), Sort.unsorted(),
+                Set.of(InventoryField.PRODUCT_ID, InventoryField.QUANTITY))).thenReturn(page);
+        Map<Long, ProductsClient.ProductSummary> products = new LinkedHashMap<>();
+        products.put(100L, new ProductsClient.ProductSummary(100L, "A", new java.math.BigDecimal("1.00")));
+        products.put(200L, new ProductsClient.ProductSummary(200L, "B", new java.math.BigDecimal("2.00")));
+        when(service.productsFor(Set.of(100L, 200L))).thenReturn(products);
+
+        mockMvc.perform(get("/inventories/paginated")
+                        .param("pageNumber", "1")
+                        .param("pageSize", "3")
+                        .param("fields[inventories]", "quantity")
+                        .param("include", "product"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].attributes.productId").doesNotExist())
+                .andExpect(jsonPath("$.data[2].relationships.product.data.id").value("100"))
+                .andExpect(jsonPath("$.included.length()").value(2))
+                .andExpect(jsonPath("$.included[1].attributes.name").value("B"));
+
+        verify(service).productsFor(Set.of(100L, 200L));
+    }
+
+    @Test
+    void paginatedList_withUnknownFilterField_shouldReturn400() throws Exception {
+        mockMvc.perform(get("/inventories/paginated").param("filter[productName][eq]", "x"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].detail").value("unsupported filter field: productName"));
+    }
+
 }
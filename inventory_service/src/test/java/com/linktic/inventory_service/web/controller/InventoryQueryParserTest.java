@@ -0,0 +1,97 @@
+package com.linktic.inventory_service.web.controller;
+
+import com.linktic.inventory_service.domain.model.InventoryField;
+import com.linktic.inventory_service.domain.model.InventoryFilter;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InventoryQueryParserTest {
+
+    @Test
+    void parseFilter_shouldReadFieldOperatorAndTypedValue() {
+        Map<String, String> params = new LinkedHashMap<>();
+        params.put("pageNumber", "1");
+        params.put("filter[quantity][lt]", "5");
+        params.put("filter[updatedAt][gte]", "2025-01-01T10:00:00");
+        params.put("filter[quantity]", "0");
+
+        InventoryFilter filter = InventoryQueryParser.parseFilter(params);
+
+        assertThat(filter.conditions()).containsExactly(
+                new InventoryFilter.Condition(InventoryFilter.Field.QUANTITY, InventoryFilter.Operator.LT, 5),
+                new InventoryFilter.Condition(InventoryFilter.Field.UPDATED_AT, InventoryFilter.Operator.GTE,
+                        LocalDateTime.of(2025, 1, 1, 10, 0)),
+                new InventoryFilter.Condition(InventoryFilter.Field.QUANTITY, InventoryFilter.Operator.EQ, 0));
+    }
+
+    @Test
+    void parseFilter_withoutFilters_shouldBeEmpty() {
+        assertThat(InventoryQueryParser.parseFilter(Map.of("pageSize", "10")).isEmpty()).isTrue();
+    }
+
+    @Test
+    void parseFilter_shouldRejectUnknownOperatorAndBadValues() {
+        assertThatThrownBy(() -> InventoryQueryParser.parseFilter(Map.of("filter[quantity][like]", "1")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("unsupported filter operator: like");
+        assertThatThrownBy(() -> InventoryQueryParser.parseFilter(Map.of("filter[quantity][lt]", "abc")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("invalid value for filter[quantity][lt]: abc");
+        assertThatThrownBy(() -> InventoryQueryParser.parseFilter(Map.of("filter[updatedAt][gt]", "ayer")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void parseSort_shouldSupportDescendingPrefix() {
+        assertThat(InventoryQueryParser.parseSort("quantity,-updatedAt"))
+                .isEqualTo(Sort.by(Sort.Order.asc("quantity"), Sort.Order.desc("updatedAt")));
+        assertThat(InventoryQueryParser.parseSort(null).isUnsorted()).isTrue();
+    }
+
+    @Test
+    void parseSort_shouldRejectNonIndexedFields() {
+        assertThatThrownBy(() -> InventoryQueryParser.parseSort("createdAt"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("unsupported sort field: createdAt");
+    }
+
+    @Test
+    void parseFields_shouldSelectRequestedAttributes() {
+        assertThat(InventoryQueryParser.parseFields("quantity")).containsExactly(InventoryField.QUANTITY);
+        assertThat(InventoryQueryParser.parseFields(" productId , quantity "))
+                .containsExactlyInAnyOrder(InventoryField.PRODUCT_ID, InventoryField.QUANTITY);
+        assertThat(InventoryQueryParser.parseFields(null)).isEqualTo(InventoryField.all());
+        assertThat(InventoryQueryParser.parseFields("")).isEmpty();
+    }
+
+    @Test
+    void parseFields_shouldRejectUnknownAttributes() {
+        assertThatThrownBy(() -> InventoryQueryParser.parseFields("quantity,createdAt"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("unsupported field for inventories: createdAt");
+    }
+
+    @Test
+    void parseProductIds_shouldDedupeKeepingOrder_andRejectGarbage() {
+        assertThat(InventoryQueryParser.parseProductIds("3, 1,3,,2")).containsExactly(3L, 1L, 2L);
+        assertThatThrownBy(() -> InventoryQueryParser.parseProductIds("1,x"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("invalid id in filter[productId]: x");
+    }
+
+    @Test
+    void parseInclude_shouldAcceptOnlyProduct() {
+        assertThat(InventoryQueryParser.parseInclude("product")).isTrue();
+        assertThat(InventoryQueryParser.parseInclude(null)).isFalse();
+        assertThatThrownBy(() -> InventoryQueryParser.parseInclude("product,warehouse"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("unsupported include: warehouse");
+    }
+}
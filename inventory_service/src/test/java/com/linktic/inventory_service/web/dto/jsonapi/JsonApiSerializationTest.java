@@ -0,0 +1,62 @@
+package com.linktic.inventory_service.web.dto.jsonapi;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.linktic.inventory_service.web.dto.InventoryDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Blackbird solo cambia cómo se leen los getters: la salida tiene que ser idéntica byte a byte
+class JsonApiSerializationTest {
+
+    private final ObjectMapper reflective = Jackson2ObjectMapperBuilder.json().build();
+    private final ObjectMapper generated = Jackson2ObjectMapperBuilder.json().modulesToInstall(new BlackbirdModule()).build();
+
+    @Test
+    void singleResource_withIncludedProduct_isIdentical() throws Exception {
+        JsonApiData<InventoryDto> data = new JsonApiData<>("inventories", "5", new InventoryDto(777L, 9));
+        data.setRelationships(Map.of("product", JsonApiRelationship.to("products", "777")));
+        JsonApiResponse<InventoryDto> body = new JsonApiResponse<>();
+        body.setData(data);
+        body.setIncluded(List.of(new JsonApiData<>("products", "777", Map.of("name", "Mouse"))));
+
+        assertSameBytes(body);
+    }
+
+    @Test
+    void page_withLinksMetaAndSparseAttributes_isIdentical() throws Exception {
+        JsonApiListResponse<InventoryDto> body = new JsonApiListResponse<>();
+        body.setData(IntStream.rangeClosed(1, 50)
+                .mapToObj(i -> new JsonApiData<>("inventories", String.valueOf(i),
+                        i % 2 == 0 ? new InventoryDto((long) i * 100, i) : new InventoryDto(null, i)))
+                .toList());
+        JsonApiLinks links = new JsonApiLinks();
+        links.setSelf("/inventories/paginated?pageNumber=2&pageSize=50&filter[quantity][lt]=10");
+        links.setPrev("/inventories/paginated?pageNumber=1&pageSize=50&filter[quantity][lt]=10");
+        body.setLinks(links);
+        JsonApiMeta meta = new JsonApiMeta();
+        meta.setTotalElements(1234L);
+        meta.setTotalPages(25);
+        meta.setPageNumber(2);
+        meta.setPageSize(50);
+        meta.setMissingProductIds(List.of(3L, 4L));
+        body.setMeta(meta);
+
+        assertSameBytes(body);
+    }
+
+    @Test
+    void errorResponse_isIdentical() throws Exception {
+        assertSameBytes(new JsonApiErrorResponse(List.of(new JsonApiError("404", "Not Found", "Inventory not found."))));
+    }
+
+    private void assertSameBytes(Object body) throws Exception {
+        assertThat(generated.writeValueAsBytes(body)).isEqualTo(reflective.writeValueAsBytes(body));
+    }
+}
@@ -1,5 +1,6 @@
 package com.linktic.inventory_service.web.handler;
 
+import com.linktic.inventory_service.domain.exception.DeadlineExceededException;
 import com.linktic.inventory_service.web.controller.InventoryController;
 import com.linktic.inventory_service.web.dto.jsonapi.JsonApiErrorResponse;
 import com.linktic.inventory_service.web.dto.jsonapi.JsonApiRequest;
@@ -52,6 +53,20 @@ class RestExceptionHandlerTest {
         assertThat(body.getErrors().get(0).getDetail()).isEqualTo("bad");
     }
 
+    @Test
+    void handleDeadlineExceeded_returns504_withJsonApiEnvelope() {
+        ResponseEntity<?> resp = handler.handleDeadlineExceeded(
+                new DeadlineExceededException("products-service exceeded the request deadline"));
+        assertThat(resp.getStatusCode()).isEqualTo(HttpStatus.GATEWAY_TIMEOUT);
+        assertThat(resp.getHeaders().getFirst("Content-Type")).isEqualTo("application/vnd.api+json");
+
+        JsonApiErrorResponse body = (JsonApiErrorResponse) resp.getBody();
+        assertThat(body).isNotNull();
+        assertThat(body.getErrors().get(0).getStatus()).isEqualTo("504");
+        assertThat(body.getErrors().get(0).getTitle()).isEqualTo("Gateway Timeout");
+        assertThat(body.getErrors().get(0).getDetail()).isEqualTo("Request deadline exceeded");
+    }
+
     @Test
     void handleMethodArgumentNotValid_returns400WithFirstFieldMessage() throws NoSuchMethodException {
         // Simula un error de validación en InventoryDto.quantity
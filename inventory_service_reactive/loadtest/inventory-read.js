@@ -0,0 +1,39 @@
+// Carga de lectura sobre los endpoints comunes a inventory-service (8082) e inventory-service-reactive (8083).
+// Uso: k6 run -e BASE_URL=http://localhost:8083 -e API_KEY=... -e PRODUCT_IDS=1,2,3 loadtest/inventory-read.js
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8083';
+const API_KEY = __ENV.API_KEY || '';
+const PRODUCT_IDS = (__ENV.PRODUCT_IDS || '1').split(',');
+
+export const options = {
+  scenarios: {
+    reads: {
+      executor: 'ramping-vus',
+      startVUs: 10,
+      stages: [
+        { duration: '30s', target: 200 },
+        { duration: '2m', target: 200 },
+        { duration: '30s', target: 0 },
+      ],
+    },
+  },
+  thresholds: {
+    http_req_failed: ['rate<0.01'],
+    http_req_duration: ['p(99)<500'],
+  },
+};
+
+const params = { headers: { 'X-API-Key': API_KEY, Accept: 'application/vnd.api+json' } };
+
+export default function () {
+  const productId = PRODUCT_IDS[Math.floor(Math.random() * PRODUCT_IDS.length)];
+
+  // la mitad de las peticiones llama a products-service: ahí se nota el modelo de hilos
+  const details = http.get(`${BASE_URL}/inventories/product/${productId}`, params);
+  check(details, { 'details 200': (r) => r.status === 200 });
+
+  const stock = http.get(`${BASE_URL}/inventories?filter[productId]=${PRODUCT_IDS.join(',')}`, params);
+  check(stock, { 'stock 200': (r) => r.status === 200 });
+}
@@ -0,0 +1,13 @@
+package com.linktic.inventory_service_reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class InventoryReactiveApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(InventoryReactiveApplication.class, args);
+	}
+
+}
@@ -0,0 +1,59 @@
+package com.linktic.inventory_service_reactive.config;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+// equivalente a ApiKeyAuthFilter de inventory-service, como WebFilter y con una sola clave
+public class ApiKeyWebFilter implements WebFilter, Ordered {
+    private static final byte[] UNAUTHORIZED = ("{\"errors\":[{\"status\":\"401\",\"title\":\"Unauthorized\"," +
+            "\"detail\":\"Invalid API Key\"}]}").getBytes(StandardCharsets.UTF_8);
+
+    private final String headerName;
+    private final byte[] expectedHash;
+
+    public ApiKeyWebFilter(String headerName, String expectedValue) {
+        this.headerName = headerName;
+        this.expectedHash = StringUtils.hasText(expectedValue) ? sha256(expectedValue) : null;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String path = exchange.getRequest().getPath().value();
+        if (expectedHash == null || path.startsWith("/actuator")) return chain.filter(exchange);
+
+        String key = exchange.getRequest().getHeaders().getFirst(headerName);
+        // comparación en tiempo constante sobre los hashes
+        if (key != null && MessageDigest.isEqual(expectedHash, sha256(key))) return chain.filter(exchange);
+
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.UNAUTHORIZED);
+        response.getHeaders().setContentType(MediaType.valueOf("application/vnd.api+json"));
+        DataBuffer body = response.bufferFactory().wrap(UNAUTHORIZED);
+        return response.writeWith(Mono.just(body));
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    private static byte[] sha256(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
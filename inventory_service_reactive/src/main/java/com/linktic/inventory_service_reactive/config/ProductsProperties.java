@@ -0,0 +1,25 @@
+package com.linktic.inventory_service_reactive.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "inventory.products")
+@Getter @Setter
+public class ProductsProperties {
+    private String baseUrl;
+    private ApiKey apiKey = new ApiKey();
+    // tope de llamadas simultáneas a products-service: conexiones del pool de reactor-netty
+    private int maxConcurrentCalls = 50;
+    private Duration acquireTimeout = Duration.ofSeconds(2);
+    @Getter
+    @Setter
+    public static class ApiKey {
+        private String header;
+        private String value;
+    }
+}
@@ -0,0 +1,20 @@
+package com.linktic.inventory_service_reactive.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SecurityConfig {
+
+    @Value("${security.api-key.header:X-API-Key}")
+    private String headerName;
+
+    @Value("${security.api-key.value:${INVENTORY_API_KEY:}}")
+    private String expectedValue;
+
+    @Bean
+    public ApiKeyWebFilter apiKeyWebFilter() {
+        return new ApiKeyWebFilter(headerName, expectedValue);
+    }
+}
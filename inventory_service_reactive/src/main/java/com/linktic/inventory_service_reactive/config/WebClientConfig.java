@@ -0,0 +1,37 @@
+package com.linktic.inventory_service_reactive.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+@Configuration
+public class WebClientConfig {
+    static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(2);
+    static final Duration READ_TIMEOUT = Duration.ofSeconds(2);
+
+    @Bean
+    public WebClient productsWebClient(WebClient.Builder builder, ProductsProperties props) {
+        // el pool de conexiones hace de bulkhead: como mucho maxConcurrentCalls en vuelo,
+        // el resto espera un slot hasta acquireTimeout sin ocupar hilo
+        ConnectionProvider pool = ConnectionProvider.builder("products")
+                .maxConnections(props.getMaxConcurrentCalls())
+                .pendingAcquireTimeout(props.getAcquireTimeout())
+                .build();
+        HttpClient http = HttpClient.create(pool)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) CONNECT_TIMEOUT.toMillis())
+                .responseTimeout(READ_TIMEOUT);
+        return builder
+                .baseUrl(props.getBaseUrl())
+                .defaultHeader(HttpHeaders.ACCEPT, "application/vnd.api+json, application/json")
+                .defaultHeader(props.getApiKey().getHeader(), props.getApiKey().getValue())
+                .clientConnector(new ReactorClientHttpConnector(http))
+                .build();
+    }
+}
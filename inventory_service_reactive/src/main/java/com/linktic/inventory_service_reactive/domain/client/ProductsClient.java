@@ -0,0 +1,17 @@
+package com.linktic.inventory_service_reactive.domain.client;
+
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Map;
+
+public interface ProductsClient {
+    Mono<Boolean> existsProduct(Long productId);
+
+    Mono<ProductSummary> getProductSummary(Long productId);
+
+    Mono<Map<Long, ProductSummary>> getProductSummaries(Collection<Long> productIds);
+
+    record ProductSummary(Long id, String name, BigDecimal price) {}
+}
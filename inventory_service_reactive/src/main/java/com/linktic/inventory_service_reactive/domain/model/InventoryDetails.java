@@ -0,0 +1,8 @@
+package com.linktic.inventory_service_reactive.domain.model;
+
+import com.linktic.inventory_service_reactive.domain.client.ProductsClient;
+
+public record InventoryDetails(
+        Inventory inventory,
+        ProductsClient.ProductSummary product
+) {}
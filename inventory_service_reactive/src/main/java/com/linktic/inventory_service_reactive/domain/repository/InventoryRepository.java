@@ -0,0 +1,23 @@
+package com.linktic.inventory_service_reactive.domain.repository;
+
+import com.linktic.inventory_service_reactive.domain.model.Inventory;
+import com.linktic.inventory_service_reactive.domain.model.InventoryFilter;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+public interface InventoryRepository {
+    Mono<Inventory> save(Inventory inventory);
+    Mono<Inventory> findById(Long id);
+    Mono<Inventory> findByProductId(Long productId);
+    Flux<Inventory> findStockByProductIds(Collection<Long> productIds);
+    Mono<Void> deleteById(Long id);
+    Flux<Inventory> findAll();
+    Flux<Inventory> streamAll(Long afterId, LocalDateTime updatedSince);
+    Mono<Page<Inventory>> findAllPaginatedList(Pageable pageable, InventoryFilter filter);
+    Flux<Inventory> findLowStock(int below);
+}
@@ -0,0 +1,184 @@
+package com.linktic.inventory_service_reactive.domain.service;
+
+import com.linktic.inventory_service_reactive.domain.client.ProductsClient;
+import com.linktic.inventory_service_reactive.domain.model.Inventory;
+import com.linktic.inventory_service_reactive.domain.model.InventoryDetails;
+import com.linktic.inventory_service_reactive.domain.model.InventoryFilter;
+import com.linktic.inventory_service_reactive.domain.repository.InventoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// mismas reglas que InventoryService de inventory-service, sobre R2DBC y WebClient
+@Service
+@Transactional
+public class InventoryService {
+    private static final Logger log = LoggerFactory.getLogger(InventoryService.class);
+    private static final int MAX_PRODUCT_IDS_PER_REQUEST = 100;
+
+    private final InventoryRepository repository;
+    private final ProductsClient productsClient;
+    private final int lowStockMaxThreshold;
+
+    public InventoryService(InventoryRepository repository, ProductsClient productsClient,
+                            @Value("${inventory.low-stock.max-threshold:100}") int lowStockMaxThreshold) {
+        this.repository = repository;
+        this.productsClient = productsClient;
+        this.lowStockMaxThreshold = lowStockMaxThreshold;
+    }
+
+    public Mono<Inventory> create(Long productId, Integer quantity) {
+        if (productId == null) return Mono.error(new IllegalArgumentException("productId is required"));
+        if (quantity == null || quantity < 0) return Mono.error(new IllegalArgumentException("quantity must be >= 0"));
+
+        return productsClient.existsProduct(productId)
+                .flatMap(exists -> exists
+                        ? repository.save(new Inventory(null, productId, quantity, now(), null))
+                        : Mono.error(new NoSuchElementException("Product not found.")))
+                .doOnNext(saved -> log.info("InventoryChanged event=CREATED productId={} newQuantity={}",
+                        saved.getProductId(), saved.getQuantity()));
+    }
+
+    @Transactional(readOnly = true)
+    public Mono<Inventory> get(Long id) {
+        return repository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new NoSuchElementException("Inventory not found.")));
+    }
+
+    @Transactional(readOnly = true)
+    public Mono<Inventory> getByProductId(Long productId) {
+        return repository.findByProductId(productId)
+                .switchIfEmpty(Mono.error(() -> new NoSuchElementException("Inventory not found for productId " + productId)));
+    }
+
+    // en el orden pedido; los productIds sin inventario no aparecen
+    @Transactional(readOnly = true)
+    public Mono<List<Inventory>> stockByProductIds(Collection<Long> productIds) {
+        if (productIds.isEmpty()) return Mono.error(new IllegalArgumentException("at least one productId is required"));
+        if (productIds.size() > MAX_PRODUCT_IDS_PER_REQUEST) {
+            return Mono.error(new IllegalArgumentException("at most " + MAX_PRODUCT_IDS_PER_REQUEST + " productIds per request"));
+        }
+        return repository.findStockByProductIds(productIds)
+                .collect(Collectors.toMap(Inventory::getProductId, Function.identity()))
+                .map(byProductId -> productIds.stream()
+                        .map(byProductId::get)
+                        .filter(Objects::nonNull)
+                        .toList());
+    }
+
+    public Mono<Inventory> update(Long id, Integer quantity) {
+        if (id == null) return Mono.error(new IllegalArgumentException("id is required"));
+        return get(id)
+                .flatMap(current -> {
+                    if (quantity != null) {
+                        if (quantity < 0) return Mono.error(new IllegalArgumentException("quantity must be >= 0"));
+                        current.setQuantity(quantity);
+                    }
+                    current.setUpdatedAt(now());
+                    return repository.save(current);
+                })
+                .doOnNext(saved -> log.info("InventoryChanged event=UPDATED productId={} newQuantity={}",
+                        saved.getProductId(), saved.getQuantity()));
+    }
+
+    public Mono<Inventory> purchase(Long productId, Integer units) {
+        if (productId == null) return Mono.error(new IllegalArgumentException("productId is required"));
+        if (units == null || units <= 0) return Mono.error(new IllegalArgumentException("units must be > 0"));
+
+        return getByProductId(productId)
+                .flatMap(inv -> {
+                    int newQty = inv.getQuantity() - units;
+                    if (newQty < 0) return Mono.error(new IllegalArgumentException("insufficient stock"));
+                    inv.setQuantity(newQty);
+                    inv.setUpdatedAt(now());
+                    return repository.save(inv);
+                })
+                .doOnNext(saved -> log.info("InventoryChanged event=PURCHASE productId={} delta=-{} newQuantity={}",
+                        productId, units, saved.getQuantity()));
+    }
+
+    public Mono<Void> delete(Long id) {
+        return repository.deleteById(id);
+    }
+
+    // la transacción dura lo que el Flux: las filas se emiten según las pide el cliente HTTP
+    @Transactional(readOnly = true)
+    public Flux<Inventory> list() {
+        return repository.findAll();
+    }
+
+    @Transactional(readOnly = true)
+    public Flux<Inventory> export(Long afterId, LocalDateTime updatedSince) {
+        return repository.streamAll(afterId, updatedSince);
+    }
+
+    @Transactional(readOnly = true)
+    public Mono<Page<Inventory>> paginatedList(int pageNumber, int pageSize) {
+        return paginatedList(pageNumber, pageSize, InventoryFilter.none(), Sort.unsorted());
+    }
+
+    @Transactional(readOnly = true)
+    public Mono<Page<Inventory>> paginatedList(int pageNumber, int pageSize, InventoryFilter filter, Sort sort) {
+        int pn = Math.max(pageNumber, 1) - 1;
+        int ps = Math.min(Math.max(pageSize, 1), 100);
+        Pageable pageable = PageRequest.of(pn, ps, withTieBreaker(sort));
+        return repository.findAllPaginatedList(pageable, filter);
+    }
+
+    // sin índice en memoria: consulta el índice parcial idx_inventory_low_stock en cada llamada
+    @Transactional(readOnly = true)
+    public Mono<List<Inventory>> lowStock(int threshold) {
+        if (threshold < 1 || threshold > lowStockMaxThreshold) {
+            return Mono.error(new IllegalArgumentException("threshold must be between 1 and " + lowStockMaxThreshold));
+        }
+        return repository.findLowStock(threshold).collectList();
+    }
+
+    // sin sort, orden por id; con sort, desempate por id en la misma dirección que el último criterio
+    private static Sort withTieBreaker(Sort sort) {
+        if (sort.isUnsorted()) return Sort.by("id");
+        if (sort.getOrderFor("id") != null) return sort;
+        Sort.Direction direction = sort.stream().reduce((first, second) -> second).orElseThrow().getDirection();
+        return sort.and(Sort.by(direction, "id"));
+    }
+
+    // la llamada a products no retiene una conexión de R2DBC: va antes de abrir la consulta
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Mono<InventoryDetails> getDetailsByProductId(Long productId) {
+        if (productId == null) return Mono.error(new IllegalArgumentException("productId is required"));
+        return productsClient.getProductSummary(productId)
+                .flatMap(product -> getByProductId(productId)
+                        .map(inv -> new InventoryDetails(inv, product)));
+    }
+
+    // include=product: los productos de toda la respuesta en un solo fetch por lote
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Mono<Map<Long, ProductsClient.ProductSummary>> productsFor(Collection<Long> productIds) {
+        if (productIds.isEmpty()) return Mono.just(Map.of());
+        return productsClient.getProductSummaries(productIds);
+    }
+
+    // Postgres guarda microsegundos: truncar evita que la versión en memoria difiera de la persistida
+    private static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+}
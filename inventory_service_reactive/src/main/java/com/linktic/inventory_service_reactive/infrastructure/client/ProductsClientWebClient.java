@@ -0,0 +1,106 @@
+package com.linktic.inventory_service_reactive.infrastructure.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.linktic.inventory_service_reactive.domain.client.ProductsClient;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+public class ProductsClientWebClient implements ProductsClient {
+    static final int MAX_BATCH = 100;
+
+    private final WebClient productsWebClient;
+
+    public ProductsClientWebClient(WebClient productsWebClient) {
+        this.productsWebClient = productsWebClient;
+    }
+
+    @Override
+    public Mono<Boolean> existsProduct(Long productId) {
+        return getProductSummary(productId)
+                .map(summary -> true)
+                // inexistente, indisponible o error inesperado: considera falso
+                .onErrorReturn(false);
+    }
+
+    @Override
+    public Mono<ProductSummary> getProductSummary(Long productId) {
+        return productsWebClient.get()
+                // sparse fieldset: solo los atributos que usa ProductSummary
+                .uri("/products/{id}?fields[products]=name,price", productId)
+                .retrieve()
+                .onStatus(status -> status.value() == HttpStatus.NOT_FOUND.value(),
+                        resp -> Mono.error(new NoSuchElementException("Product not found.")))
+                .onStatus(status -> status.isError(),
+                        resp -> Mono.error(new IllegalStateException("Products service unavailable")))
+                .bodyToMono(JsonNode.class)
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("Products service unexpected response")))
+                .map(ProductsClientWebClient::toSummary)
+                .onErrorMap(ex -> !(ex instanceof NoSuchElementException) && !(ex instanceof IllegalStateException),
+                        ex -> new IllegalStateException("Error calling Products service", ex));
+    }
+
+    @Override
+    public Mono<Map<Long, ProductSummary>> getProductSummaries(Collection<Long> productIds) {
+        List<Long> ids = productIds.stream().distinct().toList();
+        // un lote tras otro; una página de inventario (máx. 100) cabe en una sola llamada
+        return Flux.range(0, (ids.size() + MAX_BATCH - 1) / MAX_BATCH)
+                .concatMap(batch -> fetchBatch(ids.subList(batch * MAX_BATCH, Math.min((batch + 1) * MAX_BATCH, ids.size()))))
+                .collect(Collectors.toMap(ProductSummary::id, Function.identity(), (first, second) -> first, LinkedHashMap::new));
+    }
+
+    private Flux<ProductSummary> fetchBatch(List<Long> ids) {
+        return productsWebClient.get()
+                .uri("/products?filter[id]={ids}&fields[products]=name,price",
+                        ids.stream().map(String::valueOf).collect(Collectors.joining(",")))
+                .retrieve()
+                .onStatus(status -> status.isError(),
+                        resp -> Mono.error(new IllegalStateException("Products service unavailable")))
+                .bodyToMono(JsonNode.class)
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("Products service unexpected response")))
+                .flatMapIterable(root -> {
+                    JsonNode data = root.path("data");
+                    if (!data.isArray()) throw new IllegalStateException("Products service malformed JSON:API");
+                    return data;
+                })
+                .map(ProductsClientWebClient::toSummaryData)
+                .onErrorMap(ex -> !(ex instanceof IllegalStateException),
+                        ex -> new IllegalStateException("Error calling Products service", ex));
+    }
+
+    private static ProductSummary toSummary(JsonNode root) {
+        JsonNode data = root.path("data");
+        if (data.isMissingNode() || data.isNull()) {
+            throw new IllegalStateException("Products service malformed JSON:API");
+        }
+        return toSummaryData(data);
+    }
+
+    private static ProductSummary toSummaryData(JsonNode data) {
+        Long id = parseLongSafe(data.path("id").asText(null));
+        JsonNode attrs = data.path("attributes");
+        String name = attrs.path("name").asText(null);
+        BigDecimal price = attrs.hasNonNull("price") ? attrs.path("price").decimalValue() : null;
+        if (id == null || name == null || price == null) {
+            throw new IllegalStateException("Products service incomplete product payload");
+        }
+        return new ProductSummary(id, name, price);
+    }
+
+    private static Long parseLongSafe(String s) {
+        if (s == null) return null;
+        try { return Long.valueOf(s); } catch (NumberFormatException e) { return null; }
+    }
+}
@@ -0,0 +1,139 @@
+package com.linktic.inventory_service_reactive.infrastructure.persistence.adapter;
+
+import com.linktic.inventory_service_reactive.domain.model.Inventory;
+import com.linktic.inventory_service_reactive.domain.model.InventoryFilter;
+import com.linktic.inventory_service_reactive.domain.repository.InventoryRepository;
+import com.linktic.inventory_service_reactive.infrastructure.mapper.InventoryMapper;
+import com.linktic.inventory_service_reactive.infrastructure.persistence.entity.InventoryEntity;
+import com.linktic.inventory_service_reactive.infrastructure.persistence.r2dbc.InventoryR2dbcRepository;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+@Component
+public class InventoryRepositoryAdapter implements InventoryRepository {
+    private static final String SELECT_INVENTORY =
+            "SELECT id, product_id, quantity, created_at, updated_at FROM inventory";
+
+    private final InventoryR2dbcRepository r2dbc;
+    private final R2dbcEntityTemplate template;
+    private final InventoryMapper mapper;
+    private final int fetchSize;
+
+    public InventoryRepositoryAdapter(InventoryR2dbcRepository r2dbc, R2dbcEntityTemplate template,
+                                      InventoryMapper mapper, @Value("${streaming.fetch-size:500}") int fetchSize) {
+        this.r2dbc = r2dbc;
+        this.template = template;
+        this.mapper = mapper;
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public Mono<Inventory> save(Inventory inventory) {
+        return r2dbc.save(mapper.toEntity(inventory)).map(mapper::toDomain);
+    }
+
+    @Override
+    public Mono<Inventory> findById(Long id) {
+        return r2dbc.findById(id).map(mapper::toDomain);
+    }
+
+    @Override
+    public Mono<Inventory> findByProductId(Long productId) {
+        return r2dbc.findByProductId(productId).map(mapper::toDomain);
+    }
+
+    @Override
+    public Flux<Inventory> findStockByProductIds(Collection<Long> productIds) {
+        return r2dbc.findByProductIdIn(productIds).map(mapper::toDomain);
+    }
+
+    @Override
+    public Mono<Void> deleteById(Long id) {
+        return r2dbc.deleteById(id);
+    }
+
+    @Override
+    public Flux<Inventory> findAll() {
+        return streamAll(null, null);
+    }
+
+    // mismo SQL que el export de inventory-service; fetchSize abre un portal en Postgres y las filas llegan por
+    // lotes según la demanda del suscriptor, sin cargar la tabla en memoria
+    @Override
+    public Flux<Inventory> streamAll(Long afterId, LocalDateTime updatedSince) {
+        StringBuilder sql = new StringBuilder(SELECT_INVENTORY).append(" WHERE 1 = 1");
+        if (afterId != null) sql.append(" AND id > :afterId");
+        // mismo predicado que idx_inventory_last_modified
+        if (updatedSince != null) sql.append(" AND coalesce(updated_at, created_at) >= :updatedSince");
+        sql.append(" ORDER BY id");
+
+        DatabaseClient.GenericExecuteSpec spec = template.getDatabaseClient().sql(sql.toString())
+                .filter(statement -> statement.fetchSize(fetchSize));
+        if (afterId != null) spec = spec.bind("afterId", afterId);
+        if (updatedSince != null) spec = spec.bind("updatedSince", updatedSince);
+        return spec.map(InventoryRepositoryAdapter::inventory).all();
+    }
+
+    // página y luego total, en secuencia: dentro de la transacción ambas consultas van por la misma conexión
+    // y un Mono.zip solo las encolaría. Como PageableExecutionUtils, sin COUNT si la primera página no se llena
+    @Override
+    public Mono<Page<Inventory>> findAllPaginatedList(Pageable pageable, InventoryFilter filter) {
+        Criteria criteria = criteria(filter);
+        return template.select(InventoryEntity.class)
+                .matching(Query.query(criteria).with(pageable))
+                .all().map(mapper::toDomain).collectList()
+                .flatMap(content -> pageable.getOffset() == 0 && content.size() < pageable.getPageSize()
+                        ? Mono.just(new PageImpl<>(content, pageable, content.size()))
+                        : template.count(Query.query(criteria), InventoryEntity.class)
+                                .map(total -> new PageImpl<>(content, pageable, total)));
+    }
+
+    @Override
+    public Flux<Inventory> findLowStock(int below) {
+        return r2dbc.findByQuantityLessThanOrderByQuantityAscProductIdAsc(below).map(mapper::toDomain);
+    }
+
+    // comparaciones sobre columnas indexadas (idx_inventory_quantity / idx_inventory_updated_at)
+    private static Criteria criteria(InventoryFilter filter) {
+        Criteria criteria = Criteria.empty();
+        for (InventoryFilter.Condition condition : filter.conditions()) {
+            Criteria.CriteriaStep column = Criteria.where(property(condition.field()));
+            Object value = condition.value();
+            Criteria next = switch (condition.operator()) {
+                case EQ -> column.is(value);
+                case LT -> column.lessThan(value);
+                case LTE -> column.lessThanOrEquals(value);
+                case GT -> column.greaterThan(value);
+                case GTE -> column.greaterThanOrEquals(value);
+            };
+            criteria = criteria.isEmpty() ? next : criteria.and(next);
+        }
+        return criteria;
+    }
+
+    private static String property(InventoryFilter.Field field) {
+        return switch (field) {
+            case QUANTITY -> "quantity";
+            case UPDATED_AT -> "updatedAt";
+        };
+    }
+
+    private static Inventory inventory(Readable row) {
+        return new Inventory(row.get("id", Long.class), row.get("product_id", Long.class),
+                row.get("quantity", Integer.class), row.get("created_at", LocalDateTime.class),
+                row.get("updated_at", LocalDateTime.class));
+    }
+}
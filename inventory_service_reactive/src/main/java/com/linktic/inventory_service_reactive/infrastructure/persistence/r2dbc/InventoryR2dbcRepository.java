@@ -0,0 +1,19 @@
+package com.linktic.inventory_service_reactive.infrastructure.persistence.r2dbc;
+
+import com.linktic.inventory_service_reactive.infrastructure.persistence.entity.InventoryEntity;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+@Repository
+public interface InventoryR2dbcRepository extends ReactiveCrudRepository<InventoryEntity, Long> {
+    Mono<InventoryEntity> findByProductId(Long productId);
+
+    Flux<InventoryEntity> findByProductIdIn(Collection<Long> productIds);
+
+    // índice parcial idx_inventory_low_stock (quantity < 100)
+    Flux<InventoryEntity> findByQuantityLessThanOrderByQuantityAscProductIdAsc(int quantity);
+}
@@ -0,0 +1,326 @@
+package com.linktic.inventory_service_reactive.web.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.linktic.inventory_service_reactive.domain.model.Inventory;
+import com.linktic.inventory_service_reactive.domain.model.InventoryDetails;
+import com.linktic.inventory_service_reactive.domain.model.InventoryField;
+import com.linktic.inventory_service_reactive.domain.model.InventoryFilter;
+import com.linktic.inventory_service_reactive.domain.service.InventoryService;
+import com.linktic.inventory_service_reactive.web.dto.InventoryDto;
+import com.linktic.inventory_service_reactive.web.dto.PurchaseDto;
+import com.linktic.inventory_service_reactive.web.dto.jsonapi.JsonApiData;
+import com.linktic.inventory_service_reactive.web.dto.jsonapi.JsonApiLinks;
+import com.linktic.inventory_service_reactive.web.dto.jsonapi.JsonApiListResponse;
+import com.linktic.inventory_service_reactive.web.dto.jsonapi.JsonApiMeta;
+import com.linktic.inventory_service_reactive.web.dto.jsonapi.JsonApiRelationship;
+import com.linktic.inventory_service_reactive.web.dto.jsonapi.JsonApiRequest;
+import com.linktic.inventory_service_reactive.web.dto.jsonapi.JsonApiResponse;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+// mismo contrato JSON:API que InventoryController de inventory-service para los endpoints portados
+@RestController
+@RequestMapping(path = "/inventories", produces = "application/vnd.api+json")
+@Validated
+public class InventoryController {
+    private static final String TYPE = "inventories";
+    private static final String PRODUCT_TYPE = "products";
+    private static final String FIELDS_PARAM = "fields[" + TYPE + "]";
+    private static final MediaType JSON_API = MediaType.valueOf("application/vnd.api+json");
+
+    private final InventoryService service;
+    private final ObjectMapper objectMapper;
+
+    public InventoryController(InventoryService service, ObjectMapper objectMapper) {
+        this.service = service;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostMapping(consumes = "application/vnd.api+json")
+    public Mono<ResponseEntity<JsonApiResponse<InventoryDto>>> create(
+            @Valid @RequestBody JsonApiRequest<InventoryDto> req) {
+        InventoryDto model = req.getData().getAttributes();
+        return service.create(model.getProductId(), model.getQuantity())
+                .map(created -> ResponseEntity.created(URI.create("/inventories/" + created.getId()))
+                        .body(single(created)));
+    }
+
+    @GetMapping("/{id}")
+    public Mono<JsonApiResponse<InventoryDto>> get(
+            @PathVariable Long id,
+            @RequestParam(name = FIELDS_PARAM, required = false) String fields,
+            @RequestParam(name = "include", required = false) String include) {
+        Set<InventoryField> selected = InventoryQueryParser.parseFields(fields);
+        boolean includeProduct = InventoryQueryParser.parseInclude(include);
+        return service.get(id).flatMap(inventory -> {
+            JsonApiData<InventoryDto> data = data(inventory, selected);
+            JsonApiResponse<InventoryDto> body = new JsonApiResponse<>();
+            body.setData(data);
+            if (!includeProduct) return Mono.just(body);
+            relateProduct(data, inventory);
+            return included(List.of(inventory.getProductId())).map(included -> {
+                body.setIncluded(included);
+                return body;
+            });
+        });
+    }
+
+    // stock de varios productos en una llamada: solo productId y quantity, sin consultar products-service
+    @GetMapping
+    public Mono<JsonApiListResponse<InventoryDto>> getManyByProductId(
+            @RequestParam(name = "filter[productId]") String productIds) {
+        Set<Long> requested = InventoryQueryParser.parseProductIds(productIds);
+        return service.stockByProductIds(requested).map(found -> {
+            Set<Long> missing = new LinkedHashSet<>(requested);
+            found.forEach(inventory -> missing.remove(inventory.getProductId()));
+
+            JsonApiListResponse<InventoryDto> body = new JsonApiListResponse<>();
+            body.setData(found.stream().map(InventoryController::data).toList());
+            if (!missing.isEmpty()) {
+                JsonApiMeta meta = new JsonApiMeta();
+                meta.setMissingProductIds(List.copyOf(missing));
+                body.setMeta(meta);
+            }
+            return body;
+        });
+    }
+
+    @GetMapping("/product/{productId}")
+    public Mono<JsonApiResponse<Map<String, Object>>> getByProductId(@PathVariable Long productId) {
+        return service.getDetailsByProductId(productId).map(details -> detailsBody(productId, details));
+    }
+
+    @PutMapping(path = "/{id}", consumes = "application/vnd.api+json")
+    public Mono<JsonApiResponse<InventoryDto>> update(
+            @PathVariable Long id,
+            @Valid @RequestBody JsonApiRequest<InventoryDto> req) {
+        return service.update(id, req.getData().getAttributes().getQuantity()).map(InventoryController::single);
+    }
+
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> delete(@PathVariable Long id) {
+        return service.delete(id);
+    }
+
+    // el documento se emite fila a fila según la demanda del cliente, sin armar la lista en memoria
+    @GetMapping("/list")
+    public ResponseEntity<Flux<DataBuffer>> list(@RequestParam(name = "include", required = false) String include) {
+        boolean includeProduct = InventoryQueryParser.parseInclude(include);
+        Flux<byte[]> document = Flux.defer(() -> {
+            Set<Long> productIds = new LinkedHashSet<>();
+            Flux<byte[]> rows = service.list().index().map(row -> {
+                JsonApiData<InventoryDto> data = data(row.getT2());
+                if (includeProduct) {
+                    relateProduct(data, row.getT2());
+                    productIds.add(row.getT2().getProductId());
+                }
+                return row.getT1() == 0 ? json(data) : concat(',', json(data));
+            });
+            // los productos se resuelven al final, ya cerrado el cursor y la transacción
+            Mono<byte[]> end = includeProduct
+                    ? Mono.defer(() -> included(productIds)).map(included -> concat("],\"included\":", json(included), "}"))
+                    : Mono.just("]}".getBytes(StandardCharsets.UTF_8));
+            return Flux.concat(Mono.just("{\"data\":[".getBytes(StandardCharsets.UTF_8)), rows, end);
+        });
+        return ResponseEntity.ok().contentType(JSON_API).body(document.map(DefaultDataBufferFactory.sharedInstance::wrap));
+    }
+
+    @GetMapping(path = "/export", produces = "application/x-ndjson")
+    public Flux<JsonApiData<InventoryDto>> export(
+            @RequestParam(name = "updatedSince", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedSince,
+            @RequestParam(name = "afterId", required = false) @Min(0) Long afterId) {
+        return service.export(afterId, updatedSince).map(InventoryController::data);
+    }
+
+    @GetMapping("/low-stock")
+    public Mono<JsonApiListResponse<InventoryDto>> lowStock(
+            @RequestParam(name = "threshold", defaultValue = "10") int threshold) {
+        return service.lowStock(threshold).map(low -> {
+            JsonApiListResponse<InventoryDto> body = new JsonApiListResponse<>();
+            body.setData(low.stream().map(InventoryController::data).toList());
+
+            JsonApiLinks links = new JsonApiLinks();
+            links.setSelf("/inventories/low-stock?threshold=" + threshold);
+            body.setLinks(links);
+            return body;
+        });
+    }
+
+    // fields recorta la representación; la consulta lee la fila completa
+    @GetMapping("/paginated")
+    public Mono<JsonApiListResponse<InventoryDto>> paginatedList(
+            @RequestParam(name = "pageNumber", defaultValue = "1") @Min(1) int pageNumber,
+            @RequestParam(name = "pageSize", defaultValue = "10") @Min(1) int pageSize,
+            @RequestParam(name = "sort", required = false) String sort,
+            @RequestParam(name = FIELDS_PARAM, required = false) String fields,
+            @RequestParam(name = "include", required = false) String include,
+            @RequestParam Map<String, String> params) {
+        InventoryFilter filter = InventoryQueryParser.parseFilter(params);
+        Set<InventoryField> selected = InventoryQueryParser.parseFields(fields);
+        boolean includeProduct = InventoryQueryParser.parseInclude(include);
+        String query = InventoryQueryParser.linkQuery(params);
+        return service.paginatedList(pageNumber, pageSize, filter, InventoryQueryParser.parseSort(sort))
+                .flatMap(page -> {
+                    JsonApiListResponse<InventoryDto> body = pageBody(page, pageNumber, pageSize, query,
+                            inventory -> {
+                                JsonApiData<InventoryDto> item = data(inventory, selected);
+                                if (includeProduct) relateProduct(item, inventory);
+                                return item;
+                            });
+                    if (!includeProduct) return Mono.just(body);
+                    return included(page.getContent().stream().map(Inventory::getProductId).toList())
+                            .map(included -> {
+                                body.setIncluded(included);
+                                return body;
+                            });
+                });
+    }
+
+    @PostMapping(path = "/purchase", consumes = "application/vnd.api+json")
+    public Mono<JsonApiResponse<InventoryDto>> purchase(
+            @Valid @RequestBody JsonApiRequest<PurchaseDto> req) {
+        PurchaseDto dto = req.getData().getAttributes();
+        return service.purchase(dto.getProductId(), dto.getUnits()).map(updated -> {
+            JsonApiResponse<InventoryDto> body = single(updated);
+            JsonApiLinks links = new JsonApiLinks();
+            links.setSelf("/inventories/product/" + dto.getProductId());
+            body.setLinks(links);
+            return body;
+        });
+    }
+
+    private static JsonApiListResponse<InventoryDto> pageBody(Page<Inventory> page, int pageNumber, int pageSize,
+                                                              String query,
+                                                              Function<Inventory, JsonApiData<InventoryDto>> item) {
+        JsonApiListResponse<InventoryDto> body = new JsonApiListResponse<>();
+        body.setData(page.getContent().stream().map(item).toList());
+
+        JsonApiLinks links = new JsonApiLinks();
+        links.setSelf("/inventories/paginated?pageNumber=" + pageNumber + "&pageSize=" + pageSize + query);
+        links.setFirst("/inventories/paginated?pageNumber=1&pageSize=" + page.getSize() + query);
+        links.setLast("/inventories/paginated?pageNumber=" + Math.max(page.getTotalPages(), 1) + "&pageSize=" + page.getSize() + query);
+        if (page.hasNext()) links.setNext("/inventories/paginated?pageNumber=" + (pageNumber + 1) + "&pageSize=" + page.getSize() + query);
+        if (page.hasPrevious()) links.setPrev("/inventories/paginated?pageNumber=" + (pageNumber - 1) + "&pageSize=" + page.getSize() + query);
+        body.setLinks(links);
+
+        JsonApiMeta meta = new JsonApiMeta();
+        meta.setTotalElements(page.getTotalElements());
+        meta.setTotalPages(page.getTotalPages());
+        meta.setPageNumber(pageNumber);
+        meta.setPageSize(page.getSize());
+        meta.setCountStrategy("exact");
+        body.setMeta(meta);
+        return body;
+    }
+
+    private static JsonApiResponse<Map<String, Object>> detailsBody(Long productId, InventoryDetails details) {
+        Map<String, Object> attrs = new HashMap<>();
+        attrs.put("productId", details.inventory().getProductId());
+        attrs.put("quantity", details.inventory().getQuantity());
+
+        Map<String, Object> product = new HashMap<>();
+        product.put("id", details.product().id());
+        product.put("name", details.product().name());
+        product.put("price", details.product().price());
+        attrs.put("product", product);
+
+        JsonApiResponse<Map<String, Object>> body = new JsonApiResponse<>();
+        body.setData(new JsonApiData<>(TYPE, String.valueOf(details.inventory().getId()), attrs));
+
+        JsonApiLinks links = new JsonApiLinks();
+        links.setSelf("/inventories/product/" + productId);
+        body.setLinks(links);
+        return body;
+    }
+
+    private static JsonApiResponse<InventoryDto> single(Inventory inventory) {
+        JsonApiResponse<InventoryDto> body = new JsonApiResponse<>();
+        body.setData(data(inventory));
+        return body;
+    }
+
+    private static JsonApiData<InventoryDto> data(Inventory inventory) {
+        return new JsonApiData<>(TYPE, String.valueOf(inventory.getId()), InventoryDto.from(inventory));
+    }
+
+    private static JsonApiData<InventoryDto> data(Inventory inventory, Set<InventoryField> fields) {
+        return new JsonApiData<>(TYPE, String.valueOf(inventory.getId()), InventoryDto.from(inventory, fields));
+    }
+
+    private static void relateProduct(JsonApiData<InventoryDto> data, Inventory inventory) {
+        data.setRelationships(Map.of("product",
+                JsonApiRelationship.to(PRODUCT_TYPE, String.valueOf(inventory.getProductId()))));
+    }
+
+    // cada producto referenciado aparece una sola vez en included
+    private Mono<List<JsonApiData<?>>> included(Collection<Long> productIds) {
+        return service.productsFor(new LinkedHashSet<>(productIds)).map(products -> products.values().stream()
+                .<JsonApiData<?>>map(product -> {
+                    Map<String, Object> attrs = new LinkedHashMap<>();
+                    attrs.put("name", product.name());
+                    attrs.put("price", product.price());
+                    return new JsonApiData<Map<String, Object>>(PRODUCT_TYPE, String.valueOf(product.id()), attrs);
+                })
+                .toList());
+    }
+
+    private byte[] json(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static byte[] concat(char separator, byte[] value) {
+        byte[] out = new byte[value.length + 1];
+        out[0] = (byte) separator;
+        System.arraycopy(value, 0, out, 1, value.length);
+        return out;
+    }
+
+    private static byte[] concat(String prefix, byte[] value, String suffix) {
+        byte[] head = prefix.getBytes(StandardCharsets.UTF_8);
+        byte[] tail = suffix.getBytes(StandardCharsets.UTF_8);
+        byte[] out = new byte[head.length + value.length + tail.length];
+        System.arraycopy(head, 0, out, 0, head.length);
+        System.arraycopy(value, 0, out, head.length, value.length);
+        System.arraycopy(tail, 0, out, head.length + value.length, tail.length);
+        return out;
+    }
+}
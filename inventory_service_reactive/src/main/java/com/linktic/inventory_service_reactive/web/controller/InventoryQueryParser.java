@@ -0,0 +1,133 @@
+package com.linktic.inventory_service_reactive.web.controller;
+
+import com.linktic.inventory_service_reactive.domain.model.InventoryField;
+import com.linktic.inventory_service_reactive.domain.model.InventoryFilter;
+import org.springframework.data.domain.Sort;
+import org.springframework.web.util.UriUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+final class InventoryQueryParser {
+
+    // filter[campo] o filter[campo][operador], estilo JSON:API
+    private static final Pattern FILTER_KEY = Pattern.compile("filter\\[(\\w+)](?:\\[(\\w+)])?");
+    private static final Set<String> SORTABLE = Set.of("id", "productId", "quantity", "updatedAt");
+
+    private InventoryQueryParser() { }
+
+    static InventoryFilter parseFilter(Map<String, String> params) {
+        List<InventoryFilter.Condition> conditions = new ArrayList<>();
+        params.forEach((key, value) -> {
+            if (!key.startsWith("filter")) return;
+            Matcher m = FILTER_KEY.matcher(key);
+            if (!m.matches()) throw new IllegalArgumentException("invalid filter parameter: " + key);
+            InventoryFilter.Field field = field(m.group(1));
+            InventoryFilter.Operator operator = m.group(2) == null ? InventoryFilter.Operator.EQ : operator(m.group(2));
+            conditions.add(new InventoryFilter.Condition(field, operator, value(key, field, value)));
+        });
+        return new InventoryFilter(conditions);
+    }
+
+    static Sort parseSort(String sort) {
+        if (sort == null || sort.isBlank()) return Sort.unsorted();
+        List<Sort.Order> orders = new ArrayList<>();
+        for (String token : sort.split(",")) {
+            String name = token.trim();
+            boolean desc = name.startsWith("-");
+            if (desc) name = name.substring(1);
+            if (!SORTABLE.contains(name)) throw new IllegalArgumentException("unsupported sort field: " + name);
+            orders.add(desc ? Sort.Order.desc(name) : Sort.Order.asc(name));
+        }
+        return Sort.by(orders);
+    }
+
+    // fields[inventories]: sin el parámetro, todos los atributos; vacío, ninguno (solo type e id)
+    static Set<InventoryField> parseFields(String fields) {
+        if (fields == null) return InventoryField.all();
+        Set<InventoryField> selected = EnumSet.noneOf(InventoryField.class);
+        for (String token : fields.split(",")) {
+            String name = token.trim();
+            if (name.isEmpty()) continue;
+            selected.add(switch (name) {
+                case "productId" -> InventoryField.PRODUCT_ID;
+                case "quantity" -> InventoryField.QUANTITY;
+                default -> throw new IllegalArgumentException("unsupported field for inventories: " + name);
+            });
+        }
+        return selected;
+    }
+
+    // include=product es la única relación disponible
+    static boolean parseInclude(String include) {
+        if (include == null || include.isBlank()) return false;
+        for (String token : include.split(",")) {
+            String name = token.trim();
+            if (!name.equals("product")) throw new IllegalArgumentException("unsupported include: " + name);
+        }
+        return true;
+    }
+
+    // filter[productId]=1,2,3 sin repetidos, en el orden pedido
+    static Set<Long> parseProductIds(String ids) {
+        Set<Long> parsed = new LinkedHashSet<>();
+        for (String token : ids.split(",")) {
+            String id = token.trim();
+            if (id.isEmpty()) continue;
+            try {
+                parsed.add(Long.valueOf(id));
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("invalid id in filter[productId]: " + id);
+            }
+        }
+        return parsed;
+    }
+
+    // filtros, orden, fieldsets e includes tal como llegaron, para propagarlos en los links de paginación
+    static String linkQuery(Map<String, String> params) {
+        StringBuilder sb = new StringBuilder();
+        params.forEach((key, value) -> {
+            if (key.startsWith("filter") || key.startsWith("fields") || key.equals("sort") || key.equals("include")) {
+                sb.append('&').append(key).append('=').append(UriUtils.encodeQueryParam(value, StandardCharsets.UTF_8));
+            }
+        });
+        return sb.toString();
+    }
+
+    private static InventoryFilter.Field field(String name) {
+        return switch (name) {
+            case "quantity" -> InventoryFilter.Field.QUANTITY;
+            case "updatedAt" -> InventoryFilter.Field.UPDATED_AT;
+            default -> throw new IllegalArgumentException("unsupported filter field: " + name);
+        };
+    }
+
+    private static InventoryFilter.Operator operator(String name) {
+        try {
+            return InventoryFilter.Operator.valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("unsupported filter operator: " + name);
+        }
+    }
+
+    private static Comparable<?> value(String key, InventoryFilter.Field field, String raw) {
+        try {
+            return switch (field) {
+                case QUANTITY -> Integer.valueOf(raw.trim());
+                case UPDATED_AT -> LocalDateTime.parse(raw.trim());
+            };
+        } catch (NumberFormatException | DateTimeParseException ex) {
+            throw new IllegalArgumentException("invalid value for " + key + ": " + raw);
+        }
+    }
+}
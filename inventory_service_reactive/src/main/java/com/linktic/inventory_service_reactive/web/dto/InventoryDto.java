@@ -0,0 +1,43 @@
+package com.linktic.inventory_service_reactive.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.linktic.inventory_service_reactive.domain.model.Inventory;
+import com.linktic.inventory_service_reactive.domain.model.InventoryField;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.Set;
+
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class InventoryDto {
+
+    @NotNull
+    private Long productId;
+
+    @NotNull @Min(0)
+    private Integer quantity;
+
+    public static InventoryDto from(Inventory inv) {
+        InventoryDto dto = new InventoryDto();
+        dto.setProductId(inv.getProductId());
+        dto.setQuantity(inv.getQuantity());
+        return dto;
+    }
+
+    public static InventoryDto from(Inventory inv, Set<InventoryField> fields) {
+        InventoryDto dto = new InventoryDto();
+        if (fields.contains(InventoryField.PRODUCT_ID)) dto.setProductId(inv.getProductId());
+        if (fields.contains(InventoryField.QUANTITY)) dto.setQuantity(inv.getQuantity());
+        return dto;
+    }
+}
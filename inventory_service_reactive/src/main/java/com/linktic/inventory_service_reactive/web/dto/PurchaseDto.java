@@ -0,0 +1,20 @@
+package com.linktic.inventory_service_reactive.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Getter
+@Setter
+@AllArgsConstructor
+public class PurchaseDto {
+    @NotNull
+    private Long productId;
+
+    @NotNull @Min(1)
+    private Integer units;
+}
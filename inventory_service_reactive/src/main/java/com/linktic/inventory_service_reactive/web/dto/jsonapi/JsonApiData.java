@@ -0,0 +1,25 @@
+package com.linktic.inventory_service_reactive.web.dto.jsonapi;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Map;
+
+@Setter
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class JsonApiData<T> {
+
+    private String type;
+    private String id;
+    private T attributes;
+    private Map<String, JsonApiRelationship> relationships;
+
+    public JsonApiData() {}
+
+    public JsonApiData(String type, String id, T attributes) {
+        this.type = type; this.id = id; this.attributes = attributes;
+    }
+
+}
@@ -0,0 +1,13 @@
+package com.linktic.inventory_service_reactive.web.dto.jsonapi;
+
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class JsonApiErrorResponse {
+    private List<JsonApiError> errors;
+    public JsonApiErrorResponse(List<JsonApiError> errors){
+        this.errors = errors;
+    }
+}
@@ -0,0 +1,21 @@
+package com.linktic.inventory_service_reactive.web.dto.jsonapi;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Setter
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class JsonApiMeta {
+
+    private Long totalElements;
+    private Integer totalPages;
+    private Integer pageNumber;
+    private Integer pageSize;
+    private String countStrategy;
+    private List<Long> missingProductIds;
+
+}
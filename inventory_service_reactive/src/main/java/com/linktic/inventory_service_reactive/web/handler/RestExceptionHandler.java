@@ -0,0 +1,60 @@
+package com.linktic.inventory_service_reactive.web.handler;
+
+import com.linktic.inventory_service_reactive.web.dto.jsonapi.JsonApiError;
+import com.linktic.inventory_service_reactive.web.dto.jsonapi.JsonApiErrorResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
+import org.springframework.web.server.ServerWebInputException;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+// mismo mapeo de excepciones a errores JSON:API que inventory-service
+@RestControllerAdvice
+public class RestExceptionHandler {
+
+    private ResponseEntity<Object> jsonApiError(HttpStatus status, String title, String detail) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.CONTENT_TYPE, "application/vnd.api+json");
+        return new ResponseEntity<>(
+                new JsonApiErrorResponse(List.of(new JsonApiError(String.valueOf(status.value()), title, detail))),
+                headers, status);
+    }
+
+    @ExceptionHandler(NoSuchElementException.class)
+    public ResponseEntity<Object> handleNotFound(NoSuchElementException ex) {
+        return jsonApiError(HttpStatus.NOT_FOUND, "Not Found", ex.getMessage());
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Object> handleBadRequest(IllegalArgumentException ex) {
+        return jsonApiError(HttpStatus.BAD_REQUEST, "Bad Request", ex.getMessage());
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<Object> handleValidation(WebExchangeBindException ex) {
+        String msg = ex.getBindingResult().getFieldErrors().stream()
+                .map(err -> err.getField() + ": " + err.getDefaultMessage())
+                .findFirst().orElse("Validation error");
+        return jsonApiError(HttpStatus.BAD_REQUEST, "Validation Error", msg);
+    }
+
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    public ResponseEntity<Object> handleMethodValidation(HandlerMethodValidationException ex) {
+        String msg = ex.getAllErrors().stream()
+                .map(err -> err.getDefaultMessage())
+                .findFirst().orElse("Validation error");
+        return jsonApiError(HttpStatus.BAD_REQUEST, "Validation Error", msg);
+    }
+
+    // cuerpo ilegible, parámetro faltante o con tipo inválido
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<Object> handleInput(ServerWebInputException ex) {
+        return jsonApiError(HttpStatus.BAD_REQUEST, "Bad Request", ex.getReason());
+    }
+}
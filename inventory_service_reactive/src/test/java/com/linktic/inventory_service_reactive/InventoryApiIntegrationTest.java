@@ -0,0 +1,185 @@
+package com.linktic.inventory_service_reactive;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.linktic.inventory_service_reactive.domain.client.ProductsClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+// los escenarios de InventoryControllerIntegrationTest contra Postgres real: SQL de R2DBC, filtros, orden,
+// streaming y transacciones. products-service sigue simulado. Sin Docker la clase se omite
+@Testcontainers(disabledWithoutDocker = true)
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "security.api-key.value=it-key"
+})
+class InventoryApiIntegrationTest {
+
+    private static final MediaType JSON_API = MediaType.valueOf("application/vnd.api+json");
+
+    @MockitoBean
+    private ProductsClient productsClient;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private DatabaseClient db;
+
+    private final ObjectMapper om = new ObjectMapper();
+    private WebTestClient client;
+    private long productId;
+    private long id;
+
+    @BeforeEach
+    void setUp() {
+        client = webTestClient.mutate().defaultHeader("X-API-Key", "it-key").build();
+        productId = ThreadLocalRandom.current().nextLong(1_000_000, Long.MAX_VALUE);
+        id = insert(productId, 10);
+    }
+
+    @Test
+    void create_get_update_purchase_delete() {
+        long newProductId = productId - 1;
+        when(productsClient.existsProduct(newProductId)).thenReturn(Mono.just(true));
+
+        JsonNode created = body(client.post().uri("/inventories").contentType(JSON_API)
+                .bodyValue("{\"data\":{\"type\":\"inventories\",\"attributes\":{\"productId\":" + newProductId + ",\"quantity\":4}}}")
+                .exchange().expectStatus().isCreated());
+        String createdId = created.path("data").path("id").asText();
+
+        client.get().uri("/inventories/{id}", createdId).exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.data.attributes.quantity").isEqualTo(4);
+
+        client.put().uri("/inventories/{id}", createdId).contentType(JSON_API)
+                .bodyValue("{\"data\":{\"type\":\"inventories\",\"attributes\":{\"quantity\":25}}}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.data.attributes.quantity").isEqualTo(25);
+
+        client.post().uri("/inventories/purchase").contentType(JSON_API)
+                .bodyValue("{\"data\":{\"type\":\"purchases\",\"attributes\":{\"productId\":" + newProductId + ",\"units\":3}}}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.data.attributes.quantity").isEqualTo(22);
+
+        client.post().uri("/inventories/purchase").contentType(JSON_API)
+                .bodyValue("{\"data\":{\"type\":\"purchases\",\"attributes\":{\"productId\":" + newProductId + ",\"units\":99}}}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.errors[0].detail").isEqualTo("insufficient stock");
+
+        client.delete().uri("/inventories/{id}", createdId).exchange().expectStatus().isNoContent();
+        client.get().uri("/inventories/{id}", createdId).exchange().expectStatus().isNotFound();
+    }
+
+    @Test
+    void details_and_include_resolveProducts() {
+        var summary = new ProductsClient.ProductSummary(productId, "Mouse", new BigDecimal("19.99"));
+        when(productsClient.getProductSummary(productId)).thenReturn(Mono.just(summary));
+        when(productsClient.getProductSummaries(anyCollection())).thenReturn(Mono.just(Map.of(productId, summary)));
+
+        client.get().uri("/inventories/product/{productId}", productId).exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.attributes.quantity").isEqualTo(10)
+                .jsonPath("$.data.attributes.product.name").isEqualTo("Mouse");
+
+        client.get().uri("/inventories/{id}?include=product&fields[inventories]=quantity", id).exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.attributes.productId").doesNotExist()
+                .jsonPath("$.included[0].id").isEqualTo(String.valueOf(productId));
+    }
+
+    @Test
+    void multiGet_reportsMissingProductIds() {
+        client.get().uri("/inventories?filter[productId]={ids}", productId + ",1").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data[0].attributes.productId").isEqualTo(productId)
+                .jsonPath("$.meta.missingProductIds[0]").isEqualTo(1);
+    }
+
+    @Test
+    void paginated_filterAndSort_runInPostgres() {
+        long low = insert(productId - 2, 1);
+        long lower = insert(productId - 3, 0);
+
+        JsonNode page = body(client.get()
+                .uri("/inventories/paginated?pageSize=100&filter[quantity][lte]=1&sort=-quantity")
+                .exchange().expectStatus().isOk());
+
+        JsonNode data = page.path("data");
+        assertThat(data.findValuesAsText("id")).contains(String.valueOf(low), String.valueOf(lower))
+                .doesNotContain(String.valueOf(id));
+        for (int i = 1; i < data.size(); i++) {
+            assertThat(data.get(i).path("attributes").path("quantity").asInt())
+                    .isLessThanOrEqualTo(data.get(i - 1).path("attributes").path("quantity").asInt());
+        }
+        assertThat(page.path("meta").path("countStrategy").asText()).isEqualTo("exact");
+    }
+
+    @Test
+    void lowStock_readsThePartialIndex() {
+        long low = insert(productId - 4, 2);
+
+        JsonNode body = body(client.get().uri("/inventories/low-stock?threshold=3").exchange().expectStatus().isOk());
+
+        assertThat(body.path("data").findValuesAsText("id")).contains(String.valueOf(low)).doesNotContain(String.valueOf(id));
+    }
+
+    @Test
+    void listadoEnStreaming_yExportNdjson() throws Exception {
+        JsonNode list = body(client.get().uri("/inventories/list").exchange().expectStatus().isOk());
+        assertThat(list.path("data").findValuesAsText("id")).contains(String.valueOf(id));
+
+        String ndjson = client.get().uri("/inventories/export?afterId={afterId}", id - 1)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).returnResult().getResponseBody();
+        assertThat(ndjson.lines().findFirst().map(line -> {
+            try {
+                return om.readTree(line).path("id").asText();
+            } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+        })).contains(String.valueOf(id));
+    }
+
+    private long insert(long productId, int quantity) {
+        return db.sql("INSERT INTO inventory (product_id, quantity, created_at) VALUES (:productId, :quantity, now()) RETURNING id")
+                .bind("productId", productId)
+                .bind("quantity", quantity)
+                .map(row -> row.get("id", Long.class))
+                .one()
+                .block();
+    }
+
+    private JsonNode body(WebTestClient.ResponseSpec response) {
+        try {
+            return om.readTree(response.expectBody(String.class).returnResult().getResponseBody());
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.linktic.inventory_service_reactive;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+import org.testcontainers.utility.MountableFile;
+
+@TestConfiguration(proxyBeanMethods = false)
+class TestcontainersConfiguration {
+
+	// el esquema es el de inventory-service: sus migraciones de Flyway corren como scripts de init de Postgres
+	@Bean
+	@ServiceConnection
+	PostgreSQLContainer<?> postgresContainer() {
+		return new PostgreSQLContainer<>(DockerImageName.parse("postgres:latest"))
+				.withCopyFileToContainer(
+						MountableFile.forHostPath("../inventory_service/src/main/resources/db/migration"),
+						"/docker-entrypoint-initdb.d/");
+	}
+
+}
@@ -0,0 +1,65 @@
+package com.linktic.inventory_service_reactive.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ApiKeyWebFilterTest {
+
+    private final ApiKeyWebFilter filter = new ApiKeyWebFilter("X-API-Key", "valid-key");
+
+    @Test
+    void allows_whenHeaderMatches() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/inventories/1").header("X-API-Key", "valid-key"));
+        AtomicBoolean invoked = new AtomicBoolean();
+
+        filter.filter(exchange, chain(invoked)).block();
+
+        assertThat(invoked).isTrue();
+    }
+
+    @Test
+    void denies_whenHeaderWrongOrMissing() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/inventories/1").header("X-API-Key", "wrong"));
+        AtomicBoolean invoked = new AtomicBoolean();
+
+        filter.filter(exchange, chain(invoked)).block();
+
+        assertThat(invoked).isFalse();
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(exchange.getResponse().getHeaders().getContentType()).hasToString("application/vnd.api+json");
+        assertThat(exchange.getResponse().getBodyAsString().block()).contains("Invalid API Key");
+
+        MockServerWebExchange missing = MockServerWebExchange.from(MockServerHttpRequest.get("/inventories/1"));
+        filter.filter(missing, chain(invoked)).block();
+        assertThat(missing.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    @Test
+    void actuator_andUnconfiguredKey_passThrough() {
+        AtomicBoolean invoked = new AtomicBoolean();
+        filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/actuator/health")), chain(invoked)).block();
+        assertThat(invoked).isTrue();
+
+        invoked.set(false);
+        new ApiKeyWebFilter("X-API-Key", "")
+                .filter(MockServerWebExchange.from(MockServerHttpRequest.get("/inventories/1")), chain(invoked)).block();
+        assertThat(invoked).isTrue();
+    }
+
+    private static WebFilterChain chain(AtomicBoolean invoked) {
+        return exchange -> {
+            invoked.set(true);
+            return Mono.empty();
+        };
+    }
+}
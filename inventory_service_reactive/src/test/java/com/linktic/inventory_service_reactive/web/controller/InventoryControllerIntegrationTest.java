@@ -0,0 +1,516 @@
+package com.linktic.inventory_service_reactive.web.controller;
+
+import com.linktic.inventory_service_reactive.domain.client.ProductsClient;
+import com.linktic.inventory_service_reactive.domain.model.Inventory;
+import com.linktic.inventory_service_reactive.domain.model.InventoryFilter;
+import com.linktic.inventory_service_reactive.domain.repository.InventoryRepository;
+import com.linktic.inventory_service_reactive.domain.service.InventoryService;
+import com.linktic.inventory_service_reactive.web.handler.RestExceptionHandler;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatcher;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestConstructor;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// mismos escenarios y aserciones que InventoryControllerIntegrationTest de inventory-service,
+// sobre WebTestClient: el contrato JSON:API no cambia con la pila reactiva
+@WebFluxTest(controllers = InventoryController.class)
+@Import(RestExceptionHandler.class)
+@TestConstructor(autowireMode = TestConstructor.AutowireMode.ALL)
+class InventoryControllerIntegrationTest {
+
+    private static final MediaType JSON_API = MediaType.valueOf("application/vnd.api+json");
+
+    @MockitoBean
+    private InventoryRepository repository;
+
+    @MockitoBean
+    private ProductsClient productsClient;
+
+    private final WebTestClient client;
+
+    InventoryControllerIntegrationTest(WebTestClient client) {
+        this.client = client;
+    }
+
+    @TestConfiguration
+    static class Cfg {
+        @Bean
+        InventoryService inventoryService(InventoryRepository repo, ProductsClient pc) {
+            return new InventoryService(repo, pc, 100);
+        }
+    }
+
+    @Test
+    void create_returns201_jsonapiEnvelope() {
+        when(productsClient.existsProduct(100L)).thenReturn(Mono.just(true));
+        when(repository.save(any(Inventory.class))).thenAnswer(inv -> {
+            Inventory i = inv.getArgument(0);
+            i.setId(1L);
+            return Mono.just(i);
+        });
+
+        String body = """
+            {"data":{"type":"inventories","attributes":{"productId":100,"quantity":10}}}
+        """;
+
+        client.post().uri("/inventories")
+                .contentType(JSON_API).accept(JSON_API).bodyValue(body)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().valueEquals("Location", "/inventories/1")
+                .expectBody()
+                .jsonPath("$.data.type").isEqualTo("inventories")
+                .jsonPath("$.data.id").isEqualTo("1")
+                .jsonPath("$.data.attributes.productId").isEqualTo(100)
+                .jsonPath("$.data.attributes.quantity").isEqualTo(10);
+
+        verify(productsClient).existsProduct(100L);
+        verify(repository).save(argThat(invMatches(100L, 10)));
+    }
+
+    @Test
+    void create_unknownProduct_404() {
+        when(productsClient.existsProduct(5L)).thenReturn(Mono.just(false));
+
+        client.post().uri("/inventories")
+                .contentType(JSON_API).accept(JSON_API)
+                .bodyValue("{\"data\":{\"type\":\"inventories\",\"attributes\":{\"productId\":5,\"quantity\":1}}}")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.errors[0].detail").isEqualTo("Product not found.");
+
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void create_negativeQuantity_400() {
+        client.post().uri("/inventories")
+                .contentType(JSON_API).accept(JSON_API)
+                .bodyValue("{\"data\":{\"type\":\"inventories\",\"attributes\":{\"productId\":5,\"quantity\":-1}}}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errors[0].detail").isEqualTo("quantity must be >= 0");
+    }
+
+    @Test
+    void get_byId_ok() {
+        var inv = new Inventory(5L, 777L, 9, LocalDateTime.now(), null);
+        when(repository.findById(5L)).thenReturn(Mono.just(inv));
+
+        client.get().uri("/inventories/{id}", 5L).accept(JSON_API)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.type").isEqualTo("inventories")
+                .jsonPath("$.data.id").isEqualTo("5")
+                .jsonPath("$.data.attributes.productId").isEqualTo(777)
+                .jsonPath("$.data.attributes.quantity").isEqualTo(9);
+    }
+
+    @Test
+    void get_byId_notFound_404_jsonapi() {
+        when(repository.findById(6L)).thenReturn(Mono.empty());
+
+        client.get().uri("/inventories/{id}", 6L).accept(JSON_API)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectHeader().contentType(JSON_API)
+                .expectBody()
+                .jsonPath("$.errors[0].title").isEqualTo("Not Found")
+                .jsonPath("$.errors[0].detail").isEqualTo("Inventory not found.");
+    }
+
+    @Test
+    void update_changesQuantity_ok() {
+        var inv = new Inventory(10L, 300L, 1, LocalDateTime.now(), null);
+        when(repository.findById(10L)).thenReturn(Mono.just(inv));
+        when(repository.save(any(Inventory.class))).thenAnswer(a -> Mono.just(a.getArgument(0)));
+
+        String body = """
+            {"data":{"type":"inventories","attributes":{"quantity":25}}}
+        """;
+
+        client.put().uri("/inventories/{id}", 10L)
+                .contentType(JSON_API).accept(JSON_API).bodyValue(body)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.attributes.quantity").isEqualTo(25);
+    }
+
+    @Test
+    void update_notFound_404() {
+        when(repository.findById(11L)).thenReturn(Mono.empty());
+
+        client.put().uri("/inventories/{id}", 11L)
+                .contentType(JSON_API).accept(JSON_API)
+                .bodyValue("{\"data\":{\"type\":\"inventories\",\"attributes\":{\"quantity\":25}}}")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.errors[0].status").isEqualTo("404")
+                .jsonPath("$.errors[0].detail").isEqualTo("Inventory not found.");
+
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void update_negativeQuantity_400() {
+        var inv = new Inventory(10L, 300L, 1, LocalDateTime.now(), null);
+        when(repository.findById(10L)).thenReturn(Mono.just(inv));
+
+        client.put().uri("/inventories/{id}", 10L)
+                .contentType(JSON_API).accept(JSON_API)
+                .bodyValue("{\"data\":{\"type\":\"inventories\",\"attributes\":{\"quantity\":-5}}}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errors[0].status").isEqualTo("400")
+                .jsonPath("$.errors[0].detail").isEqualTo("quantity must be >= 0");
+
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void purchase_ok_returnsUpdatedInventory() {
+        var inv = new Inventory(5L, 777L, 10, LocalDateTime.now(), null);
+        when(repository.findByProductId(777L)).thenReturn(Mono.just(inv));
+        when(repository.save(any(Inventory.class))).thenAnswer(a -> Mono.just(a.getArgument(0)));
+
+        client.post().uri("/inventories/purchase")
+                .contentType(JSON_API).accept(JSON_API)
+                .bodyValue("{\"data\":{\"type\":\"inventories\",\"attributes\":{\"productId\":777,\"units\":3}}}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.id").isEqualTo("5")
+                .jsonPath("$.data.type").isEqualTo("inventories")
+                .jsonPath("$.data.attributes.productId").isEqualTo(777)
+                .jsonPath("$.data.attributes.quantity").isEqualTo(7)
+                .jsonPath("$.links.self").isEqualTo("/inventories/product/777");
+    }
+
+    @Test
+    void purchase_invalidUnits_400() {
+        client.post().uri("/inventories/purchase")
+                .contentType(JSON_API).accept(JSON_API)
+                .bodyValue("{\"data\":{\"type\":\"inventories\",\"attributes\":{\"productId\":10,\"units\":0}}}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errors[0].status").isEqualTo("400")
+                .jsonPath("$.errors[0].title").isEqualTo("Bad Request")
+                .jsonPath("$.errors[0].detail").isEqualTo("units must be > 0");
+
+        verify(repository, never()).findByProductId(any());
+    }
+
+    @Test
+    void purchase_insufficientStock_400_jsonapi() {
+        var inv = new Inventory(9L, 1234L, 1, LocalDateTime.now(), null);
+        when(repository.findByProductId(1234L)).thenReturn(Mono.just(inv));
+
+        String body = """
+            {"data":{"type":"inventories","attributes":{"productId":1234,"units":5}}}
+        """;
+
+        client.post().uri("/inventories/purchase")
+                .contentType(JSON_API).accept(JSON_API).bodyValue(body)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errors[0].title").isEqualTo("Bad Request")
+                .jsonPath("$.errors[0].detail").isEqualTo("insufficient stock");
+
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void paginated_ok_linksAndMeta() {
+        var inv = new Inventory(1L, 42L, 3, LocalDateTime.now(), null);
+        when(repository.findAllPaginatedList(any(), any()))
+                .thenReturn(Mono.just(new PageImpl<>(List.of(inv), PageRequest.of(0, 10), 1)));
+
+        client.get().uri("/inventories/paginated?pageNumber=1&pageSize=10").accept(JSON_API)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data[0].id").isEqualTo("1")
+                .jsonPath("$.data[0].attributes.productId").isEqualTo(42)
+                .jsonPath("$.meta.totalElements").isEqualTo(1)
+                .jsonPath("$.meta.totalPages").isEqualTo(1)
+                .jsonPath("$.meta.pageNumber").isEqualTo(1)
+                .jsonPath("$.meta.pageSize").isEqualTo(10)
+                .jsonPath("$.meta.countStrategy").isEqualTo("exact")
+                .jsonPath("$.links.self").isEqualTo("/inventories/paginated?pageNumber=1&pageSize=10");
+    }
+
+    @Test
+    void paginated_middlePage_nextAndPrevLinks() {
+        var i1 = new Inventory(3L, 100L, 10, LocalDateTime.now(), null);
+        var i2 = new Inventory(4L, 200L, 20, LocalDateTime.now(), null);
+        when(repository.findAllPaginatedList(any(), any()))
+                .thenReturn(Mono.just(new PageImpl<>(List.of(i1, i2), PageRequest.of(1, 2), 5)));
+
+        client.get().uri("/inventories/paginated?pageNumber=2&pageSize=2").accept(JSON_API)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.length()").isEqualTo(2)
+                .jsonPath("$.meta.totalElements").isEqualTo(5)
+                .jsonPath("$.meta.totalPages").isEqualTo(3)
+                .jsonPath("$.links.first").isEqualTo("/inventories/paginated?pageNumber=1&pageSize=2")
+                .jsonPath("$.links.last").isEqualTo("/inventories/paginated?pageNumber=3&pageSize=2")
+                .jsonPath("$.links.next").isEqualTo("/inventories/paginated?pageNumber=3&pageSize=2")
+                .jsonPath("$.links.prev").isEqualTo("/inventories/paginated?pageNumber=1&pageSize=2");
+    }
+
+    @Test
+    void paginated_filterSortAndFields_reachTheRepository_andTheLinks() {
+        var inv = new Inventory(1L, 42L, 3, LocalDateTime.now(), null);
+        when(repository.findAllPaginatedList(any(), any()))
+                .thenReturn(Mono.just(new PageImpl<>(List.of(inv), PageRequest.of(0, 10), 1)));
+
+        client.get().uri("/inventories/paginated?filter[quantity][lt]=5&sort=-quantity&fields[inventories]=quantity")
+                .accept(JSON_API)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data[0].attributes.quantity").isEqualTo(3)
+                .jsonPath("$.data[0].attributes.productId").doesNotExist()
+                .jsonPath("$.links.self").isEqualTo("/inventories/paginated?pageNumber=1&pageSize=10"
+                        + "&filter[quantity][lt]=5&sort=-quantity&fields[inventories]=quantity");
+
+        verify(repository).findAllPaginatedList(
+                argThat(pageable -> pageable.getSort().equals(Sort.by(Sort.Order.desc("quantity"), Sort.Order.desc("id")))),
+                argThat(filter -> filter.conditions().equals(List.of(new InventoryFilter.Condition(
+                        InventoryFilter.Field.QUANTITY, InventoryFilter.Operator.LT, 5)))));
+    }
+
+    @Test
+    void paginated_include_addsRelationshipAndIncludedProducts() {
+        var inv = new Inventory(1L, 42L, 3, LocalDateTime.now(), null);
+        when(repository.findAllPaginatedList(any(), any()))
+                .thenReturn(Mono.just(new PageImpl<>(List.of(inv), PageRequest.of(0, 10), 1)));
+        when(productsClient.getProductSummaries(anyCollection())).thenReturn(Mono.just(Map.of(
+                42L, new ProductsClient.ProductSummary(42L, "Mouse", new BigDecimal("19.99")))));
+
+        client.get().uri("/inventories/paginated?include=product&fields[inventories]=quantity").accept(JSON_API)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data[0].relationships.product.data.id").isEqualTo("42")
+                .jsonPath("$.included[0].type").isEqualTo("products")
+                .jsonPath("$.included[0].attributes.name").isEqualTo("Mouse");
+    }
+
+    @Test
+    void paginated_unknownParameter_isIgnored_likeTheServletService() {
+        when(repository.findAllPaginatedList(any(), any()))
+                .thenReturn(Mono.just(new PageImpl<>(List.of(), PageRequest.of(0, 10), 0)));
+
+        client.get().uri("/inventories/paginated?utm_source=mail").accept(JSON_API)
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    void paginated_unsupportedSortField_400() {
+        client.get().uri("/inventories/paginated?sort=name").accept(JSON_API)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errors[0].detail").isEqualTo("unsupported sort field: name");
+
+        verify(repository, never()).findAllPaginatedList(any(), any());
+    }
+
+    @Test
+    void get_byId_withFieldsAndInclude() {
+        var inv = new Inventory(5L, 777L, 9, LocalDateTime.now(), null);
+        when(repository.findById(5L)).thenReturn(Mono.just(inv));
+        when(productsClient.getProductSummaries(anyCollection())).thenReturn(Mono.just(Map.of(
+                777L, new ProductsClient.ProductSummary(777L, "Mouse", new BigDecimal("19.99")))));
+
+        client.get().uri("/inventories/{id}?fields[inventories]=quantity&include=product", 5L).accept(JSON_API)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.attributes.quantity").isEqualTo(9)
+                .jsonPath("$.data.attributes.productId").doesNotExist()
+                .jsonPath("$.data.relationships.product.data.id").isEqualTo("777")
+                .jsonPath("$.included[0].id").isEqualTo("777");
+    }
+
+    @Test
+    void export_ndjson_onePerLine() {
+        when(repository.streamAll(7L, null)).thenReturn(Flux.just(
+                new Inventory(8L, 100L, 10, LocalDateTime.now(), null),
+                new Inventory(9L, 200L, 20, LocalDateTime.now(), null)));
+
+        String body = client.get().uri("/inventories/export?afterId=7")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class).returnResult().getResponseBody();
+
+        assertThat(body.lines().toList()).hasSize(2)
+                .allSatisfy(line -> assertThat(line).startsWith("{\"type\":\"inventories\""));
+        assertThat(body.lines().toList().get(1)).contains("\"id\":\"9\"");
+    }
+
+    @Test
+    void lowStock_ok_andThresholdOutOfRange_400() {
+        when(repository.findLowStock(5)).thenReturn(Flux.just(new Inventory(1L, 100L, 2, LocalDateTime.now(), null)));
+
+        client.get().uri("/inventories/low-stock?threshold=5").accept(JSON_API)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data[0].attributes.quantity").isEqualTo(2)
+                .jsonPath("$.links.self").isEqualTo("/inventories/low-stock?threshold=5");
+
+        client.get().uri("/inventories/low-stock?threshold=101").accept(JSON_API)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errors[0].detail").isEqualTo("threshold must be between 1 and 100");
+    }
+
+    @Test
+    void list_ok() {
+        when(repository.findAll()).thenReturn(Flux.just(
+                new Inventory(1L, 100L, 10, LocalDateTime.now(), null),
+                new Inventory(2L, 200L, 20, LocalDateTime.now(), null)));
+
+        client.get().uri("/inventories/list").accept(JSON_API)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.length()").isEqualTo(2)
+                .jsonPath("$.data[0].type").isEqualTo("inventories")
+                .jsonPath("$.data[0].attributes.productId").isEqualTo(100)
+                .jsonPath("$.data[1].attributes.quantity").isEqualTo(20);
+    }
+
+    @Test
+    void list_empty_isAValidDocument() {
+        when(repository.findAll()).thenReturn(Flux.empty());
+
+        client.get().uri("/inventories/list").accept(JSON_API)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.length()").isEqualTo(0);
+    }
+
+    @Test
+    void list_include_relatesEachRow_andResolvesProductsOnce() {
+        when(repository.findAll()).thenReturn(Flux.just(
+                new Inventory(1L, 100L, 10, LocalDateTime.now(), null),
+                new Inventory(2L, 100L, 20, LocalDateTime.now(), null)));
+        when(productsClient.getProductSummaries(anyCollection())).thenReturn(Mono.just(Map.of(
+                100L, new ProductsClient.ProductSummary(100L, "Mouse", new BigDecimal("19.99")))));
+
+        client.get().uri("/inventories/list?include=product").accept(JSON_API)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.length()").isEqualTo(2)
+                .jsonPath("$.data[1].relationships.product.data.id").isEqualTo("100")
+                .jsonPath("$.included.length()").isEqualTo(1)
+                .jsonPath("$.included[0].attributes.price").isEqualTo(19.99);
+
+        verify(productsClient).getProductSummaries(argThat(ids -> ids.size() == 1 && ids.contains(100L)));
+    }
+
+    @Test
+    void list_unsupportedInclude_400() {
+        client.get().uri("/inventories/list?include=warehouse").accept(JSON_API)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errors[0].detail").isEqualTo("unsupported include: warehouse");
+
+        verify(repository, never()).findAll();
+    }
+
+    @Test
+    void multiGet_keepsRequestOrder_andReportsMissing() {
+        when(repository.findStockByProductIds(anyCollection())).thenReturn(Flux.just(
+                new Inventory(2L, 20L, 5, LocalDateTime.now(), null),
+                new Inventory(1L, 10L, 3, LocalDateTime.now(), null)));
+
+        client.get().uri("/inventories?filter[productId]={ids}", "10,30,20").accept(JSON_API)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data[0].attributes.productId").isEqualTo(10)
+                .jsonPath("$.data[1].attributes.productId").isEqualTo(20)
+                .jsonPath("$.meta.missingProductIds[0]").isEqualTo(30);
+    }
+
+    @Test
+    void details_ok_usesProductsClientMock() {
+        var inv = new Inventory(7L, 700L, 9, LocalDateTime.now(), null);
+        when(repository.findByProductId(700L)).thenReturn(Mono.just(inv));
+        when(productsClient.getProductSummary(700L))
+                .thenReturn(Mono.just(new ProductsClient.ProductSummary(700L, "Mouse", new BigDecimal("19.99"))));
+
+        client.get().uri("/inventories/product/{productId}", 700L).accept(JSON_API)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.id").isEqualTo("7")
+                .jsonPath("$.data.attributes.productId").isEqualTo(700)
+                .jsonPath("$.data.attributes.quantity").isEqualTo(9)
+                .jsonPath("$.data.attributes.product.id").isEqualTo(700)
+                .jsonPath("$.data.attributes.product.name").isEqualTo("Mouse")
+                .jsonPath("$.data.attributes.product.price").isEqualTo(19.99)
+                .jsonPath("$.links.self").isEqualTo("/inventories/product/700");
+    }
+
+    @Test
+    void delete_204() {
+        when(repository.deleteById(3L)).thenReturn(Mono.empty());
+
+        client.delete().uri("/inventories/{id}", 3L)
+                .exchange()
+                .expectStatus().isNoContent();
+
+        verify(repository).deleteById(3L);
+    }
+
+    private static ArgumentMatcher<Inventory> invMatches(Long expectedProductId, Integer expectedQty) {
+        return inv -> inv != null
+                && (expectedProductId == null || expectedProductId.equals(inv.getProductId()))
+                && (expectedQty == null || expectedQty.equals(inv.getQuantity()));
+    }
+}
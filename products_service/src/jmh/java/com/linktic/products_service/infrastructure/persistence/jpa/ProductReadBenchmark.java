@@ -0,0 +1,103 @@
+package com.linktic.products_service.infrastructure.persistence.jpa;
+
+import com.linktic.products_service.domain.model.Product;
+import com.linktic.products_service.infrastructure.mapper.ProductMapper;
+import com.linktic.products_service.infrastructure.mapper.ProductMapperImpl;
+import com.linktic.products_service.infrastructure.persistence.entity.ProductEntity;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// una página de /products/paginated leída como entidades (+ MapStruct) o con la constructor expression.
+// H2 en memoria: el costo del driver y la red es el mismo en ambos caminos, lo que se mide es la
+// hidratación de Hibernate; gc.alloc.rate.norm (profiler gc) da los bytes asignados por página
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ProductReadBenchmark {
+
+    private static final String SELECT_ENTITY = "select p from ProductEntity p order by p.id";
+    private static final String SELECT_PRODUCT = "select new com.linktic.products_service.domain.model.Product("
+            + "p.id, p.name, p.price, p.createdAt, p.updatedAt) from ProductEntity p order by p.id";
+
+    @Param({"20", "200"})
+    int pageSize;
+
+    private SessionFactory sessionFactory;
+    private final ProductMapper mapper = new ProductMapperImpl();
+
+    @Setup
+    public void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(ProductEntity.class)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:mem:products-bench;DB_CLOSE_DELAY=-1")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .setProperty(AvailableSettings.SHOW_SQL, "false")
+                .buildSessionFactory();
+        LocalDateTime now = LocalDateTime.now();
+        sessionFactory.inTransaction(session -> {
+            for (int i = 1; i <= 1_000; i++) {
+                session.persist(new ProductEntity(null, "Producto " + i, BigDecimal.valueOf(1000 + i, 2), now, now));
+            }
+        });
+
+        // medir dos caminos que no producen lo mismo no tendría sentido (Product no define equals)
+        if (!entities().toString().equals(projection().toString())) {
+            throw new IllegalStateException("Projection differs from mapped entities");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    // lo que hacía el adapter antes: entidades gestionadas con snapshot para dirty checking, luego MapStruct
+    @Benchmark
+    public List<Product> entities() {
+        try (Session session = sessionFactory.openSession()) {
+            return page(session);
+        }
+    }
+
+    // lo mismo dentro de @Transactional(readOnly = true): Spring marca la sesión read-only y no guarda snapshots
+    @Benchmark
+    public List<Product> entitiesReadOnly() {
+        try (Session session = sessionFactory.openSession()) {
+            session.setDefaultReadOnly(true);
+            return page(session);
+        }
+    }
+
+    @Benchmark
+    public List<Product> projection() {
+        try (Session session = sessionFactory.openSession()) {
+            return session.createQuery(SELECT_PRODUCT, Product.class)
+                    .setMaxResults(pageSize + 1)
+                    .getResultList();
+        }
+    }
+
+    private List<Product> page(Session session) {
+        return session.createQuery(SELECT_ENTITY, ProductEntity.class)
+                .setMaxResults(pageSize + 1)
+                .getResultList().stream()
+                .map(mapper::toDomain)
+                .toList();
+    }
+}
@@ -0,0 +1,69 @@
+package com.linktic.products_service.web.dto.jsonapi;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+// una página de /products/paginated serializada con el ObjectMapper de Spring, con y sin Blackbird
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JsonApiSerializationBenchmark {
+
+    @Param({"10", "100"})
+    int pageSize;
+
+    private ObjectMapper reflective;
+    private ObjectMapper generated;
+    private JsonApiListResponse<ProductDto> page;
+
+    @Setup
+    public void setUp() throws Exception {
+        reflective = Jackson2ObjectMapperBuilder.json().build();
+        generated = Jackson2ObjectMapperBuilder.json().modulesToInstall(new BlackbirdModule()).build();
+
+        page = new JsonApiListResponse<>();
+        page.setData(IntStream.rangeClosed(1, pageSize)
+                .mapToObj(i -> new JsonApiData<>("products", String.valueOf(i),
+                        new ProductDto("Producto " + i, BigDecimal.valueOf(1000 + i, 2))))
+                .toList());
+        JsonApiLinks links = new JsonApiLinks();
+        links.setSelf("/products/paginated?pageNumber=1&pageSize=" + pageSize);
+        links.setFirst(links.getSelf());
+        page.setLinks(links);
+        JsonApiMeta meta = new JsonApiMeta();
+        meta.setTotalElements(10_000);
+        meta.setTotalPages(10_000 / pageSize);
+        meta.setPageNumber(1);
+        meta.setPageSize(pageSize);
+        page.setMeta(meta);
+
+        // medir dos caminos que no producen lo mismo no tendría sentido
+        if (!Arrays.equals(reflective.writeValueAsBytes(page), generated.writeValueAsBytes(page))) {
+            throw new IllegalStateException("Blackbird output differs from reflective output");
+        }
+    }
+
+    @Benchmark
+    public byte[] reflective() throws Exception {
+        return reflective.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] blackbird() throws Exception {
+        return generated.writeValueAsBytes(page);
+    }
+}
@@ -1,9 +1,12 @@
 package com.linktic.products_service;
 
+import com.linktic.products_service.config.NativeRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(NativeRuntimeHints.class)
 public class ProductsApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,155 @@
+package com.linktic.products_service.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+// límite de concurrencia adaptativo (estilo Gradient2): compara la latencia media de cada ventana con una
+// línea base de ventana larga (media exponencial de ~600 ventanas). Mientras la latencia no supere la
+// tolerancia el límite crece en sqrt(límite); si sube, baja en proporción. Sin permiso la llamada se rechaza
+// al instante en lugar de encolarse
+public class AdaptiveConcurrencyLimit {
+
+    public record Settings(int initialLimit, int minLimit, int maxLimit) {
+        public Settings {
+            if (minLimit <= 0 || initialLimit < minLimit || maxLimit < initialLimit) {
+                throw new IllegalArgumentException("concurrency limits must satisfy 0 < min <= initial <= max");
+            }
+        }
+    }
+
+    public static final long REJECTED = Long.MIN_VALUE;
+
+    static final String METRIC_LIMIT = "api.concurrency.limit";
+    static final String METRIC_INFLIGHT = "api.concurrency.inflight";
+    static final String METRIC_REJECTED = "api.concurrency.rejected";
+
+    // latencia media tolerada sobre la línea base antes de reducir el límite
+    private static final double RTT_TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double BACKOFF_RATIO = 0.9;
+    static final long WINDOW_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    static final int MIN_WINDOW_SAMPLES = 10;
+    // la línea base es una media de ~1 minuto y no el mínimo: con endpoints rápidos y lentos detrás del mismo
+    // límite, el mínimo queda fijado por la ventana más rápida y cualquier mezcla normal parece congestión
+    private static final double BASELINE_SMOOTHING = 2.0 / (600 + 1);
+
+    private final Settings settings;
+    private final LongSupplier nanoClock;
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final AtomicInteger windowMaxInflight = new AtomicInteger();
+    private final LongAdder windowRttSum = new LongAdder();
+    private final LongAdder windowSamples = new LongAdder();
+    private final AtomicLong windowStart;
+    private final Counter rejected;
+
+    // estado del algoritmo: lo actualiza quien cierra la ventana o registra un drop, bajo el monitor
+    private double estimate;
+    private double baselineRtt;
+    private long lastBackoffNanos;
+
+    private volatile int limit;
+
+    public AdaptiveConcurrencyLimit(String name, Settings settings, MeterRegistry meterRegistry) {
+        this(name, settings, meterRegistry, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimit(String name, Settings settings, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.settings = settings;
+        this.nanoClock = nanoClock;
+        long now = nanoClock.getAsLong();
+        this.windowStart = new AtomicLong(now);
+        this.lastBackoffNanos = now - WINDOW_NANOS;
+        this.estimate = settings.initialLimit();
+        this.limit = settings.initialLimit();
+
+        Gauge.builder(METRIC_LIMIT, this, AdaptiveConcurrencyLimit::limit).tag("limiter", name).register(meterRegistry);
+        Gauge.builder(METRIC_INFLIGHT, this, AdaptiveConcurrencyLimit::inflight).tag("limiter", name).register(meterRegistry);
+        this.rejected = Counter.builder(METRIC_REJECTED).tag("limiter", name).register(meterRegistry);
+    }
+
+    // instante de inicio a devolver en onSuccess, o REJECTED si no hay permiso
+    public long tryAcquire() {
+        for (;;) {
+            int current = inflight.get();
+            if (current >= limit) {
+                rejected.increment();
+                return REJECTED;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                if (current + 1 > windowMaxInflight.get()) windowMaxInflight.accumulateAndGet(current + 1, Math::max);
+                return nanoClock.getAsLong();
+            }
+        }
+    }
+
+    // terminó con normalidad: su latencia entra en la ventana actual
+    public void onSuccess(long startNanos) {
+        inflight.decrementAndGet();
+        long now = nanoClock.getAsLong();
+        windowRttSum.add(now - startNanos);
+        windowSamples.increment();
+
+        long start = windowStart.get();
+        if (now - start >= WINDOW_NANOS && windowSamples.sum() >= MIN_WINDOW_SAMPLES
+                && windowStart.compareAndSet(start, now)) {
+            long samples = windowSamples.sumThenReset();
+            long rttSum = windowRttSum.sumThenReset();
+            if (samples > 0) update(rttSum / samples, windowMaxInflight.getAndSet(0));
+        }
+    }
+
+    // timeout, fallo de I/O aguas abajo o 5xx: sobrecarga aunque la latencia media aún no lo muestre
+    public void onDropped() {
+        inflight.decrementAndGet();
+        backoff(nanoClock.getAsLong());
+    }
+
+    // libera sin muestra: respuestas asíncronas o resultados que no dicen nada de la carga
+    public void onIgnore() {
+        inflight.decrementAndGet();
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    public int inflight() {
+        return inflight.get();
+    }
+
+    private synchronized void update(long avgRtt, int maxInflight) {
+        avgRtt = Math.max(avgRtt, 1);
+        if (baselineRtt == 0) {
+            baselineRtt = avgRtt;
+        } else {
+            baselineRtt += (avgRtt - baselineRtt) * BASELINE_SMOOTHING;
+            // la latencia bajó de forma sostenida (se vació una cola): la base la sigue más rápido
+            if (baselineRtt > 2 * avgRtt) baselineRtt *= 0.95;
+        }
+
+        // con poca concurrencia real la latencia no dice nada del límite: sin demanda se mantiene, ni crece
+        // ni baja (una llamada lenta aislada no es congestión)
+        if (maxInflight < estimate / 2) return;
+        double gradient = Math.max(0.5, Math.min(1.0, RTT_TOLERANCE * baselineRtt / avgRtt));
+        setEstimate(estimate * (1 - SMOOTHING) + (estimate * gradient + Math.sqrt(estimate)) * SMOOTHING);
+    }
+
+    // como mucho una reducción por ventana: una ráfaga de timeouts no hunde el límite al mínimo
+    private synchronized void backoff(long now) {
+        if (now - lastBackoffNanos < WINDOW_NANOS) return;
+        lastBackoffNanos = now;
+        setEstimate(estimate * BACKOFF_RATIO);
+    }
+
+    private void setEstimate(double value) {
+        estimate = Math.max(settings.minLimit(), Math.min(settings.maxLimit(), value));
+        limit = (int) estimate;
+    }
+}
@@ -0,0 +1,246 @@
+package com.linktic.products_service.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// claves de cliente guardadas como SHA-256; cada una resuelve a su clientId, y el Authentication (mutable:
+// setDetails, eraseCredentials) se arma por request para que ninguna pueda alterar el de otra
+// Archivo: una línea "clientId:sha256hex" por cliente ('#' comenta). Se recarga si cambia su fecha de modificación
+public class ApiKeyRegistry implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(ApiKeyRegistry.class);
+
+    static final String LEGACY_CLIENT = "api-key-user";
+    private static final int HASH_LENGTH = 32;
+    private static final int MAX_KEY_LENGTH = 256;
+    private static final List<GrantedAuthority> AUTHORITIES = List.of(new SimpleGrantedAuthority("ROLE_API"));
+
+    private final Path file;
+    private final byte[] legacyHash;
+    private final Duration reloadInterval;
+
+    private volatile Table table;
+    private volatile FileTime loadedAt;
+    private ScheduledExecutorService reloader;
+    private final List<Consumer<Set<String>>> reloadListeners = new CopyOnWriteArrayList<>();
+
+    public ApiKeyRegistry(Path file, String legacyKey, Duration reloadInterval) {
+        this.file = file;
+        this.legacyHash = StringUtils.hasText(legacyKey) ? sha256(legacyKey) : null;
+        this.reloadInterval = reloadInterval;
+        // al arrancar un archivo inválido es un error de configuración: falla el contexto
+        this.table = load();
+    }
+
+    // null si la clave no corresponde a ningún cliente
+    public Authentication authenticate(String presentedKey) {
+        Table current = table;
+        // sin claves configuradas se deja pasar todo, como hacía el filtro con security.api-key.value vacío
+        if (current.isEmpty()) return authentication(LEGACY_CLIENT);
+        if (presentedKey == null || presentedKey.length() > MAX_KEY_LENGTH || !isAscii(presentedKey)) return null;
+
+        String client = current.find(sha256(presentedKey));
+        return client == null ? null : authentication(client);
+    }
+
+    // las claves son tokens ASCII; cualquier otro carácter no puede coincidir con ninguna
+    private static boolean isAscii(String key) {
+        for (int i = 0; i < key.length(); i++) {
+            if (key.charAt(i) >= 0x80) return false;
+        }
+        return true;
+    }
+
+    int size() {
+        return table.size();
+    }
+
+    // clientes que hoy pueden autenticarse; sin claves configuradas todo entra como el cliente legacy
+    public Set<String> clients() {
+        Table current = table;
+        return current.isEmpty() ? Set.of(LEGACY_CLIENT) : current.clients();
+    }
+
+    // se llama con los clientes vigentes tras cada recarga aplicada (p. ej. para soltar el estado de los que se quitaron)
+    public void onReload(Consumer<Set<String>> listener) {
+        reloadListeners.add(listener);
+    }
+
+    // conserva la tabla anterior si el archivo no se puede leer o está mal formado
+    void reload() {
+        if (file == null) return;
+        try {
+            FileTime modified = Files.getLastModifiedTime(file);
+            if (modified.equals(loadedAt)) return;
+            table = load();
+            log.info("API keys reloaded from {}: {} clients", file, table.size());
+            Set<String> active = clients();
+            reloadListeners.forEach(listener -> listener.accept(active));
+        } catch (IOException | UncheckedIOException | IllegalArgumentException ex) {
+            log.warn("API key reload from {} failed, keeping previous keys: {}", file, ex.getMessage());
+        }
+    }
+
+    private Table load() {
+        List<String> clients = new ArrayList<>();
+        List<byte[]> hashes = new ArrayList<>();
+        if (legacyHash != null) {
+            clients.add(LEGACY_CLIENT);
+            hashes.add(legacyHash);
+        }
+        if (file != null) {
+            try {
+                FileTime modified = Files.getLastModifiedTime(file);
+                parse(Files.readAllLines(file, StandardCharsets.UTF_8), clients, hashes);
+                loadedAt = modified;
+            } catch (IOException ex) {
+                throw new UncheckedIOException("cannot read API keys from " + file, ex);
+            }
+        }
+        return new Table(clients, hashes);
+    }
+
+    static void parse(List<String> lines, List<String> clients, List<byte[]> hashes) {
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).strip();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+
+            int sep = line.lastIndexOf(':');
+            String client = sep > 0 ? line.substring(0, sep).strip() : "";
+            String hex = line.substring(sep + 1).strip();
+            if (client.isEmpty() || hex.length() != HASH_LENGTH * 2) {
+                throw new IllegalArgumentException("invalid API key entry at line " + (i + 1));
+            }
+            try {
+                hashes.add(HexFormat.of().parseHex(hex));
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException("invalid API key hash at line " + (i + 1));
+            }
+            clients.add(client);
+        }
+    }
+
+    // MessageDigest nuevo por llamada: getInstance es barato y no deja un digest por hilo (virtual) en un ThreadLocal
+    static byte[] sha256(String key) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static Authentication authentication(String client) {
+        return UsernamePasswordAuthenticationToken.authenticated(client, null, AUTHORITIES);
+    }
+
+    @Override
+    public void start() {
+        if (file == null || reloadInterval.isZero()) return;
+        reloader = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "api-key-reload");
+            t.setDaemon(true);
+            return t;
+        });
+        long interval = reloadInterval.toMillis();
+        reloader.scheduleWithFixedDelay(this::reload, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        if (reloader != null) reloader.shutdownNow();
+        reloader = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return reloader != null;
+    }
+
+    // direccionamiento abierto sobre los primeros 8 bytes del hash; la coincidencia final compara
+    // los 32 bytes con MessageDigest.isEqual (tiempo constante). Inmutable: una recarga la reemplaza entera
+    private static final class Table {
+        private final long[] tags;
+        private final byte[][] hashes;
+        private final String[] clientIds;
+        private final int mask;
+        private final int size;
+        private final Set<String> clients;
+
+        Table(List<String> clients, List<byte[]> entries) {
+            int capacity = Integer.highestOneBit(Math.max(entries.size(), 1) * 2 - 1) << 1;
+            this.tags = new long[capacity];
+            this.hashes = new byte[capacity][];
+            this.clientIds = new String[capacity];
+            this.mask = capacity - 1;
+            this.size = entries.size();
+            this.clients = Set.copyOf(clients);
+
+            for (int i = 0; i < entries.size(); i++) {
+                byte[] hash = entries.get(i);
+                long tag = tag(hash);
+                int slot = (int) tag & mask;
+                while (hashes[slot] != null) {
+                    if (MessageDigest.isEqual(hashes[slot], hash)) {
+                        throw new IllegalArgumentException("duplicate API key for client " + clients.get(i));
+                    }
+                    slot = (slot + 1) & mask;
+                }
+                tags[slot] = tag;
+                hashes[slot] = hash;
+                clientIds[slot] = clients.get(i);
+            }
+        }
+
+        String find(byte[] hash) {
+            long tag = tag(hash);
+            int slot = (int) tag & mask;
+            while (hashes[slot] != null) {
+                if (tags[slot] == tag && MessageDigest.isEqual(hashes[slot], hash)) return clientIds[slot];
+                slot = (slot + 1) & mask;
+            }
+            return null;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        int size() {
+            return size;
+        }
+
+        Set<String> clients() {
+            return clients;
+        }
+
+        private static long tag(byte[] hash) {
+            long tag = 0;
+            for (int i = 0; i < Long.BYTES; i++) tag = (tag << 8) | (hash[i] & 0xFF);
+            return tag;
+        }
+    }
+}
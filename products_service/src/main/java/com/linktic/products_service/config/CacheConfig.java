@@ -0,0 +1,13 @@
+package com.linktic.products_service.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+// la caché envuelve a la transacción: un hit no abre transacción ni toma conexión del pool
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class CacheConfig {
+
+    public static final String PRODUCTS_CACHE = "products";
+}
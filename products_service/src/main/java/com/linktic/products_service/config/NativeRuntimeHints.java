@@ -0,0 +1,56 @@
+package com.linktic.products_service.config;
+
+import com.linktic.products_service.domain.model.Product;
+import com.linktic.products_service.infrastructure.mapper.ProductMapperImpl;
+import com.linktic.products_service.web.dto.jsonapi.JsonApiBulkMeta;
+import com.linktic.products_service.web.dto.jsonapi.JsonApiBulkRequest;
+import com.linktic.products_service.web.dto.jsonapi.JsonApiBulkResponse;
+import com.linktic.products_service.web.dto.jsonapi.JsonApiBulkResult;
+import com.linktic.products_service.web.dto.jsonapi.JsonApiData;
+import com.linktic.products_service.web.dto.jsonapi.JsonApiError;
+import com.linktic.products_service.web.dto.jsonapi.JsonApiErrorResponse;
+import com.linktic.products_service.web.dto.jsonapi.JsonApiLinks;
+import com.linktic.products_service.web.dto.jsonapi.JsonApiListResponse;
+import com.linktic.products_service.web.dto.jsonapi.JsonApiMeta;
+import com.linktic.products_service.web.dto.jsonapi.JsonApiRequest;
+import com.linktic.products_service.web.dto.jsonapi.JsonApiResponse;
+import com.linktic.products_service.web.dto.jsonapi.ProductDto;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+// native image: lo que AOT no deduce de las firmas de los controladores ni de las definiciones de beans
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+    private final BindingReflectionHintsRegistrar bindings = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        // JSON:API: los genéricos (JsonApiData<ProductDto>) se borran en las firmas, el NDJSON del bulk se lee
+        // con un JavaType armado en runtime y los errores se escriben desde el handler y los filtros
+        bindings.registerReflectionHints(hints.reflection(),
+                JsonApiData.class, JsonApiRequest.class, JsonApiResponse.class, JsonApiListResponse.class,
+                JsonApiBulkRequest.class, JsonApiBulkResponse.class, JsonApiBulkResult.class, JsonApiBulkMeta.class,
+                JsonApiError.class, JsonApiErrorResponse.class, JsonApiLinks.class, JsonApiMeta.class,
+                ProductDto.class);
+
+        // constructor expressions (select new / cb.construct): Hibernate busca el constructor de Product por reflexión
+        hints.reflection().registerType(Product.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+
+        // MapStruct: el procesador genera ProductMapperImpl en compilación y AOT lo crea como bean sin reflexión;
+        // el constructor queda registrado para Mappers.getMapper
+        hints.reflection().registerType(ProductMapperImpl.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+
+        // Flyway lista classpath:db/migration en runtime
+        hints.resources().registerPattern("db/migration/*.sql");
+
+        // logback-spring.xml: Joran instancia el encoder y el conversor por nombre y llama a sus setters
+        for (String type : new String[] {
+                "net.logstash.logback.encoder.LogstashEncoder",
+                "net.logstash.logback.stacktrace.ShortenedThrowableConverter" }) {
+            hints.reflection().registerTypeIfPresent(classLoader, type,
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.linktic.products_service.config;
+
+import com.linktic.products_service.web.dto.jsonapi.JsonApiError;
+import com.linktic.products_service.web.dto.jsonapi.JsonApiErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+// traduce X-Request-Deadline / grpc-timeout a RequestDeadline durante la petición. Si el llamante ya se
+// rindió (deadline vencido al llegar) se responde 504 sin autenticar ni tocar la base
+public class RequestDeadlineFilter extends OncePerRequestFilter {
+    private final ObjectMapper objectMapper;
+    private final LongSupplier nanoClock;
+    private final LongSupplier millisClock;
+
+    public RequestDeadlineFilter() {
+        this(new ObjectMapper());
+    }
+
+    public RequestDeadlineFilter(ObjectMapper objectMapper) {
+        this(objectMapper, System::nanoTime, System::currentTimeMillis);
+    }
+
+    RequestDeadlineFilter(ObjectMapper objectMapper, LongSupplier nanoClock, LongSupplier millisClock) {
+        this.objectMapper = objectMapper;
+        this.nanoClock = nanoClock;
+        this.millisClock = millisClock;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String absolute = request.getHeader(RequestDeadline.HEADER);
+        String relative = request.getHeader(RequestDeadline.GRPC_TIMEOUT_HEADER);
+        if (absolute == null && relative == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long now = nanoClock.getAsLong();
+        long deadline;
+        try {
+            deadline = RequestDeadline.parse(absolute, relative, now, millisClock.getAsLong());
+        } catch (IllegalArgumentException ex) {
+            writeError(response, HttpStatus.BAD_REQUEST, ex.getMessage());
+            return;
+        }
+        if (deadline - now <= 0) {
+            writeError(response, HttpStatus.GATEWAY_TIMEOUT, "Request deadline exceeded");
+            return;
+        }
+
+        RequestDeadline.set(deadline);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestDeadline.clear();
+        }
+    }
+
+    // el detalle de un 400 repite el header tal como llegó: Jackson lo escapa (comillas, barras, controles)
+    private void writeError(HttpServletResponse response, HttpStatus status, String detail) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType("application/vnd.api+json");
+        objectMapper.writeValue(response.getWriter(), new JsonApiErrorResponse(List.of(
+                new JsonApiError(String.valueOf(status.value()), status.getReasonPhrase(), detail))));
+    }
+}
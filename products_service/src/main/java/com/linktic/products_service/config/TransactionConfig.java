@@ -0,0 +1,19 @@
+package com.linktic.products_service.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@Configuration(proxyBeanMethods = false)
+public class TransactionConfig {
+
+    // reemplaza al JpaTransactionManager de Spring Boot (misma personalización) por uno que respeta RequestDeadline
+    @Bean
+    public PlatformTransactionManager transactionManager(ObjectProvider<TransactionManagerCustomizers> customizers) {
+        RequestDeadlineTransactionManager transactionManager = new RequestDeadlineTransactionManager();
+        customizers.ifAvailable(c -> c.customize(transactionManager));
+        return transactionManager;
+    }
+}
@@ -0,0 +1,12 @@
+package com.linktic.products_service.domain.event;
+
+import java.math.BigDecimal;
+
+public record ProductChangedEvent(
+        Type type,
+        Long id,
+        String name,
+        BigDecimal price
+) {
+    public enum Type { CREATED, UPDATED, DELETED }
+}
@@ -0,0 +1,7 @@
+package com.linktic.products_service.domain.model;
+
+public enum CountStrategy {
+    EXACT,
+    ESTIMATED,
+    CACHED
+}
@@ -0,0 +1,14 @@
+package com.linktic.products_service.domain.model;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+// atributos que un cliente puede pedir con fields[products]
+public enum ProductField {
+    NAME,
+    PRICE;
+
+    public static Set<ProductField> all() {
+        return EnumSet.allOf(ProductField.class);
+    }
+}
@@ -0,0 +1,11 @@
+package com.linktic.products_service.domain.model;
+
+// resultado de un ítem de la carga masiva; index es la posición en el lote recibido
+public record ProductUpsertResult(int index, Status status, Product product, String detail) {
+
+    public enum Status { CREATED, UPDATED, UNCHANGED, INVALID, DUPLICATE }
+
+    public boolean rejected() {
+        return status == Status.INVALID || status == Status.DUPLICATE;
+    }
+}
@@ -1,16 +1,32 @@
 package com.linktic.products_service.domain.repository;
 
+import com.linktic.products_service.domain.model.CountStrategy;
 import com.linktic.products_service.domain.model.Product;
+import com.linktic.products_service.domain.model.ProductField;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 public interface ProductRepository {
     Product save(Product product);
     Optional<Product> findById(Long id);
     void deleteById(Long id);
+    List<Product> findAllById(Collection<Long> ids);
+    List<Product> findAllByName(Collection<String> names);
+    List<Product> upsertAll(List<Product> products, LocalDateTime now);
     List<Product> findAll();
+    Stream<Product> streamAll();
     Page<Product> findAllPaginatedList(Pageable pageable);
+    Page<Product> findAllPaginatedList(Pageable pageable, Set<ProductField> fields);
+    CountStrategy countStrategy();
+    boolean existsById(Long id);
+    boolean updateIfVersion(Long id, String name, BigDecimal price, LocalDateTime version, LocalDateTime updatedAt);
+    List<Product> search(String query, BigDecimal minPrice, BigDecimal maxPrice, int limit);
 }
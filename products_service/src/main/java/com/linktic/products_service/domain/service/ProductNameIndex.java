@@ -0,0 +1,90 @@
+package com.linktic.products_service.domain.service;
+
+import com.linktic.products_service.domain.event.ProductChangedEvent;
+import com.linktic.products_service.domain.model.Product;
+import com.linktic.products_service.domain.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+@Component
+public class ProductNameIndex {
+    private static final Logger log = LoggerFactory.getLogger(ProductNameIndex.class);
+
+    // clave lower(name) + '\0' + id: orden alfabético y nombres repetidos en minúsculas no colisionan
+    private final NavigableMap<String, Product> byName = new ConcurrentSkipListMap<>();
+    private final Map<Long, String> keyById = new ConcurrentHashMap<>();
+    private final ProductRepository repository;
+    private volatile boolean ready;
+
+    public ProductNameIndex(ProductRepository repository) {
+        this.repository = repository;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public List<Product> prefix(String prefix, BigDecimal minPrice, BigDecimal maxPrice, int limit) {
+        String from = normalize(prefix);
+        List<Product> result = new ArrayList<>(limit);
+        for (Map.Entry<String, Product> e : byName.tailMap(from, true).entrySet()) {
+            if (result.size() == limit || !e.getKey().startsWith(from)) break;
+            Product p = e.getValue();
+            if (minPrice != null && p.getPrice().compareTo(minPrice) < 0) continue;
+            if (maxPrice != null && p.getPrice().compareTo(maxPrice) > 0) continue;
+            result.add(p);
+        }
+        return result;
+    }
+
+    @Transactional(readOnly = true)
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try (Stream<Product> products = repository.streamAll()) {
+            products.forEach(p -> put(p.getId(), p.getName(), p.getPrice()));
+        }
+        ready = true;
+        log.info("Product name index loaded: {} products", keyById.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(ProductChangedEvent event) {
+        if (event.type() == ProductChangedEvent.Type.DELETED) {
+            keyById.computeIfPresent(event.id(), (id, key) -> {
+                byName.remove(key);
+                return null;
+            });
+        } else {
+            put(event.id(), event.name(), event.price());
+        }
+    }
+
+    private void put(Long id, String name, BigDecimal price) {
+        if (id == null || name == null) return;
+        String key = normalize(name) + '\u0000' + id;
+        keyById.compute(id, (k, previous) -> {
+            if (previous != null && !previous.equals(key)) byName.remove(previous);
+            byName.put(key, new Product(id, name, price, null, null));
+            return key;
+        });
+    }
+
+    private static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,37 +1,89 @@
 package com.linktic.products_service.domain.service;
 
+import com.linktic.products_service.config.CacheConfig;
+import com.linktic.products_service.domain.event.ProductChangedEvent;
+import com.linktic.products_service.domain.exception.PreconditionFailedException;
+import com.linktic.products_service.domain.model.CountStrategy;
 import com.linktic.products_service.domain.model.Product;
+import com.linktic.products_service.domain.model.ProductField;
+import com.linktic.products_service.domain.model.ProductUpsertResult;
 import com.linktic.products_service.domain.repository.ProductRepository;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class ProductService {
+    private static final int MIN_SEARCH_LENGTH = 3;
+    private static final int MAX_IDS_PER_REQUEST = 100;
+    public static final int MAX_BULK_ITEMS = 5000;
+    // products.name VARCHAR(120), products.price NUMERIC(12,2)
+    private static final int MAX_NAME_LENGTH = 120;
+    private static final int MAX_PRICE_INTEGER_DIGITS = 10;
+
     private final ProductRepository repository;
+    private final ApplicationEventPublisher events;
+    private final ProductNameIndex nameIndex;
 
-    public ProductService(ProductRepository repository) { this.repository = repository; }
+    public ProductService(ProductRepository repository, ApplicationEventPublisher events, ProductNameIndex nameIndex) {
+        this.repository = repository;
+        this.events = events;
+        this.nameIndex = nameIndex;
+    }
 
     public Product create(String name, BigDecimal price) {
         if (price == null || price.compareTo(BigDecimal.ZERO) <= 0) {
             throw new IllegalArgumentException("price must be > 0");
         }
-        Product p = new Product(null, name, price, LocalDateTime.now(), null);
-        return repository.save(p);
+        Product p = new Product(null, name, price, now(), null);
+        Product saved = repository.save(p);
+        publish(ProductChangedEvent.Type.CREATED, saved);
+        return saved;
     }
 
+    // invalidación tras el commit en ProductCacheInvalidator (update/delete publican ProductChangedEvent)
+    @Cacheable(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#id", sync = true)
+    @Transactional(readOnly = true)
     public Product get(Long id) {
         return repository.findById(id).orElseThrow(() -> new NoSuchElementException("Product not found."));
     }
 
+    // multi-get para clientes que resuelven varios productos en una llamada (p. ej. include=product en inventario);
+    // los ids inexistentes simplemente no aparecen
+    @Transactional(readOnly = true)
+    public List<Product> getAll(Collection<Long> ids) {
+        if (ids.isEmpty()) throw new IllegalArgumentException("at least one id is required");
+        if (ids.size() > MAX_IDS_PER_REQUEST) {
+            throw new IllegalArgumentException("at most " + MAX_IDS_PER_REQUEST + " ids per request");
+        }
+        return repository.findAllById(ids).stream()
+                .sorted(Comparator.comparing(Product::getId))
+                .toList();
+    }
+
     public Product update(Long id, String name, BigDecimal price) {
         Product current = get(id);
         if (name != null && !name.isBlank()) current.setName(name);
@@ -39,21 +91,174 @@ public class ProductService {
             if (price.compareTo(BigDecimal.ZERO) <= 0) throw new IllegalArgumentException("Price must be > 0");
             current.setPrice(price);
         }
-        current.setUpdatedAt(LocalDateTime.now());
-        return repository.save(current);
+        current.setUpdatedAt(now());
+        Product saved = repository.save(current);
+        publish(ProductChangedEvent.Type.UPDATED, saved);
+        return saved;
+    }
+
+    // PUT con If-Match: actualización condicional a la versión (coalesce(updatedAt, createdAt)) que vio el cliente
+    public Product update(Long id, String name, BigDecimal price, LocalDateTime expectedVersion) {
+        if (price != null && price.compareTo(BigDecimal.ZERO) <= 0) throw new IllegalArgumentException("Price must be > 0");
+        String newName = name != null && !name.isBlank() ? name : null;
+        LocalDateTime updatedAt = now();
+        if (!repository.updateIfVersion(id, newName, price, expectedVersion, updatedAt)) {
+            if (!repository.existsById(id)) throw new NoSuchElementException("Product not found.");
+            throw new PreconditionFailedException("Product was modified by another request; reload it and retry.");
+        }
+        // la fila tal como quedó: createdAt y el precio con la escala de la columna
+        Product updated = repository.findById(id).orElseThrow(() -> new NoSuchElementException("Product not found."));
+        publish(ProductChangedEvent.Type.UPDATED, updated);
+        return updated;
+    }
+
+    // carga masiva por nombre: valida todo el lote en una pasada, detecta nombres repetidos dentro del lote
+    // y los ya existentes con una sola consulta, y escribe con INSERT ... ON CONFLICT (name) por bloques.
+    // Un ítem inválido no aborta el lote: queda rechazado en su resultado
+    public List<ProductUpsertResult> upsertAll(List<Product> items) {
+        if (items.isEmpty()) throw new IllegalArgumentException("at least one product is required");
+        if (items.size() > MAX_BULK_ITEMS) {
+            throw new IllegalArgumentException("at most " + MAX_BULK_ITEMS + " products per request");
+        }
+        ProductUpsertResult[] results = new ProductUpsertResult[items.size()];
+        Map<String, Integer> indexByName = new LinkedHashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            Product item = items.get(i);
+            String error = validateBulkItem(item);
+            if (error != null) {
+                results[i] = new ProductUpsertResult(i, ProductUpsertResult.Status.INVALID, item, error);
+                continue;
+            }
+            Integer first = indexByName.putIfAbsent(item.getName(), i);
+            if (first != null) {
+                results[i] = new ProductUpsertResult(i, ProductUpsertResult.Status.DUPLICATE, item,
+                        "duplicate name in batch, first at index " + first);
+            }
+        }
+
+        Map<String, Product> existing = byName(repository.findAllByName(indexByName.keySet()));
+        List<Product> toWrite = new ArrayList<>();
+        indexByName.forEach((name, i) -> {
+            Product current = existing.get(name);
+            if (current != null && current.getPrice().compareTo(items.get(i).getPrice()) == 0) {
+                results[i] = new ProductUpsertResult(i, ProductUpsertResult.Status.UNCHANGED, current, null);
+            } else {
+                toWrite.add(new Product(null, name, items.get(i).getPrice(), null, null));
+            }
+        });
+
+        // RETURNING decide el estado: una alta concurrente entre la consulta y el upsert termina como UPDATED
+        for (Product written : repository.upsertAll(toWrite, now())) {
+            int i = indexByName.get(written.getName());
+            boolean created = written.getUpdatedAt() == null;
+            results[i] = new ProductUpsertResult(i,
+                    created ? ProductUpsertResult.Status.CREATED : ProductUpsertResult.Status.UPDATED, written, null);
+            publish(created ? ProductChangedEvent.Type.CREATED : ProductChangedEvent.Type.UPDATED, written);
+        }
+
+        // ON CONFLICT no tocó la fila: otro proceso dejó el mismo precio entre la consulta y el upsert
+        List<String> untouched = toWrite.stream()
+                .map(Product::getName)
+                .filter(name -> results[indexByName.get(name)] == null)
+                .toList();
+        if (!untouched.isEmpty()) {
+            byName(repository.findAllByName(untouched)).forEach((name, current) -> {
+                int i = indexByName.get(name);
+                results[i] = new ProductUpsertResult(i, ProductUpsertResult.Status.UNCHANGED, current, null);
+            });
+        }
+        return Arrays.asList(results);
     }
 
-    public void delete(Long id) { repository.deleteById(id); }
+    public void delete(Long id) {
+        repository.deleteById(id);
+        events.publishEvent(new ProductChangedEvent(ProductChangedEvent.Type.DELETED, id, null, null));
+    }
 
+    @Transactional(readOnly = true)
     public List<Product> list() {
         return repository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    public void forEach(Consumer<Product> action) {
+        try (Stream<Product> products = repository.streamAll()) {
+            products.forEach(action);
+        }
+    }
+
+    @Transactional(readOnly = true)
     public Page<Product> paginatedList(int pageNumber, int pageSize) {
+        return paginatedList(pageNumber, pageSize, ProductField.all());
+    }
+
+    // fields[products]: solo se consultan las columnas pedidas
+    @Transactional(readOnly = true)
+    public Page<Product> paginatedList(int pageNumber, int pageSize, Set<ProductField> fields) {
         int pn = Math.max(pageNumber, 1) - 1;
         int ps = Math.min(Math.max(pageSize, 1), 100);
         Pageable pageable = PageRequest.of(pn, ps);
-        return repository.findAllPaginatedList(pageable);
+        if (fields.containsAll(ProductField.all())) return repository.findAllPaginatedList(pageable);
+        return repository.findAllPaginatedList(pageable, fields);
+    }
+
+    public CountStrategy countStrategy() {
+        return repository.countStrategy();
+    }
+
+    @Transactional(readOnly = true)
+    public List<Product> search(String query, BigDecimal minPrice, BigDecimal maxPrice, int limit) {
+        String q = normalizeQuery(query);
+        if (q.length() < MIN_SEARCH_LENGTH) {
+            // con menos de 3 caracteres no hay trigramas y el índice no sirve
+            throw new IllegalArgumentException("q must have at least " + MIN_SEARCH_LENGTH + " characters; use mode=autocomplete for shorter prefixes");
+        }
+        validatePriceRange(minPrice, maxPrice);
+        return repository.search(q, minPrice, maxPrice, limit);
+    }
+
+    // se sirve desde memoria: sin transacción para no tomar una conexión del pool
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<Product> autocomplete(String prefix, BigDecimal minPrice, BigDecimal maxPrice, int limit) {
+        String q = normalizeQuery(prefix);
+        if (q.isEmpty()) throw new IllegalArgumentException("q is required");
+        validatePriceRange(minPrice, maxPrice);
+        if (!nameIndex.isReady()) {
+            return repository.search(q, minPrice, maxPrice, limit);
+        }
+        return nameIndex.prefix(q, minPrice, maxPrice, limit);
+    }
+
+    // Postgres guarda microsegundos: truncar evita que la versión en memoria difiera de la persistida
+    private static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    private static String normalizeQuery(String query) {
+        return query == null ? "" : query.strip();
+    }
+
+    private static void validatePriceRange(BigDecimal minPrice, BigDecimal maxPrice) {
+        if (minPrice != null && maxPrice != null && minPrice.compareTo(maxPrice) > 0) {
+            throw new IllegalArgumentException("minPrice must be <= maxPrice");
+        }
+    }
+
+    // lo mismo que rechazaría la base, para que un ítem no aborte todo el lote
+    private static String validateBulkItem(Product item) {
+        if (item.getName() == null || item.getName().isBlank()) return "name is required";
+        if (item.getName().length() > MAX_NAME_LENGTH) return "name must be at most " + MAX_NAME_LENGTH + " characters";
+        if (item.getPrice() == null || item.getPrice().compareTo(BigDecimal.ZERO) <= 0) return "price must be > 0";
+        if (item.getPrice().precision() - item.getPrice().scale() > MAX_PRICE_INTEGER_DIGITS) return "price is too large";
+        return null;
+    }
+
+    private static Map<String, Product> byName(List<Product> products) {
+        return products.stream().collect(Collectors.toMap(Product::getName, Function.identity()));
+    }
+
+    private void publish(ProductChangedEvent.Type type, Product product) {
+        events.publishEvent(new ProductChangedEvent(type, product.getId(), product.getName(), product.getPrice()));
     }
 
 }
@@ -0,0 +1,79 @@
+package com.linktic.products_service.infrastructure.cache;
+
+import com.linktic.products_service.config.CacheConfig;
+import com.linktic.products_service.domain.event.ProductChangedEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+@Component
+public class ProductCacheInvalidator {
+    static final String CHANNEL = "products_cache";
+
+    private final CacheManager cacheManager;
+    private final JdbcTemplate jdbc;
+
+    public ProductCacheInvalidator(CacheManager cacheManager, JdbcTemplate jdbc) {
+        this.cacheManager = cacheManager;
+        this.jdbc = jdbc;
+    }
+
+    // NOTIFY dentro de la misma transacción: Postgres solo lo entrega a los otros nodos si hay commit.
+    // Los ids se juntan por transacción y salen en una sola sentencia antes del commit: un upsert masivo
+    // de miles de filas es un viaje más a la base, no uno por producto
+    @EventListener
+    public void notifyPeers(ProductChangedEvent event) {
+        if (event.type() == ProductChangedEvent.Type.CREATED) return;
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+        PendingNotification pending = (PendingNotification) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingNotification();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.ids.add(event.id());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void evictLocal(ProductChangedEvent event) {
+        if (event.type() == ProductChangedEvent.Type.CREATED) return;
+        evict(event.id());
+    }
+
+    public void evict(Long id) {
+        Cache cache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+        if (cache != null) cache.evict(id);
+    }
+
+    public void evictAll() {
+        Cache cache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+        if (cache != null) cache.clear();
+    }
+
+    // una notificación por id (el listener no cambia); Postgres descarta las repetidas dentro de la transacción
+    private class PendingNotification implements TransactionSynchronization {
+        private final Set<Long> ids = new LinkedHashSet<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            jdbc.query("SELECT count(pg_notify(?, id::text)) FROM unnest(?) AS id", ps -> {
+                ps.setString(1, CHANNEL);
+                ps.setArray(2, ps.getConnection().createArrayOf("bigint", ids.toArray()));
+            }, (ResultSetExtractor<Void>) rs -> null);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ProductCacheInvalidator.this);
+        }
+    }
+}
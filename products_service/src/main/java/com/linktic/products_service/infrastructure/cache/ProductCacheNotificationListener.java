@@ -0,0 +1,135 @@
+package com.linktic.products_service.infrastructure.cache;
+
+import com.linktic.products_service.infrastructure.persistence.routing.ReplicaLagGuard;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Optional;
+
+@Component
+public class ProductCacheNotificationListener implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(ProductCacheNotificationListener.class);
+    private static final int POLL_TIMEOUT_MS = 500;
+    private static final long RETRY_DELAY_MS = 2000;
+
+    private final DataSource dataSource;
+    private final ProductCacheInvalidator invalidator;
+    private final ReplicaLagGuard replicaLagGuard;
+    private final boolean enabled;
+    private volatile boolean running;
+    private Thread worker;
+
+    // el LISTEN ocupa su conexión mientras vive el proceso: va por una conexión propia, fuera del pool de
+    // Hikari, para no quitarle un slot al tráfico (ni contar en el límite de concurrencia o el ruteo a réplica)
+    @Autowired
+    public ProductCacheNotificationListener(ObjectProvider<JdbcConnectionDetails> connectionDetails,
+                                            DataSourceProperties properties, ProductCacheInvalidator invalidator,
+                                            Optional<ReplicaLagGuard> replicaLagGuard,
+                                            @Value("${products.cache.notify.enabled:true}") boolean enabled) {
+        this(unpooled(connectionDetails.getIfAvailable(), properties), invalidator, replicaLagGuard, enabled);
+    }
+
+    ProductCacheNotificationListener(DataSource dataSource, ProductCacheInvalidator invalidator,
+                                     Optional<ReplicaLagGuard> replicaLagGuard, boolean enabled) {
+        this.dataSource = dataSource;
+        this.invalidator = invalidator;
+        this.replicaLagGuard = replicaLagGuard.orElse(null);
+        this.enabled = enabled;
+    }
+
+    // JdbcConnectionDetails cubre también @ServiceConnection; con ReadReplicaConfig no existe y vale spring.datasource
+    private static DataSource unpooled(JdbcConnectionDetails details, DataSourceProperties properties) {
+        DataSourceBuilder<SimpleDriverDataSource> builder = DataSourceBuilder.create().type(SimpleDriverDataSource.class);
+        if (details != null) {
+            return builder.url(details.getJdbcUrl()).username(details.getUsername()).password(details.getPassword())
+                    .driverClassName(details.getDriverClassName()).build();
+        }
+        return builder.url(properties.determineUrl()).username(properties.determineUsername())
+                .password(properties.determinePassword()).driverClassName(properties.determineDriverClassName()).build();
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) return;
+        running = true;
+        worker = new Thread(this::listen, "products-cache-listener");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread w = worker;
+        if (w == null) return;
+        w.interrupt();
+        // la conexión del LISTEN se cierra antes de que Hikari se suspenda (checkpoint de CRaC o apagado)
+        try {
+            w.join(2L * POLL_TIMEOUT_MS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection conn = dataSource.getConnection()) {
+                try (Statement st = conn.createStatement()) {
+                    st.execute("LISTEN " + ProductCacheInvalidator.CHANNEL);
+                }
+                // lo que se haya notificado mientras no escuchábamos se perdió: vaciar
+                invalidator.evictAll();
+                PGConnection pg = conn.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pg.getNotifications(POLL_TIMEOUT_MS);
+                    if (notifications == null) continue;
+                    for (PGNotification n : notifications) handle(n.getParameter());
+                }
+            } catch (SQLException ex) {
+                if (!running) return;
+                log.warn("Products cache LISTEN connection lost, retrying in {} ms: {}", RETRY_DELAY_MS, ex.getMessage());
+                sleepBeforeRetry();
+            }
+        }
+    }
+
+    void handle(String payload) {
+        try {
+            Long id = Long.valueOf(payload);
+            // otra instancia escribió: el próximo miss no debe recargar desde una réplica atrasada
+            if (replicaLagGuard != null) replicaLagGuard.recordWrite();
+            invalidator.evict(id);
+        } catch (NumberFormatException ex) {
+            log.warn("Ignoring malformed products cache notification: {}", payload);
+        }
+    }
+
+    private void sleepBeforeRetry() {
+        try {
+            Thread.sleep(RETRY_DELAY_MS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
@@ -1,25 +1,42 @@
 package com.linktic.products_service.infrastructure.persistence.adapter;
 
+import com.linktic.products_service.domain.model.CountStrategy;
 import com.linktic.products_service.domain.model.Product;
+import com.linktic.products_service.domain.model.ProductField;
 import com.linktic.products_service.domain.repository.ProductRepository;
 import com.linktic.products_service.infrastructure.mapper.ProductMapper;
 import com.linktic.products_service.infrastructure.persistence.entity.ProductEntity;
 import com.linktic.products_service.infrastructure.persistence.jpa.ProductJpaRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
 public class ProductRepositoryAdapter implements ProductRepository {
+    static final int UPSERT_CHUNK = 1000;
+
     private final ProductJpaRepository jpa;
     private final ProductMapper mapper;
+    private final RowCounter rowCounter;
 
-    public ProductRepositoryAdapter(ProductJpaRepository jpa, ProductMapper mapper) {
+    public ProductRepositoryAdapter(ProductJpaRepository jpa, ProductMapper mapper,
+                                    @Value("${pagination.count-strategy:EXACT}") CountStrategy countStrategy,
+                                    @Value("${pagination.count-cache-ttl:30s}") Duration countCacheTtl) {
         this.jpa = jpa;
         this.mapper = mapper;
+        this.rowCounter = new RowCounter(countStrategy, countCacheTtl, jpa::count, jpa::estimateRowCount);
     }
 
     @Override
@@ -38,14 +55,98 @@ public class ProductRepositoryAdapter implements ProductRepository {
         jpa.deleteById(id);
     }
 
+    @Override
+    public List<Product> findAllById(Collection<Long> ids) {
+        return jpa.findAllById(ids).stream().map(mapper::toDomain).toList();
+    }
+
+    @Override
+    public List<Product> findAllByName(Collection<String> names) {
+        if (names.isEmpty()) return List.of();
+        return jpa.findAllByName(names);
+    }
+
+    // un INSERT ... ON CONFLICT por bloque de UPSERT_CHUNK filas
+    @Override
+    public List<Product> upsertAll(List<Product> products, LocalDateTime now) {
+        List<Product> written = new ArrayList<>(products.size());
+        for (int from = 0; from < products.size(); from += UPSERT_CHUNK) {
+            written.addAll(jpa.upsertAll(products.subList(from, Math.min(from + UPSERT_CHUNK, products.size())), now));
+        }
+        return written;
+    }
+
     @Override
     public List<Product> findAll() {
         return jpa.findAll().stream().map(mapper::toDomain).toList();
     }
 
+    @Override
+    public Stream<Product> streamAll() {
+        return jpa.streamAll();
+    }
+
     @Override
     public Page<Product> findAllPaginatedList(Pageable pageable) {
-        return jpa.findAll(pageable).map(mapper::toDomain);
+        return page(jpa.findProducts(pageable.getSort(), pageable.getOffset(), pageable.getPageSize() + 1), pageable);
+    }
+
+    @Override
+    public Page<Product> findAllPaginatedList(Pageable pageable, Set<ProductField> fields) {
+        return page(jpa.findProjected(properties(fields), pageable.getSort(),
+                pageable.getOffset(), pageable.getPageSize() + 1), pageable);
+    }
+
+    @Override
+    public CountStrategy countStrategy() {
+        return rowCounter.strategy();
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return jpa.existsById(id);
+    }
+
+    @Override
+    public boolean updateIfVersion(Long id, String name, BigDecimal price, LocalDateTime version, LocalDateTime updatedAt) {
+        return jpa.updateIfVersion(id, name, price, version, updatedAt) == 1;
+    }
+
+    @Override
+    public List<Product> search(String query, BigDecimal minPrice, BigDecimal maxPrice, int limit) {
+        String literal = escapeLike(query);
+        return jpa.search(query, "%" + literal + "%", literal + "%", minPrice, maxPrice, limit).stream()
+                .map(mapper::toDomain)
+                .toList();
+    }
+
+    // rows trae una fila de más: indica si hay página siguiente sin depender del conteo
+    private Page<Product> page(List<Product> rows, Pageable pageable) {
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        List<Product> content = hasNext ? rows.subList(0, pageable.getPageSize()) : rows;
+        return new PageImpl<>(content, pageable, total(pageable, content.size(), hasNext));
+    }
+
+    // igual que PageableExecutionUtils: sin conteo cuando la página ya delimita el total
+    private long total(Pageable pageable, int size, boolean hasNext) {
+        if (!hasNext && (size > 0 || pageable.getOffset() == 0)) return pageable.getOffset() + size;
+        long total = rowCounter.count();
+        // un total estimado/cacheado no puede ocultar páginas que sí existen
+        return hasNext ? Math.max(total, pageable.getOffset() + size + 1) : total;
+    }
+
+    private static List<String> properties(Set<ProductField> fields) {
+        return fields.stream()
+                .map(field -> switch (field) {
+                    case NAME -> "name";
+                    case PRICE -> "price";
+                })
+                .toList();
+    }
+
+    // el texto del usuario se busca literal: % y _ no actúan como comodines
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
     }
 
 }
@@ -2,6 +2,47 @@ package com.linktic.products_service.infrastructure.persistence.jpa;
 
 import com.linktic.products_service.infrastructure.persistence.entity.ProductEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface ProductJpaRepository extends JpaRepository<ProductEntity, Long> {
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ProductJpaRepository extends JpaRepository<ProductEntity, Long>, ProductJpaRepositoryCustom {
+
+    @Query(value = "SELECT CAST(reltuples AS BIGINT) FROM pg_class WHERE oid = CAST('products' AS regclass)",
+            nativeQuery = true)
+    Long estimateRowCount();
+
+    // idx_products_name_trgm resuelve tanto el ILIKE como el operador de similitud (%);
+    // primero coincidencias por prefijo, luego por similitud trigram
+    @Query(value = """
+            SELECT p.* FROM products p
+            WHERE (p.name ILIKE :contains OR p.name % :q)
+              AND (CAST(:minPrice AS NUMERIC) IS NULL OR p.price >= CAST(:minPrice AS NUMERIC))
+              AND (CAST(:maxPrice AS NUMERIC) IS NULL OR p.price <= CAST(:maxPrice AS NUMERIC))
+            ORDER BY (p.name ILIKE :startsWith) DESC, similarity(p.name, :q) DESC, p.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<ProductEntity> search(@Param("q") String q,
+                               @Param("contains") String contains,
+                               @Param("startsWith") String startsWith,
+                               @Param("minPrice") BigDecimal minPrice,
+                               @Param("maxPrice") BigDecimal maxPrice,
+                               @Param("limit") int limit);
+
+    // If-Match: comprobación de versión y escritura en una sola sentencia, sin leer antes la fila
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update ProductEntity p
+               set p.name = coalesce(:name, p.name), p.price = coalesce(:price, p.price), p.updatedAt = :updatedAt
+             where p.id = :id and coalesce(p.updatedAt, p.createdAt) = :version
+            """)
+    int updateIfVersion(@Param("id") Long id,
+                        @Param("name") String name,
+                        @Param("price") BigDecimal price,
+                        @Param("version") LocalDateTime version,
+                        @Param("updatedAt") LocalDateTime updatedAt);
 }
@@ -0,0 +1,22 @@
+package com.linktic.products_service.infrastructure.persistence.jpa;
+
+import com.linktic.products_service.domain.model.Product;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+// lecturas de listados: proyectan directo al modelo de dominio, sin entidades administradas ni mapper
+public interface ProductJpaRepositoryCustom {
+    Stream<Product> streamAll();
+
+    List<Product> findProducts(Sort sort, long offset, int limit);
+
+    List<Product> findProjected(Collection<String> attributes, Sort sort, long offset, int limit);
+
+    List<Product> findAllByName(Collection<String> names);
+
+    List<Product> upsertAll(List<Product> products, LocalDateTime now);
+}
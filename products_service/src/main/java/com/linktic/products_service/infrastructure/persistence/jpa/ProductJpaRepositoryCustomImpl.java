@@ -0,0 +1,142 @@
+package com.linktic.products_service.infrastructure.persistence.jpa;
+
+import com.linktic.products_service.domain.model.Product;
+import com.linktic.products_service.infrastructure.persistence.entity.ProductEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.NativeQuery;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+class ProductJpaRepositoryCustomImpl implements ProductJpaRepositoryCustom {
+
+    // constructor expression: Hibernate arma Product desde el ResultSet, sin entidad, snapshot ni MapStruct
+    private static final String SELECT_PRODUCT = "select new com.linktic.products_service.domain.model.Product("
+            + "p.id, p.name, p.price, p.createdAt, p.updatedAt) from ProductEntity p";
+
+    // parámetros array: mismo SQL (y plan) sin importar el tamaño del lote
+    private static final String SELECT_BY_NAMES = """
+            SELECT id, name, price, created_at, updated_at FROM products
+            WHERE name = ANY(CAST(:names AS varchar[]))
+            """;
+
+    // un INSERT multi-fila por lote; un nombre existente se actualiza solo si cambió el precio.
+    // updated_at queda null en las altas (igual que create), así RETURNING distingue alta de actualización
+    private static final String UPSERT = """
+            INSERT INTO products (name, price, created_at)
+            SELECT t.name, t.price, CAST(:now AS timestamp)
+              FROM unnest(CAST(:names AS varchar[]), CAST(:prices AS numeric[])) AS t(name, price)
+            ON CONFLICT (name) DO UPDATE SET price = EXCLUDED.price, updated_at = CAST(:now AS timestamp)
+             WHERE products.price IS DISTINCT FROM EXCLUDED.price
+            RETURNING id, name, price, created_at, updated_at
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${streaming.fetch-size:500}")
+    private int fetchSize;
+
+    @Override
+    public Stream<Product> streamAll() {
+        // cursor de solo avance; los resultados no son entidades, el contexto de persistencia no crece
+        return entityManager.createQuery(SELECT_PRODUCT + " order by p.id", Product.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultStream();
+    }
+
+    @Override
+    public List<Product> findProducts(Sort sort, long offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Product> query = cb.createQuery(Product.class);
+        Root<ProductEntity> root = query.from(ProductEntity.class);
+        query.select(cb.construct(Product.class,
+                root.get("id"), root.get("name"), root.get("price"),
+                root.get("createdAt"), root.get("updatedAt")));
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        return entityManager.createQuery(query)
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    // sparse fieldsets: solo id y los atributos pedidos llegan al SELECT; el resto queda en null
+    @Override
+    public List<Product> findProjected(Collection<String> attributes, Sort sort, long offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<ProductEntity> root = query.from(ProductEntity.class);
+
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(root.get("id").alias("id"));
+        attributes.forEach(attribute -> selections.add(root.get(attribute).alias(attribute)));
+        query.multiselect(selections);
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        return entityManager.createQuery(query)
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit)
+                .getResultList().stream()
+                .map(row -> toProduct(row, attributes))
+                .toList();
+    }
+
+    @Override
+    public List<Product> findAllByName(Collection<String> names) {
+        return productRows(SELECT_BY_NAMES)
+                .setParameter("names", names.toArray(String[]::new))
+                .getResultList().stream()
+                .map(ProductJpaRepositoryCustomImpl::toProduct)
+                .toList();
+    }
+
+    @Override
+    public List<Product> upsertAll(List<Product> products, LocalDateTime now) {
+        return productRows(UPSERT)
+                .setParameter("names", products.stream().map(Product::getName).toArray(String[]::new))
+                .setParameter("prices", products.stream().map(Product::getPrice).toArray(BigDecimal[]::new))
+                .setParameter("now", now)
+                .getResultList().stream()
+                .map(ProductJpaRepositoryCustomImpl::toProduct)
+                .toList();
+    }
+
+    // escalares tipados: las filas llegan como Object[] con los tipos del modelo de dominio
+    @SuppressWarnings("unchecked")
+    private NativeQuery<Object[]> productRows(String sql) {
+        return entityManager.createNativeQuery(sql).unwrap(NativeQuery.class)
+                .addScalar("id", Long.class)
+                .addScalar("name", String.class)
+                .addScalar("price", BigDecimal.class)
+                .addScalar("created_at", LocalDateTime.class)
+                .addScalar("updated_at", LocalDateTime.class);
+    }
+
+    private static Product toProduct(Object[] row) {
+        return new Product((Long) row[0], (String) row[1], (BigDecimal) row[2],
+                (LocalDateTime) row[3], (LocalDateTime) row[4]);
+    }
+
+    private static Product toProduct(Tuple row, Collection<String> attributes) {
+        Product product = new Product();
+        product.setId(row.get("id", Long.class));
+        if (attributes.contains("name")) product.setName(row.get("name", String.class));
+        if (attributes.contains("price")) product.setPrice(row.get("price", BigDecimal.class));
+        return product;
+    }
+}
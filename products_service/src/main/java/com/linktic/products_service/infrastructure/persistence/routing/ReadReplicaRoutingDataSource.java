@@ -0,0 +1,65 @@
+package com.linktic.products_service.infrastructure.persistence.routing;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.Map;
+
+// transacciones readOnly -> réplica (si el guard lo permite); todo lo demás -> primario.
+// Debe ir envuelto en LazyConnectionDataSourceProxy: la conexión se pide cuando el flag readOnly ya está puesto
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target { PRIMARY, REPLICA }
+
+    private final ReplicaLagGuard guard;
+
+    public ReadReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagGuard guard) {
+        this.guard = guard;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        if (readOnly && guard.replicaUsable()) {
+            return Target.REPLICA;
+        }
+        // una lectura que cae al primario (ventana abierta, lag o réplica caída) no escribe: si renovara
+        // la ventana, con tráfico de lectura constante las lecturas no volverían nunca a la réplica
+        if (!readOnly && TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new WriteTracker(guard));
+        }
+        return Target.PRIMARY;
+    }
+
+    // sin esto el binder de métricas desenvolvería el routing hasta el pool primario y lo contaría dos veces
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) return iface.cast(this);
+        throw new SQLException("ReadReplicaRoutingDataSource is not a wrapper for " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+
+    // la ventana de read-your-writes abre antes del commit y se renueva al terminar
+    private record WriteTracker(ReplicaLagGuard guard) implements TransactionSynchronization {
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            guard.recordWrite();
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            guard.recordWrite();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.linktic.products_service.infrastructure.persistence.routing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+// decide si una lectura puede ir a la réplica: no si hubo una escritura hace menos de maxLag
+// (read-your-writes) ni si el último lag medido en la réplica supera maxLag o no se pudo medir
+public class ReplicaLagGuard implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagGuard.class);
+
+    // 0 cuando la réplica ya aplicó todo lo recibido (un primario sin tráfico no cuenta como lag)
+    static final String LAG_QUERY = """
+            SELECT COALESCE(CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                   ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000 END, 0)
+            """;
+
+    private final DataSource replica;
+    private final long maxLagNanos;
+    private final Duration probeInterval;
+    private final LongSupplier nanoClock;
+
+    private volatile long lastWriteNanos;
+    private volatile boolean wroteOnce;
+    private volatile long replicaLagNanos;
+    private ScheduledExecutorService prober;
+
+    public ReplicaLagGuard(DataSource replica, Duration maxLag, Duration probeInterval) {
+        this(replica, maxLag, probeInterval, System::nanoTime);
+    }
+
+    ReplicaLagGuard(DataSource replica, Duration maxLag, Duration probeInterval, LongSupplier nanoClock) {
+        this.replica = replica;
+        this.maxLagNanos = maxLag.toNanos();
+        this.probeInterval = probeInterval;
+        this.nanoClock = nanoClock;
+    }
+
+    public boolean replicaUsable() {
+        if (replicaLagNanos > maxLagNanos) return false;
+        return !wroteOnce || nanoClock.getAsLong() - lastWriteNanos >= maxLagNanos;
+    }
+
+    // también la llama el listener de caché: una escritura en otra instancia abre la misma ventana
+    public void recordWrite() {
+        lastWriteNanos = nanoClock.getAsLong();
+        wroteOnce = true;
+    }
+
+    Duration replicaLag() {
+        return Duration.ofNanos(replicaLagNanos);
+    }
+
+    void probe() {
+        try (Connection conn = replica.getConnection();
+             Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery(LAG_QUERY)) {
+            rs.next();
+            replicaLagNanos = TimeUnit.MILLISECONDS.toNanos(rs.getLong(1));
+        } catch (SQLException ex) {
+            // réplica caída o inaccesible: todo al primario hasta la próxima medición correcta
+            replicaLagNanos = Long.MAX_VALUE;
+            log.warn("Replica lag probe failed, routing reads to primary: {}", ex.getMessage());
+        }
+    }
+
+    @Override
+    public void start() {
+        prober = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "replica-lag-probe");
+            t.setDaemon(true);
+            return t;
+        });
+        long interval = probeInterval.toMillis();
+        prober.scheduleWithFixedDelay(this::probe, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        if (prober != null) prober.shutdownNow();
+        prober = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return prober != null;
+    }
+}
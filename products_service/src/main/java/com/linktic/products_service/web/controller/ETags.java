@@ -0,0 +1,48 @@
+package com.linktic.products_service.web.controller;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+// ETag fuerte "<id>-<versión>", con la versión = coalesce(updatedAt, createdAt) en microsegundos
+final class ETags {
+
+    private ETags() { }
+
+    static LocalDateTime version(LocalDateTime createdAt, LocalDateTime updatedAt) {
+        return updatedAt != null ? updatedAt : createdAt;
+    }
+
+    static String of(Long id, LocalDateTime version) {
+        if (id == null || version == null) return null;
+        return "\"" + id + "-" + ChronoUnit.MICROS.between(Instant.EPOCH, version.toInstant(ZoneOffset.UTC)) + "\"";
+    }
+
+    // If-None-Match usa comparación débil: W/"x" equivale a "x"
+    static boolean matchesAny(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) return false;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) return true;
+            if (tag.startsWith("W/")) tag = tag.substring(2);
+            if (tag.equals(etag)) return true;
+        }
+        return false;
+    }
+
+    // If-Match: ETag propio (fuerte) del mismo recurso; vacío si no es uno de los nuestros
+    static Optional<LocalDateTime> parseVersion(Long id, String ifMatch) {
+        String tag = ifMatch.trim();
+        String prefix = "\"" + id + "-";
+        if (!tag.startsWith(prefix) || !tag.endsWith("\"") || tag.length() <= prefix.length() + 1) return Optional.empty();
+        try {
+            long micros = Long.parseLong(tag.substring(prefix.length(), tag.length() - 1));
+            return Optional.of(LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                    (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC));
+        } catch (NumberFormatException ex) {
+            return Optional.empty();
+        }
+    }
+}
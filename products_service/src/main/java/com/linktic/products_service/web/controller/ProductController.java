@@ -1,28 +1,58 @@
 package com.linktic.products_service.web.controller;
 
+import com.linktic.products_service.domain.exception.PreconditionFailedException;
+import com.linktic.products_service.domain.model.CountStrategy;
 import com.linktic.products_service.domain.model.Product;
+import com.linktic.products_service.domain.model.ProductField;
+import com.linktic.products_service.domain.model.ProductUpsertResult;
 import com.linktic.products_service.domain.service.ProductService;
 import com.linktic.products_service.web.dto.jsonapi.*;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.util.UriUtils;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 
 @RestController
 @RequestMapping(path = "/products", produces = "application/vnd.api+json")
 @Validated
 public class ProductController {
     private static final String TYPE = "products";
+    private static final String FIELDS_PARAM = "fields[" + TYPE + "]";
+    private static final MediaType JSON_API = MediaType.valueOf("application/vnd.api+json");
     private final ProductService service;
+    private final ObjectMapper objectMapper;
+    private final ProductResponseCache responseCache;
 
-    public ProductController(ProductService service) {
+    public ProductController(ProductService service, ObjectMapper objectMapper, ProductResponseCache responseCache) {
         this.service = service;
+        this.objectMapper = objectMapper;
+        this.responseCache = responseCache;
     }
 
     @PostMapping(consumes = "application/vnd.api+json")
@@ -38,31 +68,120 @@ public class ProductController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<JsonApiResponse<ProductDto>> get(@PathVariable Long id) {
+    public ResponseEntity<?> get(
+            @PathVariable Long id,
+            @RequestParam(name = FIELDS_PARAM, required = false) String fields,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Set<ProductField> selected = ProductQueryParser.parseFields(fields);
+        // get() sale de la caché: la comparación no toca la base ni serializa el cuerpo
         Product product = service.get(id);
-        JsonApiResponse<ProductDto> body = new JsonApiResponse<>();
-        body.setData(new JsonApiData<>(TYPE, String.valueOf(product.getId()), ProductDto.from(product)));
-        return ResponseEntity.ok(body);
+        if (!selected.containsAll(ProductField.all())) {
+            // con caché, recortar la entidad completa es más barato que una proyección;
+            // la representación parcial no lleva el ETag del recurso completo
+            JsonApiResponse<ProductDto> body = new JsonApiResponse<>();
+            body.setData(new JsonApiData<>(TYPE, String.valueOf(product.getId()), ProductDto.from(product, selected)));
+            return ResponseEntity.ok(body);
+        }
+        // cuerpo y ETag ya codificados para esta versión: el byte[] va directo al output stream
+        ProductResponseCache.Encoded encoded = responseCache.get(product);
+        if (ETags.matchesAny(ifNoneMatch, encoded.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(encoded.etag()).build();
+        }
+        return ResponseEntity.ok().eTag(encoded.etag()).contentType(JSON_API).body(encoded.body());
     }
 
     @PutMapping(path = "/{id}", consumes = "application/vnd.api+json")
     public ResponseEntity<JsonApiResponse<ProductDto>> update(
-            @PathVariable Long id, @Valid @RequestBody JsonApiRequest<ProductDto> req) {
+            @PathVariable Long id,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody JsonApiRequest<ProductDto> req) {
         ProductDto attr = req.getData().getAttributes();
-        Product updated = service.update(id, attr.getName(), attr.getPrice());
+        Product updated;
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            updated = service.update(id, attr.getName(), attr.getPrice());
+        } else {
+            LocalDateTime version = ETags.parseVersion(id, ifMatch)
+                    .orElseThrow(() -> new PreconditionFailedException("If-Match does not match the current version."));
+            updated = service.update(id, attr.getName(), attr.getPrice(), version);
+        }
         JsonApiResponse<ProductDto> body = new JsonApiResponse<>();
         body.setData(new JsonApiData<>(TYPE, String.valueOf(updated.getId()), ProductDto.from(updated)));
-        return ResponseEntity.ok(body);
+        return ResponseEntity.ok().eTag(etag(updated)).body(body);
+    }
+
+    // carga masiva (alta o actualización por nombre); el estado de cada ítem va en meta.results
+    @PostMapping(path = "/bulk", consumes = "application/vnd.api+json")
+    public ResponseEntity<JsonApiBulkResponse<ProductDto>> bulk(@Valid @RequestBody JsonApiBulkRequest<ProductDto> req) {
+        return ResponseEntity.ok(bulkResponse(service.upsertAll(
+                req.getData().stream().map(ProductController::toProduct).toList())));
+    }
+
+    // mismo contrato, un recurso JSON:API por línea. Las líneas se acumulan como Product (el lote se escribe en
+    // una transacción), pero la lectura corta apenas se pasa del máximo: un cuerpo enorme no se carga entero
+    @PostMapping(path = "/bulk", consumes = "application/x-ndjson")
+    public ResponseEntity<JsonApiBulkResponse<ProductDto>> bulkNdjson(InputStream body) throws IOException {
+        JavaType lineType = objectMapper.getTypeFactory().constructParametricType(JsonApiData.class, ProductDto.class);
+        List<Product> items = new ArrayList<>();
+        try (MappingIterator<JsonApiData<ProductDto>> lines = objectMapper.readerFor(lineType).readValues(body)) {
+            while (lines.hasNextValue()) {
+                if (items.size() == ProductService.MAX_BULK_ITEMS) {
+                    throw new IllegalArgumentException("at most " + ProductService.MAX_BULK_ITEMS + " products per request");
+                }
+                items.add(toProduct(lines.nextValue()));
+            }
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("invalid NDJSON at line " + (items.size() + 1) + ": " + ex.getOriginalMessage());
+        }
+        return ResponseEntity.ok(bulkResponse(service.upsertAll(items)));
     }
 
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void delete(@PathVariable Long id) { service.delete(id); }
 
+    @GetMapping
+    public ResponseEntity<JsonApiListResponse<ProductDto>> getMany(
+            @RequestParam(name = "filter[id]") String ids,
+            @RequestParam(name = FIELDS_PARAM, required = false) String fields) {
+        Set<ProductField> selected = ProductQueryParser.parseFields(fields);
+        List<JsonApiData<ProductDto>> data = service.getAll(ProductQueryParser.parseIds(ids)).stream()
+                .map(product -> new JsonApiData<>(TYPE,
+                        String.valueOf(product.getId()),
+                        ProductDto.from(product, selected)))
+                .toList();
+
+        JsonApiListResponse<ProductDto> body = new JsonApiListResponse<>();
+        body.setData(data);
+        return ResponseEntity.ok(body);
+    }
+
     @GetMapping("/list")
-    public ResponseEntity<JsonApiListResponse<ProductDto>> list() {
-        List<Product> list = service.list();
-        List<JsonApiData<ProductDto>> data = list.stream()
+    public ResponseEntity<StreamingResponseBody> list() {
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator gen = streamingGenerator(out)) {
+                gen.writeStartObject();
+                gen.writeArrayFieldStart("data");
+                service.forEach(product -> writeData(gen, product));
+                gen.writeEndArray();
+                gen.writeEndObject();
+            }
+        };
+        return ResponseEntity.ok().contentType(JSON_API).body(body);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<JsonApiListResponse<ProductDto>> search(
+            @RequestParam(name = "q") String q,
+            @RequestParam(name = "mode", defaultValue = "search") String mode,
+            @RequestParam(name = "minPrice", required = false) BigDecimal minPrice,
+            @RequestParam(name = "maxPrice", required = false) BigDecimal maxPrice,
+            @RequestParam(name = "limit", defaultValue = "20") @Min(1) @Max(50) int limit) {
+        List<Product> products = switch (mode) {
+            case "search" -> service.search(q, minPrice, maxPrice, limit);
+            case "autocomplete" -> service.autocomplete(q, minPrice, maxPrice, limit);
+            default -> throw new IllegalArgumentException("mode must be 'search' or 'autocomplete'");
+        };
+        List<JsonApiData<ProductDto>> data = products.stream()
                 .map(product -> new JsonApiData<>(TYPE,
                         String.valueOf(product.getId()),
                         ProductDto.from(product)))
@@ -70,15 +189,15 @@ public class ProductController {
 
         JsonApiListResponse<ProductDto> body = new JsonApiListResponse<>();
         body.setData(data);
-
         return ResponseEntity.ok(body);
     }
 
     @GetMapping("/paginated")
     public ResponseEntity<JsonApiListResponse<ProductDto>> paginatedList(
             @RequestParam(name = "pageNumber", defaultValue = "1") @Min(1) int pageNumber,
-            @RequestParam(name = "pageSize", defaultValue = "10") @Min(1) int pageSize) {
-        Page<Product> page = service.paginatedList(pageNumber, pageSize);
+            @RequestParam(name = "pageSize", defaultValue = "10") @Min(1) int pageSize,
+            @RequestParam(name = FIELDS_PARAM, required = false) String fields) {
+        Page<Product> page = service.paginatedList(pageNumber, pageSize, ProductQueryParser.parseFields(fields));
         List<JsonApiData<ProductDto>> data = page.getContent().stream()
                 .map(product -> new JsonApiData<>(TYPE,
                         String.valueOf(product.getId()),
@@ -89,11 +208,12 @@ public class ProductController {
         body.setData(data);
 
         JsonApiLinks links = new JsonApiLinks();
-        links.setSelf("/products/paginated?pageNumber=" + pageNumber + "&pageSize=" + pageSize);
-        links.setFirst("/products/paginated?pageNumber=1&pageSize=" + page.getSize());
-        links.setLast("/products/paginated?pageNumber=" + Math.max(page.getTotalPages(),1) + "&pageSize=" + page.getSize());
-        if (page.hasNext()) links.setNext("//paginated?pageNumber=" + (pageNumber + 1) + "&pageSize=" + page.getSize());
-        if (page.hasPrevious()) links.setPrev("/products/paginated?pageNumber=" + (pageNumber - 1) + "&pageSize=" + page.getSize());
+        String query = fields == null ? "" : "&" + FIELDS_PARAM + "=" + UriUtils.encodeQueryParam(fields, StandardCharsets.UTF_8);
+        links.setSelf("/products/paginated?pageNumber=" + pageNumber + "&pageSize=" + pageSize + query);
+        links.setFirst("/products/paginated?pageNumber=1&pageSize=" + page.getSize() + query);
+        links.setLast("/products/paginated?pageNumber=" + Math.max(page.getTotalPages(),1) + "&pageSize=" + page.getSize() + query);
+        if (page.hasNext()) links.setNext("/products/paginated?pageNumber=" + (pageNumber + 1) + "&pageSize=" + page.getSize() + query);
+        if (page.hasPrevious()) links.setPrev("/products/paginated?pageNumber=" + (pageNumber - 1) + "&pageSize=" + page.getSize() + query);
         body.setLinks(links);
 
         JsonApiMeta meta = new JsonApiMeta();
@@ -101,9 +221,64 @@ public class ProductController {
         meta.setTotalPages(page.getTotalPages());
         meta.setPageNumber(pageNumber);
         meta.setPageSize(page.getSize());
+        CountStrategy countStrategy = service.countStrategy();
+        if (countStrategy != null) meta.setCountStrategy(countStrategy.name().toLowerCase(Locale.ROOT));
         body.setMeta(meta);
 
         return ResponseEntity.ok(body);
     }
 
+    private static Product toProduct(JsonApiData<ProductDto> data) {
+        ProductDto attributes = data == null ? null : data.getAttributes();
+        if (attributes == null) return new Product();
+        return new Product(null, attributes.getName(), attributes.getPrice(), null, null);
+    }
+
+    private static JsonApiBulkResponse<ProductDto> bulkResponse(List<ProductUpsertResult> results) {
+        JsonApiBulkMeta meta = new JsonApiBulkMeta();
+        List<JsonApiData<ProductDto>> data = new ArrayList<>();
+        List<JsonApiBulkResult> items = new ArrayList<>(results.size());
+        for (ProductUpsertResult result : results) {
+            String id = null;
+            switch (result.status()) {
+                case CREATED -> meta.setCreated(meta.getCreated() + 1);
+                case UPDATED -> meta.setUpdated(meta.getUpdated() + 1);
+                case UNCHANGED -> meta.setUnchanged(meta.getUnchanged() + 1);
+                case INVALID, DUPLICATE -> meta.setRejected(meta.getRejected() + 1);
+            }
+            if (!result.rejected()) {
+                id = String.valueOf(result.product().getId());
+                data.add(new JsonApiData<>(TYPE, id, ProductDto.from(result.product())));
+            }
+            items.add(new JsonApiBulkResult(result.index(), result.status().name().toLowerCase(Locale.ROOT), id,
+                    result.detail()));
+        }
+        meta.setResults(items);
+
+        JsonApiBulkResponse<ProductDto> body = new JsonApiBulkResponse<>();
+        body.setData(data);
+        body.setMeta(meta);
+        return body;
+    }
+
+    private static String etag(Product product) {
+        return ETags.of(product.getId(), ETags.version(product.getCreatedAt(), product.getUpdatedAt()));
+    }
+
+    private JsonGenerator streamingGenerator(OutputStream out) throws IOException {
+        JsonGenerator gen = objectMapper.getFactory().createGenerator(out);
+        gen.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+        // writeObject hace flush por fila; que no llegue al servlet para no emitir un chunk por registro
+        gen.configure(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM, false);
+        return gen;
+    }
+
+    private static void writeData(JsonGenerator gen, Product product) {
+        try {
+            gen.writeObject(new JsonApiData<>(TYPE, String.valueOf(product.getId()), ProductDto.from(product)));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
 }
@@ -0,0 +1,43 @@
+package com.linktic.products_service.web.controller;
+
+import com.linktic.products_service.domain.model.ProductField;
+
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+final class ProductQueryParser {
+
+    private ProductQueryParser() { }
+
+    // fields[products]: sin el parámetro, todos los atributos; vacío, ninguno (solo type e id)
+    static Set<ProductField> parseFields(String fields) {
+        if (fields == null) return ProductField.all();
+        Set<ProductField> selected = EnumSet.noneOf(ProductField.class);
+        for (String token : fields.split(",")) {
+            String name = token.trim();
+            if (name.isEmpty()) continue;
+            selected.add(switch (name) {
+                case "name" -> ProductField.NAME;
+                case "price" -> ProductField.PRICE;
+                default -> throw new IllegalArgumentException("unsupported field for products: " + name);
+            });
+        }
+        return selected;
+    }
+
+    // filter[id]=1,2,3: ids repetidos se consultan una sola vez
+    static Set<Long> parseIds(String ids) {
+        Set<Long> parsed = new LinkedHashSet<>();
+        for (String token : ids.split(",")) {
+            String id = token.trim();
+            if (id.isEmpty()) continue;
+            try {
+                parsed.add(Long.valueOf(id));
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("invalid id in filter[id]: " + id);
+            }
+        }
+        return parsed;
+    }
+}
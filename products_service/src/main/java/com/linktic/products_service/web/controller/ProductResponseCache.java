@@ -0,0 +1,63 @@
+package com.linktic.products_service.web.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.linktic.products_service.domain.event.ProductChangedEvent;
+import com.linktic.products_service.domain.model.Product;
+import com.linktic.products_service.web.dto.jsonapi.JsonApiData;
+import com.linktic.products_service.web.dto.jsonapi.JsonApiResponse;
+import com.linktic.products_service.web.dto.jsonapi.ProductDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+
+// cuerpo ya codificado de GET /products/{id} (representación completa) y su ETag, por id y versión.
+// Un hit no arma JsonApiResponse ni pasa por Jackson: el mismo byte[] se copia a cada respuesta.
+// La versión viaja en la entrada: si otra instancia actualizó el producto, la versión nueva no coincide y se recodifica
+@Component
+class ProductResponseCache {
+
+    record Encoded(LocalDateTime version, String etag, byte[] body) { }
+
+    private final ObjectMapper objectMapper;
+    private final Cache<Long, Encoded> entries;
+
+    ProductResponseCache(ObjectMapper objectMapper,
+                         @Value("${products.response-cache.max-size:10000}") long maxSize) {
+        this.objectMapper = objectMapper;
+        this.entries = Caffeine.newBuilder().maximumSize(maxSize).build();
+    }
+
+    Encoded get(Product product) {
+        LocalDateTime version = ETags.version(product.getCreatedAt(), product.getUpdatedAt());
+        Encoded cached = entries.getIfPresent(product.getId());
+        if (cached != null && cached.version().equals(version)) return cached;
+
+        Encoded encoded = new Encoded(version, ETags.of(product.getId(), version), encode(product));
+        // sin versión no hay con qué validar la entrada
+        if (version != null) entries.put(product.getId(), encoded);
+        return encoded;
+    }
+
+    // update/delete locales (ProductService publica ProductChangedEvent): liberar la entrada al confirmar
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(ProductChangedEvent event) {
+        if (event.type() == ProductChangedEvent.Type.CREATED) return;
+        entries.invalidate(event.id());
+    }
+
+    private byte[] encode(Product product) {
+        JsonApiResponse<ProductDto> body = new JsonApiResponse<>();
+        body.setData(new JsonApiData<>("products", String.valueOf(product.getId()), ProductDto.from(product)));
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.linktic.products_service.web.dto.jsonapi;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class JsonApiBulkMeta {
+
+    private int created;
+    private int updated;
+    private int unchanged;
+    private int rejected;
+    private List<JsonApiBulkResult> results;
+
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public int getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(int updated) {
+        this.updated = updated;
+    }
+
+    public int getUnchanged() {
+        return unchanged;
+    }
+
+    public void setUnchanged(int unchanged) {
+        this.unchanged = unchanged;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(int rejected) {
+        this.rejected = rejected;
+    }
+
+    public List<JsonApiBulkResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<JsonApiBulkResult> results) {
+        this.results = results;
+    }
+
+}
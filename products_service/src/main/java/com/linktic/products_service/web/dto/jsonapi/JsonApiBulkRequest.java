@@ -0,0 +1,19 @@
+package com.linktic.products_service.web.dto.jsonapi;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class JsonApiBulkRequest<T> {
+    @NotNull
+    private List<JsonApiData<T>> data;
+
+    public List<JsonApiData<T>> getData() {
+        return data;
+    }
+    public void setData(List<JsonApiData<T>> data) {
+        this.data = data;
+    }
+}
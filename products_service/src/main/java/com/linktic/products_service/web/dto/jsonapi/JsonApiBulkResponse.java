@@ -0,0 +1,26 @@
+package com.linktic.products_service.web.dto.jsonapi;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+// data: los recursos aceptados (creados, actualizados o sin cambios); meta.results: el estado de cada ítem del lote
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class JsonApiBulkResponse<T> {
+
+    private List<JsonApiData<T>> data;
+    private JsonApiBulkMeta meta;
+
+    public List<JsonApiData<T>> getData() {
+        return data;
+    }
+    public void setData(List<JsonApiData<T>> data) {
+        this.data = data;
+    }
+    public JsonApiBulkMeta getMeta() {
+        return meta;
+    }
+    public void setMeta(JsonApiBulkMeta meta) {
+        this.meta = meta;
+    }
+}
@@ -0,0 +1,54 @@
+package com.linktic.products_service.web.dto.jsonapi;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class JsonApiBulkResult {
+
+    private int index;
+    private String status;
+    private String id;
+    private String detail;
+
+    public JsonApiBulkResult() {}
+
+    public JsonApiBulkResult(int index, String status, String id, String detail) {
+        this.index = index;
+        this.status = status;
+        this.id = id;
+        this.detail = detail;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getDetail() {
+        return detail;
+    }
+
+    public void setDetail(String detail) {
+        this.detail = detail;
+    }
+
+}
@@ -9,6 +9,7 @@ public class JsonApiMeta {
     private int totalPages;
     private int pageNumber;
     private int pageSize;
+    private String countStrategy;
 
     public long getTotalElements() {
         return totalElements;
@@ -42,4 +43,12 @@ public class JsonApiMeta {
         this.pageSize = pageSize;
     }
 
+    public String getCountStrategy() {
+        return countStrategy;
+    }
+
+    public void setCountStrategy(String countStrategy) {
+        this.countStrategy = countStrategy;
+    }
+
 }
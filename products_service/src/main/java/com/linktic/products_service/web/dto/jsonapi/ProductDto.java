@@ -1,6 +1,8 @@
 package com.linktic.products_service.web.dto.jsonapi;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.linktic.products_service.domain.model.Product;
+import com.linktic.products_service.domain.model.ProductField;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -11,12 +13,14 @@ import lombok.Setter;
 import lombok.ToString;
 
 import java.math.BigDecimal;
+import java.util.Set;
 
 @Getter
 @Setter
 @ToString
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class ProductDto {
 
     @NotBlank
@@ -32,4 +36,11 @@ public class ProductDto {
         model.setPrice(product.getPrice());
         return model;
     }
+
+    public static ProductDto from(Product product, Set<ProductField> fields) {
+        ProductDto model = new ProductDto();
+        if (fields.contains(ProductField.NAME)) model.setName(product.getName());
+        if (fields.contains(ProductField.PRICE)) model.setPrice(product.getPrice());
+        return model;
+    }
 }
@@ -0,0 +1,8 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- ILIKE '%q%' y similitud (operador %) sobre el nombre
+CREATE INDEX IF NOT EXISTS idx_products_name_trgm
+  ON products USING gin (name gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_products_price
+  ON products (price);
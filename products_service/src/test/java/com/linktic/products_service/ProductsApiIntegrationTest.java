@@ -0,0 +1,93 @@
+package com.linktic.products_service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestClient;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// sin mocks: el mismo recorrido corre en la JVM y como binario nativo (./gradlew -Pnative nativeTest),
+// así valida los hints de JSON:API, las constructor expressions, MapStruct y las migraciones de Flyway
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "security.api-key.value=it-key"
+})
+class ProductsApiIntegrationTest {
+
+    private static final MediaType JSON_API = MediaType.valueOf("application/vnd.api+json");
+
+    @LocalServerPort
+    private int port;
+
+    private final ObjectMapper om = new ObjectMapper();
+    private RestClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = RestClient.builder()
+                .baseUrl("http://localhost:" + port)
+                .defaultHeader("X-API-Key", "it-key")
+                .build();
+    }
+
+    @Test
+    void create_get_getMany_delete() throws Exception {
+        String name = "native-" + UUID.randomUUID();
+        ResponseEntity<String> created = client.post().uri("/products")
+                .contentType(JSON_API)
+                .body("{\"data\":{\"type\":\"products\",\"attributes\":{\"name\":\"" + name + "\",\"price\":12.50}}}")
+                .retrieve().toEntity(String.class);
+        assertThat(created.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        String id = om.readTree(created.getBody()).path("data").path("id").asText();
+
+        JsonNode one = om.readTree(client.get().uri("/products/{id}", id).retrieve().body(String.class));
+        assertThat(one.path("data").path("type").asText()).isEqualTo("products");
+        assertThat(one.path("data").path("attributes").path("name").asText()).isEqualTo(name);
+        assertThat(one.path("data").path("attributes").path("price").decimalValue()).isEqualByComparingTo("12.50");
+
+        JsonNode many = om.readTree(client.get().uri("/products?filter[id]={id}", id).retrieve().body(String.class));
+        assertThat(many.path("data")).hasSize(1);
+
+        ResponseEntity<Void> deleted = client.delete().uri("/products/{id}", id).retrieve().toBodilessEntity();
+        assertThat(deleted.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+
+        HttpStatus afterDelete = client.get().uri("/products/{id}", id)
+                .exchange((req, res) -> HttpStatus.valueOf(res.getStatusCode().value()));
+        assertThat(afterDelete).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void bulkNdjson_usaElTipoGenericoArmadoEnRuntime() throws Exception {
+        String prefix = "bulk-" + UUID.randomUUID();
+        String body = "{\"type\":\"products\",\"attributes\":{\"name\":\"" + prefix + "-a\",\"price\":1.00}}\n"
+                + "{\"type\":\"products\",\"attributes\":{\"name\":\"" + prefix + "-b\",\"price\":2.00}}\n";
+
+        JsonNode resp = om.readTree(client.post().uri("/products/bulk")
+                .contentType(MediaType.valueOf("application/x-ndjson"))
+                .body(body)
+                .retrieve().body(String.class));
+
+        assertThat(resp.path("data")).hasSize(2);
+        assertThat(resp.path("meta").path("results").get(0).path("status").asText()).isEqualTo("created");
+    }
+
+    @Test
+    void sinApiKey_401JsonApi() throws Exception {
+        String body = RestClient.create("http://localhost:" + port).get().uri("/products/1")
+                .exchange((req, res) -> {
+                    assertThat(res.getStatusCode().value()).isEqualTo(401);
+                    return new String(res.getBody().readAllBytes());
+                });
+        assertThat(om.readTree(body).path("errors")).isNotEmpty();
+    }
+}
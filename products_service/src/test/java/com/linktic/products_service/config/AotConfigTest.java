@@ -0,0 +1,45 @@
+package com.linktic.products_service.config;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@DisabledInNativeImage
+class AotConfigTest {
+
+    private final AotConfig config = new AotConfig();
+
+    @Test
+    void flywayStrategy_shouldMigrate_unlessDisabledAtRuntime() {
+        Flyway flyway = mock(Flyway.class);
+        config.flywayMigrationStrategy(new MockEnvironment()).migrate(flyway);
+        verify(flyway).migrate();
+
+        Flyway skipped = mock(Flyway.class);
+        config.flywayMigrationStrategy(new MockEnvironment().withProperty("spring.flyway.enabled", "false"))
+                .migrate(skipped);
+        verify(skipped, never()).migrate();
+    }
+
+    @Test
+    void replicaUrlWithoutReplicaInAotContext_shouldFailFast() {
+        assertThatThrownBy(() -> AotConfig.checkReadReplica(true, "jdbc:postgresql://replica/db", false))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("spring.aot.enabled=false");
+    }
+
+    @Test
+    void replicaCheck_shouldPass_withoutAotOrWhenReplicaIsConfigured() {
+        assertThatCode(() -> AotConfig.checkReadReplica(false, "jdbc:postgresql://replica/db", false)).doesNotThrowAnyException();
+        assertThatCode(() -> AotConfig.checkReadReplica(true, "jdbc:postgresql://replica/db", true)).doesNotThrowAnyException();
+        assertThatCode(() -> AotConfig.checkReadReplica(true, " ", false)).doesNotThrowAnyException();
+        assertThatCode(() -> AotConfig.checkReadReplica(true, null, false)).doesNotThrowAnyException();
+    }
+}
@@ -0,0 +1,149 @@
+package com.linktic.products_service.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ApiKeyRegistryTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void noKeysConfigured_shouldLetEveryRequestThrough() {
+        ApiKeyRegistry registry = new ApiKeyRegistry(null, "", Duration.ZERO);
+
+        assertThat(registry.authenticate(null)).isNotNull();
+        assertThat(registry.authenticate("anything").getName()).isEqualTo(ApiKeyRegistry.LEGACY_CLIENT);
+    }
+
+    @Test
+    void legacyKey_shouldAuthenticateOnlyThatKey() {
+        ApiKeyRegistry registry = new ApiKeyRegistry(null, "valid-key", Duration.ZERO);
+
+        assertThat(registry.authenticate("valid-key").getName()).isEqualTo(ApiKeyRegistry.LEGACY_CLIENT);
+        assertThat(registry.authenticate("wrong")).isNull();
+        assertThat(registry.authenticate(null)).isNull();
+        assertThat(registry.authenticate("válid-key")).isNull();
+    }
+
+    @Test
+    void fileClients_shouldResolveToTheirClientId() throws IOException {
+        Path file = write("""
+                # clientes
+                inventory-service:%s
+                reporting:%s
+                """.formatted(hex("inv-key"), hex("rep-key")));
+        ApiKeyRegistry registry = new ApiKeyRegistry(file, "", Duration.ZERO);
+
+        Authentication first = registry.authenticate("inv-key");
+        assertThat(first.getName()).isEqualTo("inventory-service");
+        assertThat(first.isAuthenticated()).isTrue();
+        assertThat(first.getAuthorities()).extracting("authority").containsExactly("ROLE_API");
+        assertThat(registry.authenticate("rep-key").getName()).isEqualTo("reporting");
+        assertThat(registry.authenticate("other")).isNull();
+        assertThat(registry.size()).isEqualTo(2);
+    }
+
+    @Test
+    void authentication_shouldBeFreshPerRequest_soOneRequestCannotAlterAnother() throws IOException {
+        ApiKeyRegistry registry = new ApiKeyRegistry(write("a:" + hex("key-a") + "\n"), "", Duration.ZERO);
+
+        Authentication first = registry.authenticate("key-a");
+        first.setAuthenticated(false);
+        ((UsernamePasswordAuthenticationToken) first).setDetails("request-1");
+
+        Authentication second = registry.authenticate("key-a");
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.isAuthenticated()).isTrue();
+        assertThat(second.getDetails()).isNull();
+    }
+
+    @Test
+    void manyClients_shouldAllBeFound() throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (int i = 0; i < 500; i++) lines.append("client-").append(i).append(':').append(hex("key-" + i)).append('\n');
+        ApiKeyRegistry registry = new ApiKeyRegistry(write(lines.toString()), "", Duration.ZERO);
+
+        for (int i = 0; i < 500; i++) {
+            assertThat(registry.authenticate("key-" + i).getName()).isEqualTo("client-" + i);
+        }
+        assertThat(registry.authenticate("key-500")).isNull();
+    }
+
+    @Test
+    void reload_shouldPickUpChangedFile() throws IOException {
+        Path file = write("a:" + hex("key-a") + "\n");
+        ApiKeyRegistry registry = new ApiKeyRegistry(file, "", Duration.ZERO);
+
+        Files.writeString(file, "b:" + hex("key-b") + "\n");
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(60)));
+        registry.reload();
+
+        assertThat(registry.authenticate("key-a")).isNull();
+        assertThat(registry.authenticate("key-b").getName()).isEqualTo("b");
+    }
+
+    @Test
+    void reload_shouldNotifyListenersWithActiveClients() throws IOException {
+        Path file = write("a:" + hex("key-a") + "\nb:" + hex("key-b") + "\n");
+        ApiKeyRegistry registry = new ApiKeyRegistry(file, "", Duration.ZERO);
+        List<Set<String>> notified = new ArrayList<>();
+        registry.onReload(notified::add);
+
+        Files.writeString(file, "b:" + hex("key-b") + "\n");
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(60)));
+        registry.reload();
+        registry.reload();
+
+        assertThat(notified).containsExactly(Set.of("b"));
+    }
+
+    @Test
+    void reload_shouldKeepPreviousKeys_whenFileIsInvalid() throws IOException {
+        Path file = write("a:" + hex("key-a") + "\n");
+        ApiKeyRegistry registry = new ApiKeyRegistry(file, "", Duration.ZERO);
+
+        Files.writeString(file, "a:not-a-hash\n");
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(60)));
+        registry.reload();
+
+        assertThat(registry.authenticate("key-a").getName()).isEqualTo("a");
+    }
+
+    @Test
+    void invalidFileAtStartup_shouldFail() throws IOException {
+        Path missingClient = write(":" + hex("key") + "\n");
+        assertThatThrownBy(() -> new ApiKeyRegistry(missingClient, "", Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("invalid API key entry at line 1");
+
+        Path duplicate = write("a:" + hex("key") + "\nb:" + hex("key") + "\n");
+        assertThatThrownBy(() -> new ApiKeyRegistry(duplicate, "", Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("duplicate API key for client b");
+    }
+
+    private Path write(String content) throws IOException {
+        return Files.writeString(Files.createTempFile(dir, "api-keys", ".txt"), content);
+    }
+
+    private static String hex(String key) {
+        return HexFormat.of().formatHex(ApiKeyRegistry.sha256(key));
+    }
+}
@@ -0,0 +1,128 @@
+package com.linktic.products_service.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ConcurrencyLimitFilterTest {
+
+    private final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit("inbound",
+            new AdaptiveConcurrencyLimit.Settings(1, 1, 1), new SimpleMeterRegistry());
+    private final ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(limit, List.of("/products/bulk"));
+
+    @Test
+    void shouldNotFilter_forSwaggerAndActuator() {
+        assertThat(filter.shouldNotFilter(new MockHttpServletRequest("GET", "/actuator/health"))).isTrue();
+        assertThat(filter.shouldNotFilter(new MockHttpServletRequest("GET", "/products/1"))).isFalse();
+    }
+
+    @Test
+    void limitReached_shouldReturn503_withoutCallingChain() throws ServletException, IOException {
+        limit.tryAcquire();
+        AtomicBoolean invoked = new AtomicBoolean();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/products/1"), response,
+                (req, res) -> invoked.set(true));
+
+        assertThat(invoked).isFalse();
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(response.getContentType()).isEqualTo("application/vnd.api+json");
+        assertThat(response.getContentAsString()).contains("Concurrency limit reached");
+    }
+
+    @Test
+    void permit_shouldBeReleased_afterChainAndOnError() throws ServletException, IOException {
+        filter.doFilter(new MockHttpServletRequest("GET", "/products/1"), new MockHttpServletResponse(),
+                (req, res) -> assertThat(limit.inflight()).isEqualTo(1));
+        assertThat(limit.inflight()).isZero();
+
+        assertThatThrownBy(() -> filter.doFilter(new MockHttpServletRequest("GET", "/products/1"),
+                new MockHttpServletResponse(), (req, res) -> { throw new ServletException("boom"); }))
+                .isInstanceOf(ServletException.class);
+        assertThat(limit.inflight()).isZero();
+    }
+
+    @Test
+    void asyncResponse_shouldHoldPermitUntilTheAsyncRequestCompletes() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/products/list");
+        request.setAsyncSupported(true);
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> req.startAsync());
+
+        // el hilo del servlet ya volvió, pero el streaming sigue: el permiso no se libera
+        assertThat(limit.inflight()).isEqualTo(1);
+        assertThat(limit.tryAcquire()).isEqualTo(AdaptiveConcurrencyLimit.REJECTED);
+
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+        assertThat(limit.inflight()).isZero();
+    }
+
+    @Test
+    void asyncError_shouldReleaseOnce_evenWhenCompleteFollows() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/products/list");
+        request.setAsyncSupported(true);
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> req.startAsync());
+        MockAsyncContext async = (MockAsyncContext) request.getAsyncContext();
+
+        for (AsyncListener listener : async.getListeners()) {
+            listener.onError(new AsyncEvent(async, new IOException("client went away")));
+        }
+        assertThat(limit.inflight()).isZero();
+
+        async.complete();
+        assertThat(limit.inflight()).isZero();
+    }
+
+    @Test
+    @DisabledInNativeImage
+    void serverError_shouldCountAsDrop() throws ServletException, IOException {
+        AdaptiveConcurrencyLimit tracked = mock(AdaptiveConcurrencyLimit.class);
+        when(tracked.tryAcquire()).thenReturn(1L);
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(tracked, List.of());
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/products/1"), new MockHttpServletResponse(),
+                (req, res) -> ((MockHttpServletResponse) res).setStatus(500));
+        assertThatThrownBy(() -> filter.doFilter(new MockHttpServletRequest("GET", "/products/1"),
+                new MockHttpServletResponse(), (req, res) -> { throw new ServletException("boom"); }))
+                .isInstanceOf(ServletException.class);
+
+        verify(tracked, times(2)).onDropped();
+        verify(tracked, never()).onSuccess(anyLong());
+    }
+
+    @Test
+    @DisabledInNativeImage
+    void unsampledPath_shouldReleaseWithoutSample() throws ServletException, IOException {
+        AdaptiveConcurrencyLimit tracked = mock(AdaptiveConcurrencyLimit.class);
+        when(tracked.tryAcquire()).thenReturn(1L);
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(tracked, List.of("/products/bulk"));
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/products/bulk"), new MockHttpServletResponse(), (req, res) -> { });
+        filter.doFilter(new MockHttpServletRequest("GET", "/products/1"), new MockHttpServletResponse(), (req, res) -> { });
+
+        verify(tracked).onIgnore();
+        verify(tracked).onSuccess(1L);
+        verify(tracked, never()).onDropped();
+    }
+}
@@ -0,0 +1,49 @@
+package com.linktic.products_service.config;
+
+import com.linktic.products_service.domain.model.Product;
+import com.linktic.products_service.infrastructure.mapper.ProductMapperImpl;
+import com.linktic.products_service.web.dto.jsonapi.JsonApiBulkRequest;
+import com.linktic.products_service.web.dto.jsonapi.JsonApiData;
+import com.linktic.products_service.web.dto.jsonapi.JsonApiErrorResponse;
+import com.linktic.products_service.web.dto.jsonapi.ProductDto;
+import net.logstash.logback.encoder.LogstashEncoder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NativeRuntimeHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @BeforeEach
+    void register() {
+        new NativeRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void jsonApiTypes_yDto_registradosParaBinding() {
+        assertThat(RuntimeHintsPredicates.reflection().onType(JsonApiData.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(JsonApiBulkRequest.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(JsonApiErrorResponse.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(ProductDto.class)).accepts(hints);
+    }
+
+    @Test
+    void constructorExpression_yMapper_registrados() {
+        assertThat(RuntimeHintsPredicates.reflection().onType(Product.class)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(ProductMapperImpl.class)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS)).accepts(hints);
+    }
+
+    @Test
+    void migracionesFlyway_yEncoderDeLogback_registrados() {
+        assertThat(RuntimeHintsPredicates.resource().forResource("db/migration/V1__init_products.sql")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(LogstashEncoder.class)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_METHODS)).accepts(hints);
+    }
+}
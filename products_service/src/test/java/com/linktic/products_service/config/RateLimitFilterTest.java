@@ -0,0 +1,140 @@
+package com.linktic.products_service.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RateLimitFilter(new RateLimitFilter.Limit(10, 2), new RateLimitFilter.Limit(1, 1),
+                meterRegistry, now::get);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldNotFilter_forSwaggerAndActuator() {
+        assertThat(filter.shouldNotFilter(new MockHttpServletRequest("GET", "/actuator/health"))).isTrue();
+        assertThat(filter.shouldNotFilter(new MockHttpServletRequest("GET", "/products/1"))).isFalse();
+    }
+
+    @Test
+    void overLimit_shouldReturn429_withRetryAfter() throws ServletException, IOException {
+        authenticateAs("client-a");
+
+        assertThat(call("GET").getStatus()).isEqualTo(200);
+        assertThat(call("GET").getStatus()).isEqualTo(200);
+        MockHttpServletResponse rejected = call("GET");
+
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(rejected.getContentType()).isEqualTo("application/vnd.api+json");
+        assertThat(rejected.getContentAsString()).contains("Rate limit exceeded");
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(call("GET").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void readsAndWrites_shouldHaveSeparateBuckets() throws ServletException, IOException {
+        authenticateAs("client-a");
+
+        assertThat(call("PUT").getStatus()).isEqualTo(200);
+        assertThat(call("DELETE").getStatus()).isEqualTo(429);
+        assertThat(call("GET").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void clients_shouldHaveSeparateBuckets() throws ServletException, IOException {
+        authenticateAs("client-a");
+        call("POST");
+        assertThat(call("POST").getStatus()).isEqualTo(429);
+
+        authenticateAs("client-b");
+        assertThat(call("POST").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void outcomes_shouldBeCountedPerClientAndEndpointClass() throws ServletException, IOException {
+        authenticateAs("client-a");
+        call("POST");
+        call("POST");
+        call("GET");
+
+        assertThat(count("client-a", "write", "allowed")).isEqualTo(1);
+        assertThat(count("client-a", "write", "rejected")).isEqualTo(1);
+        assertThat(count("client-a", "read", "allowed")).isEqualTo(1);
+    }
+
+    @Test
+    void endpointTag_shouldNotDependOnTheDefaultLocale() throws ServletException, IOException {
+        Locale previous = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+        try {
+            authenticateAs("client-tr");
+            call("POST");
+        } finally {
+            Locale.setDefault(previous);
+        }
+
+        assertThat(count("client-tr", "write", "allowed")).isEqualTo(1);
+    }
+
+    @Test
+    void retainClients_shouldDropBucketsAndMetersOfRemovedClients() throws ServletException, IOException {
+        authenticateAs("client-a");
+        call("GET");
+        authenticateAs("client-b");
+        call("GET");
+
+        filter.retainClients(Set.of("client-b"));
+
+        assertThat(filter.trackedClients()).isEqualTo(1);
+        assertThat(meterRegistry.find(RateLimitFilter.METRIC).tag("client", "client-a").counters()).isEmpty();
+        assertThat(count("client-b", "read", "allowed")).isEqualTo(1);
+    }
+
+    private void authenticateAs(String client) {
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(client, null, List.of()));
+    }
+
+    private MockHttpServletResponse call(String method) throws ServletException, IOException {
+        MockHttpServletResponse res = new MockHttpServletResponse();
+        FilterChain chain = (request, response) -> ((MockHttpServletResponse) response).setStatus(200);
+        filter.doFilter(new MockHttpServletRequest(method, "/products/1"), res, chain);
+        return res;
+    }
+
+    private double count(String client, String endpoint, String outcome) {
+        return meterRegistry.get(RateLimitFilter.METRIC)
+                .tags("client", client, "endpoint", endpoint, "outcome", outcome)
+                .counter().count();
+    }
+}
@@ -0,0 +1,53 @@
+package com.linktic.products_service.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RequestDeadlineTransactionManagerTest {
+
+    private final RequestDeadlineTransactionManager transactionManager = new RequestDeadlineTransactionManager();
+
+    @AfterEach
+    void clear() {
+        RequestDeadline.clear();
+    }
+
+    @Test
+    void withoutDeadline_shouldKeepConfiguredTimeout() {
+        assertThat(transactionManager.determineTimeout(new DefaultTransactionDefinition()))
+                .isEqualTo(TransactionDefinition.TIMEOUT_DEFAULT);
+    }
+
+    @Test
+    void withDeadline_shouldRoundRemainingBudgetUpToSeconds() {
+        RequestDeadline.set(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(1500));
+
+        assertThat(transactionManager.determineTimeout(new DefaultTransactionDefinition())).isEqualTo(2);
+    }
+
+    @Test
+    void withDeadline_shouldNotExtendShorterConfiguredTimeout() {
+        RequestDeadline.set(System.nanoTime() + TimeUnit.SECONDS.toNanos(30));
+        DefaultTransactionDefinition definition = new DefaultTransactionDefinition();
+        definition.setTimeout(5);
+
+        assertThat(transactionManager.determineTimeout(definition)).isEqualTo(5);
+    }
+
+    @Test
+    void expiredDeadline_shouldRefuseToBegin() {
+        RequestDeadline.set(System.nanoTime() - 1);
+
+        assertThatThrownBy(() -> transactionManager.determineTimeout(new DefaultTransactionDefinition()))
+                .isInstanceOf(TransactionTimedOutException.class)
+                .hasMessage("Request deadline exceeded");
+    }
+}
@@ -0,0 +1,58 @@
+package com.linktic.products_service.domain.service;
+
+import com.linktic.products_service.domain.event.ProductChangedEvent;
+import com.linktic.products_service.domain.model.Product;
+import com.linktic.products_service.domain.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+
+import java.math.BigDecimal;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisabledInNativeImage
+class ProductNameIndexTest {
+
+    private ProductNameIndex index;
+
+    @BeforeEach
+    void setUp() {
+        ProductRepository repository = mock(ProductRepository.class);
+        when(repository.streamAll()).thenReturn(Stream.of(
+                new Product(1L, "Laptop Pro", BigDecimal.valueOf(1500), null, null),
+                new Product(2L, "lámpara", BigDecimal.valueOf(40), null, null),
+                new Product(3L, "Lapicero", BigDecimal.valueOf(2), null, null),
+                new Product(4L, "Mouse", BigDecimal.valueOf(20), null, null)));
+        index = new ProductNameIndex(repository);
+        index.warmUp();
+    }
+
+    @Test
+    void prefix_shouldBeCaseInsensitive_andAlphabetical() {
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.prefix("LAP", null, null, 10))
+                .extracting(Product::getName)
+                .containsExactly("Lapicero", "Laptop Pro");
+    }
+
+    @Test
+    void prefix_shouldApplyPriceRange_andLimit() {
+        assertThat(index.prefix("lap", BigDecimal.TEN, null, 10)).extracting(Product::getId).containsExactly(1L);
+        assertThat(index.prefix("l", null, null, 2)).hasSize(2);
+    }
+
+    @Test
+    void on_shouldApplyRenamesAndDeletes() {
+        index.on(new ProductChangedEvent(ProductChangedEvent.Type.UPDATED, 4L, "Laptop Stand", BigDecimal.valueOf(30)));
+        index.on(new ProductChangedEvent(ProductChangedEvent.Type.DELETED, 3L, null, null));
+
+        assertThat(index.prefix("lap", null, null, 10))
+                .extracting(Product::getName)
+                .containsExactly("Laptop Pro", "Laptop Stand");
+        assertThat(index.prefix("mou", null, null, 10)).isEmpty();
+    }
+}
@@ -0,0 +1,107 @@
+package com.linktic.products_service.domain.service;
+
+import com.linktic.products_service.config.CacheConfig;
+import com.linktic.products_service.domain.model.Product;
+import com.linktic.products_service.domain.repository.ProductRepository;
+import com.linktic.products_service.infrastructure.cache.ProductCacheInvalidator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestConstructor;
+import org.springframework.test.context.aot.DisabledInAotMode;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisabledInAotMode
+@SpringJUnitConfig(ProductServiceCachingTest.Cfg.class)
+@TestConstructor(autowireMode = TestConstructor.AutowireMode.ALL)
+class ProductServiceCachingTest {
+
+    @Configuration
+    @Import({CacheConfig.class, ProductService.class, ProductNameIndex.class, ProductCacheInvalidator.class})
+    static class Cfg {
+        @Bean
+        ProductRepository productRepository() {
+            return mock(ProductRepository.class);
+        }
+
+        @Bean
+        JdbcTemplate jdbcTemplate() {
+            return mock(JdbcTemplate.class);
+        }
+
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager(CacheConfig.PRODUCTS_CACHE);
+        }
+    }
+
+    private final ProductService service;
+    private final ProductRepository repository;
+    private final CacheManager cacheManager;
+
+    ProductServiceCachingTest(ProductService service, ProductRepository repository, CacheManager cacheManager) {
+        this.service = service;
+        this.repository = repository;
+        this.cacheManager = cacheManager;
+    }
+
+    @BeforeEach
+    void setUp() {
+        reset(repository);
+        cacheManager.getCache(CacheConfig.PRODUCTS_CACHE).clear();
+    }
+
+    @Test
+    void get_shouldHitDatabaseOnce_forRepeatedReads() {
+        when(repository.findById(1L)).thenReturn(Optional.of(product(1L, "Mouse")));
+
+        service.get(1L);
+        Product second = service.get(1L);
+
+        assertThat(second.getName()).isEqualTo("Mouse");
+        verify(repository, times(1)).findById(1L);
+    }
+
+    @Test
+    void update_shouldEvict_soNextReadSeesNewValue() {
+        when(repository.findById(2L)).thenAnswer(inv -> Optional.of(product(2L, "Mouse")));
+        when(repository.save(any(Product.class))).thenAnswer(inv -> inv.getArgument(0));
+        service.get(2L);
+
+        service.update(2L, "Mouse Pro", null);
+        when(repository.findById(2L)).thenAnswer(inv -> Optional.of(product(2L, "Mouse Pro")));
+
+        assertThat(service.get(2L).getName()).isEqualTo("Mouse Pro");
+    }
+
+    @Test
+    void delete_shouldEvict() {
+        when(repository.findById(3L)).thenReturn(Optional.of(product(3L, "Teclado")));
+        service.get(3L);
+
+        service.delete(3L);
+
+        assertThat(cacheManager.getCache(CacheConfig.PRODUCTS_CACHE).get(3L)).isNull();
+    }
+
+    private static Product product(Long id, String name) {
+        return new Product(id, name, BigDecimal.TEN, LocalDateTime.now(), null);
+    }
+}
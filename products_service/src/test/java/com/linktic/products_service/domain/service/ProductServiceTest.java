@@ -1,24 +1,41 @@
 package com.linktic.products_service.domain.service;
 
+import com.linktic.products_service.domain.event.ProductChangedEvent;
+import com.linktic.products_service.domain.exception.PreconditionFailedException;
+import com.linktic.products_service.domain.model.CountStrategy;
 import com.linktic.products_service.domain.model.Product;
+import com.linktic.products_service.domain.model.ProductField;
+import com.linktic.products_service.domain.model.ProductUpsertResult;
 import com.linktic.products_service.domain.repository.ProductRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
@@ -27,15 +44,23 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+@DisabledInNativeImage
 class ProductServiceTest {
 
     private ProductRepository repository;
+    private ApplicationEventPublisher events;
+    private ProductNameIndex nameIndex;
     private ProductService service;
+    @Captor
+    private ArgumentCaptor<List<Product>> written;
 
     @BeforeEach
     void setUp() {
+        MockitoAnnotations.openMocks(this);
         repository = mock(ProductRepository.class);
-        service = new ProductService(repository);
+        events = mock(ApplicationEventPublisher.class);
+        nameIndex = mock(ProductNameIndex.class);
+        service = new ProductService(repository, events, nameIndex);
     }
 
     @Test
@@ -118,6 +143,19 @@ class ProductServiceTest {
         assertThat(result).hasSize(2).extracting(Product::getName).contains("A", "B");
     }
 
+    @Test
+    void forEach_shouldStreamAllProducts() {
+        when(repository.streamAll()).thenReturn(Stream.of(
+                new Product(1L, "A", BigDecimal.ONE, LocalDateTime.now(), null),
+                new Product(2L, "B", BigDecimal.TEN, LocalDateTime.now(), null)
+        ));
+
+        List<String> names = new ArrayList<>();
+        service.forEach(product -> names.add(product.getName()));
+
+        assertThat(names).containsExactly("A", "B");
+    }
+
     @Test
     void paginatedList_shouldReturnPage() {
         List<Product> products = Arrays.asList(
@@ -132,6 +170,17 @@ class ProductServiceTest {
         assertEquals("A", result.getContent().get(0).getName());
     }
 
+    @Test
+    void paginatedList_withSparseFields_shouldUseProjection() {
+        Page<Product> page = new PageImpl<>(List.of(new Product(1L, null, BigDecimal.ONE, null, null)));
+        when(repository.findAllPaginatedList(PageRequest.of(0, 10), Set.of(ProductField.PRICE))).thenReturn(page);
+
+        Page<Product> result = service.paginatedList(1, 10, Set.of(ProductField.PRICE));
+
+        assertThat(result.getContent()).hasSize(1);
+        verify(repository, never()).findAllPaginatedList(PageRequest.of(0, 10));
+    }
+
     @Test
     void get_shouldThrowNoSuchElementException() {
         when(repository.findById(1L)).thenReturn(Optional.empty());
@@ -142,4 +191,161 @@ class ProductServiceTest {
     void create_shouldThrowIllegalArgumentException_whenPriceInvalid() {
         assertThrows(IllegalArgumentException.class, () -> service.create("Test", BigDecimal.ZERO));
     }
-}
\ No newline at end of file
+
+    @Test
+    void countStrategy_shouldDelegateToRepository() {
+        when(repository.countStrategy()).thenReturn(CountStrategy.CACHED);
+        assertEquals(CountStrategy.CACHED, service.countStrategy());
+    }
+
+    @Test
+    void create_shouldPublishCreatedEvent() {
+        when(repository.save(any(Product.class))).thenReturn(new Product(9L, "Teclado", BigDecimal.ONE, LocalDateTime.now(), null));
+
+        service.create("Teclado", BigDecimal.ONE);
+
+        verify(events).publishEvent(new ProductChangedEvent(ProductChangedEvent.Type.CREATED, 9L, "Teclado", BigDecimal.ONE));
+    }
+
+    @Test
+    void delete_shouldPublishDeletedEvent() {
+        service.delete(4L);
+        verify(events).publishEvent(new ProductChangedEvent(ProductChangedEvent.Type.DELETED, 4L, null, null));
+    }
+
+    @Test
+    void search_shouldTrimQuery_andDelegateToRepository() {
+        Product p = new Product(1L, "Laptop", BigDecimal.TEN, null, null);
+        when(repository.search("lap", BigDecimal.ONE, null, 20)).thenReturn(List.of(p));
+
+        assertThat(service.search("  lap ", BigDecimal.ONE, null, 20)).containsExactly(p);
+    }
+
+    @Test
+    void search_shouldRejectShortQueries_andInvertedPriceRange() {
+        assertThrows(IllegalArgumentException.class, () -> service.search("la", null, null, 20));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.search("laptop", BigDecimal.TEN, BigDecimal.ONE, 20));
+        verify(repository, never()).search(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void autocomplete_shouldUseInMemoryIndex_whenReady() {
+        Product p = new Product(1L, "Laptop", BigDecimal.TEN, null, null);
+        when(nameIndex.isReady()).thenReturn(true);
+        when(nameIndex.prefix("la", null, null, 5)).thenReturn(List.of(p));
+
+        assertThat(service.autocomplete("la", null, null, 5)).containsExactly(p);
+        verify(repository, never()).search(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void autocomplete_shouldFallBackToDatabase_untilIndexIsLoaded() {
+        when(nameIndex.isReady()).thenReturn(false);
+        when(repository.search("la", null, null, 5)).thenReturn(List.of());
+
+        assertThat(service.autocomplete("la", null, null, 5)).isEmpty();
+        verify(repository).search("la", null, null, 5);
+    }
+
+    @Test
+    void updateWithVersion_shouldWriteConditionally_andReturnStoredRow() {
+        LocalDateTime seen = LocalDateTime.of(2025, 1, 1, 0, 0);
+        when(repository.updateIfVersion(eq(1L), eq("Nuevo"), eq(BigDecimal.TEN), eq(seen), any())).thenReturn(true);
+        when(repository.findById(1L)).thenReturn(Optional.of(
+                new Product(1L, "Nuevo", new BigDecimal("10.00"), seen, seen.plusMinutes(1))));
+
+        Product updated = service.update(1L, "Nuevo", BigDecimal.TEN, seen);
+
+        assertEquals("Nuevo", updated.getName());
+        assertEquals(new BigDecimal("10.00"), updated.getPrice());
+        assertEquals(seen, updated.getCreatedAt());
+        assertNotNull(updated.getUpdatedAt());
+        verify(repository, never()).save(any());
+        verify(events).publishEvent(any(ProductChangedEvent.class));
+    }
+
+    @Test
+    void updateWithVersion_shouldThrowPreconditionFailed_whenVersionChanged() {
+        LocalDateTime seen = LocalDateTime.of(2025, 1, 1, 0, 0);
+        when(repository.updateIfVersion(eq(1L), any(), any(), eq(seen), any())).thenReturn(false);
+        when(repository.existsById(1L)).thenReturn(true);
+
+        assertThrows(PreconditionFailedException.class, () -> service.update(1L, "Nuevo", BigDecimal.TEN, seen));
+    }
+
+    @Test
+    void updateWithVersion_shouldThrowNotFound_whenMissing() {
+        when(repository.updateIfVersion(eq(1L), any(), any(), any(), any())).thenReturn(false);
+        when(repository.existsById(1L)).thenReturn(false);
+
+        assertThrows(NoSuchElementException.class,
+                () -> service.update(1L, "Nuevo", BigDecimal.TEN, LocalDateTime.now()));
+    }
+
+    @Test
+    void getAll_shouldLoadAllIdsInOneQuery_sortedById() {
+        when(repository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(
+                new Product(2L, "B", BigDecimal.TEN, LocalDateTime.now(), null),
+                new Product(1L, "A", BigDecimal.ONE, LocalDateTime.now(), null)));
+
+        List<Product> result = service.getAll(Set.of(1L, 2L));
+
+        assertThat(result).extracting(Product::getId).containsExactly(1L, 2L);
+        verify(repository, never()).findById(any());
+    }
+
+    @Test
+    void upsertAll_shouldClassifyEveryItem_withOneLookupAndOneUpsert() {
+        LocalDateTime created = LocalDateTime.now();
+        when(repository.findAllByName(any())).thenReturn(List.of(
+                new Product(10L, "Mouse", new BigDecimal("20.00"), created, null),
+                new Product(11L, "Teclado", new BigDecimal("30.00"), created, null)));
+        when(repository.upsertAll(any(), any())).thenReturn(List.of(
+                new Product(11L, "Teclado", new BigDecimal("35.00"), created, LocalDateTime.now()),
+                new Product(12L, "Monitor", new BigDecimal("250.00"), LocalDateTime.now(), null)));
+
+        List<ProductUpsertResult> results = service.upsertAll(List.of(
+                new Product(null, "Mouse", new BigDecimal("20"), null, null),
+                new Product(null, "Teclado", new BigDecimal("35.00"), null, null),
+                new Product(null, "Monitor", new BigDecimal("250.00"), null, null),
+                new Product(null, "Teclado", new BigDecimal("40.00"), null, null),
+                new Product(null, " ", BigDecimal.TEN, null, null),
+                new Product(null, "Gratis", BigDecimal.ZERO, null, null)));
+
+        assertThat(results).extracting(ProductUpsertResult::status).containsExactly(
+                ProductUpsertResult.Status.UNCHANGED,
+                ProductUpsertResult.Status.UPDATED,
+                ProductUpsertResult.Status.CREATED,
+                ProductUpsertResult.Status.DUPLICATE,
+                ProductUpsertResult.Status.INVALID,
+                ProductUpsertResult.Status.INVALID);
+        assertThat(results.get(0).product().getId()).isEqualTo(10L);
+        assertThat(results.get(3).detail()).isEqualTo("duplicate name in batch, first at index 1");
+        assertThat(results.get(5).detail()).isEqualTo("price must be > 0");
+
+        verify(repository, times(1)).findAllByName(any());
+        verify(repository, times(1)).upsertAll(written.capture(), any());
+        assertThat(written.getValue()).extracting(Product::getName).containsExactly("Teclado", "Monitor");
+        verify(repository, never()).save(any());
+        verify(events, times(2)).publishEvent(any(ProductChangedEvent.class));
+    }
+
+    @Test
+    void upsertAll_shouldRejectEmptyOrOversizedBatches() {
+        assertThrows(IllegalArgumentException.class, () -> service.upsertAll(List.of()));
+        List<Product> tooMany = LongStream.rangeClosed(1, 5001)
+                .mapToObj(i -> new Product(null, "P" + i, BigDecimal.ONE, null, null))
+                .toList();
+        assertThrows(IllegalArgumentException.class, () -> service.upsertAll(tooMany));
+        verify(repository, never()).upsertAll(any(), any());
+    }
+
+    @Test
+    void getAll_shouldRejectEmptyOrOversizedRequests() {
+        assertThrows(IllegalArgumentException.class, () -> service.getAll(Set.of()));
+        Set<Long> tooMany = LongStream.rangeClosed(1, 101).boxed().collect(Collectors.toSet());
+        assertThrows(IllegalArgumentException.class, () -> service.getAll(tooMany));
+        verify(repository, never()).findAllById(any());
+    }
+}
@@ -0,0 +1,159 @@
+package com.linktic.products_service.infrastructure.cache;
+
+import com.linktic.products_service.domain.event.ProductChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.postgresql.PGConnection;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisabledInNativeImage
+class ProductCacheInvalidatorTest {
+
+    private static final String NOTIFY = "SELECT count(pg_notify(?, id::text)) FROM unnest(?) AS id";
+
+    private Cache cache;
+    private JdbcTemplate jdbc;
+    private ProductCacheInvalidator invalidator;
+
+    @BeforeEach
+    void setUp() {
+        cache = mock(Cache.class);
+        CacheManager cacheManager = mock(CacheManager.class);
+        when(cacheManager.getCache("products")).thenReturn(cache);
+        jdbc = mock(JdbcTemplate.class);
+        invalidator = new ProductCacheInvalidator(cacheManager, jdbc);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clear();
+        TransactionSynchronizationManager.unbindResourceIfPossible(invalidator);
+    }
+
+    @Test
+    void update_shouldNotifyPeers_andEvictLocally() throws Exception {
+        TransactionSynchronizationManager.initSynchronization();
+        ProductChangedEvent event = new ProductChangedEvent(ProductChangedEvent.Type.UPDATED, 7L, "Mouse", BigDecimal.TEN);
+
+        invalidator.notifyPeers(event);
+        commit();
+        invalidator.evictLocal(event);
+
+        verify(jdbc).query(eq(NOTIFY), any(PreparedStatementSetter.class), ArgumentMatchers.<ResultSetExtractor<Void>>any());
+        assertThat(notifiedIds()).containsExactly(7L);
+        verify(cache).evict(7L);
+    }
+
+    @Test
+    void bulkUpdate_shouldNotifyOncePerTransaction() throws Exception {
+        TransactionSynchronizationManager.initSynchronization();
+
+        for (long id = 1; id <= 5_000; id++) {
+            invalidator.notifyPeers(new ProductChangedEvent(ProductChangedEvent.Type.UPDATED, id, "P" + id, BigDecimal.TEN));
+        }
+        commit();
+
+        verify(jdbc, times(1)).query(eq(NOTIFY), any(PreparedStatementSetter.class), ArgumentMatchers.<ResultSetExtractor<Void>>any());
+        assertThat(notifiedIds()).hasSize(5_000).startsWith(1L, 2L).endsWith(5_000L);
+        assertThat(TransactionSynchronizationManager.hasResource(invalidator)).isFalse();
+    }
+
+    @Test
+    void create_shouldNotTouchCache() {
+        TransactionSynchronizationManager.initSynchronization();
+        ProductChangedEvent event = new ProductChangedEvent(ProductChangedEvent.Type.CREATED, 8L, "Mouse", BigDecimal.TEN);
+
+        invalidator.notifyPeers(event);
+        invalidator.evictLocal(event);
+
+        assertThat(TransactionSynchronizationManager.getSynchronizations()).isEmpty();
+        verify(cache, never()).evict(any());
+    }
+
+    @Test
+    void peerNotification_shouldEvictParsedId_andIgnoreGarbage() {
+        ProductCacheNotificationListener listener = new ProductCacheNotificationListener(null, invalidator, Optional.empty(), false);
+
+        listener.handle("42");
+        listener.handle("not-a-number");
+
+        verify(cache).evict(42L);
+    }
+
+    @Test
+    void stop_cierraLaConexionListenAntesDeRetornar() throws Exception {
+        Connection conn = mock(Connection.class);
+        PGConnection pg = mock(PGConnection.class);
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(conn);
+        when(conn.createStatement()).thenReturn(mock(Statement.class));
+        when(conn.unwrap(PGConnection.class)).thenReturn(pg);
+        // como el driver: espera la notificación hasta el timeout del poll
+        when(pg.getNotifications(anyInt())).thenAnswer(inv -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        });
+        ProductCacheNotificationListener listener = new ProductCacheNotificationListener(dataSource, invalidator, Optional.empty(), true);
+
+        listener.start();
+        verify(pg, timeout(1000).atLeastOnce()).getNotifications(anyInt());
+        listener.stop();
+
+        // sin timeout: stop() ya esperó al worker (Hikari se suspende justo después en un checkpoint)
+        verify(conn).close();
+    }
+
+    private static void commit() {
+        for (TransactionSynchronization sync : TransactionSynchronizationManager.getSynchronizations()) {
+            sync.beforeCommit(false);
+            sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+    }
+
+    // corre el setter capturado contra un PreparedStatement simulado y devuelve el arreglo de ids enviado
+    private Object[] notifiedIds() throws Exception {
+        ArgumentCaptor<PreparedStatementSetter> setter = ArgumentCaptor.forClass(PreparedStatementSetter.class);
+        verify(jdbc).query(eq(NOTIFY), setter.capture(), ArgumentMatchers.<ResultSetExtractor<Void>>any());
+        PreparedStatement ps = mock(PreparedStatement.class);
+        Connection conn = mock(Connection.class);
+        when(ps.getConnection()).thenReturn(conn);
+        ArgumentCaptor<Object[]> ids = ArgumentCaptor.forClass(Object[].class);
+        when(conn.createArrayOf(eq("bigint"), ids.capture())).thenReturn(mock(Array.class));
+        setter.getValue().setValues(ps);
+        verify(ps).setString(1, "products_cache");
+        return ids.getValue();
+    }
+}
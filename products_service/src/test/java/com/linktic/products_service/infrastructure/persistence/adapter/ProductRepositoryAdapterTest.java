@@ -1,21 +1,28 @@
 package com.linktic.products_service.infrastructure.persistence.adapter;
 
+import com.linktic.products_service.domain.model.CountStrategy;
 import com.linktic.products_service.domain.model.Product;
+import com.linktic.products_service.domain.model.ProductField;
 import com.linktic.products_service.infrastructure.mapper.ProductMapper;
 import com.linktic.products_service.infrastructure.persistence.entity.ProductEntity;
 import com.linktic.products_service.infrastructure.persistence.jpa.ProductJpaRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
 import org.springframework.data.domain.*;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 
+@DisabledInNativeImage
 class ProductRepositoryAdapterTest {
 
     private ProductJpaRepository jpa;
@@ -26,7 +33,7 @@ class ProductRepositoryAdapterTest {
     void setUp() {
         jpa = mock(ProductJpaRepository.class);
         mapper = mock(ProductMapper.class);
-        repository = new ProductRepositoryAdapter(jpa, mapper);
+        repository = new ProductRepositoryAdapter(jpa, mapper, CountStrategy.EXACT, Duration.ofSeconds(30));
     }
 
     @Test
@@ -91,20 +98,119 @@ class ProductRepositoryAdapterTest {
     }
 
     @Test
-    void findAllPaginatedList_shouldReturnMappedPage() {
-        ProductEntity e1 = new ProductEntity(1L, "A", BigDecimal.TEN, LocalDateTime.now(), null);
-        ProductEntity e2 = new ProductEntity(2L, "B", BigDecimal.ONE, LocalDateTime.now(), null);
+    void streamAll_shouldReturnProjectedRows_withoutMapper() {
+        Product d1 = new Product(1L, "A", BigDecimal.TEN, LocalDateTime.now(), null);
+        when(jpa.streamAll()).thenReturn(Stream.of(d1));
+
+        try (Stream<Product> result = repository.streamAll()) {
+            assertThat(result).containsExactly(d1);
+        }
+        verify(mapper, never()).toDomain(any());
+    }
+
+    @Test
+    void findAllPaginatedList_shouldReturnProjectedPage_andCount_whenThereIsANextPage() {
         Product d1 = new Product(1L, "A", BigDecimal.TEN, LocalDateTime.now(), null);
         Product d2 = new Product(2L, "B", BigDecimal.ONE, LocalDateTime.now(), null);
+        Product d3 = new Product(3L, "C", BigDecimal.ONE, LocalDateTime.now(), null);
 
         Pageable pageable = PageRequest.of(0, 2);
-        Page<ProductEntity> page = new PageImpl<>(List.of(e1, e2));
-        when(jpa.findAll(pageable)).thenReturn(page);
-        when(mapper.toDomain(e1)).thenReturn(d1);
-        when(mapper.toDomain(e2)).thenReturn(d2);
+        when(jpa.findProducts(Sort.unsorted(), 0L, 3)).thenReturn(List.of(d1, d2, d3));
+        when(jpa.count()).thenReturn(3L);
 
         Page<Product> result = repository.findAllPaginatedList(pageable);
 
         assertThat(result.getContent()).containsExactly(d1, d2);
+        assertThat(result.getTotalElements()).isEqualTo(3);
+        verify(mapper, never()).toDomain(any());
+    }
+
+    @Test
+    void findAllPaginatedList_onLastPage_shouldSkipCount() {
+        Product d1 = new Product(5L, "E", BigDecimal.TEN, LocalDateTime.now(), null);
+        Pageable pageable = PageRequest.of(2, 2);
+        when(jpa.findProducts(Sort.unsorted(), 4L, 3)).thenReturn(List.of(d1));
+
+        Page<Product> result = repository.findAllPaginatedList(pageable);
+
+        assertThat(result.getTotalElements()).isEqualTo(5);
+        verify(jpa, never()).count();
+    }
+
+    @Test
+    void findAllPaginatedList_withFields_shouldProjectRequestedColumns_andSkipCount_onLastPage() {
+        Product d1 = new Product(1L, "A", null, null, null);
+        Pageable pageable = PageRequest.of(0, 10);
+        when(jpa.findProjected(List.of("name"), Sort.unsorted(), 0L, 11)).thenReturn(List.of(d1));
+
+        Page<Product> result = repository.findAllPaginatedList(pageable, Set.of(ProductField.NAME));
+
+        assertThat(result.getContent()).containsExactly(d1);
+        assertThat(result.getTotalElements()).isEqualTo(1);
+        verify(jpa, never()).count();
+    }
+
+    @Test
+    void findAllPaginatedList_withFields_shouldCount_whenThereIsANextPage() {
+        Product d1 = new Product(1L, null, BigDecimal.ONE, null, null);
+        Product d2 = new Product(2L, null, BigDecimal.TEN, null, null);
+        Pageable pageable = PageRequest.of(0, 1);
+        when(jpa.findProjected(List.of("price"), Sort.unsorted(), 0L, 2)).thenReturn(List.of(d1, d2));
+        when(jpa.count()).thenReturn(7L);
+
+        Page<Product> result = repository.findAllPaginatedList(pageable, Set.of(ProductField.PRICE));
+
+        assertThat(result.getContent()).containsExactly(d1);
+        assertThat(result.getTotalElements()).isEqualTo(7);
+    }
+
+    @Test
+    void findAllPaginatedList_withEstimatedStrategy_shouldSkipExactCount() {
+        repository = new ProductRepositoryAdapter(jpa, mapper, CountStrategy.ESTIMATED, Duration.ofSeconds(30));
+        Product d1 = new Product(1L, "A", BigDecimal.TEN, LocalDateTime.now(), null);
+        Product d2 = new Product(2L, "B", BigDecimal.TEN, LocalDateTime.now(), null);
+
+        Pageable pageable = PageRequest.of(0, 1);
+        when(jpa.findProducts(Sort.unsorted(), 0L, 2)).thenReturn(List.of(d1, d2));
+        when(jpa.estimateRowCount()).thenReturn(1000L);
+
+        Page<Product> result = repository.findAllPaginatedList(pageable);
+
+        assertThat(result.getContent()).containsExactly(d1);
+        assertThat(result.getTotalElements()).isEqualTo(1000L);
+        assertThat(repository.countStrategy()).isEqualTo(CountStrategy.ESTIMATED);
+        verify(jpa, never()).count();
+    }
+
+    @Test
+    void findAllPaginatedList_withEstimatedStrategy_shouldFallBackToExact_whenTableNeverAnalyzed() {
+        repository = new ProductRepositoryAdapter(jpa, mapper, CountStrategy.ESTIMATED, Duration.ofSeconds(30));
+        Product d1 = new Product(1L, "A", BigDecimal.TEN, LocalDateTime.now(), null);
+        Product d2 = new Product(2L, "B", BigDecimal.TEN, LocalDateTime.now(), null);
+        Pageable pageable = PageRequest.of(0, 1);
+        when(jpa.findProducts(Sort.unsorted(), 0L, 2)).thenReturn(List.of(d1, d2));
+        when(jpa.estimateRowCount()).thenReturn(-1L);
+        when(jpa.count()).thenReturn(2L);
+
+        Page<Product> result = repository.findAllPaginatedList(pageable);
+
+        assertThat(result.getTotalElements()).isEqualTo(2);
+        verify(jpa).count();
+    }
+
+    @Test
+    void findAllPaginatedList_withCachedStrategy_shouldCountOnlyOnce_withinTtl() {
+        repository = new ProductRepositoryAdapter(jpa, mapper, CountStrategy.CACHED, Duration.ofMinutes(5));
+        Product d1 = new Product(1L, "A", BigDecimal.TEN, LocalDateTime.now(), null);
+        Product d2 = new Product(2L, "B", BigDecimal.TEN, LocalDateTime.now(), null);
+        Pageable pageable = PageRequest.of(0, 1);
+        when(jpa.findProducts(Sort.unsorted(), 0L, 2)).thenReturn(List.of(d1, d2));
+        when(jpa.count()).thenReturn(42L);
+
+        repository.findAllPaginatedList(pageable);
+        Page<Product> result = repository.findAllPaginatedList(pageable);
+
+        assertThat(result.getTotalElements()).isEqualTo(42L);
+        verify(jpa, times(1)).count();
     }
 }
@@ -1,6 +1,7 @@
 package com.linktic.products_service.web.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.linktic.products_service.domain.model.Product;
 import com.linktic.products_service.infrastructure.mapper.ProductMapperImpl;
 import com.linktic.products_service.infrastructure.persistence.adapter.ProductRepositoryAdapter;
 import com.linktic.products_service.infrastructure.persistence.entity.ProductEntity;
@@ -9,6 +10,7 @@ import com.linktic.products_service.web.dto.jsonapi.JsonApiData;
 import com.linktic.products_service.web.dto.jsonapi.JsonApiRequest;
 import com.linktic.products_service.web.dto.jsonapi.ProductDto;
 import com.linktic.products_service.web.handler.RestExceptionHandler;
+import com.linktic.products_service.domain.service.ProductNameIndex;
 import com.linktic.products_service.domain.service.ProductService;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -17,39 +19,45 @@ import org.mockito.ArgumentMatcher;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.TestConstructor;
+import org.springframework.test.context.aot.DisabledInAotMode;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+@DisabledInAotMode
 @WebMvcTest(controllers = ProductController.class)
 @AutoConfigureMockMvc(addFilters = false)
 @TestConstructor(autowireMode = TestConstructor.AutowireMode.ALL)
-@Import({ RestExceptionHandler.class, ProductService.class, ProductRepositoryAdapter.class, ProductMapperImpl.class })
+@Import({ RestExceptionHandler.class, ProductResponseCache.class, ProductService.class, ProductNameIndex.class, ProductRepositoryAdapter.class, ProductMapperImpl.class })
 class ProductInternalIT {
 
     private static final MediaType JSON_API = MediaType.valueOf("application/vnd.api+json");
@@ -59,10 +67,12 @@ class ProductInternalIT {
 
     private final MockMvc mvc;
     private final ObjectMapper om;
+    private final ProductNameIndex nameIndex;
 
-    ProductInternalIT(MockMvc mvc, ObjectMapper om) {
+    ProductInternalIT(MockMvc mvc, ObjectMapper om, ProductNameIndex nameIndex) {
         this.mvc = mvc;
         this.om = om;
+        this.nameIndex = nameIndex;
     }
 
     @BeforeEach
@@ -156,12 +166,16 @@ class ProductInternalIT {
 
     @Test
     void list_retornaListadoMapeado() throws Exception {
-        when(jpa.findAll()).thenReturn(List.of(
-                entity(1L, "A", BigDecimal.TEN),
-                entity(2L, "B", BigDecimal.valueOf(20))
+        when(jpa.streamAll()).thenReturn(Stream.of(
+                product(1L, "A", BigDecimal.TEN),
+                product(2L, "B", BigDecimal.valueOf(20))
         ));
 
-        mvc.perform(get("/products/list").accept(JSON_API))
+        MvcResult result = mvc.perform(get("/products/list").accept(JSON_API))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.data.length()").value(2))
                 .andExpect(jsonPath("$.data[0].attributes.name").value("A"))
@@ -170,15 +184,13 @@ class ProductInternalIT {
 
     @Test
     void paginated_retornaPagina_conLinksYMeta() throws Exception {
-        PageImpl<ProductEntity> page = new PageImpl<>(
-                List.of(
-                        entity(1L, "A", BigDecimal.TEN),
-                        entity(2L, "B", BigDecimal.valueOf(20))
-                ),
-                PageRequest.of(0, 2, Sort.unsorted()),
-                5
-        );
-        when(jpa.findAll(any(Pageable.class))).thenReturn(page);
+        // pageSize + 1 filas: hay página siguiente, así que el total sale del count
+        when(jpa.findProducts(any(Sort.class), anyLong(), anyInt())).thenReturn(List.of(
+                product(1L, "A", BigDecimal.TEN),
+                product(2L, "B", BigDecimal.valueOf(20)),
+                product(3L, "C", BigDecimal.valueOf(30))
+        ));
+        when(jpa.count()).thenReturn(5L);
 
         mvc.perform(get("/products/paginated?pageNumber=1&pageSize=2").accept(JSON_API))
                 .andExpect(status().isOk())
@@ -190,6 +202,42 @@ class ProductInternalIT {
                 .andExpect(jsonPath("$.links.last").exists());
     }
 
+    @Test
+    void autocomplete_reflejaAltas_sinConsultarLaBase() throws Exception {
+        when(jpa.streamAll()).thenReturn(Stream.empty());
+        nameIndex.warmUp();
+
+        ProductDto dto = new ProductDto("Monitor Curvo", BigDecimal.valueOf(250));
+        JsonApiRequest<ProductDto> req = new JsonApiRequest<>();
+        req.setData(new JsonApiData<>("products", null, dto));
+        when(jpa.save(any(ProductEntity.class))).thenAnswer(inv -> {
+            ProductEntity e = inv.getArgument(0);
+            e.setId(77L);
+            return e;
+        });
+        mvc.perform(post("/products").contentType(JSON_API).accept(JSON_API)
+                        .content(om.writeValueAsString(req)))
+                .andExpect(status().isCreated());
+
+        mvc.perform(get("/products/search").param("q", "monitor c").param("mode", "autocomplete")
+                        .accept(JSON_API))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].id").value("77"))
+                .andExpect(jsonPath("$.data[0].attributes.name").value("Monitor Curvo"));
+
+        verify(jpa, never()).search(any(), any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void search_escapaComodines_yDelegaEnLaConsultaTrigram() throws Exception {
+        when(jpa.search("50%", "%50\\%%", "50\\%%", null, BigDecimal.valueOf(100), 20))
+                .thenReturn(List.of(entity(5L, "Descuento 50%", BigDecimal.valueOf(20))));
+
+        mvc.perform(get("/products/search").param("q", "50%").param("maxPrice", "100").accept(JSON_API))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].attributes.name").value("Descuento 50%"));
+    }
+
     private static ProductEntity entity(Long id, String name, BigDecimal price) {
         ProductEntity e = new ProductEntity();
         e.setId(id);
@@ -199,6 +247,10 @@ class ProductInternalIT {
         return e;
     }
 
+    private static Product product(Long id, String name, BigDecimal price) {
+        return new Product(id, name, price, LocalDateTime.now(), null);
+    }
+
     private static ArgumentMatcher<ProductEntity> entityMatches(Long id, String name, BigDecimal price) {
         return e -> e != null
                 && (id == null || id.equals(e.getId()))
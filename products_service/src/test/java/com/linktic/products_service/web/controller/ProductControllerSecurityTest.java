@@ -8,6 +8,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.aot.DisabledInAotMode;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -15,12 +16,13 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = ProductController.class)
-@Import({SecurityConfig.class, RestExceptionHandler.class})
+@Import({SecurityConfig.class, RestExceptionHandler.class, ProductResponseCache.class})
 @TestPropertySource(properties = {
         "security.api-key.header=X-API-Key",
         "security.api-key.value=valid-key"
 })
 
+@DisabledInAotMode
 class ProductControllerSecurityTest {
 
     private final MockMvc mockMvc;
@@ -1,6 +1,9 @@
 package com.linktic.products_service.web.controller;
 
+import com.linktic.products_service.domain.model.CountStrategy;
 import com.linktic.products_service.domain.model.Product;
+import com.linktic.products_service.domain.model.ProductField;
+import com.linktic.products_service.domain.model.ProductUpsertResult;
 import com.linktic.products_service.domain.service.ProductService;
 import com.linktic.products_service.web.dto.jsonapi.JsonApiData;
 import com.linktic.products_service.web.dto.jsonapi.JsonApiRequest;
@@ -16,28 +19,43 @@ import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.aot.DisabledInAotMode;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Consumer;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+@DisabledInAotMode
 @WebMvcTest(controllers = ProductController.class)
 @AutoConfigureMockMvc(addFilters = false)
-@Import(RestExceptionHandler.class)
+@Import({RestExceptionHandler.class, ProductResponseCache.class})
 class ProductControllerTest {
 
     private final MockMvc mockMvc;
@@ -116,6 +134,25 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$.data.attributes.price").value(10));
     }
 
+    @Test
+    void get_withSparseFieldset_shouldReturnOnlyRequestedAttributes_withoutETag() throws Exception {
+        Product product = new Product(1L, "Test", BigDecimal.valueOf(10), LocalDateTime.now(), null);
+        when(service.get(1L)).thenReturn(product);
+
+        mockMvc.perform(get("/products/1").param("fields[products]", "price"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"))
+                .andExpect(jsonPath("$.data.attributes.price").value(10))
+                .andExpect(jsonPath("$.data.attributes.name").doesNotExist());
+    }
+
+    @Test
+    void get_withUnknownSparseField_shouldReturn400() throws Exception {
+        mockMvc.perform(get("/products/1").param("fields[products]", "stock"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].detail").value("unsupported field for products: stock"));
+    }
+
     @Test
     void get_shouldReturn404_whenProductNotFound() throws Exception {
         when(service.get(1L)).thenThrow(new NoSuchElementException("Product not found."));
@@ -128,6 +165,23 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$.errors[0].detail").value("Product not found."));
     }
 
+    @Test
+    void get_shouldReturnStrongETag_and304_whenIfNoneMatchMatches() throws Exception {
+        LocalDateTime updatedAt = LocalDateTime.of(2025, 3, 1, 12, 0, 0, 123_456_000);
+        Product product = new Product(1L, "Test", BigDecimal.valueOf(10), updatedAt.minusDays(1), updatedAt);
+        when(service.get(1L)).thenReturn(product);
+
+        String etag = mockMvc.perform(get("/products/1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        assertThat(etag).isEqualTo("\"1-1740830400123456\"");
+
+        mockMvc.perform(get("/products/1").header("If-None-Match", "W/" + etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+    }
+
     // -------------------------
     // UPDATE
     // -------------------------
@@ -150,6 +204,38 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$.data.attributes.price").value(20));
     }
 
+    @Test
+    void update_withIfMatch_shouldUpdateConditionally() throws Exception {
+        ProductDto dto = new ProductDto("Updated", BigDecimal.valueOf(20));
+        JsonApiRequest<ProductDto> req = new JsonApiRequest<>();
+        req.setData(new JsonApiData<>("products", null, dto));
+        LocalDateTime seen = LocalDateTime.of(2025, 3, 1, 12, 0, 0, 123_456_000);
+        LocalDateTime now = seen.plusMinutes(1);
+        when(service.update(1L, "Updated", BigDecimal.valueOf(20), seen))
+                .thenReturn(new Product(1L, "Updated", BigDecimal.valueOf(20), null, now));
+
+        mockMvc.perform(put("/products/1")
+                        .header("If-Match", "\"1-1740830400123456\"")
+                        .contentType("application/vnd.api+json")
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1-1740830460123456\""));
+    }
+
+    @Test
+    void update_withForeignIfMatch_shouldReturn412() throws Exception {
+        ProductDto dto = new ProductDto("Updated", BigDecimal.valueOf(20));
+        JsonApiRequest<ProductDto> req = new JsonApiRequest<>();
+        req.setData(new JsonApiData<>("products", null, dto));
+
+        mockMvc.perform(put("/products/1")
+                        .header("If-Match", "\"2-1740830400123456\"")
+                        .contentType("application/vnd.api+json")
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.errors[0].status").value("412"));
+    }
+
     @Test
     void update_shouldReturn404_whenProductNotFound() throws Exception {
         ProductDto dto = new ProductDto("Updated", BigDecimal.valueOf(20));
@@ -213,10 +299,18 @@ class ProductControllerTest {
     void list_shouldReturnProductList() throws Exception {
         Product p1 = new Product(1L, "A", BigDecimal.valueOf(10), LocalDateTime.now(), null);
         Product p2 = new Product(2L, "B", BigDecimal.valueOf(20), LocalDateTime.now(), null);
-        when(service.list()).thenReturn(List.of(p1, p2));
+        doAnswer(inv -> {
+            Consumer<Product> action = inv.getArgument(0);
+            List.of(p1, p2).forEach(action);
+            return null;
+        }).when(service).forEach(any());
 
-        mockMvc.perform(get("/products/list")
+        MvcResult result = mockMvc.perform(get("/products/list")
                         .header(API_KEY_HEADER, "valid-key"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.data.length()").value(2))
                 .andExpect(jsonPath("$.data[0].attributes.name").value("A"))
@@ -231,7 +325,8 @@ class ProductControllerTest {
         Product p1 = new Product(1L, "A", BigDecimal.valueOf(10), LocalDateTime.now(), null);
         Product p2 = new Product(2L, "B", BigDecimal.valueOf(20), LocalDateTime.now(), null);
         Page<Product> page = new PageImpl<>(List.of(p1, p2), PageRequest.of(0, 2), 5);
-        when(service.paginatedList(1, 2)).thenReturn(page);
+        when(service.paginatedList(1, 2, ProductField.all())).thenReturn(page);
+        when(service.countStrategy()).thenReturn(CountStrategy.ESTIMATED);
 
         mockMvc.perform(get("/products/paginated?pageNumber=1&pageSize=2")
                         .header(API_KEY_HEADER, "valid-key"))
@@ -239,9 +334,157 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$.data.length()").value(2))
                 .andExpect(jsonPath("$.meta.totalElements").value(5))
                 .andExpect(jsonPath("$.meta.totalPages").value(3))
+                .andExpect(jsonPath("$.meta.countStrategy").value("estimated"))
                 .andExpect(jsonPath("$.links.self").exists())
                 .andExpect(jsonPath("$.links.first").exists())
                 .andExpect(jsonPath("$.links.last").exists());
     }
 
+    @Test
+    void paginatedList_withSparseFieldset_shouldPassFieldsToService_andKeepThemInLinks() throws Exception {
+        Product p1 = new Product(1L, "A", null, null, null);
+        Page<Product> page = new PageImpl<>(List.of(p1), PageRequest.of(0, 1), 2);
+        when(service.paginatedList(1, 1, Set.of(ProductField.NAME))).thenReturn(page);
+
+        mockMvc.perform(get("/products/paginated")
+                        .param("pageNumber", "1")
+                        .param("pageSize", "1")
+                        .param("fields[products]", "name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].attributes.name").value("A"))
+                .andExpect(jsonPath("$.data[0].attributes.price").doesNotExist())
+                .andExpect(jsonPath("$.links.next").value("/products/paginated?pageNumber=2&pageSize=1&fields[products]=name"));
+    }
+
+    // -------------------------
+    // MULTI-GET
+    // -------------------------
+    @Test
+    void getMany_shouldReturnRequestedProducts_inOneCall() throws Exception {
+        Product p1 = new Product(1L, "A", BigDecimal.valueOf(10), LocalDateTime.now(), null);
+        Product p3 = new Product(3L, "C", BigDecimal.valueOf(30), LocalDateTime.now(), null);
+        when(service.getAll(Set.of(1L, 2L, 3L))).thenReturn(List.of(p1, p3));
+
+        mockMvc.perform(get("/products").param("filter[id]", "1,2,3,1").param("fields[products]", "name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(2))
+                .andExpect(jsonPath("$.data[1].id").value("3"))
+                .andExpect(jsonPath("$.data[1].attributes.name").value("C"))
+                .andExpect(jsonPath("$.data[1].attributes.price").doesNotExist());
+    }
+
+    @Test
+    void getMany_withInvalidId_shouldReturn400() throws Exception {
+        mockMvc.perform(get("/products").param("filter[id]", "1,x"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].detail").value("invalid id in filter[id]: x"));
+    }
+
+    // -------------------------
+    // BULK
+    // -------------------------
+    @Test
+    void bulk_shouldReturnPerItemStatus_andCounts() throws Exception {
+        Product mouse = new Product(10L, "Mouse", BigDecimal.valueOf(20), LocalDateTime.now(), null);
+        Product teclado = new Product(11L, "Teclado", BigDecimal.valueOf(35), LocalDateTime.now(), LocalDateTime.now());
+        when(service.upsertAll(any())).thenReturn(List.of(
+                new ProductUpsertResult(0, ProductUpsertResult.Status.CREATED, mouse, null),
+                new ProductUpsertResult(1, ProductUpsertResult.Status.UPDATED, teclado, null),
+                new ProductUpsertResult(2, ProductUpsertResult.Status.DUPLICATE,
+                        new Product(null, "Mouse", BigDecimal.ONE, null, null), "duplicate name in batch, first at index 0")));
+        String body = """
+                {"data": [
+                  {"type": "products", "attributes": {"name": "Mouse", "price": 20}},
+                  {"type": "products", "attributes": {"name": "Teclado", "price": 35}},
+                  {"type": "products", "attributes": {"name": "Mouse", "price": 1}}
+                ]}
+                """;
+
+        mockMvc.perform(post("/products/bulk").contentType("application/vnd.api+json").content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(2))
+                .andExpect(jsonPath("$.data[0].id").value("10"))
+                .andExpect(jsonPath("$.meta.created").value(1))
+                .andExpect(jsonPath("$.meta.updated").value(1))
+                .andExpect(jsonPath("$.meta.rejected").value(1))
+                .andExpect(jsonPath("$.meta.results[1].status").value("updated"))
+                .andExpect(jsonPath("$.meta.results[2].status").value("duplicate"))
+                .andExpect(jsonPath("$.meta.results[2].id").doesNotExist())
+                .andExpect(jsonPath("$.meta.results[2].detail").value("duplicate name in batch, first at index 0"));
+    }
+
+    @Test
+    void bulkNdjson_shouldReadOneResourcePerLine() throws Exception {
+        Product mouse = new Product(10L, "Mouse", BigDecimal.valueOf(20), LocalDateTime.now(), null);
+        when(service.upsertAll(any())).thenAnswer(inv -> {
+            List<Product> items = inv.getArgument(0);
+            assertThat(items).extracting(Product::getName).containsExactly("Mouse", null);
+            return List.of(
+                    new ProductUpsertResult(0, ProductUpsertResult.Status.UNCHANGED, mouse, null),
+                    new ProductUpsertResult(1, ProductUpsertResult.Status.INVALID, items.get(1), "name is required"));
+        });
+        String body = """
+                {"type":"products","attributes":{"name":"Mouse","price":20}}
+                {"type":"products"}
+                """;
+
+        mockMvc.perform(post("/products/bulk").contentType("application/x-ndjson").content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.meta.unchanged").value(1))
+                .andExpect(jsonPath("$.meta.rejected").value(1))
+                .andExpect(jsonPath("$.meta.results[1].detail").value("name is required"));
+    }
+
+    @Test
+    void bulkNdjson_withMalformedLine_shouldReturn400() throws Exception {
+        mockMvc.perform(post("/products/bulk").contentType("application/x-ndjson")
+                        .content("{\"type\":\"products\",\"attributes\":{\"name\":\"A\",\"price\":1}}\n{not json\n"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].detail").value(startsWith("invalid NDJSON at line 2")));
+    }
+
+    @Test
+    void bulkNdjson_overTheLimit_shouldReturn400_beforeCallingTheService() throws Exception {
+        String line = "{\"type\":\"products\",\"attributes\":{\"name\":\"P\",\"price\":1}}\n";
+
+        mockMvc.perform(post("/products/bulk").contentType("application/x-ndjson")
+                        .content(line.repeat(ProductService.MAX_BULK_ITEMS + 1)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].detail")
+                        .value("at most " + ProductService.MAX_BULK_ITEMS + " products per request"));
+        verify(service, never()).upsertAll(any());
+    }
+
+    // -------------------------
+    // SEARCH
+    // -------------------------
+    @Test
+    void search_shouldReturnRankedProducts() throws Exception {
+        Product p1 = new Product(1L, "Laptop", BigDecimal.valueOf(900), null, null);
+        Product p2 = new Product(2L, "Soporte laptop", BigDecimal.valueOf(30), null, null);
+        when(service.search("laptop", new BigDecimal("10"), null, 20)).thenReturn(List.of(p1, p2));
+
+        mockMvc.perform(get("/products/search").param("q", "laptop").param("minPrice", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(2))
+                .andExpect(jsonPath("$.data[0].id").value("1"))
+                .andExpect(jsonPath("$.data[1].attributes.name").value("Soporte laptop"));
+    }
+
+    @Test
+    void search_autocompleteMode_shouldUseAutocomplete() throws Exception {
+        Product p1 = new Product(1L, "Laptop", BigDecimal.valueOf(900), null, null);
+        when(service.autocomplete("la", null, null, 5)).thenReturn(List.of(p1));
+
+        mockMvc.perform(get("/products/search").param("q", "la").param("mode", "autocomplete").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].attributes.name").value("Laptop"));
+    }
+
+    @Test
+    void search_unknownMode_shouldReturn400() throws Exception {
+        mockMvc.perform(get("/products/search").param("q", "la").param("mode", "regex"))
+                .andExpect(status().isBadRequest());
+    }
+
 }
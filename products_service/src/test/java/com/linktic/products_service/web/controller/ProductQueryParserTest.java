@@ -0,0 +1,34 @@
+package com.linktic.products_service.web.controller;
+
+import com.linktic.products_service.domain.model.ProductField;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProductQueryParserTest {
+
+    @Test
+    void parseFields_shouldSelectRequestedAttributes() {
+        assertThat(ProductQueryParser.parseFields("price")).containsExactly(ProductField.PRICE);
+        assertThat(ProductQueryParser.parseFields("name, price"))
+                .containsExactlyInAnyOrder(ProductField.NAME, ProductField.PRICE);
+        assertThat(ProductQueryParser.parseFields(null)).isEqualTo(ProductField.all());
+        assertThat(ProductQueryParser.parseFields("")).isEmpty();
+    }
+
+    @Test
+    void parseFields_shouldRejectUnknownAttributes() {
+        assertThatThrownBy(() -> ProductQueryParser.parseFields("name,createdAt"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("unsupported field for products: createdAt");
+    }
+
+    @Test
+    void parseIds_shouldDeduplicate_andKeepOrder() {
+        assertThat(ProductQueryParser.parseIds("3, 1,3,,2")).containsExactly(3L, 1L, 2L);
+        assertThatThrownBy(() -> ProductQueryParser.parseIds("1,abc"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("invalid id in filter[id]: abc");
+    }
+}
@@ -0,0 +1,88 @@
+package com.linktic.products_service.web.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.linktic.products_service.domain.event.ProductChangedEvent;
+import com.linktic.products_service.domain.model.Product;
+import com.linktic.products_service.web.dto.jsonapi.JsonApiData;
+import com.linktic.products_service.web.dto.jsonapi.JsonApiResponse;
+import com.linktic.products_service.web.dto.jsonapi.ProductDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductResponseCacheTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2025, 3, 1, 12, 0, 0);
+
+    private ObjectMapper objectMapper;
+    private ProductResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        cache = new ProductResponseCache(objectMapper, 100);
+    }
+
+    @Test
+    void sameVersion_shouldReuseEncodedBody() {
+        Product product = new Product(1L, "Mouse", BigDecimal.TEN, CREATED, null);
+
+        ProductResponseCache.Encoded first = cache.get(product);
+        ProductResponseCache.Encoded second = cache.get(new Product(1L, "Mouse", BigDecimal.TEN, CREATED, null));
+
+        assertThat(second).isSameAs(first);
+        assertThat(second.body()).isSameAs(first.body());
+    }
+
+    @Test
+    void encodedBody_shouldMatchJacksonSerialization() throws Exception {
+        Product product = new Product(1L, "Mouse", BigDecimal.TEN, CREATED, CREATED.plusHours(1));
+        JsonApiResponse<ProductDto> expected = new JsonApiResponse<>();
+        expected.setData(new JsonApiData<>("products", "1", ProductDto.from(product)));
+
+        ProductResponseCache.Encoded encoded = cache.get(product);
+
+        assertThat(encoded.body()).isEqualTo(objectMapper.writeValueAsBytes(expected));
+        assertThat(encoded.etag()).isEqualTo(ETags.of(1L, CREATED.plusHours(1)));
+    }
+
+    @Test
+    void newerVersion_shouldReencode_withNewETag() {
+        ProductResponseCache.Encoded stale = cache.get(new Product(1L, "Mouse", BigDecimal.TEN, CREATED, null));
+
+        ProductResponseCache.Encoded fresh =
+                cache.get(new Product(1L, "Mouse", BigDecimal.ONE, CREATED, CREATED.plusMinutes(5)));
+
+        assertThat(fresh.etag()).isNotEqualTo(stale.etag());
+        assertThat(new String(fresh.body())).contains("\"price\":1");
+        assertThat(cache.get(new Product(1L, "Mouse", BigDecimal.ONE, CREATED, CREATED.plusMinutes(5)))).isSameAs(fresh);
+    }
+
+    @Test
+    void updateOrDeleteEvent_shouldEvictEntry() {
+        Product product = new Product(1L, "Mouse", BigDecimal.TEN, CREATED, null);
+        ProductResponseCache.Encoded first = cache.get(product);
+
+        cache.on(new ProductChangedEvent(ProductChangedEvent.Type.UPDATED, 1L, "Mouse", BigDecimal.TEN));
+        ProductResponseCache.Encoded afterUpdate = cache.get(product);
+        assertThat(afterUpdate).isNotSameAs(first);
+
+        cache.on(new ProductChangedEvent(ProductChangedEvent.Type.DELETED, 1L, null, null));
+        assertThat(cache.get(product)).isNotSameAs(afterUpdate);
+    }
+
+    @Test
+    void createdEvent_shouldKeepOtherEntries() {
+        Product product = new Product(1L, "Mouse", BigDecimal.TEN, CREATED, null);
+        ProductResponseCache.Encoded first = cache.get(product);
+
+        cache.on(new ProductChangedEvent(ProductChangedEvent.Type.CREATED, 2L, "Keyboard", BigDecimal.ONE));
+
+        assertThat(cache.get(product)).isSameAs(first);
+    }
+}
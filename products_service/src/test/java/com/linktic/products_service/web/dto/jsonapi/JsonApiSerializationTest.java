@@ -0,0 +1,68 @@
+package com.linktic.products_service.web.dto.jsonapi;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Blackbird solo cambia cómo se leen los getters: la salida tiene que ser idéntica byte a byte
+class JsonApiSerializationTest {
+
+    private final ObjectMapper reflective = Jackson2ObjectMapperBuilder.json().build();
+    private final ObjectMapper generated = Jackson2ObjectMapperBuilder.json().modulesToInstall(new BlackbirdModule()).build();
+
+    @Test
+    void singleResource_isIdentical() throws Exception {
+        JsonApiResponse<ProductDto> body = new JsonApiResponse<>();
+        body.setData(new JsonApiData<>("products", "7", new ProductDto("Teclado", new BigDecimal("49.50"))));
+
+        assertSameBytes(body);
+    }
+
+    @Test
+    void page_withLinksMetaAndSparseAttributes_isIdentical() throws Exception {
+        JsonApiListResponse<ProductDto> body = new JsonApiListResponse<>();
+        body.setData(IntStream.rangeClosed(1, 50)
+                .mapToObj(i -> new JsonApiData<>("products", String.valueOf(i),
+                        i % 2 == 0 ? new ProductDto("Producto " + i, BigDecimal.valueOf(i, 2)) : new ProductDto("Ñandú \"" + i + "\"", null)))
+                .toList());
+        JsonApiLinks links = new JsonApiLinks();
+        links.setSelf("/products/paginated?pageNumber=2&pageSize=50");
+        links.setNext("/products/paginated?pageNumber=3&pageSize=50");
+        body.setLinks(links);
+        JsonApiMeta meta = new JsonApiMeta();
+        meta.setTotalElements(1234);
+        meta.setTotalPages(25);
+        meta.setPageNumber(2);
+        meta.setPageSize(50);
+        meta.setCountStrategy("CACHED");
+        body.setMeta(meta);
+
+        assertSameBytes(body);
+    }
+
+    @Test
+    void bulkAndErrorResponses_areIdentical() throws Exception {
+        JsonApiBulkMeta meta = new JsonApiBulkMeta();
+        meta.setCreated(1);
+        meta.setRejected(1);
+        meta.setResults(List.of(new JsonApiBulkResult(0, "created", "12", null),
+                new JsonApiBulkResult(1, "invalid", null, "price must be > 0")));
+        JsonApiBulkResponse<ProductDto> bulk = new JsonApiBulkResponse<>();
+        bulk.setData(List.of(new JsonApiData<>("products", "12", new ProductDto("Mouse", BigDecimal.TEN))));
+        bulk.setMeta(meta);
+
+        assertSameBytes(bulk);
+        assertSameBytes(new JsonApiErrorResponse(List.of(new JsonApiError("404", "Not Found", "Product not found."))));
+    }
+
+    private void assertSameBytes(Object body) throws Exception {
+        assertThat(generated.writeValueAsBytes(body)).isEqualTo(reflective.writeValueAsBytes(body));
+    }
+}
@@ -6,6 +6,7 @@ import com.linktic.products_service.web.dto.jsonapi.JsonApiRequest;
 import com.linktic.products_service.web.dto.jsonapi.ProductDto;
 import org.junit.jupiter.api.Test;
 import org.springframework.core.MethodParameter;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -51,6 +52,17 @@ class RestExceptionHandlerTest {
         assertThat(body.getErrors().get(0).getDetail()).isEqualTo("bad");
     }
 
+    @Test
+    void handleDeadlineExceeded_returns504_withJsonApiEnvelope() {
+        ResponseEntity<?> resp = handler.handleDeadlineExceeded(new QueryTimeoutException("canceling statement"));
+        assertThat(resp.getStatusCode()).isEqualTo(HttpStatus.GATEWAY_TIMEOUT);
+
+        JsonApiErrorResponse body = (JsonApiErrorResponse) resp.getBody();
+        assertThat(body).isNotNull();
+        assertThat(body.getErrors().get(0).getStatus()).isEqualTo("504");
+        assertThat(body.getErrors().get(0).getDetail()).isEqualTo("Request deadline exceeded");
+    }
+
     @Test
     void handleMethodArgumentNotValid_returns400WithFirstFieldMessage() throws NoSuchMethodException {
         ProductDto target = new ProductDto();
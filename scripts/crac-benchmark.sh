@@ -0,0 +1,106 @@
+#!/usr/bin/env bash
+# Tiempo hasta el p99 estable: arranque en frío (imagen de Dockerfile.crac sin checkpoint) contra restore
+# (la imagen que deja scripts/crac-checkpoint.sh). Cada modo arranca el contenedor, espera la primera respuesta
+# y aplica carga constante con k6 durante DURATION; con el p99 de cada segundo:
+#   - p99 estable: mediana de los p99 de los últimos STEADY_SECONDS segundos
+#   - tiempo hasta el p99 estable: desde "docker run" hasta el primer segundo a partir del cual la mediana
+#     móvil de 5 s (centrada) no vuelve a superar el p99 estable en más de TOLERANCE (0.2 = 20 %)
+# Requiere docker, curl y k6.
+#
+# Uso: scripts/crac-benchmark.sh <imagen-fria> <imagen-checkpoint> <puerto> <ruta> [args extra de docker run...]
+# Ejemplo (mismos args de docker run que al generar el checkpoint):
+#   API_KEY=dev-products-key scripts/crac-benchmark.sh products-crac products-crac:warm 8081 /products/1 \
+#     --network prueba_default -e DB_URL=jdbc:postgresql://products-postgres:5432/products \
+#     -e PRODUCTS_API_KEY=dev-products-key
+# Variables: RUNS (3), DURATION (120s), STEADY_SECONDS (30), TOLERANCE (0.2), VUS (32), API_KEY
+set -euo pipefail
+
+if [ $# -lt 4 ]; then
+  sed -n '2,15p' "$0" | sed 's/^# \{0,1\}//'
+  exit 1
+fi
+
+COLD_IMAGE=$1
+RESTORE_IMAGE=$2
+PORT=$3
+TARGET_PATH=$4
+shift 4
+EXTRA_ARGS=("$@")
+RUNS=${RUNS:-3}
+DURATION=${DURATION:-120s}
+STEADY_SECONDS=${STEADY_SECONDS:-30}
+TOLERANCE=${TOLERANCE:-0.2}
+VUS=${VUS:-32}
+API_KEY=${API_KEY:-}
+TIMEOUT_SECONDS=${TIMEOUT_SECONDS:-120}
+NAME="crac-bench-$$"
+SCRIPT_DIR=$(cd "$(dirname "$0")" && pwd)
+
+now_ms() { date +%s%3N; }
+
+cleanup() { docker rm -f "$NAME" >/dev/null 2>&1 || true; }
+trap cleanup EXIT
+
+# p99 por segundo de "segundo valor" (ordenado) -> "ms-hasta-estable<TAB>p99-estable"
+steady_state() {
+  local t0=$1
+  awk -v t0="$t0" -v window="$STEADY_SECONDS" -v tol="$TOLERANCE" '
+    function flush() {
+      if (count == 0) return
+      idx = int(0.99 * count); if (idx < 0.99 * count) idx++
+      n++; sec[n] = cur; p[n] = vals[idx]; count = 0
+    }
+    function median(arr, from, to,   i, j, k, tmp, m) {
+      m = 0
+      for (i = from; i <= to; i++) tmp[++m] = arr[i]
+      for (i = 2; i <= m; i++) for (j = i; j > 1 && tmp[j - 1] > tmp[j]; j--) { k = tmp[j]; tmp[j] = tmp[j - 1]; tmp[j - 1] = k }
+      return (m % 2) ? tmp[(m + 1) / 2] : (tmp[m / 2] + tmp[m / 2 + 1]) / 2
+    }
+    $1 != cur { flush(); cur = $1 }
+    { vals[++count] = $2 }
+    END {
+      flush()
+      if (n < window + 5) { print "-\t-"; exit }
+      steady = median(p, n - window + 1, n)
+      limit = steady * (1 + tol)
+      first = n - 2
+      for (i = n - 2; i >= 3; i--) {
+        if (median(p, i - 2, i + 2) > limit) break
+        first = i
+      }
+      printf "%d\t%.2f\n", sec[first] * 1000 - t0, steady
+    }'
+}
+
+run_once() {
+  local image=$1 t0 first csv
+  csv=$(mktemp)
+  t0=$(now_ms)
+  docker run -d --name "$NAME" -p "$PORT:$PORT" --cap-add CHECKPOINT_RESTORE --cap-add SYS_PTRACE \
+    "${EXTRA_ARGS[@]}" "$image" >/dev/null
+  until [ "$(curl -s -o /dev/null -w '%{http_code}' "http://localhost:$PORT/actuator/health" || true)" != "000" ]; do
+    if [ $(( $(now_ms) - t0 )) -gt $(( TIMEOUT_SECONDS * 1000 )) ]; then
+      docker logs "$NAME" >&2 || true
+      echo "timeout esperando la primera respuesta de $image" >&2
+      exit 1
+    fi
+    sleep 0.01
+  done
+  first=$(( $(now_ms) - t0 ))
+  k6 run --quiet --out csv="$csv" -e BASE_URL="http://localhost:$PORT" -e TARGET_PATH="$TARGET_PATH" \
+    -e API_KEY="$API_KEY" -e VUS="$VUS" -e DURATION="$DURATION" "$SCRIPT_DIR/steady-state.js" >/dev/null
+  cleanup
+  # columnas del CSV de k6: metric_name,timestamp (s),metric_value,...
+  printf '%s\t%s\n' "$first" "$(awk -F, '$1 == "http_req_duration" { print $2, $3 }' "$csv" \
+    | sort -k1,1n -k2,2g | steady_state "$t0")"
+  rm -f "$csv"
+}
+
+printf '%-8s %5s %16s %22s %14s\n' "modo" "run" "1ª respuesta(ms)" "hasta p99 estable(ms)" "p99 estable(ms)"
+for entry in "frío:$COLD_IMAGE" "restore:$RESTORE_IMAGE"; do
+  label=${entry%%:*} image=${entry#*:}
+  for run in $(seq "$RUNS"); do
+    IFS=$'\t' read -r first steady_ms steady_p99 < <(run_once "$image")
+    printf '%-8s %5s %16s %22s %14s\n' "$label" "$run" "$first" "$steady_ms" "$steady_p99"
+  done
+done
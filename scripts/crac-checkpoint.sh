@@ -0,0 +1,66 @@
+#!/usr/bin/env bash
+# Genera la imagen "caliente" de CRaC a partir de una imagen construida con Dockerfile.crac: arranca el
+# servicio en frío, lo calienta con k6 contra <ruta> (WARMUP), dispara el checkpoint con jcmd y guarda el
+# contenedor detenido (con /app/crac) como <imagen-destino>, que al arrancar restaura en vez de iniciar la JVM.
+# La configuración (DB_URL, API keys, límites) queda congelada en el checkpoint: pasar la de producción aquí.
+# Requiere docker, curl y k6; el host debe permitir CRIU (--cap-add CHECKPOINT_RESTORE --cap-add SYS_PTRACE).
+#
+# Uso: scripts/crac-checkpoint.sh <imagen> <imagen-destino> <puerto> <ruta> [args extra de docker run...]
+# Ejemplo, con las bases del compose levantadas:
+#   docker build -f products_service/Dockerfile.crac -t products-crac products_service
+#   API_KEY=dev-products-key scripts/crac-checkpoint.sh products-crac products-crac:warm 8081 /products/1 \
+#     --network prueba_default -e DB_URL=jdbc:postgresql://products-postgres:5432/products \
+#     -e PRODUCTS_API_KEY=dev-products-key
+# Variables: WARMUP (60s), VUS (32), API_KEY
+set -euo pipefail
+
+if [ $# -lt 4 ]; then
+  sed -n '2,14p' "$0" | sed 's/^# \{0,1\}//'
+  exit 1
+fi
+
+IMAGE=$1
+TARGET_IMAGE=$2
+PORT=$3
+TARGET_PATH=$4
+shift 4
+EXTRA_ARGS=("$@")
+WARMUP=${WARMUP:-60s}
+VUS=${VUS:-32}
+API_KEY=${API_KEY:-}
+TIMEOUT_SECONDS=${TIMEOUT_SECONDS:-120}
+NAME="crac-checkpoint-$$"
+SCRIPT_DIR=$(cd "$(dirname "$0")" && pwd)
+
+cleanup() { docker rm -f "$NAME" >/dev/null 2>&1 || true; }
+trap cleanup EXIT
+
+docker run -d --name "$NAME" -p "$PORT:$PORT" --cap-add CHECKPOINT_RESTORE --cap-add SYS_PTRACE \
+  "${EXTRA_ARGS[@]}" "$IMAGE" >/dev/null
+
+deadline=$(( $(date +%s) + TIMEOUT_SECONDS ))
+until [ "$(curl -s -o /dev/null -w '%{http_code}' "http://localhost:$PORT/actuator/health" || true)" != "000" ]; do
+  if [ "$(date +%s)" -gt "$deadline" ]; then
+    docker logs "$NAME" >&2 || true
+    echo "timeout esperando la primera respuesta" >&2
+    exit 1
+  fi
+  sleep 0.2
+done
+
+echo "calentando $WARMUP contra $TARGET_PATH..."
+k6 run --quiet -e BASE_URL="http://localhost:$PORT" -e TARGET_PATH="$TARGET_PATH" -e API_KEY="$API_KEY" \
+  -e VUS="$VUS" -e DURATION="$WARMUP" "$SCRIPT_DIR/steady-state.js" >/dev/null
+
+# Spring detiene los beans Lifecycle (Tomcat, pools de Hikari, cliente HTTP, listener LISTEN) y los appenders
+# de logback; CRIU vuelca el proceso en /app/crac y la JVM termina
+docker exec "$NAME" jcmd application.jar JDK.checkpoint
+docker wait "$NAME" >/dev/null
+
+docker commit "$NAME" "$TARGET_IMAGE" >/dev/null
+if [ -z "$(docker run --rm --entrypoint ls "$TARGET_IMAGE" -A /app/crac)" ]; then
+  docker logs "$NAME" 2>&1 | tail -40 >&2
+  echo "el checkpoint no dejó archivos en /app/crac" >&2
+  exit 1
+fi
+echo "imagen restaurable: $TARGET_IMAGE (docker run --cap-add CHECKPOINT_RESTORE --cap-add SYS_PTRACE ...)"
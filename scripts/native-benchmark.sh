@@ -0,0 +1,101 @@
+#!/usr/bin/env bash
+# Compara la imagen de la JVM (jar con AOT + CDS) con la nativa (Dockerfile.native) del mismo servicio:
+# tiempo hasta la primera respuesta, RSS del proceso en reposo y tras la carga, y throughput/p99 en régimen
+# estable con k6 (WARMUP de calentamiento sin medir y luego DURATION medido contra <ruta>).
+# Requiere docker, curl, k6 y jq.
+#
+# Uso: scripts/native-benchmark.sh <imagen-jvm> <imagen-nativa> <puerto> <ruta> [args extra de docker run...]
+# Ejemplo, con las bases del compose levantadas y un producto con id 1:
+#   docker build -t products-jvm products_service
+#   docker build -f products_service/Dockerfile.native -t products-native products_service
+#   API_KEY=dev-products-key scripts/native-benchmark.sh products-jvm products-native 8081 /products/1 \
+#     --network prueba_default -e DB_URL=jdbc:postgresql://products-postgres:5432/products \
+#     -e PRODUCTS_API_KEY=dev-products-key -e SECURITY_RATELIMIT_READ_RATEPERSECOND=1000000 \
+#     -e SECURITY_RATELIMIT_READ_BURST=1000000 -e SECURITY_CONCURRENCYLIMIT_ENABLED=false
+# Variables: RUNS (arranques por imagen, 5), WARMUP (30s), DURATION (60s), VUS (32), API_KEY, CPUS, MEMORY
+set -euo pipefail
+
+if [ $# -lt 4 ]; then
+  sed -n '2,15p' "$0" | sed 's/^# \{0,1\}//'
+  exit 1
+fi
+
+JVM_IMAGE=$1
+NATIVE_IMAGE=$2
+PORT=$3
+TARGET_PATH=$4
+shift 4
+EXTRA_ARGS=("$@")
+RUNS=${RUNS:-5}
+WARMUP=${WARMUP:-30s}
+DURATION=${DURATION:-60s}
+VUS=${VUS:-32}
+API_KEY=${API_KEY:-}
+# mismos límites para ambas imágenes: el RSS y el throughput dependen de la CPU y memoria disponibles
+CPUS=${CPUS:-2}
+MEMORY=${MEMORY:-1g}
+TIMEOUT_SECONDS=${TIMEOUT_SECONDS:-120}
+NAME="native-bench-$$"
+SCRIPT_DIR=$(cd "$(dirname "$0")" && pwd)
+
+now_ms() { date +%s%3N; }
+
+cleanup() { docker stop "$NAME" >/dev/null 2>&1 || true; }
+trap cleanup EXIT
+
+# arranca el contenedor y devuelve los ms hasta la primera respuesta HTTP (cualquier código)
+start_container() {
+  local image=$1 start code
+  start=$(now_ms)
+  docker run -d --rm --name "$NAME" -p "$PORT:$PORT" --cpus "$CPUS" --memory "$MEMORY" \
+    "${EXTRA_ARGS[@]}" "$image" >/dev/null
+  while :; do
+    code=$(curl -s -o /dev/null -w '%{http_code}' "http://localhost:$PORT/actuator/health" || true)
+    [ "$code" != "000" ] && break
+    if [ $(( $(now_ms) - start )) -gt $(( TIMEOUT_SECONDS * 1000 )) ]; then
+      docker logs "$NAME" >&2 || true
+      echo "timeout esperando la primera respuesta de $image" >&2
+      exit 1
+    fi
+    sleep 0.01
+  done
+  echo $(( $(now_ms) - start ))
+}
+
+# VmRSS del proceso principal (java o el binario, ambos son PID 1 por el exec del ENTRYPOINT), en MiB
+rss_mib() {
+  docker exec "$NAME" sh -c 'grep VmRSS /proc/1/status' | awk '{ printf "%d", $2 / 1024 }'
+}
+
+load() {
+  local duration=$1 summary=$2
+  k6 run --quiet --summary-export "$summary" -e BASE_URL="http://localhost:$PORT" -e TARGET_PATH="$TARGET_PATH" \
+    -e API_KEY="$API_KEY" -e VUS="$VUS" -e DURATION="$duration" "$SCRIPT_DIR/steady-state.js" >/dev/null
+}
+
+median() { sort -n | awk '{ a[NR] = $1 } END { print (NR % 2) ? a[(NR + 1) / 2] : int((a[NR / 2] + a[NR / 2 + 1]) / 2) }'; }
+
+printf '%-8s %14s %14s %14s %10s %10s\n' "build" "arranque(ms)" "RSS ocioso" "RSS carga" "req/s" "p99(ms)"
+for entry in "jvm:$JVM_IMAGE" "native:$NATIVE_IMAGE"; do
+  label=${entry%%:*} image=${entry#*:}
+  samples=()
+  for _ in $(seq "$RUNS"); do
+    samples+=("$(start_container "$image")")
+    cleanup
+  done
+  startup=$(printf '%s\n' "${samples[@]}" | median)
+
+  start_container "$image" >/dev/null
+  sleep 2
+  idle=$(rss_mib)
+  summary=$(mktemp)
+  load "$WARMUP" "$summary"
+  load "$DURATION" "$summary"
+  loaded=$(rss_mib)
+  rate=$(jq -r '.metrics.http_reqs.rate | floor' "$summary")
+  p99=$(jq -r '.metrics.http_req_duration["p(99)"] * 100 | floor / 100' "$summary")
+  rm -f "$summary"
+  cleanup
+
+  printf '%-8s %14s %11s MiB %11s MiB %10s %10s\n' "$label" "$startup" "$idle" "$loaded" "$rate" "$p99"
+done
@@ -0,0 +1,97 @@
+#!/usr/bin/env bash
+# Tiempo hasta la primera petición atendida de una imagen en tres modos: jar clásico, AOT y AOT + CDS.
+# Mide desde "docker run" hasta la primera respuesta HTTP (cualquier código) en /actuator/health, y
+# muestra también el "Started ... in N seconds" que registra Spring.
+#
+# Uso: scripts/startup-benchmark.sh <imagen> <puerto> [repeticiones] [args extra de docker run...]
+# Ejemplo, con las bases del compose levantadas (docker compose up -d products-postgres):
+#   docker compose build products-service
+#   scripts/startup-benchmark.sh prueba-products-service 8081 5 \
+#     --network prueba_default -e DB_URL=jdbc:postgresql://products-postgres:5432/products
+# Sin Docker, con LOCAL_DIR apuntando a la salida de ./gradlew cdsArchive (application.jar + application.jsa):
+# <imagen> se ignora y los args extra van a la aplicación; la configuración, por variables de entorno
+#   DB_URL=jdbc:postgresql://localhost:5432/products LOCAL_DIR=products_service/build/cds \
+#     scripts/startup-benchmark.sh - 8081 5
+set -euo pipefail
+
+if [ $# -lt 2 ]; then
+  sed -n '2,15p' "$0" | sed 's/^# \{0,1\}//'
+  exit 1
+fi
+
+IMAGE=$1
+PORT=$2
+RUNS=${3:-5}
+shift $(( $# >= 3 ? 3 : 2 ))
+EXTRA_ARGS=("$@")
+TIMEOUT_SECONDS=${TIMEOUT_SECONDS:-120}
+LOCAL_DIR=${LOCAL_DIR:-}
+
+now_ms() { date +%s%3N; }
+
+# arranca la imagen (o el jar de LOCAL_DIR) y deja en PID/NAME lo necesario para leer logs y pararla
+launch() {
+  local aot=$1 cds=$2
+  if [ -n "$LOCAL_DIR" ]; then
+    LOG=$(mktemp)
+    # shellcheck disable=SC2086
+    (cd "$LOCAL_DIR" && exec java $cds -Dspring.aot.enabled="$aot" -jar application.jar --server.port="$PORT" \
+      "${EXTRA_ARGS[@]}") >"$LOG" 2>&1 &
+    PID=$!
+  else
+    NAME="startup-bench-$$"
+    docker run -d --rm --name "$NAME" -p "$PORT:$PORT" \
+      -e SPRING_AOT_ENABLED="$aot" -e CDS_OPTS="$cds" "${EXTRA_ARGS[@]}" "$IMAGE" >/dev/null
+  fi
+}
+
+logs() { if [ -n "$LOCAL_DIR" ]; then cat "$LOG"; else docker logs "$NAME" 2>&1; fi; }
+
+halt() {
+  if [ -n "$LOCAL_DIR" ]; then
+    kill "$PID" 2>/dev/null || true
+    wait "$PID" 2>/dev/null || true
+    rm -f "$LOG"
+  else
+    docker stop "$NAME" >/dev/null
+  fi
+}
+
+# imprime "ms<TAB>log de arranque de Spring"; el contenedor o proceso se elimina al terminar
+run_once() {
+  local aot=$1 cds=$2
+  local start end code started
+  start=$(now_ms)
+  launch "$aot" "$cds"
+  while :; do
+    code=$(curl -s -o /dev/null -w '%{http_code}' "http://localhost:$PORT/actuator/health" || true)
+    [ "$code" != "000" ] && break
+    if [ $(( $(now_ms) - start )) -gt $(( TIMEOUT_SECONDS * 1000 )) ]; then
+      logs >&2 || true
+      halt
+      echo "timeout esperando la primera respuesta" >&2
+      exit 1
+    fi
+    sleep 0.05
+  done
+  end=$(now_ms)
+  started=$(logs | grep -o 'Started [A-Za-z]* in [0-9.]* seconds' | head -1 || true)
+  halt
+  printf '%s\t%s\n' $(( end - start )) "$started"
+}
+
+median() { sort -n | awk '{ a[NR] = $1 } END { print (NR % 2) ? a[(NR + 1) / 2] : int((a[NR / 2] + a[NR / 2 + 1]) / 2) }'; }
+
+printf '%-10s %12s %12s   %s\n' "modo" "mediana(ms)" "min(ms)" "último log de Spring"
+for mode in "jar:false:" "aot:true:" "aot+cds:true:-XX:SharedArchiveFile=application.jsa"; do
+  IFS=: read -r label aot cds <<< "$mode"
+  samples=() started=""
+  for _ in $(seq "$RUNS"); do
+    IFS=$'\t' read -r ms started < <(run_once "$aot" "$cds")
+    [ -n "${ms:-}" ] || exit 1
+    samples+=("$ms")
+  done
+  med=$(printf '%s\n' "${samples[@]}" | median)
+  min=$(printf '%s\n' "${samples[@]}" | sort -n | head -1)
+  printf '%-10s %12s %12s   %s\n' "$label" "$med" "$min" "$started"
+done
@@ -0,0 +1,18 @@
+// carga constante contra un endpoint de lectura; la usa scripts/native-benchmark.sh
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8081';
+const TARGET_PATH = __ENV.TARGET_PATH || '/actuator/health';
+const API_KEY = __ENV.API_KEY || '';
+
+export const options = {
+  vus: Number(__ENV.VUS || 32),
+  duration: __ENV.DURATION || '60s',
+  summaryTrendStats: ['avg', 'p(50)', 'p(99)'],
+};
+
+export default function () {
+  const res = http.get(`${BASE_URL}${TARGET_PATH}`, { headers: { 'X-API-Key': API_KEY } });
+  check(res, { 'status 2xx/3xx': (r) => r.status >= 200 && r.status < 400 });
+}